@@ -0,0 +1,87 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.ebenfuentes.blackjack.CommandLineOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compares two JMH JSON result files (the -rf json output the jmh profile writes to
+// target/jmh-result.json) and exits non-zero when any benchmark got worse by more than the
+// threshold, e.g.
+// mvn -Pjmh test-compile exec:exec@load -Dload.main=BenchmarkCompare -Dload.args="--baseline=jmh-baseline.json --current=target/jmh-result.json --threshold=10"
+// Throughput scores regress when they drop, time scores when they rise. A change inside the
+// combined error of the two runs is not counted, so noisy benchmarks do not fail the check.
+public class BenchmarkCompare {
+
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		if (!options.containsKey("baseline")) {
+			throw new IllegalArgumentException("--baseline is required.");
+		}
+		Map<String, JsonNode> baseline = read(Path.of(options.get("baseline")));
+		Map<String, JsonNode> current = read(Path.of(options.getOrDefault("current", "target/jmh-result.json")));
+		double threshold = Double.parseDouble(options.getOrDefault("threshold", "10")) / 100;
+
+		int regressions = 0;
+		for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			JsonNode after = entry.getValue().get("primaryMetric");
+			if (before == null) {
+				System.out.printf("%-70s %12.3f %-8s (new)%n", entry.getKey(), after.get("score").asDouble(),
+						after.get("scoreUnit").asText());
+				continue;
+			}
+			before = before.get("primaryMetric");
+			double old = before.get("score").asDouble();
+			double now = after.get("score").asDouble();
+			double change = old == 0 ? 0 : (now - old) / old;
+			boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+			double worse = higherIsBetter ? -change : change;
+			double noise = error(before) + error(after);
+			boolean regressed = worse > threshold && Math.abs(now - old) > noise;
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("%-70s %12.3f -> %12.3f %-8s %+7.1f%%%s%n", entry.getKey(), old, now,
+					after.get("scoreUnit").asText(), change * 100, regressed ? "  REGRESSION" : "");
+		}
+		for (String key : baseline.keySet()) {
+			if (!current.containsKey(key)) {
+				System.out.printf("%-70s (missing from current run)%n", key);
+			}
+		}
+
+		System.out.printf("%d regression(s) over %.0f%%%n", regressions, threshold * 100);
+		if (regressions > 0) {
+			System.exit(1);
+		}
+	}
+
+	// Results keyed by benchmark name and parameters, e.g. ShoeBenchmark.primitiveInPlace{decks=6, rng=Random}
+	private static Map<String, JsonNode> read(Path file) throws IOException {
+		Map<String, JsonNode> results = new LinkedHashMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+			String name = result.get("benchmark").asText();
+			name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+			JsonNode params = result.get("params");
+			if (params != null) {
+				Map<String, String> sorted = new TreeMap<>();
+				params.fields().forEachRemaining(param -> sorted.put(param.getKey(), param.getValue().asText()));
+				name += sorted;
+			}
+			results.put(name, result);
+		}
+		return results;
+	}
+
+	// Half-width of the 99.9% confidence interval; NaN when a run had too few iterations
+	private static double error(JsonNode metric) {
+		double error = metric.path("scoreError").asDouble(0);
+		return Double.isNaN(error) ? 0 : error;
+	}
+}
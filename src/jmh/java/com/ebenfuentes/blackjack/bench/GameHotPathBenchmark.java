@@ -0,0 +1,155 @@
+package com.ebenfuentes.blackjack.bench;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ebenfuentes.blackjack.dto.HandDetailsResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.event.EventProperties;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.history.HistoryProperties;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.ledger.LedgerProperties;
+import com.ebenfuentes.blackjack.metrics.GameMetrics;
+import com.ebenfuentes.blackjack.model.Deck;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.roundlog.RoundLogProperties;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.PlayerActionSerializer;
+import com.ebenfuentes.blackjack.session.PlayerCache;
+import com.ebenfuentes.blackjack.session.SessionMetrics;
+import com.ebenfuentes.blackjack.session.SessionProperties;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.shoe.ShoeProperties;
+import com.ebenfuentes.blackjack.shoe.ShoeShuffler;
+import com.ebenfuentes.blackjack.strategy.DealerOutcomes;
+import com.ebenfuentes.blackjack.strategy.StrategyProperties;
+import com.ebenfuentes.blackjack.strategy.StrategyTable;
+import com.ebenfuentes.blackjack.table.TableManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// GameService on its own: the real session store, shoe, ledger, history and metrics wired by
+// hand, with the repository and transaction manager mocked so no database time is measured. A
+// round is bet -> start -> stand, i.e. the deal, the dealer draw and evaluateGame's settlement.
+// Hand totals are in HandValueBenchmark, shoe building in ShoeBenchmark/ShoeManagerBenchmark.
+// Results go to target/jmh-result.json; compare two runs with BenchmarkCompare.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GameHotPathBenchmark {
+
+	private static final int PLAYERS = 256;
+
+	private final Map<Integer, Player> rows = new ConcurrentHashMap<>();
+	private final List<Integer> playerIds = new ArrayList<>(PLAYERS);
+
+	private GameEventPublisher events;
+	private ShoeShuffler shuffler;
+	private BalanceLedger ledger;
+	private RoundLog roundLog;
+	private HistoryStore history;
+	private GameSessionStore sessionStore;
+	private GameService gameService;
+	private Deck deck;
+	private int next;
+
+	@Setup(Level.Trial)
+	@SuppressWarnings("unchecked")
+	public void setUp() throws IOException {
+		PlayerRepository repository = mock(PlayerRepository.class);
+		when(repository.findById(anyInt())).thenAnswer(call -> Optional.ofNullable(rows.get(call.getArgument(0))));
+		when(repository.save(any(Player.class))).thenAnswer(call -> store(call.getArgument(0)));
+		when(repository.saveAll(any(Iterable.class))).thenAnswer(call -> {
+			List<Player> saved = new ArrayList<>();
+			for (Player player : (Iterable<Player>) call.getArgument(0)) {
+				saved.add(store(player));
+			}
+			return saved;
+		});
+
+		SessionProperties sessionProperties = new SessionProperties();
+		ShoeProperties shoeProperties = new ShoeProperties();
+		DealerOutcomes dealerOutcomes = DealerOutcomes.build();
+		events = new GameEventPublisher(new EventProperties());
+		shuffler = new ShoeShuffler(shoeProperties);
+		ledger = new BalanceLedger(new LedgerProperties()); // No journal
+		roundLog = new RoundLog(new RoundLogProperties()); // Disabled
+		history = new HistoryStore(new HistoryProperties()); // Temp directory, removed on destroy
+		sessionStore = new GameSessionStore(repository, mock(PlatformTransactionManager.class), sessionProperties,
+				new SessionMetrics(new SqlStatementCounter()), new PlayerActionSerializer(sessionProperties), ledger,
+				new PlayerCache(sessionProperties));
+		gameService = new GameService(sessionStore, new ShoeManager(shuffler, shoeProperties),
+				StrategyTable.build(dealerOutcomes), dealerOutcomes, new StrategyProperties(), new TableManager(), events,
+				ledger, roundLog, history, new GameMetrics(new SimpleMeterRegistry()));
+
+		for (int i = 0; i < PLAYERS; i++) {
+			playerIds.add(gameService.createPlayer("bench-" + i, Integer.MAX_VALUE / 2).getId());
+		}
+		deck = new Deck();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		sessionStore.destroy();
+		events.destroy();
+		shuffler.destroy();
+		roundLog.destroy();
+		history.destroy();
+		ledger.destroy();
+	}
+
+	// One solo round, settled through evaluateGame (ledger, history, metrics and the result response)
+	@Benchmark
+	public int soloRound() {
+		int playerId = playerIds.get(next++ & (PLAYERS - 1));
+		gameService.placeBet(playerId, 10);
+		if (gameService.startGame(playerId).roundOver()) {
+			return 0;
+		}
+		return ((RoundResultResponse) gameService.stand(playerId)).playerNewBalance();
+	}
+
+	// GET /api/players/{id}/hand-value between rounds: the response built from the cached player
+	@Benchmark
+	public HandDetailsResponse handDetails() {
+		return gameService.getPlayerHandDetails(playerIds.get(next++ & (PLAYERS - 1)));
+	}
+
+	// The legacy object deck: 52 Card objects and a Collections.shuffle
+	@Benchmark
+	public Deck deckInitialize() {
+		deck.initializeDeck();
+		return deck;
+	}
+
+	// Hands out ids the way the database would
+	private Player store(Player player) {
+		if (player.getId() == null) {
+			player.setId(rows.size() + 1);
+		}
+		rows.put(player.getId(), player);
+		return player;
+	}
+}
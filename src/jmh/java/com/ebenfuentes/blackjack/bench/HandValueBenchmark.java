@@ -0,0 +1,74 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.model.Hand;
+
+// String-compare hand evaluation (the original Hand.getTotalValue loop) against
+// the cached CompactHand total and a from-scratch primitive evaluation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandValueBenchmark {
+
+	@Param({ "2", "4" })
+	public int cards;
+
+	private Hand hand;
+	private int[] codes;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		hand = new Hand();
+		codes = new int[cards];
+		for (int i = 0; i < cards; i++) {
+			codes[i] = random.nextInt(CardCodes.DECK_SIZE);
+			hand.addCard(Card.of(codes[i]));
+		}
+	}
+
+	@Benchmark
+	public int legacyStringTotal() {
+		int total = 0;
+		int aceCount = 0;
+		for (Card card : hand.getCards()) {
+			if (card.getRank().equals("Ace")) {
+				aceCount++;
+				total += 1;
+			} else {
+				total += card.getValue();
+			}
+		}
+		while (aceCount > 0 && total + 10 <= 21) {
+			total += 10;
+			aceCount--;
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int cachedHandTotal() {
+		return hand.getTotalValue();
+	}
+
+	@Benchmark
+	public int primitiveFromCodes() {
+		int hard = 0;
+		int aces = 0;
+		for (int code : codes) {
+			hard += CardCodes.points(code);
+			aces += CardCodes.isAce(code) ? 1 : 0;
+		}
+		return CompactHand.total(hard, aces);
+	}
+}
@@ -0,0 +1,109 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.history.HistoryPage;
+import com.ebenfuentes.blackjack.history.HistoryProperties;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+
+// Hand-history queries against a store filled with `rounds` rows spread over the last week
+// (hourly partitions, a million players, ~4.8% blackjacks). At 100M rows the partition files
+// take ~3.5 GB in a temp directory and the fill takes a while; the player index is one map
+// entry per player. The queries should stay flat as `rounds` grows: a player page walks that
+// player's chain, and the last-hour search only reads the newest hour's partitions. Append
+// throughput is printed after the fill (a benchmarked append would grow the store without bound).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryBenchmark {
+
+	private static final int PLAYERS = 1_000_000;
+	private static final long WEEK = Duration.ofDays(7).toMillis();
+	private static final long HOUR = Duration.ofHours(1).toMillis();
+
+	@Param({ "1000000", "100000000" })
+	public long rounds;
+
+	private HistoryStore store;
+	private long now;
+
+	@Setup
+	public void setUp() throws IOException {
+		store = new HistoryStore(new HistoryProperties()); // Temp directory, removed on destroy
+		now = System.currentTimeMillis();
+		long start = now - WEEK;
+		SplittableRandom random = new SplittableRandom(42);
+		long fillStart = System.nanoTime();
+		for (long i = 0; i < rounds; i++) {
+			RoundOutcome outcome = outcome(random.nextInt(1_000));
+			int payout = outcome == RoundOutcome.PUSH ? 10 : outcome.getPayout() > 0 ? 20 : 0;
+			store.record(start + i * WEEK / rounds, i + 1, random.nextInt(PLAYERS), 0, outcome, 10, payout,
+					random.nextInt(10_000));
+		}
+		double seconds = (System.nanoTime() - fillStart) / 1e9;
+		System.out.printf("%nfilled %,d rows in %.1fs (%,.0f rows/s), %d partitions, %,d MB%n", rounds, seconds,
+				rounds / seconds, store.partitions(), store.storedBytes() >> 20);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		store.destroy();
+	}
+
+	// GET /api/players/{id}/history: the newest 20 rounds of a random player
+	@Benchmark
+	public HistoryPage playerPage() {
+		return store.playerRounds(ThreadLocalRandom.current().nextInt(PLAYERS), null, 20);
+	}
+
+	// The same player's next page, through the cursor
+	@Benchmark
+	public HistoryPage playerSecondPage() {
+		int playerId = ThreadLocalRandom.current().nextInt(PLAYERS);
+		HistoryPage first = store.playerRounds(playerId, null, 20);
+		return first.nextCursor() == null ? first : store.playerRounds(playerId, first.nextCursor(), 20);
+	}
+
+	// GET /api/history?outcome=BLACKJACK&since=PT1H: first page of 50
+	@Benchmark
+	public HistoryPage blackjacksLastHour() {
+		return store.search(RoundOutcome.BLACKJACK, now - HOUR, Long.MAX_VALUE, null, 50);
+	}
+
+	// Every blackjack in the last hour, paging through 200 at a time (a full read of that hour's outcome column)
+	@Benchmark
+	public int allBlackjacksLastHour() {
+		int count = 0;
+		Long cursor = null;
+		do {
+			HistoryPage page = store.search(RoundOutcome.BLACKJACK, now - HOUR, Long.MAX_VALUE, cursor, 200);
+			count += page.rows().size();
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		return count;
+	}
+
+	// Rough infinite-deck frequencies: 4.8% blackjack, 16% bust, 8.5% push, the rest split between win and loss
+	private static RoundOutcome outcome(int roll) {
+		if (roll < 48) {
+			return RoundOutcome.BLACKJACK;
+		} else if (roll < 208) {
+			return RoundOutcome.PLAYER_BUST;
+		} else if (roll < 293) {
+			return RoundOutcome.PUSH;
+		} else if (roll < 640) {
+			return RoundOutcome.PLAYER_WIN;
+		}
+		return RoundOutcome.DEALER_WIN;
+	}
+}
@@ -0,0 +1,84 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latencies for the load tests: one auto-resizing HDR histogram (3 significant digits,
+// nanoseconds) and an error count per endpoint. The table prints the endpoints in the order given,
+// then their total.
+final class LatencyRecorder {
+
+	private final List<String> endpoints;
+	private final Map<String, ConcurrentHistogram> latencies = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+	LatencyRecorder(List<String> endpoints) {
+		this.endpoints = endpoints;
+	}
+
+	void record(String endpoint, long nanos, boolean ok) {
+		latencies.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(3)).recordValue(nanos);
+		if (!ok) {
+			errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+		}
+	}
+
+	long requests() {
+		long requests = 0;
+		for (ConcurrentHistogram histogram : latencies.values()) {
+			requests += histogram.getTotalCount();
+		}
+		return requests;
+	}
+
+	// Throughput, error rate and p50/p99/p99.9/max per endpoint, in milliseconds
+	void print(double seconds) {
+		Histogram all = new Histogram(3);
+		long allErrors = 0;
+		System.out.printf("%-12s %10s %8s %7s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "err%",
+				"req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+		for (String endpoint : endpoints) {
+			ConcurrentHistogram histogram = latencies.get(endpoint);
+			if (histogram != null) {
+				all.add(histogram);
+				allErrors += errorCount(endpoint);
+				printRow(endpoint, histogram, errorCount(endpoint), seconds);
+			}
+		}
+		printRow("all", all, allErrors, seconds);
+	}
+
+	// <output>/<label>-<endpoint>.hgrm, values in milliseconds (plot with HdrHistogram's plotter)
+	void write(Path output, String label) throws IOException {
+		Files.createDirectories(output);
+		for (Map.Entry<String, ConcurrentHistogram> entry : latencies.entrySet()) {
+			Path file = output.resolve(label + "-" + entry.getKey() + ".hgrm");
+			try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+				entry.getValue().outputPercentileDistribution(out, 1e6);
+			}
+		}
+		System.out.printf("HDR histograms written to %s%n", output.toAbsolutePath());
+	}
+
+	private long errorCount(String endpoint) {
+		LongAdder count = errors.get(endpoint);
+		return count == null ? 0 : count.sum();
+	}
+
+	private static void printRow(String endpoint, Histogram histogram, long errors, double seconds) {
+		long count = histogram.getTotalCount();
+		System.out.printf("%-12s %,10d %,8d %6.2f%% %,10.0f %9.2f %9.2f %9.2f %9.2f%n", endpoint, count, errors,
+				count == 0 ? 0 : 100.0 * errors / count, count / seconds,
+				histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+				histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxValue() / 1e6);
+	}
+}
@@ -0,0 +1,63 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.ledger.AccountBalance;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.ledger.LedgerProperties;
+import com.ebenfuentes.blackjack.model.Player;
+
+// Stake + settle pairs against the ledger, journaled to a temp file. Fewer accounts means more
+// threads racing on the same compare-and-set; run with -t 1,2,4,8 to see how it scales.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LedgerBenchmark {
+
+	@Param({ "1", "1024" })
+	public int accounts;
+
+	@Param({ "true", "false" })
+	public boolean journal;
+
+	private BalanceLedger ledger;
+	private Path dir;
+
+	@Setup
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("ledger-bench");
+		LedgerProperties properties = new LedgerProperties();
+		if (journal) {
+			properties.setJournalFile(dir.resolve("ledger.journal").toString());
+		}
+		ledger = new BalanceLedger(properties);
+		for (int id = 0; id < accounts; id++) {
+			Player player = new Player("bench-" + id, Integer.MAX_VALUE / 2);
+			player.setId(id);
+			ledger.attach(player);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		ledger.destroy();
+		Files.deleteIfExists(dir.resolve("ledger.journal"));
+		Files.deleteIfExists(dir);
+	}
+
+	@Benchmark
+	public AccountBalance stakeAndSettle() {
+		int id = ThreadLocalRandom.current().nextInt(accounts);
+		ledger.stake(id, 10);
+		return ledger.settle(id, 10);
+	}
+}
@@ -0,0 +1,111 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.metrics.GameMetrics;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+
+// Cost of leaving metrics on: the same work with every meter live (Prometheus registry,
+// http.server.requests histograms, SQL per request, round counters) and with all meters
+// disabled (management.metrics.enable.all=false turns them into no-ops). A cached balance read
+// is the cheapest request there is, so it shows the per-request overhead at its largest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+	private static final int PLAYERS = 256;
+
+	@Param({ "true", "false" })
+	public boolean metrics;
+
+	private ConfigurableApplicationContext context;
+	private GameService gameService;
+	private GameMetrics gameMetrics;
+	private HttpClient client;
+	private List<Integer> playerIds;
+	private List<HttpRequest> balanceRequests;
+	private HttpRequest scrapeRequest;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+						"management.metrics.enable.all=" + metrics)
+				.run();
+		gameService = context.getBean(GameService.class);
+		gameMetrics = context.getBean(GameMetrics.class);
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+		List<Player> requested = new ArrayList<>(PLAYERS);
+		for (int i = 0; i < PLAYERS; i++) {
+			requested.add(new Player("metrics-" + i, Integer.MAX_VALUE / 2));
+		}
+		playerIds = new ArrayList<>(PLAYERS);
+		balanceRequests = new ArrayList<>(PLAYERS);
+		for (Player player : gameService.createPlayers(requested)) {
+			playerIds.add(player.getId());
+			balanceRequests.add(HttpRequest.newBuilder(
+					URI.create("http://localhost:" + port + "/api/players/" + player.getId() + "/balance")).build());
+		}
+		scrapeRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/prometheus"))
+				.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	// GET /api/players/{id}/balance over HTTP, served from the player cache
+	@Benchmark
+	public int balanceRequest() throws IOException, InterruptedException {
+		HttpRequest request = balanceRequests.get(next++ & (PLAYERS - 1));
+		return client.send(request, HttpResponse.BodyHandlers.ofString()).body().length();
+	}
+
+	// bet -> start -> stand through GameService, settle counters included
+	@Benchmark
+	public int soloRound() {
+		int playerId = playerIds.get(next++ & (PLAYERS - 1));
+		gameService.placeBet(playerId, 10);
+		if (gameService.startGame(playerId).roundOver()) {
+			return 0;
+		}
+		return ((RoundResultResponse) gameService.stand(playerId)).playerNewBalance();
+	}
+
+	// Just the counters settle() bumps: what metrics add to every settled hand
+	@Benchmark
+	public int settleCounters() {
+		gameMetrics.roundSettled(RoundOutcome.PLAYER_WIN, 10, 20);
+		return next++;
+	}
+
+	// One Prometheus scrape of everything registered (only meaningful with metrics on)
+	@Benchmark
+	public int scrape() throws IOException, InterruptedException {
+		return client.send(scrapeRequest, HttpResponse.BodyHandlers.ofString()).body().length();
+	}
+}
@@ -0,0 +1,161 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.CommandLineOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Boots the app on a random port (test classpath, so H2) once per thread mode and has every
+// player play bet -> start -> stand rounds over HTTP at the same time. Reports throughput and
+// per-endpoint latency percentiles for the platform pool and the "virtual" profile (each endpoint's
+// HDR histogram goes to --output, default target/load), e.g.
+// mvn -Pjmh test-compile exec:exec@load -Dload.java=<jdk 21>/bin/java -Dload.args="--players=5000 --rounds=3"
+// Virtual threads need a Java 21 runtime (load.java picks the JVM for this run only; the build stays
+// on 17); on older JVMs that mode is skipped. Each player holds a connection on both ends, so the
+// open-file limit must be well above twice the player count.
+public class PlayerLoadTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final List<String> ENDPOINTS = List.of("bet", "start", "stand");
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		int players = Integer.parseInt(options.getOrDefault("players", "10000"));
+		int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+		int warmupPlayers = Integer.parseInt(options.getOrDefault("warmup-players", "500"));
+		String[] modes = options.getOrDefault("modes", "platform,virtual").split(",");
+		Path output = Path.of(options.getOrDefault("output", "target/load"));
+
+		for (String mode : modes) {
+			boolean virtual = mode.equals("virtual");
+			if (virtual && Runtime.version().feature() < 21) {
+				System.out.printf("%-8s skipped: virtual threads need Java 21, running on %s%n", mode,
+						Runtime.version());
+				continue;
+			}
+			run(mode, virtual, players, rounds, warmupPlayers, output);
+		}
+	}
+
+	private static void run(String mode, boolean virtual, int players, int rounds, int warmupPlayers,
+			Path output) throws Exception {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.properties("server.port=0", "server.tomcat.max-connections=20000", "server.tomcat.accept-count=1000",
+						"spring.jpa.show-sql=false", "logging.level.root=WARN");
+		if (virtual) {
+			builder.profiles("virtual");
+		}
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+		try (ConfigurableApplicationContext context = builder.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(30))
+					.executor(clientExecutor)
+					.build();
+			Driver driver = new Driver(client, "http://localhost:" + port + "/api/players");
+
+			driver.play(driver.createPlayers(warmupPlayers), 1, new LatencyRecorder(ENDPOINTS));
+
+			List<Integer> ids = driver.createPlayers(players);
+			LatencyRecorder recorder = new LatencyRecorder(ENDPOINTS);
+			long start = System.nanoTime();
+			driver.play(ids, rounds, recorder);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%n%s: players=%,d rounds=%d time=%.2fs throughput=%,.0f req/s%n", mode, players,
+					rounds, seconds, recorder.requests() / seconds);
+			recorder.print(seconds);
+			recorder.write(output, mode);
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+	}
+
+	private static final class Driver {
+
+		private final HttpClient client;
+		private final String baseUrl;
+
+		Driver(HttpClient client, String baseUrl) {
+			this.client = client;
+			this.baseUrl = baseUrl;
+		}
+
+		List<Integer> createPlayers(int count) throws Exception {
+			List<Integer> ids = new ArrayList<>(count);
+			long stamp = System.nanoTime();
+			for (int from = 0; from < count; from += 1_000) {
+				StringBuilder body = new StringBuilder("[");
+				for (int i = from; i < Math.min(count, from + 1_000); i++) {
+					if (i > from) {
+						body.append(',');
+					}
+					body.append("{\"username\":\"load-").append(stamp).append('-').append(i)
+							.append("\",\"balance\":1000000}");
+				}
+				body.append(']');
+				HttpResponse<String> response = client.send(post("/bulk", body.toString()),
+						HttpResponse.BodyHandlers.ofString());
+				for (JsonNode player : MAPPER.readTree(response.body())) {
+					ids.add(player.get("id").asInt());
+				}
+			}
+			return ids;
+		}
+
+		// Every player starts at once; each plays its rounds back to back
+		void play(List<Integer> ids, int rounds, LatencyRecorder recorder) {
+			CompletableFuture<?>[] games = new CompletableFuture<?>[ids.size()];
+			for (int i = 0; i < games.length; i++) {
+				games[i] = playRounds(ids.get(i), rounds, recorder);
+			}
+			CompletableFuture.allOf(games).join();
+		}
+
+		private CompletableFuture<Void> playRounds(int playerId, int rounds, LatencyRecorder recorder) {
+			String player = "/" + playerId;
+			CompletableFuture<Void> round = send("bet", post(player + "/bet", "{\"amount\":10}"), recorder)
+					.thenCompose(ignored -> send("start", post(player + "/start", ""), recorder))
+					.thenCompose(state -> state.contains("\"winner\"")
+							? CompletableFuture.completedFuture(state)
+							: send("stand", post(player + "/stand", ""), recorder))
+					.thenApply(state -> null);
+			return rounds > 1 ? round.thenCompose(ignored -> playRounds(playerId, rounds - 1, recorder)) : round;
+		}
+
+		private CompletableFuture<String> send(String endpoint, HttpRequest request, LatencyRecorder recorder) {
+			long start = System.nanoTime();
+			return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+					.handle((response, failure) -> {
+						recorder.record(endpoint, System.nanoTime() - start,
+								failure == null && response.statusCode() == 200);
+						return response != null ? response.body() : "";
+					});
+		}
+
+		private HttpRequest post(String path, String json) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(120))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json))
+					.build();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.CommandLineOptions;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.session.PlayerCache;
+import com.ebenfuentes.blackjack.session.SessionMetrics;
+
+// Read-heavy traffic against players between rounds: GET balance, status and hand-value for
+// random players, once per cache size. Reports SQL statements per request, the cache hit ratio
+// and per-endpoint latency percentiles (HDR histograms go to --output, default target/load), e.g.
+// mvn -Pjmh test-compile exec:exec@load -Dload.main=ReadLoadTest -Dload.args="--players=20000 --cache-sizes=0,10000,50000"
+// A cache smaller than the player count shows the miss path under LRU eviction.
+public class ReadLoadTest {
+
+	private static final String[] READS = { "/balance", "", "/hand-value" };
+	private static final List<String> ENDPOINTS = List.of("balance", "status", "hand-value");
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		int players = Integer.parseInt(options.getOrDefault("players", "5000"));
+		int requests = Integer.parseInt(options.getOrDefault("requests", "200000"));
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+		String[] cacheSizes = options.getOrDefault("cache-sizes", "0,10000").split(",");
+		Path output = Path.of(options.getOrDefault("output", "target/load"));
+
+		for (String cacheSize : cacheSizes) {
+			run(Integer.parseInt(cacheSize), players, requests, concurrency, output);
+		}
+	}
+
+	private static void run(int cacheSize, int players, int requests, int concurrency, Path output)
+			throws Exception {
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+						"blackjack.session.cache-size=" + cacheSize)
+				.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			GameService gameService = context.getBean(GameService.class);
+			SessionMetrics metrics = context.getBean(SessionMetrics.class);
+			PlayerCache cache = context.getBean(PlayerCache.class);
+
+			// Every player has finished one round, so there are hands to load
+			List<Player> requested = new ArrayList<>(players);
+			for (int i = 0; i < players; i++) {
+				requested.add(new Player("reader-" + i, 1_000_000));
+			}
+			List<Integer> ids = new ArrayList<>(players);
+			for (Player player : gameService.createPlayers(requested)) {
+				ids.add(player.getId());
+				gameService.placeBet(player.getId(), 10);
+				if (!gameService.startGame(player.getId()).roundOver()) {
+					gameService.stand(player.getId());
+				}
+			}
+
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.executor(clientExecutor)
+					.build();
+			String baseUrl = "http://localhost:" + port + "/api/players/";
+			fire(client, baseUrl, ids, Math.min(requests, 20_000), concurrency, new LatencyRecorder(ENDPOINTS)); // Warm-up
+
+			Map<String, Object> cacheBefore = cache.snapshot();
+			long statementsBefore = metrics.getSqlStatements();
+			LatencyRecorder recorder = new LatencyRecorder(ENDPOINTS);
+			long start = System.nanoTime();
+			fire(client, baseUrl, ids, requests, concurrency, recorder);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			long statements = metrics.getSqlStatements() - statementsBefore;
+			long hits = (long) cache.snapshot().get("hits") - (long) cacheBefore.get("hits");
+			long misses = (long) cache.snapshot().get("misses") - (long) cacheBefore.get("misses");
+
+			System.out.printf("%ncache=%d: requests=%,d time=%.2fs sql statements=%,d (%.2f per request) hit ratio=%.3f%n",
+					cacheSize, requests, seconds, statements, (double) statements / requests,
+					hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+			recorder.print(seconds);
+			recorder.write(output, "cache-" + cacheSize);
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+	}
+
+	// `requests` GETs against random players and read endpoints, at most `concurrency` in flight
+	private static void fire(HttpClient client, String baseUrl, List<Integer> ids, int requests, int concurrency,
+			LatencyRecorder recorder) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(concurrency);
+		for (int i = 0; i < requests; i++) {
+			inFlight.acquire();
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int read = random.nextInt(READS.length);
+			String path = ids.get(random.nextInt(ids.size())) + READS[read];
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(60))
+					.GET()
+					.build();
+			long sent = System.nanoTime();
+			client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((result, failure) -> {
+						recorder.record(ENDPOINTS.get(read), System.nanoTime() - sent,
+								failure == null && result.statusCode() == 200);
+						inFlight.release();
+					});
+		}
+		inFlight.acquire(concurrency); // All responses are in
+	}
+}
@@ -0,0 +1,98 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+// Building and writing a settled-round response: the original nested HashMaps against the
+// record DTOs with interned cards. Run with -prof gc for bytes allocated per response
+// (gc.alloc.rate.norm) and read p0.99 off the sample-time histogram.
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+	// Discards output so only building and serializing are measured
+	private static final OutputStream NULL_STREAM = new OutputStream() {
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	};
+
+	private ObjectWriter mapWriter;
+	private ObjectWriter recordWriter;
+	private CompactHand playerHand;
+	private CompactHand dealerHand;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapWriter = mapper.writerFor(Map.class);
+		recordWriter = mapper.writerFor(RoundResultResponse.class);
+		playerHand = new CompactHand();
+		playerHand.add(CardCodes.encode(8, 0));
+		playerHand.add(CardCodes.encode(5, 1));
+		playerHand.add(CardCodes.encode(1, 2));
+		dealerHand = new CompactHand();
+		dealerHand.add(CardCodes.encode(11, 3));
+		dealerHand.add(CardCodes.encode(5, 0));
+	}
+
+	@Benchmark
+	public void legacyMap() throws IOException {
+		RoundOutcome outcome = RoundOutcome.evaluate(playerHand, dealerHand);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("playerValue", playerHand.total());
+		result.put("dealerValue", dealerHand.total());
+		result.put("playerHand", cardDetails(playerHand));
+		result.put("dealerHand", cardDetails(dealerHand));
+		result.put("winner", outcome.getWinner());
+		result.put("message", outcome.getMessage());
+		result.put("betAmount", 10);
+		result.put("winnings", outcome.winnings(10));
+		result.put("playerNewBalance", 1_010);
+		mapWriter.writeValue(NULL_STREAM, result);
+	}
+
+	@Benchmark
+	public void typedRecord() throws IOException {
+		RoundOutcome outcome = RoundOutcome.evaluate(playerHand, dealerHand);
+		RoundResultResponse result = new RoundResultResponse(playerHand.total(), dealerHand.total(),
+				CardView.listOf(playerHand), CardView.listOf(dealerHand), outcome.getWinner(), outcome.getMessage(),
+				10, outcome.winnings(10), 1_010, null);
+		recordWriter.writeValue(NULL_STREAM, result);
+	}
+
+	private static List<Map<String, String>> cardDetails(CompactHand hand) {
+		List<Map<String, String>> cards = new ArrayList<>();
+		for (int i = 0; i < hand.size(); i++) {
+			Map<String, String> card = new HashMap<>();
+			card.put("rank", CardCodes.rankName(hand.code(i)));
+			card.put("suit", CardCodes.suitName(hand.code(i)));
+			cards.add(card);
+		}
+		return cards;
+	}
+}
@@ -0,0 +1,70 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.roundlog.RoundLogProperties;
+
+// Round records appended per second into memory-mapped segments, with the group-commit flusher
+// forcing them in the background. Small segments make the roll cost show up; run with -t 1,2,4.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundLogBenchmark {
+
+	@Param({ "4194304", "67108864" })
+	public int segmentBytes;
+
+	private RoundLog roundLog;
+	private Path dir;
+	private CompactHand playerHand;
+	private CompactHand dealerHand;
+
+	@Setup
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("round-log-bench");
+		RoundLogProperties properties = new RoundLogProperties();
+		properties.setDirectory(dir.toString());
+		properties.setSegmentBytes(segmentBytes);
+		roundLog = new RoundLog(properties);
+		playerHand = new CompactHand();
+		playerHand.add(51);
+		playerHand.add(20);
+		dealerHand = new CompactHand();
+		dealerHand.add(40);
+		dealerHand.add(12);
+		dealerHand.add(24);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		roundLog.destroy();
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Benchmark
+	public long appendRound() {
+		int playerId = ThreadLocalRandom.current().nextInt(1_000_000);
+		roundLog.action(playerId, PlayerAction.STAND);
+		return roundLog.append(System.currentTimeMillis(), playerId, 0, RoundOutcome.PLAYER_WIN, 10, 20, 1_000,
+				playerHand, dealerHand);
+	}
+}
@@ -0,0 +1,61 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.FisherYates;
+import com.ebenfuentes.blackjack.shoe.ShoeSeed;
+
+// Cost of a replayable shoe: rebuilding shoe n of a seed (ChaCha20 keystream driving Fisher-Yates,
+// the same work for a live reshuffle and for a dispute replay) against the unseeded in-place
+// shuffle, plus what a seed rotation costs (32 random bytes and their SHA-256 commitment).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeededShoeBenchmark {
+
+	@Param({ "6", "8" })
+	public int decks;
+
+	private byte[] cards;
+	private ShoeSeed seed;
+	private RandomGenerator random;
+	private SecureRandom seedSource;
+	private long index;
+
+	@Setup
+	public void setUp() {
+		cards = new byte[decks * CardCodes.DECK_SIZE];
+		for (int i = 0; i < cards.length; i++) {
+			cards[i] = (byte) (i % CardCodes.DECK_SIZE);
+		}
+		seedSource = new SecureRandom();
+		seed = ShoeSeed.generate(seedSource);
+		random = RandomGeneratorFactory.of("L64X128MixRandom").create(42);
+	}
+
+	@Benchmark
+	public byte[] seededShoe() {
+		seed.shuffle(cards, index++);
+		return cards;
+	}
+
+	@Benchmark
+	public byte[] unseededShuffle() {
+		FisherYates.shuffle(cards, random);
+		return cards;
+	}
+
+	@Benchmark
+	public String newSeedAndCommitment() {
+		return ShoeSeed.generate(seedSource).commitment();
+	}
+}
@@ -0,0 +1,283 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.CommandLineOptions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Whole player sessions against the REST API: each session creates its player with
+// POST /api/players, then plays `rounds` rounds of bet -> start -> hit/stand/double-down, now and
+// then asking for advice or checking the balance between rounds. `concurrency` sessions run at
+// once (a closed model: a session's next request goes out when its last one returns, after
+// `think-ms`), and a new session starts whenever one finishes until `players` have played.
+//
+// The app is booted once per thread mode x flush mode on the test classpath (H2); point it at a
+// local database with --profiles=prod --props="spring.datasource.url=...;spring.datasource.username=...".
+// --stacks=mvc,reactive runs the same sessions against the WebFlux stack as well (build with
+// -Pjmh,reactive; it always uses write-behind and the event loops, so thread and flush modes do not
+// apply, and a local database also needs spring.r2dbc.url in --props).
+// Per-endpoint throughput, error rate and p50/p99/p99.9 latency are printed, and each endpoint's
+// full HDR histogram is written as a .hgrm percentile file (plot with HdrHistogram's plotter), e.g.
+// mvn -Pjmh test-compile exec:exec@load -Dload.main=SessionLoadTest -Dload.args="--players=5000 --concurrency=256 --threads=platform,virtual --flush-modes=ROUND,WRITE_BEHIND"
+// mvn -Pjmh,reactive test-compile exec:exec@load -Dload.main=SessionLoadTest -Dload.args="--stacks=mvc,reactive --flush-modes=WRITE_BEHIND"
+public class SessionLoadTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final String REACTIVE_ROUTES = "com.ebenfuentes.blackjack.reactive.PlayerRoutes";
+	private static final List<String> ENDPOINTS = List.of("create", "bet", "start", "hit", "stand", "double-down",
+			"advice", "balance");
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		String[] stacks = options.getOrDefault("stacks", "mvc").split(",");
+		String[] threadModes = options.getOrDefault("threads", "platform").split(",");
+		String[] flushModes = options.getOrDefault("flush-modes", "ROUND").split(",");
+
+		for (String stack : stacks) {
+			if (stack.equals("reactive")) {
+				if (!ClassUtils.isPresent(REACTIVE_ROUTES, null)) {
+					System.out.printf("%s skipped: build with -Pjmh,reactive%n", stack);
+					continue;
+				}
+				run("reactive-write_behind", false, true, "WRITE_BEHIND", options);
+				continue;
+			}
+			for (String threads : threadModes) {
+				boolean virtual = threads.equals("virtual");
+				if (virtual && Runtime.version().feature() < 21) {
+					System.out.printf("%s skipped: virtual threads need Java 21, running on %s%n", threads,
+							Runtime.version());
+					continue;
+				}
+				for (String flushMode : flushModes) {
+					run(threads + "-" + flushMode.toLowerCase(), virtual, false, flushMode, options);
+				}
+			}
+		}
+	}
+
+	private static void run(String label, boolean virtual, boolean reactive, String flushMode,
+			Map<String, String> options) throws Exception {
+		int players = Integer.parseInt(options.getOrDefault("players", "5000"));
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "256"));
+		int warmupPlayers = Integer.parseInt(options.getOrDefault("warmup-players", "500"));
+		Path output = Path.of(options.getOrDefault("output", "target/load"));
+
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.properties("server.port=0", "server.tomcat.max-connections=20000", "server.tomcat.accept-count=1000",
+						"spring.jpa.show-sql=false", "logging.level.root=WARN",
+						"blackjack.session.flush-mode=" + flushMode);
+		String props = options.getOrDefault("props", "");
+		if (!props.isBlank()) {
+			builder.properties(props.split(";"));
+		}
+		String profiles = options.getOrDefault("profiles", "");
+		if (virtual) {
+			profiles = profiles.isBlank() ? "virtual" : profiles + ",virtual";
+		}
+		if (reactive) {
+			profiles = profiles.isBlank() ? "reactive" : profiles + ",reactive";
+		}
+		if (!profiles.isBlank()) {
+			builder.profiles(profiles.split(","));
+		}
+
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+		try (ConfigurableApplicationContext context = builder.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(30))
+					.executor(clientExecutor)
+					.build();
+			Driver driver = new Driver(client, "http://localhost:" + port + "/api/players", options);
+
+			driver.run(warmupPlayers, concurrency, new LatencyRecorder(ENDPOINTS));
+			driver.playedRounds.reset();
+
+			LatencyRecorder stats = new LatencyRecorder(ENDPOINTS);
+			long start = System.nanoTime();
+			driver.run(players, concurrency, stats);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			long rounds = driver.playedRounds.sum();
+			System.out.printf("%n%s: players=%,d concurrency=%d time=%.2fs rounds=%,d (%,.0f rounds/s)%n", label,
+					players, concurrency, seconds, rounds, rounds / seconds);
+			stats.print(seconds);
+			stats.write(output, label);
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+	}
+
+	private static final class Driver {
+
+		private final HttpClient client;
+		private final String baseUrl;
+		private final int rounds;
+		private final long thinkMillis;
+		private final double adviceRatio;
+		private final double balanceRatio;
+		private final LongAdder playedRounds = new LongAdder();
+
+		Driver(HttpClient client, String baseUrl, Map<String, String> options) {
+			this.client = client;
+			this.baseUrl = baseUrl;
+			this.rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+			this.thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+			this.adviceRatio = Double.parseDouble(options.getOrDefault("advice-ratio", "0.2"));
+			this.balanceRatio = Double.parseDouble(options.getOrDefault("balance-ratio", "0.3"));
+		}
+
+		// `concurrency` lanes, each running one session after another until `players` sessions have started
+		void run(int players, int concurrency, LatencyRecorder stats) {
+			AtomicInteger started = new AtomicInteger();
+			String prefix = "session-" + System.nanoTime() + "-";
+			CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(concurrency, players)];
+			for (int i = 0; i < lanes.length; i++) {
+				lanes[i] = lane(started, players, prefix, stats);
+			}
+			CompletableFuture.allOf(lanes).join();
+		}
+
+		private CompletableFuture<Void> lane(AtomicInteger started, int players, String prefix, LatencyRecorder stats) {
+			int index = started.getAndIncrement();
+			if (index >= players) {
+				return CompletableFuture.completedFuture(null);
+			}
+			String body = "{\"username\":\"" + prefix + index + "\",\"balance\":1000000}";
+			return send("create", post("", body), stats)
+					.thenCompose(player -> player == null
+							? CompletableFuture.completedFuture(null)
+							: play("/" + player.get("id").asInt(), rounds, stats))
+					.thenCompose(ignored -> lane(started, players, prefix, stats));
+		}
+
+		// A session ends early on the first failed request; the error is already counted
+		private CompletableFuture<Void> play(String player, int remaining, LatencyRecorder stats) {
+			if (remaining == 0) {
+				return CompletableFuture.completedFuture(null);
+			}
+			int bet = 5 * ThreadLocalRandom.current().nextInt(1, 11);
+			return send("bet", post(player + "/bet", "{\"amount\":" + bet + "}"), stats)
+					.thenCompose(ok -> ok == null ? failed() : send("start", post(player + "/start", ""), stats))
+					.thenCompose(state -> decide(player, state, true, stats))
+					.thenCompose(result -> {
+						if (result == null) {
+							return failed();
+						}
+						playedRounds.increment();
+						return ThreadLocalRandom.current().nextDouble() < balanceRatio
+								? send("balance", get(player + "/balance"), stats)
+								: CompletableFuture.completedFuture(result);
+					})
+					.thenCompose(ok -> ok == null ? CompletableFuture.<Void>completedFuture(null)
+							: play(player, remaining - 1, stats));
+		}
+
+		// Play the hand out from `state`: follow the advice endpoint when asked, otherwise double on a
+		// first-decision 10 or 11, hit below 17 and stand. Returns the settled result, or null on a failure.
+		private CompletableFuture<JsonNode> decide(String player, JsonNode state, boolean firstDecision,
+				LatencyRecorder stats) {
+			if (state == null || state.has("winner")) {
+				return CompletableFuture.completedFuture(state);
+			}
+			int value = state.has("handValue") ? state.get("handValue").asInt() : state.get("playerValue").asInt();
+			CompletableFuture<String> action;
+			if (ThreadLocalRandom.current().nextDouble() < adviceRatio) {
+				action = send("advice", get(player + "/advice"), stats)
+						.thenApply(advice -> advice == null ? null
+								: fromAdvice(advice.get("action").asText(), value, firstDecision));
+			} else {
+				action = CompletableFuture.completedFuture(heuristic(value, firstDecision));
+			}
+			return action.thenCompose(next -> {
+				if (next == null) {
+					return CompletableFuture.completedFuture(null);
+				}
+				CompletableFuture<JsonNode> response = send(next, post(player + "/" + next, ""), stats);
+				return next.equals("hit") ? response.thenCompose(hit -> decide(player, hit, false, stats)) : response;
+			});
+		}
+
+		private static String fromAdvice(String advice, int value, boolean firstDecision) {
+			return switch (advice) {
+			case "HIT" -> "hit";
+			case "STAND" -> "stand";
+			case "DOUBLE" -> firstDecision ? "double-down" : "hit";
+			default -> heuristic(value, firstDecision); // Split hands are not played here
+			};
+		}
+
+		private static String heuristic(int value, boolean firstDecision) {
+			if (firstDecision && (value == 10 || value == 11)) {
+				return "double-down";
+			}
+			return value < 17 ? "hit" : "stand";
+		}
+
+		// The parsed body (an empty object for an empty 200), or null when the request failed
+		private CompletableFuture<JsonNode> send(String endpoint, HttpRequest request, LatencyRecorder stats) {
+			CompletableFuture<Void> delay = thinkMillis == 0 ? CompletableFuture.completedFuture(null)
+					: CompletableFuture.runAsync(() -> {
+					}, CompletableFuture.delayedExecutor(thinkMillis, TimeUnit.MILLISECONDS));
+			return delay.thenCompose(ignored -> {
+				long start = System.nanoTime();
+				return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+						.handle((response, failure) -> {
+							boolean ok = failure == null && response.statusCode() == 200;
+							stats.record(endpoint, System.nanoTime() - start, ok);
+							if (!ok) {
+								return null;
+							}
+							try {
+								return response.body().isEmpty() ? MAPPER.createObjectNode()
+										: MAPPER.readTree(response.body());
+							} catch (IOException e) {
+								return null;
+							}
+						});
+			});
+		}
+
+		private static <T> CompletableFuture<T> failed() {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		private HttpRequest get(String path) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(120))
+					.GET()
+					.build();
+		}
+
+		private HttpRequest post(String path, String json) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(120))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json))
+					.build();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.FisherYates;
+import com.ebenfuentes.blackjack.model.Card;
+
+// Cost of producing one shuffled shoe: the old regex-parsed List<Card> build
+// against an in-place shuffle of a primitive N-deck array.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoeBenchmark {
+
+	private static final String[] RANKS = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "Jack", "Queen", "King", "Ace" };
+	private static final String[] SUITS = { "Spades", "Hearts", "Diamonds", "Clubs" };
+
+	@Param({ "1", "6", "8" })
+	public int decks;
+
+	@Param({ "L64X128MixRandom", "Xoshiro256PlusPlus", "Random" })
+	public String rng;
+
+	private byte[] cards;
+	private RandomGenerator random;
+
+	@Setup
+	public void setUp() {
+		cards = new byte[decks * CardCodes.DECK_SIZE];
+		for (int i = 0; i < cards.length; i++) {
+			cards[i] = (byte) (i % CardCodes.DECK_SIZE);
+		}
+		random = RandomGeneratorFactory.of(rng).create(42);
+	}
+
+	@Benchmark
+	public List<Card> legacyCardList() {
+		List<Card> shoe = new ArrayList<>();
+		for (int d = 0; d < decks; d++) {
+			for (String rank : RANKS) {
+				for (String suit : SUITS) {
+					int value = rank.matches("\\d+") ? Integer.parseInt(rank) : (rank.equals("Ace") ? 11 : 10);
+					shoe.add(new Card(rank, suit, value));
+				}
+			}
+		}
+		Collections.shuffle(shoe);
+		return shoe;
+	}
+
+	@Benchmark
+	public byte[] primitiveInPlace() {
+		FisherYates.shuffle(cards, random);
+		return cards;
+	}
+}
@@ -0,0 +1,59 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.shoe.ShoeProperties;
+import com.ebenfuentes.blackjack.shoe.ShoeShuffler;
+
+// Deal throughput with every benchmark thread playing a different set of keys.
+// Run with -t 1,2,4,8 (or -t max) to see how throughput scales with cores.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShoeManagerBenchmark {
+
+	@Param({ "1024" })
+	public int keys;
+
+	private ShoeManager shoeManager;
+
+	@Setup
+	public void setUp() {
+		ShoeProperties properties = new ShoeProperties();
+		shoeManager = new ShoeManager(new ShoeShuffler(properties), properties);
+		for (int i = 0; i < keys; i++) {
+			shoeManager.reshuffle(ShoeManager.playerKey(i));
+		}
+	}
+
+	@Benchmark
+	public Card dealRound() {
+		long key = ShoeManager.playerKey(ThreadLocalRandom.current().nextInt(keys));
+		return shoeManager.withShoe(key, shoe -> {
+			shoe.prepareRound(4);
+			shoe.deal();
+			shoe.deal();
+			shoe.deal();
+			return shoe.deal();
+		});
+	}
+
+	// Every thread on the same shoe: the contended worst case the old single deck always hit
+	@Benchmark
+	public Card dealSingleShoe() {
+		return shoeManager.withShoe(ShoeManager.playerKey(0), shoe -> {
+			if (shoe.isEmpty()) {
+				shoe.reset();
+			}
+			return shoe.deal();
+		});
+	}
+}
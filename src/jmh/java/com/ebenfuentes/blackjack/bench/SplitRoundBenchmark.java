@@ -0,0 +1,98 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+// Rounds/sec for a round split into N hands (a pair of eights is dealt before each split), through
+// the real services and H2. Rows written per round are printed at the end of each iteration and
+// should not grow with the number of hands.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitRoundBenchmark {
+
+	private static final int EIGHT = 6;
+
+	@Param({ "1", "2", "4" })
+	public int hands;
+
+	private ConfigurableApplicationContext context;
+	private GameService gameService;
+	private GameSessionStore sessionStore;
+	private SqlStatementCounter sqlStatementCounter;
+	private int playerId;
+	private long ops;
+	private long writesBefore;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+				.run();
+		gameService = context.getBean(GameService.class);
+		sessionStore = context.getBean(GameSessionStore.class);
+		sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+		playerId = gameService.createPlayer("splitter", Integer.MAX_VALUE / 2).getId();
+	}
+
+	@Setup(Level.Iteration)
+	public void markWrites() {
+		ops = 0;
+		writesBefore = sqlStatementCounter.getWriteCount();
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportWrites() {
+		if (ops > 0) {
+			System.out.printf(" [rows written per round: %.1f]", (double) (sqlStatementCounter.getWriteCount() - writesBefore) / ops);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int splitRound() {
+		gameService.placeBet(playerId, 10);
+		PlayResponse state = gameService.startGame(playerId);
+		for (int split = 1; split < hands && !state.roundOver(); split++) {
+			dealPair();
+			state = gameService.split(playerId);
+		}
+		while (!state.roundOver()) {
+			state = gameService.stand(playerId);
+		}
+		ops++;
+		return ((RoundResultResponse) state).playerNewBalance();
+	}
+
+	// Replace the hand in play with a pair of eights so the next split is allowed
+	private void dealPair() {
+		sessionStore.withPlayer(playerId, player -> {
+			CompactHand cards = player.getHand().getCompactHand();
+			cards.clear();
+			cards.add(CardCodes.encode(EIGHT, 0));
+			cards.add(CardCodes.encode(EIGHT, 1));
+			return null;
+		});
+	}
+}
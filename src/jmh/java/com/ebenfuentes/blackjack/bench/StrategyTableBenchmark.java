@@ -0,0 +1,58 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.strategy.DealerOutcomes;
+import com.ebenfuentes.blackjack.strategy.RuleSet;
+import com.ebenfuentes.blackjack.strategy.StrategyTable;
+
+// Advice lookup latency for random two-card hands, and the one-off cost of building the tables
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyTableBenchmark {
+
+	private static final int HANDS = 1024;
+
+	private StrategyTable table;
+	private CompactHand[] hands;
+	private int[] upCards;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		table = StrategyTable.build(DealerOutcomes.build());
+		SplittableRandom random = new SplittableRandom(42);
+		hands = new CompactHand[HANDS];
+		upCards = new int[HANDS];
+		for (int i = 0; i < HANDS; i++) {
+			hands[i] = new CompactHand();
+			hands[i].add(random.nextInt(CardCodes.DECK_SIZE));
+			hands[i].add(random.nextInt(CardCodes.DECK_SIZE));
+			upCards[i] = random.nextInt(CardCodes.DECK_SIZE);
+		}
+	}
+
+	@Benchmark
+	public double lookup() {
+		int i = next++ & (HANDS - 1);
+		int cell = table.cell(hands[i], upCards[i], RuleSet.S17);
+		PlayerAction action = table.bestAction(cell, true);
+		return table.expectedValue(cell, action);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public StrategyTable buildTables() {
+		return StrategyTable.build(DealerOutcomes.build());
+	}
+}
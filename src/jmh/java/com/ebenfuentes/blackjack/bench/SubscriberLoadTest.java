@@ -0,0 +1,181 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.CommandLineOptions;
+import com.ebenfuentes.blackjack.dto.TableStateResponse;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.service.TableService;
+
+// How many Server-Sent Event subscribers one node keeps fed. Opens N streams spread over a set
+// of tables, plays rounds at every table and reports event throughput, how long the last events
+// took to drain, dropped/RESYNC counts and heap per subscriber, e.g.
+// mvn -Pjmh test-compile exec:exec@load -Dload.main=SubscriberLoadTest -Dload.args="--subscribers=5000 --tables=50"
+// Client and server share this JVM, so each subscriber costs two file descriptors here.
+public class SubscriberLoadTest {
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		int subscribers = Integer.parseInt(options.getOrDefault("subscribers", "5000"));
+		int tables = Integer.parseInt(options.getOrDefault("tables", "50"));
+		int seats = Integer.parseInt(options.getOrDefault("seats", "7"));
+		int rounds = Integer.parseInt(options.getOrDefault("rounds", "20"));
+
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.properties("server.port=0", "server.tomcat.max-connections=30000", "server.tomcat.accept-count=5000",
+						"spring.jpa.show-sql=false", "logging.level.root=WARN")
+				.run()) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			GameService gameService = context.getBean(GameService.class);
+			TableService tableService = context.getBean(TableService.class);
+			GameEventPublisher publisher = context.getBean(GameEventPublisher.class);
+
+			List<Integer> tableIds = new ArrayList<>(tables);
+			List<List<Integer>> tablePlayers = new ArrayList<>(tables);
+			for (int t = 0; t < tables; t++) {
+				int tableId = tableService.createTable(seats).tableId();
+				List<Player> requests = new ArrayList<>(seats);
+				for (int s = 0; s < seats; s++) {
+					requests.add(new Player("observer-" + t + "-" + s, Integer.MAX_VALUE / 2));
+				}
+				List<Integer> playerIds = new ArrayList<>(seats);
+				for (Player player : gameService.createPlayers(requests)) {
+					tableService.join(tableId, player.getId());
+					playerIds.add(player.getId());
+				}
+				tableIds.add(tableId);
+				tablePlayers.add(playerIds);
+			}
+
+			// Connect in waves so the accept queue never overflows
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(30))
+					.executor(clientExecutor)
+					.build();
+			EventCounter counter = new EventCounter();
+			System.gc();
+			long heapBefore = usedHeap();
+			long connectStart = System.nanoTime();
+			for (int from = 0; from < subscribers; from += 500) {
+				List<CompletableFuture<?>> wave = new ArrayList<>();
+				for (int i = from; i < Math.min(subscribers, from + 500); i++) {
+					URI uri = URI.create("http://localhost:" + port + "/api/tables/" + tableIds.get(i % tables) + "/events");
+					wave.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofPublisher())
+							.thenAccept(response -> response.body().subscribe(counter.newStream())));
+				}
+				CompletableFuture.allOf(wave.toArray(CompletableFuture[]::new)).join();
+			}
+			double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+			System.gc();
+			long heapPerSubscriber = (usedHeap() - heapBefore) / Math.max(subscribers, 1);
+			System.out.printf("connected %,d subscribers in %.1fs (server sees %,d), ~%,d heap bytes each%n",
+					subscribers, connectSeconds, publisher.subscribers(), heapPerSubscriber);
+
+			long start = System.nanoTime();
+			for (int round = 0; round < rounds; round++) {
+				for (int t = 0; t < tables; t++) {
+					int tableId = tableIds.get(t);
+					for (int playerId : tablePlayers.get(t)) {
+						gameService.placeBet(playerId, 10);
+					}
+					TableStateResponse state = tableService.startRound(tableId);
+					while (state.roundInProgress()) {
+						state = tableService.stand(tableId, state.turnPlayerId());
+					}
+				}
+			}
+			double playSeconds = (System.nanoTime() - start) / 1e9;
+
+			// Wait for the dispatchers to catch up with the last round
+			long published = publisher.getPublished();
+			long deadline = System.nanoTime() + 120_000_000_000L;
+			while (counter.events.get() + publisher.getDropped() < published && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+			System.out.printf("played %,d table rounds in %.2fs (%,.0f rounds/s)%n", rounds * tables, playSeconds,
+					rounds * tables / playSeconds);
+			System.out.printf("events queued %,d received %,d dropped %,d resyncs %,d%n", published,
+					counter.events.get(), publisher.getDropped(), counter.resyncs.get());
+			System.out.printf("delivery %,.0f events/s, drain lag after last round %.2fs%n",
+					counter.events.get() / totalSeconds, totalSeconds - playSeconds);
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	// Counts "event:" lines across every open stream
+	private static final class EventCounter {
+
+		final AtomicLong events = new AtomicLong();
+		final AtomicLong resyncs = new AtomicLong();
+
+		Flow.Subscriber<List<ByteBuffer>> newStream() {
+			return new Flow.Subscriber<>() {
+				private final StringBuilder line = new StringBuilder();
+
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscription.request(Long.MAX_VALUE);
+				}
+
+				@Override
+				public void onNext(List<ByteBuffer> buffers) {
+					for (ByteBuffer buffer : buffers) {
+						while (buffer.hasRemaining()) {
+							char c = (char) buffer.get();
+							if (c != '\n') {
+								line.append(c);
+								continue;
+							}
+							if (line.indexOf("event:") == 0) {
+								if (line.indexOf("RESYNC") > 0) {
+									resyncs.incrementAndGet();
+								} else {
+									events.incrementAndGet();
+								}
+							}
+							line.setLength(0);
+						}
+					}
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+				}
+
+				@Override
+				public void onComplete() {
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.ebenfuentes.blackjack.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.TableStateResponse;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.service.TableService;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+// Rounds/sec for N players sharing one table against the same N players each playing a solo
+// round, through the real services and H2. Every op is one round for every player, so ops/s is
+// table rounds/sec; rows written per op are printed at the end of each trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableRoundBenchmark {
+
+	@Param({ "1", "4", "7" })
+	public int seats;
+
+	private ConfigurableApplicationContext context;
+	private GameService gameService;
+	private TableService tableService;
+	private SqlStatementCounter sqlStatementCounter;
+	private List<Integer> soloPlayers;
+	private List<Integer> tablePlayers;
+	private int tableId;
+	private long ops;
+	private long writesBefore;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+				.run();
+		gameService = context.getBean(GameService.class);
+		tableService = context.getBean(TableService.class);
+		sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+
+		soloPlayers = createPlayers("solo");
+		tablePlayers = createPlayers("seat");
+		tableId = tableService.createTable(seats).tableId();
+		for (int playerId : tablePlayers) {
+			tableService.join(tableId, playerId);
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void markWrites() {
+		ops = 0;
+		writesBefore = sqlStatementCounter.getWriteCount();
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportWrites() {
+		if (ops > 0) {
+			System.out.printf(" [rows written per op: %.1f]", (double) (sqlStatementCounter.getWriteCount() - writesBefore) / ops);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int soloRounds() {
+		int balance = 0;
+		for (int playerId : soloPlayers) {
+			gameService.placeBet(playerId, 10);
+			if (!gameService.startGame(playerId).roundOver()) {
+				balance += ((RoundResultResponse) gameService.stand(playerId)).playerNewBalance();
+			}
+		}
+		ops++;
+		return balance;
+	}
+
+	@Benchmark
+	public TableStateResponse tableRound() {
+		for (int playerId : tablePlayers) {
+			gameService.placeBet(playerId, 10);
+		}
+		TableStateResponse state = tableService.startRound(tableId);
+		while (state.roundInProgress()) {
+			state = tableService.stand(tableId, state.turnPlayerId());
+		}
+		ops++;
+		return state;
+	}
+
+	private List<Integer> createPlayers(String prefix) {
+		List<Integer> ids = new ArrayList<>(seats);
+		for (int i = 0; i < seats; i++) {
+			ids.add(gameService.createPlayer(prefix + "-" + i, Integer.MAX_VALUE / 2).getId());
+		}
+		return ids;
+	}
+}
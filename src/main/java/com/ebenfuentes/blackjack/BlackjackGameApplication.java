@@ -2,10 +2,12 @@ package com.ebenfuentes.blackjack;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
 
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @ComponentScan(basePackages = "com.ebenfuentes")
 public class BlackjackGameApplication {
 
@@ -0,0 +1,38 @@
+package com.ebenfuentes.blackjack;
+
+import java.util.Map;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.simulation.SimulationResult;
+import com.ebenfuentes.blackjack.simulation.SimulationRunner;
+import com.ebenfuentes.blackjack.simulation.Strategies;
+
+// Offline house-edge simulation without Spring or a database, e.g.
+// mvn compile exec:java -Dexec.mainClass=com.ebenfuentes.blackjack.BlackjackSimulator -Dexec.args="--rounds=100000000 --decks=8"
+public class BlackjackSimulator {
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		long rounds = Long.parseLong(options.getOrDefault("rounds", "10000000"));
+		int threads = Integer.parseInt(options.getOrDefault("threads",
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+		int decks = Integer.parseInt(options.getOrDefault("decks", "6"));
+		double penetration = Double.parseDouble(options.getOrDefault("penetration", "0.75"));
+		long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime())));
+		String strategy = options.getOrDefault("strategy", "mimic-dealer");
+
+		SimulationRunner runner = new SimulationRunner(Strategies.byName(strategy), decks, penetration);
+		SimulationResult result = runner.run(rounds, threads, seed);
+
+		System.out.printf("strategy=%s decks=%d penetration=%.2f threads=%d seed=%d%n",
+				strategy, decks, penetration, threads, seed);
+		System.out.printf("rounds        %,d%n", result.getRounds());
+		System.out.printf("EV per round  %+.5f bets (+/- %.5f)%n", result.getExpectedValue(), 1.96 * result.getStandardError());
+		System.out.printf("house edge    %.3f%%%n", -100 * result.getExpectedValue());
+		System.out.printf("variance      %.4f%n", result.getVariance());
+		for (RoundOutcome outcome : RoundOutcome.values()) {
+			System.out.printf("%-13s %.4f%n", outcome, (double) result.getOutcomeCount(outcome) / result.getRounds());
+		}
+		System.out.printf("hands/sec     %,.0f%n", result.getHandsPerSecond());
+	}
+}
@@ -0,0 +1,23 @@
+package com.ebenfuentes.blackjack;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// The --key=value arguments shared by the offline tools (simulator, replays) and the load tests
+public final class CommandLineOptions {
+
+	private CommandLineOptions() {
+	}
+
+	public static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+			}
+			int eq = arg.indexOf('=');
+			options.put(arg.substring(2, eq), arg.substring(eq + 1));
+		}
+		return options;
+	}
+}
@@ -0,0 +1,123 @@
+package com.ebenfuentes.blackjack;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.roundlog.RoundLogReader;
+import com.ebenfuentes.blackjack.roundlog.RoundRecord;
+
+// Offline replay of the round log: rebuilds every player's balance from their last round, checks
+// that consecutive rounds chain (balance before one round = balance after the previous) and
+// totals the house result, e.g.
+// mvn compile exec:java -Dexec.mainClass=com.ebenfuentes.blackjack.RoundLogReplay -Dexec.args="--dir=round-log --balances=balances.csv"
+// A break in the chain means the balance moved outside a settled round (a reset, or a second bet).
+public class RoundLogReplay {
+
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		Path directory = Path.of(options.getOrDefault("dir", "round-log"));
+		Integer trace = options.containsKey("player") ? Integer.valueOf(options.get("player")) : null;
+
+		Map<Integer, PlayerTotals> players = new HashMap<>();
+		Map<RoundOutcome, Long> outcomes = new EnumMap<>(RoundOutcome.class);
+		long[] range = { Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE }; // sequence, time
+		long[] money = new long[3]; // staked, paid out, chain breaks
+
+		long start = System.nanoTime();
+		long records = RoundLogReader.read(directory, record -> {
+			PlayerTotals totals = players.computeIfAbsent(record.playerId(), id -> new PlayerTotals());
+			if (totals.rounds > 0 && record.balanceBefore() != totals.balance) {
+				money[2]++;
+			}
+			totals.rounds++;
+			totals.net += record.payout() - record.bet();
+			totals.balance = record.balanceAfter();
+			outcomes.merge(record.outcome(), 1L, Long::sum);
+			money[0] += record.bet();
+			money[1] += record.payout();
+			range[0] = Math.min(range[0], record.sequence());
+			range[1] = Math.max(range[1], record.sequence());
+			range[2] = Math.min(range[2], record.timestamp());
+			range[3] = Math.max(range[3], record.timestamp());
+			if (trace != null && trace == record.playerId()) {
+				System.out.println(describe(record));
+			}
+		});
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("segments      %d in %s%n", RoundLogReader.segments(directory).size(), directory);
+		System.out.printf("records       %,d read in %.2fs (%,.0f records/s)%n", records, seconds, records / seconds);
+		if (records == 0) {
+			return;
+		}
+		System.out.printf("sequences     %,d..%,d%n", range[0], range[1]);
+		System.out.printf("time          %s .. %s%n", Instant.ofEpochMilli(range[2]), Instant.ofEpochMilli(range[3]));
+		System.out.printf("players       %,d%n", players.size());
+		for (Map.Entry<RoundOutcome, Long> entry : outcomes.entrySet()) {
+			System.out.printf("%-13s %,d%n", entry.getKey(), entry.getValue());
+		}
+		System.out.printf("staked        %,d%n", money[0]);
+		System.out.printf("paid out      %,d%n", money[1]);
+		System.out.printf("house result  %+,d%n", money[0] - money[1]);
+		System.out.printf("chain breaks  %,d%n", money[2]);
+
+		if (options.containsKey("balances")) {
+			Path out = Path.of(options.get("balances"));
+			try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+				writer.println("player_id,balance,rounds,net");
+				for (Map.Entry<Integer, PlayerTotals> entry : new TreeMap<>(players).entrySet()) {
+					PlayerTotals totals = entry.getValue();
+					writer.printf("%d,%d,%d,%d%n", entry.getKey(), totals.balance, totals.rounds, totals.net);
+				}
+			}
+			System.out.printf("balances      written to %s%n", out);
+		}
+	}
+
+	private static String describe(RoundRecord record) {
+		StringBuilder line = new StringBuilder();
+		line.append('#').append(record.sequence()).append(' ').append(Instant.ofEpochMilli(record.timestamp()));
+		if (record.tableId() != 0) {
+			line.append(" table ").append(record.tableId());
+		}
+		line.append(" player ");
+		appendCards(line, record.playerCards());
+		line.append(" dealer ");
+		appendCards(line, record.dealerCards());
+		line.append(' ').append(record.actionList()).append(' ').append(record.outcome())
+				.append(" bet ").append(record.bet()).append(" paid ").append(record.payout())
+				.append(" balance ").append(record.balanceAfter());
+		if (record.shoeCommitment() != null) {
+			// For ShoeReplay: the seed (revealed in seeds.log or by a rotation), shoe number and where the round began
+			line.append(" shoe ").append(record.shoeCommitment()).append(" #").append(record.shoeIndex())
+					.append(" after card ").append(record.shoePosition());
+		}
+		return line.toString();
+	}
+
+	private static void appendCards(StringBuilder line, byte[] codes) {
+		line.append('[');
+		for (int i = 0; i < codes.length; i++) {
+			if (i > 0) {
+				line.append(' ');
+			}
+			line.append(CardCodes.rankName(codes[i])).append(CardCodes.suitName(codes[i]).charAt(0));
+		}
+		line.append(']');
+	}
+
+	private static final class PlayerTotals {
+		int balance;
+		long rounds;
+		long net;
+	}
+}
@@ -0,0 +1,50 @@
+package com.ebenfuentes.blackjack;
+
+import java.util.Map;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.shoe.ShoeSeed;
+
+// Offline check of a revealed shoe seed: verifies it against the commitment published before the
+// deal and prints a shoe's cards in deal order, e.g.
+// mvn compile exec:java -Dexec.mainClass=com.ebenfuentes.blackjack.ShoeReplay -Dexec.args="--seed=<hex> --commitment=<hex> --shoe=3 --decks=6"
+// --cards limits how many cards are printed; the shoe number is the shoeIndex reported by /shoe.
+public class ShoeReplay {
+
+	public static void main(String[] args) {
+		Map<String, String> options = CommandLineOptions.parse(args);
+		if (!options.containsKey("seed")) {
+			throw new IllegalArgumentException("--seed=<revealed seed, hex> is required");
+		}
+		ShoeSeed seed = ShoeSeed.fromHex(options.get("seed"));
+		long shoe = Long.parseLong(options.getOrDefault("shoe", "0"));
+		int decks = Integer.parseInt(options.getOrDefault("decks", "6"));
+
+		System.out.printf("commitment    %s%n", seed.commitment());
+		if (options.containsKey("commitment")) {
+			boolean matches = seed.matches(options.get("commitment"));
+			System.out.printf("published     %s (%s)%n", options.get("commitment"), matches ? "matches" : "DOES NOT MATCH");
+			if (!matches) {
+				System.exit(1);
+			}
+		}
+
+		long start = System.nanoTime();
+		byte[] cards = seed.shoe(shoe, decks);
+		double micros = (System.nanoTime() - start) / 1e3;
+		int count = Math.min(cards.length, Integer.parseInt(options.getOrDefault("cards", String.valueOf(cards.length))));
+		System.out.printf("shoe          %d (%d decks) rebuilt in %.1f us%n", shoe, decks, micros);
+
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			int code = cards[cards.length - 1 - i]; // Dealt from the tail
+			line.append(CardCodes.rankName(code)).append(CardCodes.suitName(code).charAt(0));
+			if ((i + 1) % 13 == 0 || i == count - 1) {
+				System.out.printf("%4d  %s%n", i - i % 13 + 1, line);
+				line.setLength(0);
+			} else {
+				line.append(' ');
+			}
+		}
+	}
+}
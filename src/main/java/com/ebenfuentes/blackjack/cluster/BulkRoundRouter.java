@@ -0,0 +1,101 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.BulkRoundResponse;
+import com.ebenfuentes.blackjack.service.RoundService;
+
+// Bulk rounds in a cluster: the players are split by the node that serves them, each node plays
+// its part (the remote parts in parallel with the local one) and the summaries come
+// back in request order. A part that fails marks its players with the error instead of failing
+// the whole call. Without clustering, or for a forwarded part, it is RoundService.playRounds.
+@Component
+public class BulkRoundRouter {
+
+	private final ClusterNode node;
+	private final ClusterClient client;
+	private final SessionHandoff handoff;
+	private final RoundService roundService;
+
+	public BulkRoundRouter(ClusterNode node, ClusterClient client, SessionHandoff handoff, RoundService roundService) {
+		this.node = node;
+		this.client = client;
+		this.handoff = handoff;
+		this.roundService = roundService;
+	}
+
+	public BulkRoundResponse playRounds(BulkRoundRequest request, String idempotencyKey, boolean forwarded) {
+		if (!node.isEnabled() || forwarded || request.playerIds() == null || request.playerIds().isEmpty()) {
+			return playLocal(request);
+		}
+		Map<String, List<Integer>> byOwner = new LinkedHashMap<>();
+		for (Integer playerId : request.playerIds()) {
+			byOwner.computeIfAbsent(node.playerRoute(playerId), owner -> new ArrayList<>()).add(playerId);
+		}
+		if (byOwner.size() == 1 && node.isSelf(byOwner.keySet().iterator().next())) {
+			return playLocal(request);
+		}
+
+		Map<String, CompletableFuture<BulkRoundResponse>> remote = new LinkedHashMap<>();
+		byOwner.forEach((owner, playerIds) -> {
+			if (!node.isSelf(owner)) {
+				BulkRoundRequest part = part(request, playerIds);
+				remote.put(owner, CompletableFuture.supplyAsync(() -> {
+					node.forwarded();
+					return client.playRounds(owner, node.self(), part, idempotencyKey);
+				}));
+			}
+		});
+
+		Map<Integer, BulkRoundResponse.PlayerRounds> summaries = new LinkedHashMap<>();
+		byOwner.forEach((owner, playerIds) -> {
+			BulkRoundResponse result = null;
+			String error = null;
+			try {
+				result = node.isSelf(owner) ? playLocal(part(request, playerIds)) : remote.get(owner).join();
+			} catch (CompletionException e) {
+				error = e.getCause().getMessage();
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				error = e.getMessage();
+			}
+			for (Integer playerId : playerIds) {
+				summaries.put(playerId, new BulkRoundResponse.PlayerRounds(playerId, 0, 0, 0, 0, Map.of(), error));
+			}
+			if (result != null) {
+				result.players().forEach(summary -> summaries.put(summary.playerId(), summary));
+			}
+		});
+
+		List<BulkRoundResponse.PlayerRounds> players = new ArrayList<>(request.playerIds().size());
+		int rounds = 0;
+		long wagered = 0;
+		long winnings = 0;
+		for (Integer playerId : request.playerIds()) {
+			BulkRoundResponse.PlayerRounds summary = summaries.get(playerId);
+			players.add(summary);
+			rounds += summary.rounds();
+			wagered += summary.wagered();
+			winnings += summary.winnings();
+		}
+		return new BulkRoundResponse(rounds, wagered, winnings, players);
+	}
+
+	private BulkRoundResponse playLocal(BulkRoundRequest request) {
+		if (request.playerIds() != null) {
+			request.playerIds().forEach(handoff::claim);
+		}
+		return roundService.playRounds(request);
+	}
+
+	private static BulkRoundRequest part(BulkRoundRequest request, List<Integer> playerIds) {
+		return new BulkRoundRequest(playerIds, request.rounds(), request.bet(), request.actions(), request.strategy());
+	}
+}
@@ -0,0 +1,215 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.BulkRoundResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// HTTP between nodes: heartbeats, handoffs and requests forwarded to a player's or table's owner.
+// Forwarded responses are streamed back as they arrive, so event streams pass through as well.
+@Component
+public class ClusterClient {
+
+	// Set on forwarded requests (to the forwarding node's URL); the receiver handles them itself
+	// even if its view of the ring disagrees, so a request is never forwarded twice
+	public static final String FORWARDED = "X-Blackjack-Forwarded";
+	public static final String SECRET = "X-Cluster-Secret";
+
+	private static final String INTERNAL = "/internal/cluster";
+
+	// Hop-by-hop headers and those HttpClient sets itself
+	private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+			"upgrade", "keep-alive", "te", "trailer", "transfer-encoding", "date", "server");
+
+	private final HttpClient http;
+	private final ObjectMapper mapper;
+	private final ClusterProperties properties;
+
+	public ClusterClient(ObjectMapper mapper, ClusterProperties properties) {
+		this.mapper = mapper;
+		this.properties = properties;
+		this.http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(2))
+				.build();
+	}
+
+	// Refuses internal calls without the shared secret
+	public void checkSecret(String presented) {
+		if (!secretMatches(presented)) {
+			throw new IllegalStateException("Missing or wrong cluster secret.");
+		}
+	}
+
+	public boolean hasSecret() {
+		String secret = properties.getSecret();
+		return secret != null && !secret.isEmpty();
+	}
+
+	// False whenever no secret is configured; compared in constant time
+	public boolean secretMatches(String presented) {
+		return hasSecret() && presented != null && MessageDigest.isEqual(
+				properties.getSecret().getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public CompletableFuture<Heartbeat> heartbeat(String node, Heartbeat heartbeat) {
+		return http.sendAsync(post(node + INTERNAL + "/heartbeat", heartbeat, properties.getFailureTimeout()),
+				HttpResponse.BodyHandlers.ofString())
+				.thenApply(response -> read(node, response, Heartbeat.class));
+	}
+
+	public PlayerHandoff releasePlayer(String node, int playerId, String to) {
+		return send(node, INTERNAL + "/players/" + playerId + "/release?to=" + to, Map.of(), PlayerHandoff.class);
+	}
+
+	public void adoptPlayer(String node, PlayerHandoff handoff) {
+		send(node, INTERNAL + "/players/" + handoff.playerId() + "/adopt", handoff, Void.class);
+	}
+
+	public void adoptTable(String node, TableHandoff handoff) {
+		send(node, INTERNAL + "/tables/" + handoff.tableId() + "/adopt", handoff, Void.class);
+	}
+
+	// Part of a bulk round call, for the players another node owns
+	public BulkRoundResponse playRounds(String node, String self, BulkRoundRequest request, String idempotencyKey) {
+		HttpRequest.Builder builder = builder(node + "/api/players/rounds", request, properties.getForwardTimeout())
+				.header(FORWARDED, self);
+		if (idempotencyKey != null) {
+			builder.header("Idempotency-Key", idempotencyKey);
+		}
+		return exchange(node, builder.build(), BulkRoundResponse.class);
+	}
+
+	// Replay the request on `node` and copy its response back, streaming the body as it arrives
+	public void forward(String node, String self, HttpServletRequest request, byte[] body,
+			HttpServletResponse response) throws IOException {
+		String query = request.getQueryString();
+		HttpRequest.Builder builder = HttpRequest.newBuilder(
+				URI.create(node + request.getRequestURI() + (query == null ? "" : "?" + query)))
+				.timeout(properties.getForwardTimeout())
+				.method(request.getMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofByteArray(body));
+		for (String name : Collections.list(request.getHeaderNames())) {
+			String lower = name.toLowerCase();
+			if (!SKIPPED_HEADERS.contains(lower) && !lower.equals(FORWARDED.toLowerCase())
+					&& !lower.equals(SECRET.toLowerCase())) {
+				for (String value : Collections.list(request.getHeaders(name))) {
+					builder.header(name, value);
+				}
+			}
+		}
+		withIdentity(builder).header(FORWARDED, self);
+
+		HttpResponse<InputStream> answer;
+		try {
+			answer = http.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+		} catch (IOException e) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, node + " is unavailable: " + e);
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+
+		response.setStatus(answer.statusCode());
+		answer.headers().map().forEach((name, values) -> {
+			if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+				values.forEach(value -> response.addHeader(name, value));
+			}
+		});
+		try (InputStream in = answer.body()) {
+			OutputStream out = response.getOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				out.write(buffer, 0, read);
+				if (in.available() == 0) {
+					out.flush(); // Event streams: pass each event on as soon as it is complete
+				}
+			}
+		}
+	}
+
+	private <T> T send(String node, String path, Object body, Class<T> type) {
+		return exchange(node, post(node + path, body, properties.getForwardTimeout()), type);
+	}
+
+	private <T> T exchange(String node, HttpRequest request, Class<T> type) {
+		try {
+			return read(node, http.send(request, HttpResponse.BodyHandlers.ofString()), type);
+		} catch (IOException e) {
+			throw new IllegalStateException(node + " is unavailable: " + e, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while calling " + node + ".", e);
+		}
+	}
+
+	private <T> T read(String node, HttpResponse<String> response, Class<T> type) {
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException(node + " answered " + response.statusCode() + ": " + response.body());
+		}
+		if (type == Void.class || response.body().isEmpty()) {
+			return null;
+		}
+		try {
+			return mapper.readValue(response.body(), type);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unreadable response from " + node + ".", e);
+		}
+	}
+
+	private HttpRequest post(String uri, Object body, Duration timeout) {
+		return builder(uri, body, timeout).build();
+	}
+
+	private HttpRequest.Builder builder(String uri, Object body, Duration timeout) {
+		try {
+			return withIdentity(HttpRequest.newBuilder(URI.create(uri))
+					.timeout(timeout)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))));
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Cannot serialize " + body.getClass().getSimpleName() + ".", e);
+		}
+	}
+
+	private HttpRequest.Builder withIdentity(HttpRequest.Builder builder) {
+		String secret = properties.getSecret();
+		if (secret != null && !secret.isEmpty()) {
+			builder.header(SECRET, secret);
+		}
+		return builder;
+	}
+
+	static List<String> normalize(List<String> urls) {
+		return urls.stream().map(ClusterClient::normalize).toList();
+	}
+
+	static String normalize(String url) {
+		String trimmed = url.trim();
+		return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+	}
+}
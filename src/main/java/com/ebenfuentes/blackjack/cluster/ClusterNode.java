@@ -0,0 +1,374 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.table.TableManager;
+
+// This node's view of the cluster: who is alive, the hash ring built from them and where each
+// player and table is served. Nodes find each other through the seeds and gossip (every heartbeat
+// lists the members its sender hears from directly); only members heard from directly go on the
+// ring, and one not heard from for failureTimeout is dropped. Players belong to the ring owner of
+// their shoe key unless they are seated at a table, which pins them to the table's node; tables
+// belong to the node that hosts them, and new table ids are picked so that is the ring owner.
+// After a handoff the old node keeps a short "moved" hint, so requests that reach it before the
+// next heartbeats are passed on rather than served from a copy it no longer holds.
+@Component
+public class ClusterNode {
+
+	private static final Logger log = LoggerFactory.getLogger(ClusterNode.class);
+
+	private final ClusterProperties properties;
+	private final ClusterClient client;
+	private final TableManager tableManager;
+	private final Environment environment;
+
+	private final ConcurrentMap<String, Member> members = new ConcurrentHashMap<>();
+	// Nodes that said they are leaving, ignored in gossip until the window passes
+	private final ConcurrentMap<String, Long> departed = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Integer, Hint> movedPlayers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Integer, Hint> movedTables = new ConcurrentHashMap<>();
+	// Seeds and every node they (or nodes they vouched for) have named; others' heartbeats are refused
+	private final Set<String> known = ConcurrentHashMap.newKeySet();
+	private final AtomicLong forwarded = new AtomicLong();
+	private final AtomicLong ringVersion = new AtomicLong();
+
+	private volatile String self;
+	private volatile boolean started;
+	private volatile boolean leaving;
+	private volatile HashRing ring;
+	// Every other node known, directly or through gossip: where this node's players were before it
+	// (or a node it now replaces) joined the ring
+	private volatile HashRing others = new HashRing(List.of(), 1);
+	private volatile long ringChangedAt;
+	private ScheduledExecutorService heartbeats;
+
+	public ClusterNode(ClusterProperties properties, ClusterClient client, TableManager tableManager,
+			Environment environment) {
+		this.properties = properties;
+		this.client = client;
+		this.tableManager = tableManager;
+		this.environment = environment;
+		if (properties.isEnabled() && !client.hasSecret()) {
+			throw new IllegalStateException("Set blackjack.cluster.secret when blackjack.cluster.enabled is true.");
+		}
+		known.addAll(ClusterClient.normalize(properties.getSeeds()));
+	}
+
+	// Once the port is known: join through the seeds and start the heartbeat
+	@EventListener(WebServerInitializedEvent.class)
+	public synchronized void start(WebServerInitializedEvent event) {
+		if (!properties.isEnabled() || started || event.getApplicationContext().getServerNamespace() != null) {
+			return;
+		}
+		if (environment.acceptsProfiles(Profiles.of("reactive"))) {
+			throw new IllegalStateException("Clustering is not available on the reactive stack.");
+		}
+		self = ClusterClient.normalize(properties.getNodeUrl() != null ? properties.getNodeUrl()
+				: "http://localhost:" + event.getWebServer().getPort());
+		ring = new HashRing(List.of(self), properties.getVirtualNodes());
+		ringChangedAt = System.currentTimeMillis();
+		started = true;
+
+		long interval = properties.getHeartbeatInterval().toMillis();
+		heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "cluster-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+		heartbeats.scheduleWithFixedDelay(this::heartbeatQuietly, 0, interval, TimeUnit.MILLISECONDS);
+		log.info("Cluster node {} started with seeds {}", self, properties.getSeeds());
+	}
+
+	public boolean isEnabled() {
+		return started;
+	}
+
+	public String self() {
+		return self;
+	}
+
+	public boolean isSelf(String node) {
+		return self.equals(node);
+	}
+
+	public boolean isMember(String node) {
+		Member member = members.get(node);
+		return member != null && member.direct();
+	}
+
+	// A heartbeat from another node; the answer is this node's own
+	public Heartbeat receive(Heartbeat heartbeat) {
+		if (!known.contains(heartbeat.node())) {
+			throw new IllegalStateException("Heartbeat from " + heartbeat.node() + ", which is not a seed or known member.");
+		}
+		merge(heartbeat);
+		return heartbeat();
+	}
+
+	// Stop owning anything: the others drop this node from their rings right away instead of after
+	// failureTimeout, and routes computed here from now on point at the remaining members
+	public void leave() {
+		if (!started || leaving) {
+			return;
+		}
+		leaving = true;
+		rebuildRing();
+		Heartbeat goodbye = heartbeat();
+		List<CompletableFuture<Heartbeat>> sent = new ArrayList<>();
+		for (String node : members.keySet()) {
+			sent.add(client.heartbeat(node, goodbye));
+		}
+		for (CompletableFuture<Heartbeat> reply : sent) {
+			try {
+				reply.get(properties.getFailureTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			} catch (Exception e) {
+				// That node finds out through its failure timeout instead
+			}
+		}
+		log.info("Cluster node {} left; {} members notified", self, sent.size());
+	}
+
+	public void stop() {
+		if (heartbeats != null) {
+			heartbeats.shutdownNow();
+		}
+	}
+
+	// Where a request for this player is served
+	public String playerRoute(int playerId) {
+		if (tableManager.isSeated(playerId)) {
+			return self;
+		}
+		String hinted = hint(movedPlayers, playerId);
+		if (hinted != null) {
+			return hinted;
+		}
+		for (Map.Entry<String, Member> entry : members.entrySet()) {
+			if (entry.getValue().direct() && entry.getValue().seated().contains(playerId)) {
+				return entry.getKey();
+			}
+		}
+		return owner(ring, ShoeManager.playerKey(playerId));
+	}
+
+	// Where a request for this table is served
+	public String tableRoute(int tableId) {
+		if (tableManager.contains(tableId)) {
+			return self;
+		}
+		String hinted = hint(movedTables, tableId);
+		if (hinted != null) {
+			return hinted;
+		}
+		for (Map.Entry<String, Member> entry : members.entrySet()) {
+			if (entry.getValue().direct() && entry.getValue().tables().contains(tableId)) {
+				return entry.getKey();
+			}
+		}
+		return tableOwner(tableId);
+	}
+
+	// Where the table should live by the ring alone, whoever hosts it now
+	public String tableOwner(int tableId) {
+		return owner(ring, ShoeManager.tableKey(tableId));
+	}
+
+	// Who held the player before this node owned it, while a handoff from them still makes sense.
+	// Worked out from the other known nodes rather than from this node's previous ring, which
+	// right after startup only has the members heard from so far.
+	public String previousPlayerOwner(int playerId) {
+		if (System.currentTimeMillis() - ringChangedAt > properties.getHandoffWindow().toMillis()) {
+			return null;
+		}
+		return others.owner(ShoeManager.playerKey(playerId));
+	}
+
+	// Table ids are picked so the creating node owns them, keeping a new table's requests local
+	public boolean ownsNewTable(int tableId) {
+		return !started || leaving || !ring.nodes().contains(self) || self.equals(tableOwner(tableId));
+	}
+
+	public void playerMoved(int playerId, String node) {
+		movedPlayers.put(playerId, new Hint(node, System.currentTimeMillis()));
+	}
+
+	public void tableMoved(int tableId, String node) {
+		movedTables.put(tableId, new Hint(node, System.currentTimeMillis()));
+	}
+
+	public void clearPlayerHint(int playerId) {
+		movedPlayers.remove(playerId);
+	}
+
+	public void clearTableHint(int tableId) {
+		movedTables.remove(tableId);
+	}
+
+	public long getRingVersion() {
+		return ringVersion.get();
+	}
+
+	public void forwarded() {
+		forwarded.incrementAndGet();
+	}
+
+	public long getForwarded() {
+		return forwarded.get();
+	}
+
+	// Members on the ring, this node included
+	public int members() {
+		HashRing current = ring;
+		return current == null ? 0 : current.nodes().size();
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", started);
+		stats.put("node", self);
+		stats.put("leaving", leaving);
+		stats.put("ring", ring == null ? List.of() : ring.nodes());
+		stats.put("ringVersion", ringVersion.get());
+		stats.put("forwarded", forwarded.get());
+		stats.put("movedPlayers", movedPlayers.size());
+		stats.put("movedTables", movedTables.size());
+		return stats;
+	}
+
+	private Heartbeat heartbeat() {
+		List<String> direct = new ArrayList<>();
+		members.forEach((node, member) -> {
+			if (member.direct()) {
+				direct.add(node);
+			}
+		});
+		return new Heartbeat(self, direct, tableManager.tableIds(), new ArrayList<>(tableManager.seatedPlayerIds()),
+				leaving);
+	}
+
+	private void heartbeatQuietly() {
+		try {
+			heartbeatRound();
+		} catch (RuntimeException e) {
+			log.error("Cluster heartbeat failed", e);
+		}
+	}
+
+	private void heartbeatRound() {
+		long now = System.currentTimeMillis();
+		long timeout = properties.getFailureTimeout().toMillis();
+		members.entrySet().removeIf(entry -> {
+			boolean expired = now - entry.getValue().lastSeen() > timeout;
+			if (expired && entry.getValue().direct()) {
+				log.warn("Cluster member {} not heard from for {} ms; dropping it", entry.getKey(), timeout);
+			}
+			return expired;
+		});
+		long window = properties.getHandoffWindow().toMillis();
+		departed.values().removeIf(at -> now - at > window);
+		movedPlayers.values().removeIf(hint -> now - hint.at() > window);
+		movedTables.values().removeIf(hint -> now - hint.at() > window);
+		rebuildRing();
+
+		Set<String> targets = new HashSet<>(members.keySet());
+		targets.addAll(ClusterClient.normalize(properties.getSeeds()));
+		targets.remove(self);
+		targets.removeAll(departed.keySet());
+		Heartbeat heartbeat = heartbeat();
+		for (String node : targets) {
+			client.heartbeat(node, heartbeat).thenAccept(this::merge);
+		}
+	}
+
+	private void merge(Heartbeat heartbeat) {
+		if (heartbeat == null || heartbeat.node().equals(self)) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (heartbeat.leaving()) {
+			departed.put(heartbeat.node(), now);
+			members.remove(heartbeat.node());
+		} else {
+			departed.remove(heartbeat.node());
+			known.add(heartbeat.node());
+			members.put(heartbeat.node(), new Member(now, true, Set.copyOf(heartbeat.tables()),
+					Set.copyOf(heartbeat.seated())));
+			for (String node : heartbeat.members()) {
+				if (!node.equals(self) && !departed.containsKey(node)) {
+					known.add(node);
+					members.putIfAbsent(node, new Member(now, false, Set.of(), Set.of()));
+				}
+			}
+		}
+		rebuildRing();
+	}
+
+	private synchronized void rebuildRing() {
+		Set<String> known = new HashSet<>(members.keySet());
+		known.remove(self);
+		if (!known.equals(new HashSet<>(others.nodes()))) {
+			others = new HashRing(known, properties.getVirtualNodes());
+		}
+
+		Set<String> nodes = new HashSet<>();
+		if (!leaving) {
+			nodes.add(self);
+		}
+		members.forEach((node, member) -> {
+			if (member.direct()) {
+				nodes.add(node);
+			}
+		});
+		if (nodes.equals(new HashSet<>(ring.nodes()))) {
+			return;
+		}
+		ring = new HashRing(nodes, properties.getVirtualNodes());
+		ringChangedAt = System.currentTimeMillis();
+		ringVersion.incrementAndGet();
+		log.info("Cluster ring is now {}", ring.nodes());
+	}
+
+	private String owner(HashRing current, long key) {
+		String owner = current.owner(key);
+		return owner == null ? self : owner;
+	}
+
+	private String hint(ConcurrentMap<Integer, Hint> hints, int id) {
+		Hint hint = hints.get(id);
+		if (hint == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - hint.at() > properties.getHandoffWindow().toMillis()) {
+			hints.remove(id, hint);
+			return null;
+		}
+		return hint.node();
+	}
+
+	private record Member(long lastSeen, boolean direct, Set<Integer> tables, Set<Integer> seated) {
+	}
+
+	private record Hint(String node, long at) {
+	}
+}
@@ -0,0 +1,109 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.cluster")
+public class ClusterProperties {
+
+	// Off: one node serves every player and table, as without this package
+	private boolean enabled = false;
+
+	// Base URL other nodes reach this one at; http://localhost:<server port> when unset
+	private String nodeUrl;
+
+	// Nodes to announce this one to at startup (any subset of the cluster; this node may be listed)
+	private List<String> seeds = new ArrayList<>();
+
+	// Points per node on the hash ring; more spreads players more evenly
+	private int virtualNodes = 128;
+
+	private Duration heartbeatInterval = Duration.ofMillis(500);
+
+	// A node not heard from for this long is dropped from the ring and its players move
+	private Duration failureTimeout = Duration.ofSeconds(3);
+
+	// After the ring changes, a node asks a player's previous owner to hand it over before loading it
+	private Duration handoffWindow = Duration.ofSeconds(30);
+
+	// How long a forwarded request waits for the owner's response headers
+	private Duration forwardTimeout = Duration.ofSeconds(30);
+
+	// Shared by every node; sent with internal calls and forwarded requests, which are refused without it
+	private String secret;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getNodeUrl() {
+		return nodeUrl;
+	}
+
+	public void setNodeUrl(String nodeUrl) {
+		this.nodeUrl = nodeUrl;
+	}
+
+	public List<String> getSeeds() {
+		return seeds;
+	}
+
+	public void setSeeds(List<String> seeds) {
+		this.seeds = seeds;
+	}
+
+	public int getVirtualNodes() {
+		return virtualNodes;
+	}
+
+	public void setVirtualNodes(int virtualNodes) {
+		this.virtualNodes = virtualNodes;
+	}
+
+	public Duration getHeartbeatInterval() {
+		return heartbeatInterval;
+	}
+
+	public void setHeartbeatInterval(Duration heartbeatInterval) {
+		this.heartbeatInterval = heartbeatInterval;
+	}
+
+	public Duration getFailureTimeout() {
+		return failureTimeout;
+	}
+
+	public void setFailureTimeout(Duration failureTimeout) {
+		this.failureTimeout = failureTimeout;
+	}
+
+	public Duration getHandoffWindow() {
+		return handoffWindow;
+	}
+
+	public void setHandoffWindow(Duration handoffWindow) {
+		this.handoffWindow = handoffWindow;
+	}
+
+	public Duration getForwardTimeout() {
+		return forwardTimeout;
+	}
+
+	public void setForwardTimeout(Duration forwardTimeout) {
+		this.forwardTimeout = forwardTimeout;
+	}
+
+	public String getSecret() {
+		return secret;
+	}
+
+	public void setSecret(String secret) {
+		this.secret = secret;
+	}
+}
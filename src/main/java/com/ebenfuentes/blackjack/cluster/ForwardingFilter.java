@@ -0,0 +1,116 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Sticky routing: any node accepts any request and passes player and table requests on to the
+// node that serves them, so a player's state stays live in one JVM. Requests this node serves
+// first claim the player (see SessionHandoff.claim); bulk rounds are split by BulkRoundRouter.
+// A request forwarded by another node is always served where it lands, so it is passed on at most
+// once; a client cannot set that marker itself (see isFromNode).
+@Component
+public class ForwardingFilter extends OncePerRequestFilter {
+
+	private static final Pattern PLAYER = Pattern.compile("^/api/players/(\\d+)(/.*)?$");
+	private static final Pattern TABLE = Pattern.compile("^/api/tables/(\\d+)(/.*)?$");
+
+	private final ClusterNode node;
+	private final ClusterClient client;
+	private final SessionHandoff handoff;
+
+	public ForwardingFilter(ClusterNode node, ClusterClient client, SessionHandoff handoff) {
+		this.node = node;
+		this.client = client;
+		this.handoff = handoff;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !node.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		String sender = request.getHeader(ClusterClient.FORWARDED);
+		boolean forwarded = sender != null && isFromNode(request);
+		if (sender != null && !forwarded) {
+			request = new WithoutForwardedHeader(request); // Routed like any client request
+		}
+
+		Matcher player = PLAYER.matcher(path);
+		if (player.matches()) {
+			int playerId = Integer.parseInt(player.group(1));
+			String owner = node.playerRoute(playerId);
+			if (!forwarded && !node.isSelf(owner)) {
+				forward(owner, request, response);
+				return;
+			}
+			handoff.claim(playerId);
+			chain.doFilter(request, response);
+			return;
+		}
+		Matcher table = TABLE.matcher(path);
+		if (table.matches()) {
+			String owner = node.tableRoute(Integer.parseInt(table.group(1)));
+			if (!forwarded && !node.isSelf(owner)) {
+				forward(owner, request, response);
+				return;
+			}
+		}
+		chain.doFilter(request, response);
+	}
+
+	// Only another node may have a request served off its owner, and every node sends the secret
+	private boolean isFromNode(HttpServletRequest request) {
+		return client.secretMatches(request.getHeader(ClusterClient.SECRET));
+	}
+
+	private void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		node.forwarded();
+		client.forward(owner, node.self(), request, request.getInputStream().readAllBytes(), response);
+	}
+
+	// Hides a forwarded marker the client set itself, so controllers do not trust it either
+	private static class WithoutForwardedHeader extends HttpServletRequestWrapper {
+
+		WithoutForwardedHeader(HttpServletRequest request) {
+			super(request);
+		}
+
+		@Override
+		public String getHeader(String name) {
+			return isForwarded(name) ? null : super.getHeader(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaders(String name) {
+			return isForwarded(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+		}
+
+		@Override
+		public Enumeration<String> getHeaderNames() {
+			List<String> names = Collections.list(super.getHeaderNames());
+			names.removeIf(WithoutForwardedHeader::isForwarded);
+			return Collections.enumeration(names);
+		}
+
+		private static boolean isForwarded(String name) {
+			return ClusterClient.FORWARDED.equalsIgnoreCase(name);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+// Consistent hashing of 64-bit keys (ShoeManager.playerKey / tableKey) onto node URLs. Each node
+// owns `virtualNodes` points on the ring and a key belongs to the first point at or after its
+// hash, wrapping around. Adding or removing a node only moves the keys next to its points, about
+// 1/N of them. Every node builds the same ring from the same member list, so no coordinator is
+// needed to agree on owners. Immutable.
+public final class HashRing {
+
+	private final List<String> nodes;
+	private final long[] points;
+	private final String[] owners;
+
+	public HashRing(Iterable<String> members, int virtualNodes) {
+		TreeSet<String> sorted = new TreeSet<>();
+		members.forEach(sorted::add);
+		this.nodes = List.copyOf(sorted);
+
+		long[] hashes = new long[nodes.size() * virtualNodes];
+		String[] byHash = new String[hashes.length];
+		int i = 0;
+		for (String node : nodes) {
+			for (int v = 0; v < virtualNodes; v++) {
+				hashes[i++] = hash(node + "#" + v);
+			}
+		}
+		Integer[] order = new Integer[hashes.length];
+		for (int k = 0; k < order.length; k++) {
+			order[k] = k;
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+		this.points = new long[hashes.length];
+		for (int k = 0; k < order.length; k++) {
+			points[k] = hashes[order[k]];
+			byHash[k] = nodes.get(order[k] / virtualNodes);
+		}
+		this.owners = byHash;
+	}
+
+	// Owner of the key, or null on an empty ring
+	public String owner(long key) {
+		if (points.length == 0) {
+			return null;
+		}
+		int at = Arrays.binarySearch(points, mix(key));
+		if (at < 0) {
+			at = -at - 1;
+		}
+		return owners[at == points.length ? 0 : at];
+	}
+
+	public List<String> nodes() {
+		return nodes;
+	}
+
+	public boolean isEmpty() {
+		return nodes.isEmpty();
+	}
+
+	// FNV-1a over the UTF-8 bytes, then mixed so nearby node names land far apart
+	private static long hash(String value) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+		}
+		return mix(h);
+	}
+
+	// SplitMix64 finalizer: consecutive ids spread over the whole ring
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,9 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.util.List;
+
+// What a node tells the others every heartbeat interval: that it is alive (or leaving), the
+// members it hears from directly, the tables it hosts and the players seated at them
+public record Heartbeat(String node, List<String> members, List<Integer> tables, List<Integer> seated,
+		boolean leaving) {
+}
@@ -0,0 +1,8 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import com.ebenfuentes.blackjack.shoe.ShoeState;
+
+// A player leaving a node: its row is already saved (held says whether there was anything to
+// save), so only the shoe travels; null when the player had none or shoes are not seeded
+public record PlayerHandoff(int playerId, boolean held, ShoeState shoe) {
+}
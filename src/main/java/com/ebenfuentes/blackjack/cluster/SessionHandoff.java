@@ -0,0 +1,327 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.shoe.ShoeState;
+import com.ebenfuentes.blackjack.table.GameTable;
+import com.ebenfuentes.blackjack.table.TableManager;
+
+// Moves players and tables between nodes when their owner changes. A player's durable state is its
+// row, so a handoff is: the old node saves and forgets the player (GameSessionStore.release, under
+// the player's lock, so an action in progress finishes first), then the new node loads the row on
+// first use. Only the shoe travels over the wire, so a seeded shoe keeps its commitment and its
+// place. It happens both ways: the new owner pulls a player from the previous ring owner on first
+// use, and every node sweeps what it holds but no longer owns over to the owner. Tables move
+// between rounds only, seats included; a table mid-round is picked up by a later sweep.
+@Component
+public class SessionHandoff {
+
+	private static final Logger log = LoggerFactory.getLogger(SessionHandoff.class);
+
+	private static final int STRIPES = 64;
+
+	private final ClusterNode node;
+	private final ClusterClient client;
+	private final ClusterProperties properties;
+	private final GameSessionStore sessionStore;
+	private final ShoeManager shoeManager;
+	private final TableManager tableManager;
+	private final GameEventPublisher events;
+
+	// Players already claimed under a ring version, so a player is pulled once per ring change
+	private final ConcurrentMap<Integer, Long> claimed = new ConcurrentHashMap<>();
+	private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+	private final AtomicLong pulled = new AtomicLong();
+	private final AtomicLong released = new AtomicLong();
+	private final AtomicLong adopted = new AtomicLong();
+	private final AtomicLong tablesMoved = new AtomicLong();
+	private ScheduledExecutorService sweeper;
+
+	public SessionHandoff(ClusterNode node, ClusterClient client, ClusterProperties properties,
+			GameSessionStore sessionStore, ShoeManager shoeManager, TableManager tableManager,
+			GameEventPublisher events) {
+		this.node = node;
+		this.client = client;
+		this.properties = properties;
+		this.sessionStore = sessionStore;
+		this.shoeManager = shoeManager;
+		this.tableManager = tableManager;
+		this.events = events;
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+	}
+
+	// After ClusterNode has started (listeners run in registration order, so check rather than assume)
+	@EventListener(WebServerInitializedEvent.class)
+	public synchronized void start(WebServerInitializedEvent event) {
+		if (!properties.isEnabled() || sweeper != null || event.getApplicationContext().getServerNamespace() != null) {
+			return;
+		}
+		long interval = properties.getHeartbeatInterval().toMillis();
+		sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "cluster-handoff");
+			thread.setDaemon(true);
+			return thread;
+		});
+		sweeper.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	// Before this node serves a player it owns: if the ring changed recently and the player is not
+	// here yet, ask the node that held it to let go of it first
+	public void claim(int playerId) {
+		if (!node.isEnabled()) {
+			return;
+		}
+		String previous = node.previousPlayerOwner(playerId);
+		long version = node.getRingVersion();
+		// Nodes that left or failed are no longer known: the first pushed its players, the second has
+		// nothing to hand over
+		if (previous == null || Long.valueOf(version).equals(claimed.get(playerId))) {
+			return;
+		}
+		ReentrantLock lock = stripeFor(playerId);
+		lock.lock();
+		try {
+			if (!Long.valueOf(version).equals(claimed.get(playerId))) {
+				if (!sessionStore.isInMemory(playerId)) {
+					pull(previous, playerId);
+				}
+				claimed.put(playerId, version);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// A player joining a table here is served here from now on, wherever it was before
+	public void claimForTable(int playerId) {
+		if (!node.isEnabled() || sessionStore.isInMemory(playerId)) {
+			return;
+		}
+		String holder = node.playerRoute(playerId);
+		if (node.isSelf(holder)) {
+			claim(playerId);
+			return;
+		}
+		ReentrantLock lock = stripeFor(playerId);
+		lock.lock();
+		try {
+			pull(holder, playerId);
+			claimed.put(playerId, node.getRingVersion());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// A player who left a table here goes back to its ring owner
+	public void returnFromTable(int playerId) {
+		if (!node.isEnabled() || tableManager.isSeated(playerId)) {
+			return;
+		}
+		String owner = node.playerRoute(playerId);
+		if (!node.isSelf(owner)) {
+			push(playerId, owner);
+		}
+	}
+
+	// Another node is taking the player over: point requests at it, save and drop the player here.
+	// Only to a node on the ring, so a caller cannot have the player's requests sent anywhere else.
+	public PlayerHandoff release(int playerId, String to) {
+		if (!node.isMember(ClusterClient.normalize(to))) {
+			throw new IllegalArgumentException(to + " is not a member of the cluster.");
+		}
+		if (tableManager.isSeated(playerId)) {
+			throw new IllegalStateException("Player is seated at a table on this node.");
+		}
+		node.playerMoved(playerId, to);
+		boolean held = sessionStore.release(playerId);
+		ShoeState shoe = shoeManager.export(ShoeManager.playerKey(playerId));
+		events.disconnectPlayer(playerId);
+		claimed.remove(playerId);
+		if (held || shoe != null) {
+			released.incrementAndGet();
+		}
+		return new PlayerHandoff(playerId, held, shoe);
+	}
+
+	// A player pushed here by its previous node; its row is already saved
+	public void adopt(PlayerHandoff handoff) {
+		node.clearPlayerHint(handoff.playerId());
+		if (handoff.shoe() != null) {
+			shoeManager.restore(ShoeManager.playerKey(handoff.playerId()), handoff.shoe());
+		}
+		claimed.put(handoff.playerId(), node.getRingVersion());
+		adopted.incrementAndGet();
+	}
+
+	// A table moved here between rounds, with its players seated as they were
+	public void adoptTable(TableHandoff handoff) {
+		tableManager.adopt(handoff.tableId(), handoff.seatCount(), handoff.seats());
+		if (handoff.shoe() != null) {
+			shoeManager.restore(ShoeManager.tableKey(handoff.tableId()), handoff.shoe());
+		}
+		node.clearTableHint(handoff.tableId());
+		for (Integer playerId : handoff.seats()) {
+			node.clearPlayerHint(playerId);
+			claimed.put(playerId, node.getRingVersion());
+		}
+	}
+
+	// Push everything held here that another node owns now: tables between rounds first, then players
+	public void sweep() {
+		if (!node.isEnabled()) {
+			return;
+		}
+		for (Integer tableId : tableManager.tableIds()) {
+			String owner = node.tableOwner(tableId);
+			if (!node.isSelf(owner)) {
+				moveTable(tableId, owner);
+			}
+		}
+
+		Set<Integer> playerIds = new HashSet<>(sessionStore.heldPlayerIds());
+		playerIds.addAll(shoeManager.playerIds());
+		for (Integer playerId : playerIds) {
+			if (tableManager.isSeated(playerId)) {
+				continue;
+			}
+			String owner = node.playerRoute(playerId);
+			if (!node.isSelf(owner)) {
+				push(playerId, owner);
+			}
+		}
+		long version = node.getRingVersion();
+		claimed.values().removeIf(at -> at != version);
+	}
+
+	// Graceful shutdown: leave the ring, then hand everything over while the others still answer
+	@EventListener(ContextClosedEvent.class)
+	public void handOffAll() {
+		if (!node.isEnabled()) {
+			return;
+		}
+		if (sweeper != null) {
+			sweeper.shutdown();
+			try {
+				sweeper.awaitTermination(properties.getForwardTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		node.leave();
+		sweep();
+		node.stop();
+		log.info("Handed off {} players and {} tables", released.get(), tablesMoved.get());
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("pulled", pulled.get());
+		stats.put("released", released.get());
+		stats.put("adopted", adopted.get());
+		stats.put("tablesMoved", tablesMoved.get());
+		return stats;
+	}
+
+	public long getHandoffs() {
+		return released.get();
+	}
+
+	private void pull(String from, int playerId) {
+		try {
+			PlayerHandoff handoff = client.releasePlayer(from, playerId, node.self());
+			if (handoff != null && handoff.shoe() != null) {
+				shoeManager.restore(ShoeManager.playerKey(playerId), handoff.shoe());
+			}
+			if (handoff != null && (handoff.held() || handoff.shoe() != null)) {
+				pulled.incrementAndGet();
+			}
+		} catch (IllegalStateException e) {
+			// Gone or unreachable: what it saved is in the row, anything newer is lost with it
+			log.warn("Could not take player {} over from {}: {}", playerId, from, e.getMessage());
+		}
+	}
+
+	private void push(int playerId, String to) {
+		PlayerHandoff handoff = release(playerId, to);
+		if (!handoff.held() && handoff.shoe() == null) {
+			return;
+		}
+		try {
+			client.adoptPlayer(to, handoff);
+		} catch (IllegalStateException e) {
+			// The row is saved either way; keep the shoe here so the next sweep can try again
+			if (handoff.shoe() != null) {
+				shoeManager.restore(ShoeManager.playerKey(playerId), handoff.shoe());
+			}
+			node.clearPlayerHint(playerId);
+			log.warn("Could not hand player {} over to {}: {}", playerId, to, e.getMessage());
+		}
+	}
+
+	private void moveTable(int tableId, String to) {
+		GameTable table = tableManager.release(tableId);
+		if (table == null) {
+			return; // Mid-round; moved after the round
+		}
+		List<Integer> seats = List.copyOf(table.getSeats());
+		node.tableMoved(tableId, to);
+		for (Integer playerId : seats) {
+			node.playerMoved(playerId, to);
+			sessionStore.release(playerId);
+		}
+		ShoeState shoe = shoeManager.export(ShoeManager.tableKey(tableId));
+		events.disconnectTable(tableId);
+		try {
+			client.adoptTable(to, new TableHandoff(tableId, table.getSeatCount(), seats, shoe));
+		} catch (IllegalStateException e) {
+			// Put it back as it was; the players reload from their rows
+			tableManager.adopt(tableId, table.getSeatCount(), seats);
+			if (shoe != null) {
+				shoeManager.restore(ShoeManager.tableKey(tableId), shoe);
+			}
+			node.clearTableHint(tableId);
+			seats.forEach(node::clearPlayerHint);
+			log.warn("Could not hand table {} over to {}: {}", tableId, to, e.getMessage());
+			return;
+		}
+		tablesMoved.incrementAndGet();
+		for (Integer playerId : seats) {
+			push(playerId, to);
+		}
+	}
+
+	private void sweepQuietly() {
+		try {
+			sweep();
+		} catch (RuntimeException e) {
+			log.error("Cluster handoff sweep failed", e);
+		}
+	}
+
+	private ReentrantLock stripeFor(int playerId) {
+		return stripes[playerId & (STRIPES - 1)];
+	}
+}
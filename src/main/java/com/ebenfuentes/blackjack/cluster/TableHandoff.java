@@ -0,0 +1,9 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import java.util.List;
+
+import com.ebenfuentes.blackjack.shoe.ShoeState;
+
+// A table moving between rounds: its seats (players saved and released by the old node) and its shoe
+public record TableHandoff(int tableId, int seatCount, List<Integer> seats, ShoeState shoe) {
+}
@@ -0,0 +1,71 @@
+package com.ebenfuentes.blackjack.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import com.ebenfuentes.blackjack.cluster.ClusterClient;
+import com.ebenfuentes.blackjack.cluster.ClusterNode;
+import com.ebenfuentes.blackjack.cluster.Heartbeat;
+import com.ebenfuentes.blackjack.cluster.PlayerHandoff;
+import com.ebenfuentes.blackjack.cluster.SessionHandoff;
+import com.ebenfuentes.blackjack.cluster.TableHandoff;
+
+// Node-to-node calls; refused unless clustering is on and the caller presents the cluster secret
+@RestController
+@Profile("!reactive")
+@RequestMapping("/internal/cluster")
+public class ClusterController {
+
+    private final ClusterNode node;
+    private final SessionHandoff handoff;
+    private final ClusterClient client;
+
+    public ClusterController(ClusterNode node, SessionHandoff handoff, ClusterClient client) {
+        this.node = node;
+        this.handoff = handoff;
+        this.client = client;
+    }
+
+    // Membership and what the caller hosts; answered with this node's own heartbeat
+    @PostMapping("/heartbeat")
+    public Heartbeat heartbeat(@RequestBody Heartbeat heartbeat,
+            @RequestHeader(name = ClusterClient.SECRET, required = false) String secret) {
+        check(secret);
+        return node.receive(heartbeat);
+    }
+
+    // Save and let go of a player that node `to` takes over
+    @PostMapping("/players/{id}/release")
+    public PlayerHandoff releasePlayer(@PathVariable int id, @RequestParam String to,
+            @RequestHeader(name = ClusterClient.SECRET, required = false) String secret) {
+        check(secret);
+        return handoff.release(id, to);
+    }
+
+    @PostMapping("/players/{id}/adopt")
+    public void adoptPlayer(@PathVariable int id, @RequestBody PlayerHandoff playerHandoff,
+            @RequestHeader(name = ClusterClient.SECRET, required = false) String secret) {
+        check(secret);
+        if (playerHandoff.playerId() != id) {
+            throw new IllegalArgumentException("Player id does not match the path.");
+        }
+        handoff.adopt(playerHandoff);
+    }
+
+    @PostMapping("/tables/{id}/adopt")
+    public void adoptTable(@PathVariable int id, @RequestBody TableHandoff tableHandoff,
+            @RequestHeader(name = ClusterClient.SECRET, required = false) String secret) {
+        check(secret);
+        if (tableHandoff.tableId() != id) {
+            throw new IllegalArgumentException("Table id does not match the path.");
+        }
+        handoff.adoptTable(tableHandoff);
+    }
+
+    private void check(String secret) {
+        if (!node.isEnabled()) {
+            throw new IllegalStateException("Clustering is not enabled on this node.");
+        }
+        client.checkSecret(secret);
+    }
+}
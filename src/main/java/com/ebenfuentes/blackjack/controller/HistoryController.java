@@ -0,0 +1,31 @@
+package com.ebenfuentes.blackjack.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.ebenfuentes.blackjack.dto.HistoryPageResponse;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.service.HistoryService;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    public HistoryController(HistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    // Rounds across all players, e.g. ?outcome=BLACKJACK&since=PT1H (or from/to as ISO instants)
+    @GetMapping
+    public HistoryPageResponse search(@RequestParam(required = false) RoundOutcome outcome,
+            @RequestParam(required = false) Instant from, @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Duration since, @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long cursor) {
+        return historyService.search(outcome, from, to, since, limit, cursor);
+    }
+}
@@ -1,90 +1,199 @@
 package com.ebenfuentes.blackjack.controller;
 
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.ebenfuentes.blackjack.cluster.BulkRoundRouter;
+import com.ebenfuentes.blackjack.cluster.ClusterClient;
+import com.ebenfuentes.blackjack.dto.AdviceResponse;
+import com.ebenfuentes.blackjack.dto.BalanceResponse;
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.BulkRoundResponse;
+import com.ebenfuentes.blackjack.dto.GameStatusResponse;
+import com.ebenfuentes.blackjack.dto.HandDetailsResponse;
+import com.ebenfuentes.blackjack.dto.HistoryPageResponse;
+import com.ebenfuentes.blackjack.dto.HitResponse;
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundRequest;
+import com.ebenfuentes.blackjack.dto.ScriptedRoundResponse;
+import com.ebenfuentes.blackjack.dto.ShoeSeedResponse;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
 import com.ebenfuentes.blackjack.model.Player;
 import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.service.HistoryService;
+import com.ebenfuentes.blackjack.service.RoundService;
+import com.ebenfuentes.blackjack.session.IdempotencyCache;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
+@Profile("!reactive") // The reactive stack serves these routes from reactive.PlayerRoutes
 @RequestMapping("/api/players")
 public class PlayerController {
+
+    // Optional on every POST: a retry with the same key gets the first response back instead of
+    // being applied again (see IdempotencyCache)
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 	
     private final GameService gameService;
+    private final GameEventPublisher eventPublisher;
+    private final HistoryService historyService;
+    private final RoundService roundService;
+    private final IdempotencyCache idempotency;
+    private final BulkRoundRouter bulkRounds;
 
-    public PlayerController(GameService gameService) {
+    public PlayerController(GameService gameService, GameEventPublisher eventPublisher,
+            HistoryService historyService, RoundService roundService, IdempotencyCache idempotency,
+            BulkRoundRouter bulkRounds) {
         this.gameService = gameService;
+        this.eventPublisher = eventPublisher;
+        this.historyService = historyService;
+        this.roundService = roundService;
+        this.idempotency = idempotency;
+        this.bulkRounds = bulkRounds;
     }
 
     // Create a player
     @PostMapping
-    public Player createPlayer(@RequestBody Player player) {
-        return gameService.createPlayer(player.getUsername(), player.getBalance());
+    public Player createPlayer(@RequestBody Player player,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(0, "create", key, player,
+                () -> gameService.createPlayer(player.getUsername(), player.getBalance()));
+    }
+
+    // Create many players in one batched insert
+    @PostMapping("/bulk")
+    public List<Player> createPlayers(@RequestBody List<Player> players,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(0, "bulk", key, players, () -> gameService.createPlayers(players));
     }
 
     // Player places a bet
     @PostMapping("/{id}/bet")
-    public void placeBet(@PathVariable int id, @RequestBody Map<String, Integer> request) {
+    public void placeBet(@PathVariable int id, @RequestBody Map<String, Integer> request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
         int betAmount = request.get("amount");
-        gameService.placeBet(id, betAmount);
+        idempotency.execute(id, "bet", key, request, () -> {
+            gameService.placeBet(id, betAmount);
+            return null;
+        });
     }
 
     // Get player status
     @GetMapping("/{id}")
-    public Map<String, Object> getPlayerStatus(@PathVariable int id) {
+    public GameStatusResponse getPlayerStatus(@PathVariable int id) {
         return gameService.checkGameStatus(id);
     }
 
     // Start a game for a player
     @PostMapping("/{id}/start")
-    public Map<String, Object> startGame(@PathVariable int id) {
-        return gameService.startGame(id);
+    public PlayResponse startGame(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "start", key, () -> gameService.startGame(id));
     }
 
 
     // Player hits (gets a new card)
     @PostMapping("/{id}/hit")
-    public Map<String, Object> hit(@PathVariable int id) {
-        return gameService.hit(id); 
+    public HitResponse hit(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "hit", key, () -> gameService.hit(id));
     }
     
     // Get current hand value for a player
     @GetMapping("/{id}/hand-value")
-    public Map<String, Object> getPlayerHandDetails(@PathVariable int id) {
+    public HandDetailsResponse getPlayerHandDetails(@PathVariable int id) {
         return gameService.getPlayerHandDetails(id);
     }
     
+    // Live game events (cards, outcome, balance) as Server-Sent Events
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable int id) {
+        return eventPublisher.subscribePlayer(id);
+    }
+
+    // Best action and its expected value for the current hand
+    @GetMapping("/{id}/advice")
+    public AdviceResponse getAdvice(@PathVariable int id) {
+        return gameService.getAdvice(id);
+    }
+
     // Player stands (dealer plays)
     @PostMapping("/{id}/stand")
-    public Map<String, Object> stand(@PathVariable int id) {
-        return gameService.stand(id);
+    public PlayResponse stand(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "stand", key, () -> gameService.stand(id));
     }
 
     // Player doubles down
     @PostMapping("/{id}/double-down")
-    public Map<String, Object> doubleDown(@PathVariable int id) {
-        return gameService.doubleDown(id);
+    public PlayResponse doubleDown(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "double-down", key, () -> gameService.doubleDown(id));
     }
 
-    // Player splits
+    // Player splits a pair; returns every hand, or the settled round after split aces
     @PostMapping("/{id}/split")
-    public void split(@PathVariable int id) {
-        gameService.split(id);
+    public PlayResponse split(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "split", key, () -> gameService.split(id));
+    }
+
+    // Play a whole round (bet, deal and every decision) from an action script or a strategy id
+    @PostMapping("/{id}/round")
+    public ScriptedRoundResponse playRound(@PathVariable int id, @RequestBody RoundRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "round", key, request, () -> roundService.playRound(id, request));
+    }
+
+    // Many rounds for many players in one call, saved together (one batch per node in a cluster)
+    @PostMapping("/rounds")
+    public BulkRoundResponse playRounds(@RequestBody BulkRoundRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key,
+            @RequestHeader(name = ClusterClient.FORWARDED, required = false) String forwardedBy) {
+        return idempotency.execute(0, "rounds", key, request,
+                () -> bulkRounds.playRounds(request, key, forwardedBy != null));
     }
 
     // Reset game for a player
     @PostMapping("/{id}/reset")
-    public void resetGame(@PathVariable int id) {
-        gameService.resetGame(id);
+    public void resetGame(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        idempotency.execute(id, "reset", key, () -> {
+            gameService.resetGame(id);
+            return null;
+        });
     }
     
     // Get player balance
     @GetMapping("/{id}/balance")
-    public Map<String, Object> getPlayerBalance(@PathVariable int id) {
+    public BalanceResponse getPlayerBalance(@PathVariable int id) {
         return gameService.getPlayerBalance(id);
     }
 
+    // Commitment (SHA-256) to the seed the player's shoes are shuffled from, and the shoe in play
+    @GetMapping("/{id}/shoe")
+    public ShoeSeedResponse getShoeSeed(@PathVariable int id) {
+        return gameService.getShoeSeed(id);
+    }
+
+    // Reveal the current seed (to replay its shoes) and commit to a new one; between rounds only
+    @PostMapping("/{id}/shoe/rotate")
+    public ShoeSeedResponse rotateShoeSeed(@PathVariable int id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String key) {
+        return idempotency.execute(id, "rotate-seed", key, () -> gameService.rotateShoeSeed(id));
+    }
+
+    // Settled rounds, newest first; pass the returned nextCursor as cursor for the next page
+    @GetMapping("/{id}/history")
+    public HistoryPageResponse getHistory(@PathVariable int id, @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Long cursor) {
+        return historyService.playerHistory(id, limit, cursor);
+    }
+
     
 }
@@ -0,0 +1,125 @@
+package com.ebenfuentes.blackjack.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.ebenfuentes.blackjack.cluster.ClusterNode;
+import com.ebenfuentes.blackjack.cluster.SessionHandoff;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.IdempotencyCache;
+import com.ebenfuentes.blackjack.session.PlayerCache;
+import com.ebenfuentes.blackjack.session.SessionMetrics;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final SessionMetrics sessionMetrics;
+    private final GameSessionStore sessionStore;
+    private final GameEventPublisher eventPublisher;
+    private final BalanceLedger ledger;
+    private final RoundLog roundLog;
+    private final HistoryStore historyStore;
+    private final PlayerCache playerCache;
+    private final IdempotencyCache idempotencyCache;
+    private final ClusterNode clusterNode;
+    private final SessionHandoff handoff;
+
+    public StatsController(SessionMetrics sessionMetrics, GameSessionStore sessionStore,
+            GameEventPublisher eventPublisher, BalanceLedger ledger, RoundLog roundLog,
+            HistoryStore historyStore, PlayerCache playerCache, IdempotencyCache idempotencyCache,
+            ClusterNode clusterNode, SessionHandoff handoff) {
+        this.sessionMetrics = sessionMetrics;
+        this.sessionStore = sessionStore;
+        this.eventPublisher = eventPublisher;
+        this.ledger = ledger;
+        this.roundLog = roundLog;
+        this.historyStore = historyStore;
+        this.playerCache = playerCache;
+        this.idempotencyCache = idempotencyCache;
+        this.clusterNode = clusterNode;
+        this.handoff = handoff;
+    }
+
+    // Rounds, flushes and SQL statements per round since startup
+    @GetMapping("/session")
+    public Map<String, Object> getSessionStats() {
+        Map<String, Object> stats = sessionMetrics.snapshot();
+        stats.put("activeSessions", sessionStore.activeSessions());
+        stats.put("pendingWrites", sessionStore.pendingWrites());
+        return stats;
+    }
+
+    // Player cache size, hits and misses, and entries dropped by size, age or a change
+    @GetMapping("/player-cache")
+    public Map<String, Object> getPlayerCacheStats() {
+        return playerCache.snapshot();
+    }
+
+    // Idempotency keys held, responses stored and retries answered from them
+    @GetMapping("/idempotency")
+    public Map<String, Object> getIdempotencyStats() {
+        return idempotencyCache.snapshot();
+    }
+
+    // Event stream subscribers and how many events were queued, written and dropped
+    @GetMapping("/events")
+    public Map<String, Object> getEventStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", eventPublisher.subscribers());
+        stats.put("published", eventPublisher.getPublished());
+        stats.put("delivered", eventPublisher.getDelivered());
+        stats.put("dropped", eventPublisher.getDropped());
+        return stats;
+    }
+
+    // Ledger accounts, balance changes, lost compare-and-set attempts and what is not yet on disk
+    @GetMapping("/ledger")
+    public Map<String, Object> getLedgerStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("accounts", ledger.accounts());
+        stats.put("changes", ledger.getChanges());
+        stats.put("retries", ledger.getRetries());
+        stats.put("pendingJournal", ledger.pendingJournal());
+        stats.put("pendingReconcile", ledger.pendingReconcile());
+        return stats;
+    }
+
+    // Last round record appended and last one forced to disk
+    @GetMapping("/round-log")
+    public Map<String, Object> getRoundLogStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", roundLog.isEnabled());
+        stats.put("sequence", roundLog.getSequence());
+        stats.put("durable", roundLog.getDurable());
+        stats.put("failures", roundLog.getFailures());
+        return stats;
+    }
+
+    // Rounds in the history store, its partitions and players, and the bytes their rows take
+    @GetMapping("/history")
+    public Map<String, Object> getHistoryStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rows", historyStore.getRows());
+        stats.put("partitions", historyStore.partitions());
+        stats.put("players", historyStore.players());
+        stats.put("storedBytes", historyStore.storedBytes());
+        stats.put("failures", historyStore.getFailures());
+        return stats;
+    }
+
+    // Ring members, requests passed on to other nodes and players and tables handed over
+    @GetMapping("/cluster")
+    public Map<String, Object> getClusterStats() {
+        Map<String, Object> stats = clusterNode.snapshot();
+        stats.putAll(handoff.snapshot());
+        return stats;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ebenfuentes.blackjack.controller;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ebenfuentes.blackjack.dto.TableStateResponse;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.service.TableService;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@Profile("!reactive") // Tables stay on Spring MVC; the reactive stack only serves the player API
+@RequestMapping("/api/tables")
+public class TableController {
+
+    private final TableService tableService;
+    private final GameEventPublisher eventPublisher;
+
+    public TableController(TableService tableService, GameEventPublisher eventPublisher) {
+        this.tableService = tableService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Open a table with the given number of seats (1-7)
+    @PostMapping
+    public TableStateResponse createTable(@RequestBody Map<String, Integer> request) {
+        return tableService.createTable(request.getOrDefault("seats", 7));
+    }
+
+    @GetMapping("/{id}")
+    public TableStateResponse getTable(@PathVariable int id) {
+        return tableService.getTable(id);
+    }
+
+    // Every seat's cards and outcomes plus the dealer's cards, for table observers
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable int id) {
+        tableService.getTable(id); // Fail fast on unknown tables before the stream opens
+        return eventPublisher.subscribeTable(id);
+    }
+
+    // Take a seat; bets are placed through /api/players/{id}/bet
+    @PostMapping("/{id}/seats/{playerId}")
+    public TableStateResponse join(@PathVariable int id, @PathVariable int playerId) {
+        return tableService.join(id, playerId);
+    }
+
+    @DeleteMapping("/{id}/seats/{playerId}")
+    public TableStateResponse leave(@PathVariable int id, @PathVariable int playerId) {
+        return tableService.leave(id, playerId);
+    }
+
+    // Deal a round to every seat with a bet
+    @PostMapping("/{id}/start")
+    public TableStateResponse startRound(@PathVariable int id) {
+        return tableService.startRound(id);
+    }
+
+    // Seat whose turn it is hits
+    @PostMapping("/{id}/seats/{playerId}/hit")
+    public TableStateResponse hit(@PathVariable int id, @PathVariable int playerId) {
+        return tableService.hit(id, playerId);
+    }
+
+    // Seat whose turn it is stands; the dealer plays after the last seat
+    @PostMapping("/{id}/seats/{playerId}/stand")
+    public TableStateResponse stand(@PathVariable int id, @PathVariable int playerId) {
+        return tableService.stand(id, playerId);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.Map;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// Basic-strategy recommendation plus the expected value of every action legal at this point
+public record AdviceResponse(PlayerAction action, double expectedValue, int handValue, boolean soft,
+		CardView dealerFaceUpCard, double dealerBustProbability, Map<String, Double> actionValues) {
+}
@@ -0,0 +1,4 @@
+package com.ebenfuentes.blackjack.dto;
+
+public record BalanceResponse(int balance, int betAmount) {
+}
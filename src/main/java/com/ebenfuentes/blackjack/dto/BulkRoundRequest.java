@@ -0,0 +1,10 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// The same scripted round played `rounds` times by every listed player
+public record BulkRoundRequest(List<Integer> playerIds, int rounds, int bet, List<PlayerAction> actions,
+		String strategy) {
+}
@@ -0,0 +1,15 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Totals for a bulk call and one summary per player; error is set when a player stopped early
+public record BulkRoundResponse(int rounds, long wagered, long winnings, List<PlayerRounds> players) {
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public record PlayerRounds(int playerId, int rounds, long wagered, long winnings, int balance,
+			Map<String, Integer> outcomes, String error) {
+	}
+}
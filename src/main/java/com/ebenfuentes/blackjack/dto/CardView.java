@@ -0,0 +1,72 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.model.Card;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+// A card as the client sees it: {"rank": ..., "suit": ...}. One shared instance per card code,
+// plus UNKNOWN, which serializes as the bare string "Unknown".
+@JsonSerialize(using = CardViewSerializer.class)
+public final class CardView {
+
+	public static final CardView UNKNOWN = new CardView(-1);
+
+	private static final CardView[] CARDS = new CardView[CardCodes.DECK_SIZE];
+
+	static {
+		for (int code = 0; code < CardCodes.DECK_SIZE; code++) {
+			CARDS[code] = new CardView(code);
+		}
+	}
+
+	private final int code;
+
+	private CardView(int code) {
+		this.code = code;
+	}
+
+	public static CardView of(int code) {
+		return CARDS[code];
+	}
+
+	public static CardView of(Card card) {
+		return CARDS[card.getCode()];
+	}
+
+	public static List<CardView> listOf(CompactHand hand) {
+		CardView[] views = new CardView[hand.size()];
+		for (int i = 0; i < views.length; i++) {
+			views[i] = CARDS[hand.code(i)];
+		}
+		return Arrays.asList(views);
+	}
+
+	public static List<CardView> listOf(byte[] codes) {
+		CardView[] views = new CardView[codes.length];
+		for (int i = 0; i < views.length; i++) {
+			views[i] = CARDS[codes[i]];
+		}
+		return Arrays.asList(views);
+	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public String getRank() {
+		return code < 0 ? null : CardCodes.rankName(code);
+	}
+
+	public String getSuit() {
+		return code < 0 ? null : CardCodes.suitName(code);
+	}
+
+	@Override
+	public String toString() {
+		return code < 0 ? "Unknown" : getRank() + " of " + getSuit();
+	}
+}
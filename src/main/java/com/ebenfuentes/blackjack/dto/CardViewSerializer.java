@@ -0,0 +1,47 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.io.IOException;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+// Writes cards from pre-encoded strings instead of reflecting over the record each time
+public class CardViewSerializer extends StdSerializer<CardView> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final SerializedString RANK = new SerializedString("rank");
+	private static final SerializedString SUIT = new SerializedString("suit");
+	private static final SerializedString UNKNOWN = new SerializedString("Unknown");
+	private static final SerializedString[] RANK_NAMES = new SerializedString[CardCodes.DECK_SIZE];
+	private static final SerializedString[] SUIT_NAMES = new SerializedString[CardCodes.DECK_SIZE];
+
+	static {
+		for (int code = 0; code < CardCodes.DECK_SIZE; code++) {
+			RANK_NAMES[code] = new SerializedString(CardCodes.rankName(code));
+			SUIT_NAMES[code] = new SerializedString(CardCodes.suitName(code));
+		}
+	}
+
+	public CardViewSerializer() {
+		super(CardView.class);
+	}
+
+	@Override
+	public void serialize(CardView card, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		if (card == CardView.UNKNOWN) {
+			gen.writeString(UNKNOWN);
+			return;
+		}
+		int code = card.getCode();
+		gen.writeStartObject();
+		gen.writeFieldName(RANK);
+		gen.writeString(RANK_NAMES[code]);
+		gen.writeFieldName(SUIT);
+		gen.writeString(SUIT_NAMES[code]);
+		gen.writeEndObject();
+	}
+}
@@ -0,0 +1,13 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+// Opening deal: the player's cards and only the dealer's face-up card
+public record DealResponse(List<CardView> playerCards, int handValue, int bet, CardView dealerFaceUpCard,
+		int dealerHandValue) implements PlayResponse {
+
+	@Override
+	public boolean roundOver() {
+		return false;
+	}
+}
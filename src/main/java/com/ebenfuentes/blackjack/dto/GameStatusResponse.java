@@ -0,0 +1,17 @@
+package com.ebenfuentes.blackjack.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Hand values are only reported while a round is in session
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GameStatusResponse(int playerBalance, Integer playerHandValue, Integer dealerHandValue,
+		String status) {
+
+	public static GameStatusResponse notInSession(int playerBalance) {
+		return new GameStatusResponse(playerBalance, null, null, "Game not in session.");
+	}
+
+	public static GameStatusResponse inProgress(int playerBalance, int playerHandValue, int dealerHandValue) {
+		return new GameStatusResponse(playerBalance, playerHandValue, dealerHandValue, "Game in progress.");
+	}
+}
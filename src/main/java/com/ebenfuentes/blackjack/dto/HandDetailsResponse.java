@@ -0,0 +1,11 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Either dealerCards (after the player stood) or dealerFaceUpCard is present, never both
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HandDetailsResponse(Integer handValue, List<CardView> playerCards, Integer bet,
+		List<CardView> dealerCards, CardView dealerFaceUpCard, Integer dealerHandValue) {
+}
@@ -0,0 +1,16 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One past round. tableId is absent for a solo round; hands and actions come from the round log
+// and are absent when the round was not logged.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HistoryEntry(long roundId, Long sequence, Instant playedAt, int playerId, Integer tableId,
+		RoundOutcome outcome, int betAmount, int payout, int balanceAfter, List<CardView> playerHand,
+		List<CardView> dealerHand, List<PlayerAction> actions) {
+}
@@ -0,0 +1,7 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+// A page of rounds, newest first; pass nextCursor back as `cursor` for the next page (null at the end)
+public record HistoryPageResponse(List<HistoryEntry> rounds, Long nextCursor) {
+}
@@ -0,0 +1,37 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Hit result; the settlement fields are only present when the hit busted the player
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HitResponse(int playerValue, List<CardView> playerCards, List<CardView> dealerFaceUpCard, int bet,
+		String status, Integer dealerValue, List<CardView> playerHand, List<CardView> dealerHand, String winner,
+		String message, Integer betAmount, Integer winnings, int playerNewBalance) implements PlayResponse {
+
+	public static HitResponse continuing(int playerValue, List<CardView> playerCards, CardView dealerFaceUpCard,
+			int bet, int playerNewBalance) {
+		return new HitResponse(playerValue, playerCards, List.of(dealerFaceUpCard), bet, "Continue playing.", null,
+				null, null, null, null, null, null, playerNewBalance);
+	}
+
+	// A split hand busted but another hand is still to play
+	public static HitResponse nextHand(int playerValue, List<CardView> playerCards, CardView dealerFaceUpCard,
+			int bet, int playerNewBalance) {
+		return new HitResponse(playerValue, playerCards, List.of(dealerFaceUpCard), bet,
+				"Bust! Playing the next hand.", null, null, null, null, null, null, null, playerNewBalance);
+	}
+
+	public static HitResponse bust(List<CardView> playerCards, CardView dealerFaceUpCard, int bet,
+			RoundResultResponse result) {
+		return new HitResponse(result.playerValue(), playerCards, List.of(dealerFaceUpCard), bet,
+				"Bust! Dealer wins.", result.dealerValue(), result.playerHand(), result.dealerHand(), result.winner(),
+				result.message(), result.betAmount(), result.winnings(), result.playerNewBalance());
+	}
+
+	@Override
+	public boolean roundOver() {
+		return winner != null;
+	}
+}
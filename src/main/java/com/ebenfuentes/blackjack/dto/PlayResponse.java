@@ -0,0 +1,7 @@
+package com.ebenfuentes.blackjack.dto;
+
+// Responses returned by the in-round actions (start, hit, stand, double, split)
+public sealed interface PlayResponse permits DealResponse, HitResponse, RoundResultResponse, SplitHandsResponse {
+
+	boolean roundOver();
+}
@@ -0,0 +1,9 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// A whole round in one request: the bet plus either a fixed action script or a strategy id
+public record RoundRequest(int bet, List<PlayerAction> actions, String strategy) {
+}
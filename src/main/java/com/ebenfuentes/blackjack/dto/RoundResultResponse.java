@@ -0,0 +1,30 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Settled round: both final hands, the outcome and the balance after payout. A split round also
+// lists each hand's own result in `hands`; the top level then shows the last hand played, with
+// betAmount and winnings summed over all hands.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoundResultResponse(int playerValue, int dealerValue, List<CardView> playerHand,
+		List<CardView> dealerHand, String winner, String message, int betAmount, int winnings,
+		int playerNewBalance, String status, List<RoundResultResponse> hands) implements PlayResponse {
+
+	public RoundResultResponse(int playerValue, int dealerValue, List<CardView> playerHand, List<CardView> dealerHand,
+			String winner, String message, int betAmount, int winnings, int playerNewBalance, String status) {
+		this(playerValue, dealerValue, playerHand, dealerHand, winner, message, betAmount, winnings, playerNewBalance,
+				status, null);
+	}
+
+	public RoundResultResponse withStatus(String status) {
+		return new RoundResultResponse(playerValue, dealerValue, playerHand, dealerHand, winner, message, betAmount,
+				winnings, playerNewBalance, status, hands);
+	}
+
+	@Override
+	public boolean roundOver() {
+		return true;
+	}
+}
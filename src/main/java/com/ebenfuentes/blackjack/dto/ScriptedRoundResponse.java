@@ -0,0 +1,9 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// The actions actually played (a script stops early on a bust) and the settled round
+public record ScriptedRoundResponse(List<PlayerAction> actions, RoundResultResponse result) {
+}
@@ -0,0 +1,6 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+public record SeatView(int playerId, String username, List<CardView> cards, int handValue, int bet, int balance) {
+}
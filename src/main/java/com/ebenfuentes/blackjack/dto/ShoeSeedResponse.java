@@ -0,0 +1,10 @@
+package com.ebenfuentes.blackjack.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// The committed seed of the shoe in play and how far into it the deal is. After a rotation the
+// retired seed is revealed too, with the number of shoes dealt from it (shoes 0..revealedShoes-1).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ShoeSeedResponse(String commitment, long shoeIndex, int shoeSize, int cardsDealt,
+		String revealedSeed, String revealedCommitment, Long revealedShoes) {
+}
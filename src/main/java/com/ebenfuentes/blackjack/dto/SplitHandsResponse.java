@@ -0,0 +1,16 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+// A split round still in play: every hand, which one the next action applies to, and the dealer's face-up card
+public record SplitHandsResponse(List<HandView> hands, int currentHand, CardView dealerFaceUpCard,
+		int dealerHandValue, int playerBalance, String status) implements PlayResponse {
+
+	public record HandView(List<CardView> cards, int value, int bet, boolean finished) {
+	}
+
+	@Override
+	public boolean roundOver() {
+		return false;
+	}
+}
@@ -0,0 +1,12 @@
+package com.ebenfuentes.blackjack.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Table snapshot. While a round is running only the dealer's face-up card is shown;
+// results are present on the response of the action that settled the round.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TableStateResponse(int tableId, int seatCount, boolean roundInProgress, Integer turnPlayerId,
+		List<SeatView> seats, List<CardView> dealerCards, Integer dealerValue, List<RoundResultResponse> results) {
+}
@@ -0,0 +1,92 @@
+package com.ebenfuentes.blackjack.engine;
+
+// Primitive card encoding: code = rankIndex * 4 + suitIndex, giving 0..51.
+// Ranks run 2..10, Jack, Queen, King, Ace so every Ace has a code >= 48.
+public final class CardCodes {
+
+	public static final int DECK_SIZE = 52;
+	public static final int RANK_COUNT = 13;
+	public static final int SUIT_COUNT = 4;
+	public static final int ACE_RANK = 12;
+
+	private static final String[] RANKS = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "Jack", "Queen", "King", "Ace" };
+	private static final String[] SUITS = { "Spades", "Hearts", "Diamonds", "Clubs" };
+
+	// Blackjack points with Aces counted as 1; soft totals are derived by the evaluator
+	private static final byte[] POINTS = new byte[DECK_SIZE];
+
+	static {
+		for (int code = 0; code < DECK_SIZE; code++) {
+			int rank = code >>> 2;
+			POINTS[code] = (byte) (rank == ACE_RANK ? 1 : Math.min(rank + 2, 10));
+		}
+	}
+
+	private CardCodes() {
+	}
+
+	public static int encode(int rankIndex, int suitIndex) {
+		return rankIndex * SUIT_COUNT + suitIndex;
+	}
+
+	public static int rankIndex(int code) {
+		return code >>> 2;
+	}
+
+	public static int suitIndex(int code) {
+		return code & 3;
+	}
+
+	public static boolean isAce(int code) {
+		return code >= ACE_RANK * SUIT_COUNT;
+	}
+
+	public static int points(int code) {
+		return POINTS[code];
+	}
+
+	// Face value as stored on Card (Ace = 11)
+	public static int value(int code) {
+		return isAce(code) ? 11 : POINTS[code];
+	}
+
+	public static String rankName(int code) {
+		return RANKS[code >>> 2];
+	}
+
+	public static String suitName(int code) {
+		return SUITS[code & 3];
+	}
+
+	public static int fromNames(String rank, String suit) {
+		return encode(rankIndexOf(rank), suitIndexOf(suit));
+	}
+
+	public static int rankIndexOf(String rank) {
+		switch (rank) {
+		case "Jack":
+			return 9;
+		case "Queen":
+			return 10;
+		case "King":
+			return 11;
+		case "Ace":
+			return ACE_RANK;
+		default:
+			int pips = Integer.parseInt(rank);
+			if (pips < 2 || pips > 10) {
+				throw new IllegalArgumentException("Unknown rank: " + rank);
+			}
+			return pips - 2;
+		}
+	}
+
+	public static int suitIndexOf(String suit) {
+		for (int i = 0; i < SUITS.length; i++) {
+			if (SUITS[i].equals(suit)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown suit: " + suit);
+	}
+}
@@ -0,0 +1,113 @@
+package com.ebenfuentes.blackjack.engine;
+
+import java.util.random.RandomGenerator;
+
+// Counter-based generator: the ChaCha20 keystream (RFC 8439) for a 32-byte key and a 64-bit stream
+// number, read as successive little-endian 32-bit words. Block n depends only on (key, stream, n),
+// so any draw can be recomputed anywhere with a stock ChaCha20 implementation: the nonce is four
+// zero bytes followed by the stream number in little-endian order, and the block counter starts at 0.
+// Not thread-safe.
+public final class ChaChaRandom implements RandomGenerator {
+
+	public static final int KEY_BYTES = 32;
+
+	private static final int[] SIGMA = { 0x61707865, 0x3320646e, 0x79622d32, 0x6b206574 };
+
+	private final int[] input = new int[16];
+	private final int[] block = new int[16];
+	private int position = 16;
+
+	public ChaChaRandom(byte[] key, long stream) {
+		if (key.length != KEY_BYTES) {
+			throw new IllegalArgumentException("ChaCha20 needs a " + KEY_BYTES + "-byte key.");
+		}
+		System.arraycopy(SIGMA, 0, input, 0, 4);
+		for (int i = 0; i < 8; i++) {
+			input[4 + i] = littleEndian(key, i * 4);
+		}
+		input[12] = 0; // Block counter
+		input[13] = 0;
+		input[14] = (int) stream;
+		input[15] = (int) (stream >>> 32);
+	}
+
+	// The next keystream word
+	@Override
+	public int nextInt() {
+		if (position == 16) {
+			nextBlock();
+		}
+		return block[position++];
+	}
+
+	// Two words, the first one high
+	@Override
+	public long nextLong() {
+		long high = nextInt();
+		return high << 32 | nextInt() & 0xFFFFFFFFL;
+	}
+
+	// Uniform in [0, bound) by rejection on whole words: a word at or above the largest multiple of
+	// bound below 2^32 is skipped, otherwise the result is word % bound
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive.");
+		}
+		long limit = (1L << 32) - (1L << 32) % bound;
+		long word;
+		do {
+			word = nextInt() & 0xFFFFFFFFL;
+		} while (word >= limit);
+		return (int) (word % bound);
+	}
+
+	private void nextBlock() {
+		int x0 = input[0], x1 = input[1], x2 = input[2], x3 = input[3];
+		int x4 = input[4], x5 = input[5], x6 = input[6], x7 = input[7];
+		int x8 = input[8], x9 = input[9], x10 = input[10], x11 = input[11];
+		int x12 = input[12], x13 = input[13], x14 = input[14], x15 = input[15];
+		for (int round = 0; round < 10; round++) {
+			// Columns
+			x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 16); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 12);
+			x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 8); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 7);
+			x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 16); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 12);
+			x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 8); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 7);
+			x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 16); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 12);
+			x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 8); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 7);
+			x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 16); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 12);
+			x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 8); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 7);
+			// Diagonals
+			x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 16); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 12);
+			x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 8); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 7);
+			x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 16); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 12);
+			x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 8); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 7);
+			x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 16); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 12);
+			x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 8); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 7);
+			x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 16); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 12);
+			x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 8); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 7);
+		}
+		block[0] = x0 + input[0];
+		block[1] = x1 + input[1];
+		block[2] = x2 + input[2];
+		block[3] = x3 + input[3];
+		block[4] = x4 + input[4];
+		block[5] = x5 + input[5];
+		block[6] = x6 + input[6];
+		block[7] = x7 + input[7];
+		block[8] = x8 + input[8];
+		block[9] = x9 + input[9];
+		block[10] = x10 + input[10];
+		block[11] = x11 + input[11];
+		block[12] = x12 + input[12];
+		block[13] = x13 + input[13];
+		block[14] = x14 + input[14];
+		block[15] = x15 + input[15];
+		input[12]++;
+		position = 0;
+	}
+
+	private static int littleEndian(byte[] bytes, int at) {
+		return bytes[at] & 0xFF | (bytes[at + 1] & 0xFF) << 8 | (bytes[at + 2] & 0xFF) << 16 | (bytes[at + 3] & 0xFF) << 24;
+	}
+}
@@ -0,0 +1,111 @@
+package com.ebenfuentes.blackjack.engine;
+
+import java.util.Arrays;
+
+// Card codes for one hand plus an incrementally maintained hard total and Ace count,
+// so the blackjack value is available without walking the cards.
+public final class CompactHand {
+
+	private byte[] codes;
+	private int count;
+	private int hardTotal;
+	private int aces;
+
+	public CompactHand() {
+		this.codes = new byte[8];
+	}
+
+	public void add(int code) {
+		if (count == codes.length) {
+			codes = Arrays.copyOf(codes, count * 2);
+		}
+		codes[count++] = (byte) code;
+		hardTotal += CardCodes.points(code);
+		if (CardCodes.isAce(code)) {
+			aces++;
+		}
+	}
+
+	public void clear() {
+		count = 0;
+		hardTotal = 0;
+		aces = 0;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public int code(int index) {
+		if (index >= count) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return codes[index];
+	}
+
+	// At most one Ace can ever count as 11, so the soft total is just hard + 10
+	public int total() {
+		return total(hardTotal, aces);
+	}
+
+	public boolean isSoft() {
+		return aces > 0 && hardTotal + 10 <= 21;
+	}
+
+	public boolean isBlackjack() {
+		return count == 2 && total() == 21;
+	}
+
+	public boolean isBust() {
+		return hardTotal > 21;
+	}
+
+	public boolean isPair() {
+		return count == 2 && CardCodes.rankIndex(codes[0]) == CardCodes.rankIndex(codes[1]);
+	}
+
+	public int hardTotal() {
+		return hardTotal;
+	}
+
+	public boolean hasAce() {
+		return aces > 0;
+	}
+
+	public byte[] toBytes() {
+		return Arrays.copyOf(codes, count);
+	}
+
+	public static CompactHand fromBytes(byte[] codes) {
+		CompactHand hand = new CompactHand();
+		if (codes != null) {
+			for (byte code : codes) {
+				hand.add(code);
+			}
+		}
+		return hand;
+	}
+
+	public static int total(int hardTotal, int aces) {
+		return aces > 0 && hardTotal + 10 <= 21 ? hardTotal + 10 : hardTotal;
+	}
+
+	// Equal when the same codes were dealt in the same order; Hibernate relies on this for dirty checking
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof CompactHand)) {
+			return false;
+		}
+		CompactHand other = (CompactHand) o;
+		return count == other.count && Arrays.equals(codes, 0, count, other.codes, 0, count);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = count;
+		for (int i = 0; i < count; i++) {
+			h = 31 * h + codes[i];
+		}
+		return h;
+	}
+}
@@ -0,0 +1,19 @@
+package com.ebenfuentes.blackjack.engine;
+
+import java.util.random.RandomGenerator;
+
+public final class FisherYates {
+
+	private FisherYates() {
+	}
+
+	// In-place shuffle; any starting permutation yields a uniform result
+	public static void shuffle(byte[] cards, RandomGenerator random) {
+		for (int i = cards.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			byte tmp = cards[i];
+			cards[i] = cards[j];
+			cards[j] = tmp;
+		}
+	}
+}
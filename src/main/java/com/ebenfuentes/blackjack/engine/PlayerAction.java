@@ -0,0 +1,5 @@
+package com.ebenfuentes.blackjack.engine;
+
+public enum PlayerAction {
+	HIT, STAND, DOUBLE, SPLIT
+}
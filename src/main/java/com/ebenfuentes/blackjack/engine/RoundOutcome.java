@@ -0,0 +1,69 @@
+package com.ebenfuentes.blackjack.engine;
+
+// Settlement rules shared by GameService and the simulator. The checks run in the
+// same order as the original evaluateGame: a natural always wins (3:2), then a player bust, then totals.
+public enum RoundOutcome {
+
+	BLACKJACK("Player", "Blackjack! Player Wins!", 1.5),
+	PLAYER_BUST("Dealer", "Bust! Dealer wins.", -1),
+	PLAYER_WIN("Player", "Player wins!", 1),
+	DEALER_WIN("Dealer", "Dealer wins.", -1),
+	PUSH("Tie", "It's a push!", 0);
+
+	// Dealer draws while below this total (stands on all 17s)
+	public static final int DEALER_STANDS_ON = 17;
+
+	private final String winner;
+	private final String message;
+	private final double payout;
+
+	RoundOutcome(String winner, String message, double payout) {
+		this.winner = winner;
+		this.message = message;
+		this.payout = payout;
+	}
+
+	public static RoundOutcome evaluate(CompactHand player, CompactHand dealer) {
+		return evaluate(player.total(), player.isBlackjack(), dealer.total());
+	}
+
+	public static RoundOutcome evaluate(int playerValue, boolean playerBlackjack, int dealerValue) {
+		if (playerBlackjack) {
+			return BLACKJACK;
+		} else if (playerValue > 21) {
+			return PLAYER_BUST;
+		} else if (dealerValue > 21 || playerValue > dealerValue) {
+			return PLAYER_WIN;
+		} else if (dealerValue > playerValue) {
+			return DEALER_WIN;
+		}
+		return PUSH;
+	}
+
+	public static boolean dealerHits(int dealerValue) {
+		return dealerValue < DEALER_STANDS_ON;
+	}
+
+	public String getWinner() {
+		return winner;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	// Net result in units of the stake
+	public double getPayout() {
+		return payout;
+	}
+
+	// Net winnings as reported to the player, truncated to whole chips
+	public int winnings(int bet) {
+		return (int) (payout * bet);
+	}
+
+	// Chips credited back at settlement: the stake plus the net winnings (0 on a loss)
+	public int settlement(int bet) {
+		return bet + winnings(bet);
+	}
+}
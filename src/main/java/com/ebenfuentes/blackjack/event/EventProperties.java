@@ -0,0 +1,42 @@
+package com.ebenfuentes.blackjack.event;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.events")
+public class EventProperties {
+
+	// Events buffered per subscriber; when full the oldest is dropped and a RESYNC is sent
+	private int queueCapacity = 256;
+
+	// Threads writing events to subscriber connections
+	private int dispatchThreads = 4;
+
+	// How long an idle stream stays open before the client has to reconnect
+	private Duration timeout = Duration.ofMinutes(30);
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getDispatchThreads() {
+		return dispatchThreads;
+	}
+
+	public void setDispatchThreads(int dispatchThreads) {
+		this.dispatchThreads = dispatchThreads;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+}
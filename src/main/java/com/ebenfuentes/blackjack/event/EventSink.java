@@ -0,0 +1,15 @@
+package com.ebenfuentes.blackjack.event;
+
+import java.io.IOException;
+
+// Where one subscriber's events are written: an SseEmitter on the MVC stack, a Flux on the
+// reactive one. Only the publisher's dispatch threads call it, one at a time per subscriber.
+public interface EventSink {
+
+	// `sequence` numbers the subscriber's events from 1 (the SSE event id)
+	void send(long sequence, GameEvent event) throws IOException;
+
+	void complete();
+
+	void fail(Throwable error);
+}
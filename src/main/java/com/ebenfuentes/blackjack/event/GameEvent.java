@@ -0,0 +1,48 @@
+package com.ebenfuentes.blackjack.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One compact delta pushed to subscribers; only the fields of its type are present.
+// playerId is absent for dealer cards.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GameEvent(GameEventType type, Integer playerId, CardView card, Integer value, String winner,
+		String message, Integer winnings, Integer balance, Integer bet, Integer dropped) {
+
+	// CARD_DEALT for cards [from, to) of a hand, each with the hand value once that card landed.
+	// Pass a null playerId for the dealer's hand.
+	public static List<GameEvent> cards(Integer playerId, CompactHand hand, int from, int to) {
+		List<GameEvent> events = new ArrayList<>(Math.max(to - from, 0));
+		int hard = 0;
+		int aces = 0;
+		for (int i = 0; i < to; i++) {
+			int code = hand.code(i);
+			hard += CardCodes.points(code);
+			aces += CardCodes.isAce(code) ? 1 : 0;
+			if (i >= from) {
+				events.add(new GameEvent(GameEventType.CARD_DEALT, playerId, CardView.of(code),
+						CompactHand.total(hard, aces), null, null, null, null, null, null));
+			}
+		}
+		return events;
+	}
+
+	public static GameEvent outcome(int playerId, RoundResultResponse result) {
+		return new GameEvent(GameEventType.OUTCOME, playerId, null, result.playerValue(), result.winner(),
+				result.message(), result.winnings(), result.playerNewBalance(), null, null);
+	}
+
+	public static GameEvent balance(int playerId, int balance, int bet) {
+		return new GameEvent(GameEventType.BALANCE, playerId, null, null, null, null, null, balance, bet, null);
+	}
+
+	static GameEvent resync(int dropped) {
+		return new GameEvent(GameEventType.RESYNC, null, null, null, null, null, null, null, null, dropped);
+	}
+}
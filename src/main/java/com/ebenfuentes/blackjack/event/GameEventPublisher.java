@@ -0,0 +1,247 @@
+package com.ebenfuentes.blackjack.event;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Fans game events out to Server-Sent Event subscribers of a player or a table. Publishing
+// never blocks the game thread (it runs under the player's lock): each subscriber has a
+// bounded queue drained by a small dispatch pool, and a subscriber that falls behind loses
+// its oldest events and is sent a RESYNC telling it to refetch the full state. Subscribers write
+// through an EventSink, so the same fan-out serves SseEmitter streams and reactive ones.
+@Component
+public class GameEventPublisher implements DisposableBean {
+
+	private final ConcurrentMap<Integer, List<Subscriber>> playerSubscribers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Integer, List<Subscriber>> tableSubscribers = new ConcurrentHashMap<>();
+	private final EventProperties properties;
+	private final ExecutorService dispatcher;
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	public GameEventPublisher(EventProperties properties) {
+		this.properties = properties;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.dispatcher = Executors.newFixedThreadPool(properties.getDispatchThreads(), r -> {
+			Thread thread = new Thread(r, "game-events-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public SseEmitter subscribePlayer(int playerId) {
+		return subscribe(playerSubscribers, playerId);
+	}
+
+	public SseEmitter subscribeTable(int tableId) {
+		return subscribe(tableSubscribers, tableId);
+	}
+
+	// Events for the player go to the sink until the returned action is run
+	public Runnable subscribePlayer(int playerId, EventSink sink) {
+		return subscribe(playerSubscribers, playerId, sink);
+	}
+
+	public EventProperties getProperties() {
+		return properties;
+	}
+
+	public void toPlayer(int playerId, GameEvent event) {
+		publish(playerSubscribers.get(playerId), event);
+	}
+
+	public void toTable(int tableId, GameEvent event) {
+		publish(tableSubscribers.get(tableId), event);
+	}
+
+	// Seat events go to the player's own stream and to everyone watching the table
+	public void toSeat(int tableId, int playerId, GameEvent event) {
+		toPlayer(playerId, event);
+		toTable(tableId, event);
+	}
+
+	public int subscribers() {
+		int count = 0;
+		for (List<Subscriber> list : playerSubscribers.values()) {
+			count += list.size();
+		}
+		for (List<Subscriber> list : tableSubscribers.values()) {
+			count += list.size();
+		}
+		return count;
+	}
+
+	public long getPublished() {
+		return published.get();
+	}
+
+	public long getDelivered() {
+		return delivered.get();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	// End the player's streams; their clients reconnect and are routed to wherever the player lives now
+	public void disconnectPlayer(int playerId) {
+		List<Subscriber> list = playerSubscribers.get(playerId);
+		if (list != null) {
+			list.forEach(subscriber -> subscriber.sink.complete());
+		}
+	}
+
+	// Same for a table's observers when the table moves to another node
+	public void disconnectTable(int tableId) {
+		List<Subscriber> list = tableSubscribers.get(tableId);
+		if (list != null) {
+			list.forEach(subscriber -> subscriber.sink.complete());
+		}
+	}
+
+	// Streams never finish on their own, so end them before graceful shutdown waits on them
+	@EventListener(ContextClosedEvent.class)
+	public void closeStreams() {
+		for (List<Subscriber> list : playerSubscribers.values()) {
+			list.forEach(subscriber -> subscriber.sink.complete());
+		}
+		for (List<Subscriber> list : tableSubscribers.values()) {
+			list.forEach(subscriber -> subscriber.sink.complete());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		dispatcher.shutdownNow();
+	}
+
+	private SseEmitter subscribe(ConcurrentMap<Integer, List<Subscriber>> topics, int key) {
+		SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+		Runnable remove = subscribe(topics, key, new EventSink() {
+			@Override
+			public void send(long sequence, GameEvent event) throws IOException {
+				emitter.send(SseEmitter.event()
+						.id(Long.toString(sequence))
+						.name(event.type().name())
+						.data(event, MediaType.APPLICATION_JSON));
+			}
+
+			@Override
+			public void complete() {
+				emitter.complete();
+			}
+
+			@Override
+			public void fail(Throwable error) {
+				emitter.completeWithError(error);
+			}
+		});
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+		try {
+			// Commits the response headers right away instead of on the first game event
+			emitter.send(SseEmitter.event().comment("subscribed"));
+		} catch (IOException e) {
+			remove.run();
+			emitter.completeWithError(e);
+		}
+		return emitter;
+	}
+
+	private Runnable subscribe(ConcurrentMap<Integer, List<Subscriber>> topics, int key, EventSink sink) {
+		Subscriber subscriber = new Subscriber(sink, properties.getQueueCapacity());
+		topics.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+		return () -> {
+			subscriber.closed = true;
+			topics.computeIfPresent(key, (k, list) -> {
+				list.remove(subscriber);
+				return list.isEmpty() ? null : list;
+			});
+		};
+	}
+
+	private void publish(List<Subscriber> subscribers, GameEvent event) {
+		if (subscribers == null) {
+			return;
+		}
+		for (Subscriber subscriber : subscribers) {
+			if (subscriber.closed) {
+				continue;
+			}
+			subscriber.offer(event);
+			published.incrementAndGet();
+			if (subscriber.draining.compareAndSet(false, true)) {
+				dispatcher.execute(() -> drain(subscriber));
+			}
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			int lost = subscriber.lost.getAndSet(0);
+			if (lost > 0) {
+				send(subscriber, GameEvent.resync(lost));
+			}
+			GameEvent event;
+			while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+				send(subscriber, event);
+				delivered.incrementAndGet();
+			}
+		} catch (IOException | IllegalStateException e) {
+			subscriber.closed = true;
+			subscriber.sink.fail(e);
+		} finally {
+			subscriber.draining.set(false);
+		}
+		// An event offered after the last poll but before the flag was cleared
+		if (!subscriber.closed && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+			dispatcher.execute(() -> drain(subscriber));
+		}
+	}
+
+	private void send(Subscriber subscriber, GameEvent event) throws IOException {
+		subscriber.sink.send(++subscriber.sequence, event);
+	}
+
+	private final class Subscriber {
+
+		final EventSink sink;
+		final ArrayBlockingQueue<GameEvent> queue;
+		final AtomicBoolean draining = new AtomicBoolean();
+		final AtomicInteger lost = new AtomicInteger();
+		volatile boolean closed;
+		long sequence; // Only touched by the draining thread
+
+		Subscriber(EventSink sink, int capacity) {
+			this.sink = sink;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+
+		// Drop the oldest event rather than block the game thread
+		void offer(GameEvent event) {
+			while (!queue.offer(event)) {
+				if (queue.poll() != null) {
+					lost.incrementAndGet();
+					dropped.incrementAndGet();
+				}
+			}
+		}
+	}
+}
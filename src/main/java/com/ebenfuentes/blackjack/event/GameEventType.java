@@ -0,0 +1,8 @@
+package com.ebenfuentes.blackjack.event;
+
+public enum GameEventType {
+	CARD_DEALT, // A card went to a player or the dealer, with the new hand value
+	OUTCOME, // A player's round was settled
+	BALANCE, // Balance or bet changed
+	RESYNC // Events were dropped for a slow subscriber; refetch the full state
+}
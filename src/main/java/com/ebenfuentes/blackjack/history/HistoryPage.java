@@ -0,0 +1,7 @@
+package com.ebenfuentes.blackjack.history;
+
+import java.util.List;
+
+// Rows newest first; nextCursor continues after the last row and is null when there is nothing more
+public record HistoryPage(List<HistoryRow> rows, Long nextCursor) {
+}
@@ -0,0 +1,201 @@
+package com.ebenfuentes.blackjack.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// One time partition: a memory-mapped file of fixed-width columns with one slot per row, so a
+// query reads only the columns it needs and a filter scans one byte per row. Rows are appended
+// by a single writer (HistoryStore holds its lock) and become visible to readers once `rows`
+// is published.
+//
+// Header (64 bytes): magic, format, capacity, rows, start millis, base sequence.
+// Columns: time (int ms from start), player, previous row of the same player (long),
+// table (0 = solo), bet, payout, balance after, round log sequence (int from base), outcome (byte).
+final class HistoryPartition {
+
+	static final String PREFIX = "history-";
+	static final String SUFFIX = ".col";
+	static final int BYTES_PER_ROW = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4 + 1;
+	static final int NO_SEQUENCE = Integer.MIN_VALUE;
+
+	private static final int MAGIC = 0x424A4850; // "BJHP"
+	private static final int FORMAT = 1;
+	private static final int HEADER = 64;
+	private static final int ROWS_OFFSET = 12;
+
+	private final int index;
+	private final Path file;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final long startMillis;
+	private final long baseSequence;
+	private final int timeColumn;
+	private final int playerColumn;
+	private final int prevColumn;
+	private final int tableColumn;
+	private final int betColumn;
+	private final int payoutColumn;
+	private final int balanceColumn;
+	private final int sequenceColumn;
+	private final int outcomeColumn;
+	private volatile int rows;
+
+	private HistoryPartition(int index, Path file, MappedByteBuffer buffer, int capacity, long startMillis,
+			long baseSequence, int rows) {
+		this.index = index;
+		this.file = file;
+		this.buffer = buffer;
+		this.capacity = capacity;
+		this.startMillis = startMillis;
+		this.baseSequence = baseSequence;
+		this.timeColumn = HEADER;
+		this.playerColumn = timeColumn + 4 * capacity;
+		this.prevColumn = playerColumn + 4 * capacity;
+		this.tableColumn = prevColumn + 8 * capacity;
+		this.betColumn = tableColumn + 4 * capacity;
+		this.payoutColumn = betColumn + 4 * capacity;
+		this.balanceColumn = payoutColumn + 4 * capacity;
+		this.sequenceColumn = balanceColumn + 4 * capacity;
+		this.outcomeColumn = sequenceColumn + 4 * capacity;
+		this.rows = rows;
+	}
+
+	static HistoryPartition create(Path directory, int index, int capacity, long startMillis, long baseSequence)
+			throws IOException {
+		Path file = directory.resolve(fileName(index));
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) BYTES_PER_ROW * capacity);
+		}
+		buffer.putInt(0, MAGIC).putInt(4, FORMAT).putInt(8, capacity).putInt(ROWS_OFFSET, 0)
+				.putLong(16, startMillis).putLong(24, baseSequence);
+		return new HistoryPartition(index, file, buffer, capacity, startMillis, baseSequence, 0);
+	}
+
+	static HistoryPartition open(Path file) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+		}
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT) {
+			throw new IOException("Not a history partition: " + file);
+		}
+		return new HistoryPartition(index(file), file, buffer, buffer.getInt(8), buffer.getLong(16),
+				buffer.getLong(24), buffer.getInt(ROWS_OFFSET));
+	}
+
+	static String fileName(int index) {
+		return String.format("%s%010d%s", PREFIX, index, SUFFIX);
+	}
+
+	static int index(Path file) {
+		String name = file.getFileName().toString();
+		return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+
+	// Writer only; returns the new row's slot
+	int append(long timeMillis, int playerId, long prevRow, int tableId, int bet, int payout, int balanceAfter,
+			long sequence, byte outcome) {
+		int slot = rows;
+		buffer.putInt(timeColumn + 4 * slot, (int) (timeMillis - startMillis))
+				.putInt(playerColumn + 4 * slot, playerId)
+				.putLong(prevColumn + 8 * slot, prevRow)
+				.putInt(tableColumn + 4 * slot, tableId)
+				.putInt(betColumn + 4 * slot, bet)
+				.putInt(payoutColumn + 4 * slot, payout)
+				.putInt(balanceColumn + 4 * slot, balanceAfter)
+				.putInt(sequenceColumn + 4 * slot, sequence < 0 ? NO_SEQUENCE : (int) (sequence - baseSequence))
+				.put(outcomeColumn + slot, outcome)
+				.putInt(ROWS_OFFSET, slot + 1);
+		rows = slot + 1;
+		return slot;
+	}
+
+	boolean isFull() {
+		return rows == capacity;
+	}
+
+	int index() {
+		return index;
+	}
+
+	int rows() {
+		return rows;
+	}
+
+	long startMillis() {
+		return startMillis;
+	}
+
+	// Time of the newest row, or the start if the partition is empty
+	long lastMillis() {
+		int count = rows;
+		return count == 0 ? startMillis : timeAt(count - 1);
+	}
+
+	long timeAt(int slot) {
+		return startMillis + buffer.getInt(timeColumn + 4 * slot);
+	}
+
+	int playerAt(int slot) {
+		return buffer.getInt(playerColumn + 4 * slot);
+	}
+
+	long prevAt(int slot) {
+		return buffer.getLong(prevColumn + 8 * slot);
+	}
+
+	int tableAt(int slot) {
+		return buffer.getInt(tableColumn + 4 * slot);
+	}
+
+	int betAt(int slot) {
+		return buffer.getInt(betColumn + 4 * slot);
+	}
+
+	int payoutAt(int slot) {
+		return buffer.getInt(payoutColumn + 4 * slot);
+	}
+
+	int balanceAt(int slot) {
+		return buffer.getInt(balanceColumn + 4 * slot);
+	}
+
+	// Round log sequence, or -1 when the round was not logged
+	long sequenceAt(int slot) {
+		int offset = buffer.getInt(sequenceColumn + 4 * slot);
+		return offset == NO_SEQUENCE ? -1 : baseSequence + offset;
+	}
+
+	byte outcomeAt(int slot) {
+		return buffer.get(outcomeColumn + slot);
+	}
+
+	// First slot at or after `millis` (rows are in time order), or rows() if there is none
+	int firstAtOrAfter(long millis) {
+		int lo = 0;
+		int hi = rows;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (timeAt(mid) < millis) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	void force() {
+		buffer.force();
+	}
+
+	void delete() throws IOException {
+		Files.deleteIfExists(file);
+	}
+}
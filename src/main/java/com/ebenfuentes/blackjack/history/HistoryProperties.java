@@ -0,0 +1,76 @@
+package com.ebenfuentes.blackjack.history;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.history")
+public class HistoryProperties {
+
+	// Directory for the partition files; a temporary directory (removed on shutdown) when unset
+	private String directory;
+
+	// Longest time span one partition covers; time-range queries skip partitions outside the range
+	private Duration partitionSpan = Duration.ofHours(1);
+
+	// Rows per partition file; a busy hour simply fills several partitions
+	private int partitionRows = 1 << 20;
+
+	// Partitions whose newest round is older than this are deleted
+	private Duration retention = Duration.ofDays(30);
+
+	// Reopen existing partitions at startup. Off by default because ddl-auto=create restarts player
+	// ids, and old rounds would then show up in new players' history.
+	private boolean keepOnRestart = false;
+
+	// Largest page a query may ask for
+	private int maxPageSize = 200;
+
+	public String getDirectory() {
+		return directory;
+	}
+
+	public void setDirectory(String directory) {
+		this.directory = directory;
+	}
+
+	public Duration getPartitionSpan() {
+		return partitionSpan;
+	}
+
+	public void setPartitionSpan(Duration partitionSpan) {
+		this.partitionSpan = partitionSpan;
+	}
+
+	public int getPartitionRows() {
+		return partitionRows;
+	}
+
+	public void setPartitionRows(int partitionRows) {
+		this.partitionRows = partitionRows;
+	}
+
+	public Duration getRetention() {
+		return retention;
+	}
+
+	public void setRetention(Duration retention) {
+		this.retention = retention;
+	}
+
+	public boolean isKeepOnRestart() {
+		return keepOnRestart;
+	}
+
+	public void setKeepOnRestart(boolean keepOnRestart) {
+		this.keepOnRestart = keepOnRestart;
+	}
+
+	public int getMaxPageSize() {
+		return maxPageSize;
+	}
+
+	public void setMaxPageSize(int maxPageSize) {
+		this.maxPageSize = maxPageSize;
+	}
+}
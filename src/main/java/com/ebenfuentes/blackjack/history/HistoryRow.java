@@ -0,0 +1,9 @@
+package com.ebenfuentes.blackjack.history;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// One settled hand from the history store. rowId doubles as the paging cursor; sequence points at
+// the full record (cards, actions) in the round log and is -1 when the round was not logged.
+public record HistoryRow(long rowId, long timestamp, int playerId, int tableId, RoundOutcome outcome, int bet,
+		int payout, int balanceAfter, long sequence) {
+}
@@ -0,0 +1,287 @@
+package com.ebenfuentes.blackjack.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// Queryable history of settled rounds. Rows go into time partitions (see HistoryPartition), so
+// a time-range query only opens the partitions that overlap it. Every row also stores the id of
+// the same player's previous row, and the newest row per player is kept in memory: a player's
+// history is a walk down that chain, touching only their own rows however large the store gets.
+// A row id is the partition index in the high 32 bits and the slot in the low 32; it is also the
+// paging cursor ("rows before this one").
+@Component
+public class HistoryStore implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(HistoryStore.class);
+
+	static final long NO_ROW = -1;
+	private static final RoundOutcome[] OUTCOMES = RoundOutcome.values();
+
+	private final Path directory;
+	private final boolean temporary;
+	private final long spanMillis;
+	private final int partitionRows;
+	private final long retentionMillis;
+	private final ConcurrentNavigableMap<Integer, HistoryPartition> partitions = new ConcurrentSkipListMap<>();
+	private final ConcurrentMap<Integer, Long> lastRow = new ConcurrentHashMap<>(); // Newest row per player
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private HistoryPartition current; // Guarded by lock, like lastMillis
+	private long lastMillis;
+	private volatile long rows;
+	private volatile long failures;
+
+	public HistoryStore(HistoryProperties properties) throws IOException {
+		this.spanMillis = properties.getPartitionSpan().toMillis();
+		if (spanMillis <= 0 || spanMillis > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Partition span must be between 1ms and 24 days.");
+		}
+		this.partitionRows = properties.getPartitionRows();
+		if (partitionRows <= 0) {
+			throw new IllegalArgumentException("A partition needs at least one row.");
+		}
+		this.retentionMillis = properties.getRetention().toMillis();
+
+		String dir = properties.getDirectory();
+		this.temporary = dir == null || dir.isBlank();
+		this.directory = temporary ? Files.createTempDirectory("blackjack-history") : Path.of(dir);
+		Files.createDirectories(directory);
+		for (Path file : partitionFiles(directory)) {
+			if (properties.isKeepOnRestart()) {
+				HistoryPartition partition = HistoryPartition.open(file);
+				partitions.put(partition.index(), partition);
+			} else {
+				Files.delete(file);
+			}
+		}
+		if (!partitions.isEmpty()) {
+			rebuildIndex();
+		}
+	}
+
+	// Store one settled hand; returns its row id, or -1 if it could not be stored
+	public long record(long timestamp, long sequence, int playerId, int tableId, RoundOutcome outcome, int bet,
+			int payout, int balanceAfter) {
+		lock.lock();
+		try {
+			// Partitions are in time order, so a clock step backwards is pinned to the last time
+			long time = Math.max(timestamp, lastMillis);
+			if (current == null || current.isFull() || time >= current.startMillis() + spanMillis) {
+				roll(time, sequence);
+			}
+			long prev = lastRow.getOrDefault(playerId, NO_ROW);
+			int slot = current.append(time, playerId, prev, tableId, bet, payout, balanceAfter, sequence,
+					(byte) outcome.ordinal());
+			long rowId = rowId(current.index(), slot);
+			lastRow.put(playerId, rowId);
+			lastMillis = time;
+			rows++;
+			return rowId;
+		} catch (IOException e) {
+			// The round itself is already settled; a missing history row must not fail it
+			failures++;
+			log.error("History append failed", e);
+			return NO_ROW;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// A player's rounds, newest first, starting before `cursor` (or at the newest when null)
+	public HistoryPage playerRounds(int playerId, Long cursor, int limit) {
+		long row;
+		if (cursor == null) {
+			row = lastRow.getOrDefault(playerId, NO_ROW);
+		} else {
+			HistoryPartition partition = partitionOf(cursor);
+			if (partition == null || slotOf(cursor) >= partition.rows()
+					|| partition.playerAt(slotOf(cursor)) != playerId) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			row = partition.prevAt(slotOf(cursor));
+		}
+		List<HistoryRow> page = new ArrayList<>(Math.min(limit, 64));
+		while (row != NO_ROW && page.size() < limit) {
+			HistoryPartition partition = partitions.get(indexOf(row));
+			if (partition == null) {
+				row = NO_ROW; // Older rounds were dropped by retention
+				break;
+			}
+			int slot = slotOf(row);
+			page.add(read(partition, slot, row));
+			row = partition.prevAt(slot);
+		}
+		return new HistoryPage(page, row == NO_ROW || page.isEmpty() ? null : page.get(page.size() - 1).rowId());
+	}
+
+	// Rounds in [from, to), optionally of one outcome, newest first, starting before `cursor`.
+	// Only partitions overlapping the range are read; within one, the time column is binary
+	// searched and the outcome column (one byte per row) is scanned.
+	public HistoryPage search(RoundOutcome outcome, long from, long to, Long cursor, int limit) {
+		ConcurrentNavigableMap<Integer, HistoryPartition> candidates = partitions;
+		if (cursor != null) {
+			HistoryPartition partition = partitionOf(cursor);
+			if (partition == null || slotOf(cursor) >= partition.rows()) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			candidates = partitions.headMap(indexOf(cursor), true);
+		}
+		List<HistoryRow> page = new ArrayList<>(Math.min(limit, 64));
+		boolean more = false;
+		for (HistoryPartition partition : candidates.descendingMap().values()) {
+			if (partition.startMillis() >= to) {
+				continue;
+			}
+			if (partition.lastMillis() < from) {
+				break; // Partitions are in time order; everything older is out of range
+			}
+			int low = partition.firstAtOrAfter(from);
+			int high = partition.firstAtOrAfter(to);
+			if (cursor != null && partition.index() == indexOf(cursor)) {
+				high = Math.min(high, slotOf(cursor));
+			}
+			for (int slot = high - 1; slot >= low; slot--) {
+				if (outcome != null && partition.outcomeAt(slot) != outcome.ordinal()) {
+					continue;
+				}
+				if (page.size() == limit) {
+					more = true;
+					break;
+				}
+				page.add(read(partition, slot, rowId(partition.index(), slot)));
+			}
+			if (more) {
+				break;
+			}
+		}
+		return new HistoryPage(page, more ? page.get(page.size() - 1).rowId() : null);
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	public int partitions() {
+		return partitions.size();
+	}
+
+	public int players() {
+		return lastRow.size();
+	}
+
+	// Bytes of partition files currently allocated (sparse until rows are written)
+	public long storedBytes() {
+		long bytes = 0;
+		for (HistoryPartition partition : partitions.values()) {
+			bytes += (long) partition.rows() * HistoryPartition.BYTES_PER_ROW;
+		}
+		return bytes;
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		lock.lock();
+		try {
+			for (HistoryPartition partition : partitions.values()) {
+				partition.force();
+			}
+			if (temporary) {
+				for (HistoryPartition partition : partitions.values()) {
+					partition.delete();
+				}
+				Files.deleteIfExists(directory);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void roll(long time, long sequence) throws IOException {
+		int index = current == null ? (partitions.isEmpty() ? 0 : partitions.lastKey() + 1) : current.index() + 1;
+		long start = time - Math.floorMod(time, spanMillis);
+		if (current != null && current.startMillis() + spanMillis > time) {
+			start = current.startMillis(); // Filled up before its span ended; the next one shares it
+		}
+		current = HistoryPartition.create(directory, index, partitionRows, start, Math.max(0, sequence));
+		partitions.put(index, current);
+		expire(time);
+	}
+
+	// Drop partitions whose newest round is past retention; the chains into them just end there
+	private void expire(long now) throws IOException {
+		Iterator<HistoryPartition> it = partitions.values().iterator();
+		while (it.hasNext()) {
+			HistoryPartition partition = it.next();
+			if (partition == current || partition.lastMillis() >= now - retentionMillis) {
+				break;
+			}
+			it.remove();
+			partition.delete();
+		}
+	}
+
+	// Reopened partitions: the newest row per player is the last one in slot order
+	private void rebuildIndex() {
+		for (HistoryPartition partition : partitions.values()) {
+			int count = partition.rows();
+			for (int slot = 0; slot < count; slot++) {
+				lastRow.put(partition.playerAt(slot), rowId(partition.index(), slot));
+			}
+			rows += count;
+			lastMillis = Math.max(lastMillis, partition.lastMillis());
+		}
+		current = partitions.lastEntry().getValue();
+	}
+
+	private HistoryRow read(HistoryPartition partition, int slot, long rowId) {
+		return new HistoryRow(rowId, partition.timeAt(slot), partition.playerAt(slot), partition.tableAt(slot),
+				OUTCOMES[partition.outcomeAt(slot)], partition.betAt(slot), partition.payoutAt(slot),
+				partition.balanceAt(slot), partition.sequenceAt(slot));
+	}
+
+	private HistoryPartition partitionOf(long rowId) {
+		return rowId < 0 ? null : partitions.get(indexOf(rowId));
+	}
+
+	static long rowId(int index, int slot) {
+		return ((long) index << 32) | slot;
+	}
+
+	static int indexOf(long rowId) {
+		return (int) (rowId >>> 32);
+	}
+
+	static int slotOf(long rowId) {
+		return (int) rowId;
+	}
+
+	private static List<Path> partitionFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> {
+				String name = file.getFileName().toString();
+				return name.startsWith(HistoryPartition.PREFIX) && name.endsWith(HistoryPartition.SUFFIX);
+			}).sorted().toList();
+		}
+	}
+}
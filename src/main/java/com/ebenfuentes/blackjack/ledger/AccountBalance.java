@@ -0,0 +1,11 @@
+package com.ebenfuentes.blackjack.ledger;
+
+// One immutable account state. Every change swaps in a new instance with the next version,
+// so a journal replay can keep the newest state per player whatever order entries were written in.
+public record AccountBalance(int balance, int bet, long version) {
+
+	// Money the player owns, including what is currently staked
+	public long total() {
+		return (long) balance + bet;
+	}
+}
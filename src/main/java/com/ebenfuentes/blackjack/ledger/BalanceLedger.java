@@ -0,0 +1,265 @@
+package com.ebenfuentes.blackjack.ledger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.model.Player;
+
+// Source of truth for balances and bets. Each account is one immutable AccountBalance behind an
+// AtomicReference and every change is a compare-and-set retry loop, so two requests for the same
+// player can never overwrite each other's debit or payout and no lock is taken. Every change is
+// appended to the journal; LedgerReconciler writes changed accounts back to the player table.
+// Player entities only mirror the account (see attach), so responses and session saves agree with it.
+// An account is open only while its player is in play: the session store retires it once the
+// player is idle and its row holds the same state (see retire), so the map does not grow with
+// every player ever seen.
+@Component
+public class BalanceLedger implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(BalanceLedger.class);
+
+	private final ConcurrentMap<Integer, AtomicReference<AccountBalance>> accounts = new ConcurrentHashMap<>();
+	private final Set<Integer> unreconciled = ConcurrentHashMap.newKeySet();
+	private final LedgerJournal journal;
+	private final LongAdder changes = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private volatile Map<Integer, AccountBalance> recovered;
+
+	public BalanceLedger(LedgerProperties properties) throws IOException {
+		String journalFile = properties.getJournalFile();
+		if (journalFile == null || journalFile.isBlank()) {
+			this.journal = null;
+			this.recovered = Map.of();
+		} else {
+			Path file = Path.of(journalFile);
+			this.recovered = Files.exists(file) ? recover(file) : Map.of();
+			this.journal = new LedgerJournal(file, properties.isSyncWrites());
+		}
+	}
+
+	// Open the player's account from its row on first touch, then copy the account onto the entity
+	public AccountBalance attach(Player player) {
+		AtomicReference<AccountBalance> account = accounts.get(player.getId());
+		if (account == null) {
+			account = accounts.computeIfAbsent(player.getId(), playerId -> {
+				AccountBalance opened = new AccountBalance(player.getBalance(), player.getBet(), 1);
+				record(playerId, LedgerOp.OPEN, 0, opened);
+				return new AtomicReference<>(opened);
+			});
+		}
+		AccountBalance state = account.get();
+		mirror(player, state);
+		return state;
+	}
+
+	// Copy the open account onto the entity (a read); without one the entity's row values stand
+	public AccountBalance refresh(Player player) {
+		AccountBalance state = get(player.getId());
+		return state == null ? null : mirror(player, state);
+	}
+
+	// Move `amount` from the balance onto the bet (placing or doubling a bet)
+	public AccountBalance stake(int playerId, int amount) {
+		if (amount < 0) {
+			throw new IllegalArgumentException("Bet amount cannot be negative.");
+		}
+		return update(playerId, LedgerOp.STAKE, amount, current -> {
+			if (amount > current.balance()) {
+				throw new IllegalArgumentException("Insufficient balance to place bet.");
+			}
+			return new AccountBalance(current.balance() - amount, current.bet() + amount, current.version() + 1);
+		});
+	}
+
+	// Clear the bet and credit the payout (twice the bet for a win, the bet for a push, nothing for a loss)
+	public AccountBalance settle(int playerId, int payout) {
+		return update(playerId, LedgerOp.SETTLE, payout,
+				current -> new AccountBalance(current.balance() + payout, 0, current.version() + 1));
+	}
+
+	// Clear the bet without paying anything back
+	public AccountBalance forfeit(int playerId) {
+		return update(playerId, LedgerOp.FORFEIT, 0,
+				current -> new AccountBalance(current.balance(), 0, current.version() + 1));
+	}
+
+	public AccountBalance stake(Player player, int amount) {
+		return mirror(player, stake(player.getId(), amount));
+	}
+
+	public AccountBalance settle(Player player, int payout) {
+		return mirror(player, settle(player.getId(), payout));
+	}
+
+	public AccountBalance forfeit(Player player) {
+		return mirror(player, forfeit(player.getId()));
+	}
+
+	// Current state, or null if the account has not been opened
+	public AccountBalance get(int playerId) {
+		AtomicReference<AccountBalance> account = accounts.get(playerId);
+		return account == null ? null : account.get();
+	}
+
+	// The player now lives on another node and its row holds the final state; close the account here
+	// so nothing (a write-back, a journal replay at restart) puts this node's copy back over the row
+	public void release(int playerId) {
+		AtomicReference<AccountBalance> account = accounts.remove(playerId);
+		unreconciled.remove(playerId);
+		if (account != null && journal != null) {
+			journal.append(playerId, LedgerOp.RELEASE, 0, account.get());
+		}
+	}
+
+	// The player is between rounds and its row was just saved at the account's state: close the
+	// account like release() does. Kept while a write-back is still owed. Returns whether it closed.
+	public boolean retire(int playerId) {
+		if (unreconciled.contains(playerId)) {
+			return false;
+		}
+		release(playerId);
+		return true;
+	}
+
+	// A balance change not yet written back to the player row
+	public boolean isUnreconciled(int playerId) {
+		return unreconciled.contains(playerId);
+	}
+
+	// Players with an open account
+	public Set<Integer> accountIds() {
+		return Collections.unmodifiableSet(accounts.keySet());
+	}
+
+	// The session store just saved this player's row; no write-back is needed unless it has moved on since.
+	// Removing before re-checking means a change racing with the save is never left unmarked.
+	public void persisted(Player player) {
+		unreconciled.remove(player.getId());
+		AccountBalance current = get(player.getId());
+		if (current != null && (current.balance() != player.getBalance() || current.bet() != player.getBet())) {
+			unreconciled.add(player.getId());
+		}
+	}
+
+	// Hand up to `max` changed player ids to the reconciler
+	int takeUnreconciled(List<Integer> into, int max) {
+		Iterator<Integer> it = unreconciled.iterator();
+		while (into.size() < max && it.hasNext()) {
+			into.add(it.next());
+			it.remove();
+		}
+		return into.size();
+	}
+
+	void markUnreconciled(List<Integer> playerIds) {
+		unreconciled.addAll(playerIds);
+	}
+
+	// Final states recorded by the previous run's journal, handed over once at startup
+	Map<Integer, AccountBalance> takeRecovered() {
+		Map<Integer, AccountBalance> states = recovered;
+		recovered = Map.of();
+		return states;
+	}
+
+	public int accounts() {
+		return accounts.size();
+	}
+
+	public int pendingReconcile() {
+		return unreconciled.size();
+	}
+
+	public long getChanges() {
+		return changes.sum();
+	}
+
+	// Compare-and-set attempts lost to a concurrent change of the same account
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	public long pendingJournal() {
+		return journal == null ? 0 : journal.pending();
+	}
+
+	// Wait until every change made so far is in the journal file
+	public void flushJournal() {
+		if (journal != null) {
+			journal.flush();
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	private AccountBalance update(int playerId, LedgerOp op, int amount, UnaryOperator<AccountBalance> change) {
+		AtomicReference<AccountBalance> account = accounts.get(playerId);
+		if (account == null) {
+			throw new IllegalStateException("No ledger account for player " + playerId + ".");
+		}
+		while (true) {
+			AccountBalance current = account.get();
+			AccountBalance next = change.apply(current);
+			if (account.compareAndSet(current, next)) {
+				record(playerId, op, amount, next);
+				return next;
+			}
+			retries.increment();
+		}
+	}
+
+	private void record(int playerId, LedgerOp op, int amount, AccountBalance after) {
+		changes.increment();
+		if (op != LedgerOp.OPEN) {
+			unreconciled.add(playerId);
+		}
+		if (journal != null) {
+			journal.append(playerId, op, amount, after);
+		}
+	}
+
+	private static AccountBalance mirror(Player player, AccountBalance state) {
+		player.setBalance(state.balance());
+		player.setBet(state.bet());
+		return state;
+	}
+
+	// Replay the previous journal, keeping it as <file>.1 until a later restart replaces it
+	private static Map<Integer, AccountBalance> recover(Path file) {
+		Map<Integer, AccountBalance> states;
+		try {
+			states = LedgerJournal.replay(file);
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable ledger journal {}: {}", file, e.getMessage());
+			states = Map.of();
+		}
+		try {
+			Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.warn("Could not keep previous ledger journal {}: {}", file, e.getMessage());
+		}
+		return states;
+	}
+}
@@ -0,0 +1,165 @@
+package com.ebenfuentes.blackjack.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Append-only binary journal of ledger changes. Game threads only add to a lock-free queue;
+// a single writer thread packs whatever has queued up into one buffer and writes it, so a
+// balance change never waits on the disk.
+//
+// Layout: "BJLG", format version, then fixed 25-byte entries
+// (account version, player id, op, amount, balance after, bet after).
+public final class LedgerJournal implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(LedgerJournal.class);
+
+	private static final int MAGIC = 0x424A4C47; // "BJLG"
+	private static final int FORMAT = 1;
+	static final int ENTRY_BYTES = 25;
+	private static final int BATCH = 4096;
+	private static final long IDLE_NANOS = 200_000;
+
+	private record Entry(int playerId, LedgerOp op, int amount, AccountBalance after) {
+	}
+
+	private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+	private final FileChannel channel;
+	private final boolean syncWrites;
+	private final Thread writer;
+	private final LongAdder appended = new LongAdder();
+	private final AtomicLong written = new AtomicLong();
+	private volatile boolean running = true;
+	private volatile IOException failure;
+
+	// Starts a new journal at this path, replacing any file already there
+	public LedgerJournal(Path file, boolean syncWrites) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.syncWrites = syncWrites;
+		ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(FORMAT).flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		this.writer = new Thread(this::writeLoop, "ledger-journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	public void append(int playerId, LedgerOp op, int amount, AccountBalance after) {
+		if (failure != null) {
+			return; // Balances stay correct in memory and still reach the player table
+		}
+		queue.add(new Entry(playerId, op, amount, after));
+		appended.increment();
+	}
+
+	// Entries queued but not yet handed to the file
+	public long pending() {
+		return appended.sum() - written.get();
+	}
+
+	public long getWritten() {
+		return written.get();
+	}
+
+	// Wait until everything appended before this call has been written
+	public void flush() {
+		long target = appended.sum();
+		while (written.get() < target) {
+			if (failure != null) {
+				throw new IllegalStateException("Ledger journal write failed.", failure);
+			}
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(IDLE_NANOS);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		channel.force(false);
+		channel.close();
+	}
+
+	private void writeLoop() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH * ENTRY_BYTES);
+		try {
+			while (running || !queue.isEmpty()) {
+				int count = 0;
+				Entry entry;
+				while (count < BATCH && (entry = queue.poll()) != null) {
+					AccountBalance after = entry.after();
+					buffer.putLong(after.version())
+							.putInt(entry.playerId())
+							.put((byte) entry.op().ordinal())
+							.putInt(entry.amount())
+							.putInt(after.balance())
+							.putInt(after.bet());
+					count++;
+				}
+				if (count == 0) {
+					LockSupport.parkNanos(IDLE_NANOS);
+					continue;
+				}
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				if (syncWrites) {
+					channel.force(false);
+				}
+				buffer.clear();
+				written.addAndGet(count);
+			}
+		} catch (IOException e) {
+			failure = e;
+			log.error("Ledger journal stopped; balances are no longer journaled", e);
+		}
+	}
+
+	// Newest state per player in a journal. A torn entry at the end (crash mid-write) is ignored.
+	public static Map<Integer, AccountBalance> replay(Path file) throws IOException {
+		Map<Integer, AccountBalance> accounts = new HashMap<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+				throw new IOException("Not a ledger journal: " + file);
+			}
+			while (true) {
+				long version = in.readLong();
+				int playerId = in.readInt();
+				int op = in.readByte();
+				in.readInt(); // amount
+				AccountBalance state = new AccountBalance(in.readInt(), in.readInt(), version);
+				if (op == LedgerOp.RELEASE.ordinal()) {
+					accounts.remove(playerId); // The row is newer than anything here; a later OPEN starts over
+				} else {
+					accounts.merge(playerId, state, (a, b) -> a.version() >= b.version() ? a : b);
+				}
+			}
+		} catch (EOFException e) {
+			return accounts;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.ebenfuentes.blackjack.ledger;
+
+// Journal operation codes; the ordinal is what goes to disk, so only append new values
+public enum LedgerOp {
+	OPEN, // Account loaded from the player row
+	STAKE, // Balance moved onto the bet (bet or double down)
+	SETTLE, // Bet cleared and the payout credited
+	FORFEIT, // Bet cleared without a payout (reset mid-round)
+	RELEASE // Account closed after its row was saved (handed to another node, or retired idle); replay forgets it
+}
@@ -0,0 +1,53 @@
+package com.ebenfuentes.blackjack.ledger;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.ledger")
+public class LedgerProperties {
+
+	// Append-only journal of every balance change; no journal is written when unset
+	private String journalFile;
+
+	// Force each journal batch to the device before the next one (slower, survives power loss)
+	private boolean syncWrites = false;
+
+	// How often changed balances are written back to the player table
+	private Duration reconcileInterval = Duration.ofSeconds(1);
+
+	// Rows per reconcile batch
+	private int batchSize = 500;
+
+	public String getJournalFile() {
+		return journalFile;
+	}
+
+	public void setJournalFile(String journalFile) {
+		this.journalFile = journalFile;
+	}
+
+	public boolean isSyncWrites() {
+		return syncWrites;
+	}
+
+	public void setSyncWrites(boolean syncWrites) {
+		this.syncWrites = syncWrites;
+	}
+
+	public Duration getReconcileInterval() {
+		return reconcileInterval;
+	}
+
+	public void setReconcileInterval(Duration reconcileInterval) {
+		this.reconcileInterval = reconcileInterval;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+}
@@ -0,0 +1,95 @@
+package com.ebenfuentes.blackjack.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Writes ledger balances back to the player table: accounts changed since their last save every
+// reconcile interval, in JDBC batches, and once at startup whatever the previous run's journal
+// recorded. Session saves already carry the balance, so this mostly covers mid-round stakes in
+// ROUND mode and rows still waiting in the write-behind queue.
+@Component
+public class LedgerReconciler implements SmartInitializingSingleton, DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(LedgerReconciler.class);
+
+	private static final String UPDATE_BALANCE = "update player set balance = ?, bet = ? where id = ?";
+
+	private final BalanceLedger ledger;
+	private final JdbcTemplate jdbcTemplate;
+	private final LedgerProperties properties;
+	private final ScheduledExecutorService scheduler;
+
+	public LedgerReconciler(BalanceLedger ledger, JdbcTemplate jdbcTemplate, LedgerProperties properties) {
+		this.ledger = ledger;
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "ledger-reconcile");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	// Runs once the schema exists, before any request is served
+	@Override
+	public void afterSingletonsInstantiated() {
+		Map<Integer, AccountBalance> recovered = ledger.takeRecovered();
+		if (!recovered.isEmpty()) {
+			List<Object[]> rows = new ArrayList<>(recovered.size());
+			recovered.forEach((playerId, state) -> rows.add(new Object[] { state.balance(), state.bet(), playerId }));
+			jdbcTemplate.batchUpdate(UPDATE_BALANCE, rows);
+			log.info("Restored {} balances from the ledger journal", rows.size());
+		}
+		long interval = properties.getReconcileInterval().toMillis();
+		scheduler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	// Write every changed account; returns the number of rows written
+	public int reconcile() {
+		int total = 0;
+		List<Integer> batch = new ArrayList<>(properties.getBatchSize());
+		while (ledger.takeUnreconciled(batch, properties.getBatchSize()) > 0) {
+			List<Object[]> rows = new ArrayList<>(batch.size());
+			for (Integer playerId : batch) {
+				AccountBalance state = ledger.get(playerId);
+				if (state != null) { // Released to another node since it changed; its row was saved then
+					rows.add(new Object[] { state.balance(), state.bet(), playerId });
+				}
+			}
+			try {
+				jdbcTemplate.batchUpdate(UPDATE_BALANCE, rows);
+			} catch (RuntimeException e) {
+				ledger.markUnreconciled(batch); // Retry on the next interval
+				throw e;
+			}
+			total += batch.size();
+			batch.clear();
+		}
+		return total;
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdown();
+		reconcileQuietly();
+	}
+
+	private void reconcileQuietly() {
+		try {
+			reconcile();
+		} catch (RuntimeException e) {
+			log.error("Ledger reconcile failed", e);
+		}
+	}
+}
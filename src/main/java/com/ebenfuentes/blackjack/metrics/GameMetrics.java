@@ -0,0 +1,46 @@
+package com.ebenfuentes.blackjack.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Counters updated on every settled hand. All meters are registered up front, so recording is
+// an adder increment with no tag lookup: rate(blackjack_rounds_total) is rounds/sec, split by
+// outcome, and the wagered and paid-out totals give the house result.
+@Component
+public class GameMetrics {
+
+	private final Map<RoundOutcome, Counter> rounds = new EnumMap<>(RoundOutcome.class);
+	private final Counter wagered;
+	private final Counter paidOut;
+
+	public GameMetrics(MeterRegistry registry) {
+		for (RoundOutcome outcome : RoundOutcome.values()) {
+			rounds.put(outcome, Counter.builder("blackjack.rounds")
+					.description("Settled hands")
+					.tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+					.register(registry));
+		}
+		this.wagered = Counter.builder("blackjack.wagered")
+				.description("Chips bet on settled hands")
+				.baseUnit("chips")
+				.register(registry);
+		this.paidOut = Counter.builder("blackjack.paid.out")
+				.description("Chips returned to players, stake included")
+				.baseUnit("chips")
+				.register(registry);
+	}
+
+	public void roundSettled(RoundOutcome outcome, int bet, int payout) {
+		rounds.get(outcome).increment();
+		wagered.increment(bet);
+		paidOut.increment(payout);
+	}
+}
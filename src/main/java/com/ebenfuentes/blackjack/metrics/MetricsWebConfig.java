@@ -0,0 +1,27 @@
+package com.ebenfuentes.blackjack.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+	private final SqlStatementCounter sqlStatementCounter;
+	private final MeterRegistry registry;
+
+	public MetricsWebConfig(SqlStatementCounter sqlStatementCounter, MeterRegistry registry) {
+		this.sqlStatementCounter = sqlStatementCounter;
+		this.registry = registry;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry interceptors) {
+		interceptors.addInterceptor(new SqlPerRequestInterceptor(sqlStatementCounter, registry))
+				.addPathPatterns("/api/**");
+	}
+}
@@ -0,0 +1,49 @@
+package com.ebenfuentes.blackjack.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// SQL statements each request issued, as a summary per endpoint (method and URI pattern, the same
+// tags as http.server.requests). Counts statements prepared on the request thread, so writes a
+// request only queued for write-behind are not charged to it.
+public class SqlPerRequestInterceptor implements HandlerInterceptor {
+
+	private static final String START = SqlPerRequestInterceptor.class.getName() + ".start";
+
+	private final SqlStatementCounter counter;
+	private final MeterRegistry registry;
+
+	public SqlPerRequestInterceptor(SqlStatementCounter counter, MeterRegistry registry) {
+		this.counter = counter;
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		request.setAttribute(START, counter.getThreadCount());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Object start = request.getAttribute(START);
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (start == null || pattern == null) {
+			return;
+		}
+		DistributionSummary.builder("blackjack.request.sql")
+				.description("SQL statements per request")
+				.tag("method", request.getMethod())
+				.tag("uri", pattern.toString())
+				.register(registry)
+				.record(counter.getThreadCount() - (Long) start);
+	}
+}
@@ -0,0 +1,121 @@
+package com.ebenfuentes.blackjack.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.cluster.ClusterNode;
+import com.ebenfuentes.blackjack.cluster.SessionHandoff;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.IdempotencyCache;
+import com.ebenfuentes.blackjack.session.PlayerCache;
+import com.ebenfuentes.blackjack.session.SessionMetrics;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.shoe.ShoeShuffler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Exports the counters the components already keep (the ones behind /api/stats) as meters.
+// They are read only when the registry is scraped, so none of them adds work to a request.
+@Component
+public class StatsMeterBinder implements MeterBinder {
+
+	private final ShoeShuffler shuffler;
+	private final ShoeManager shoeManager;
+	private final SessionMetrics sessionMetrics;
+	private final GameSessionStore sessionStore;
+	private final PlayerCache playerCache;
+	private final BalanceLedger ledger;
+	private final RoundLog roundLog;
+	private final HistoryStore historyStore;
+	private final GameEventPublisher eventPublisher;
+	private final IdempotencyCache idempotencyCache;
+	private final ClusterNode clusterNode;
+	private final SessionHandoff handoff;
+
+	public StatsMeterBinder(ShoeShuffler shuffler, ShoeManager shoeManager, SessionMetrics sessionMetrics,
+			GameSessionStore sessionStore, PlayerCache playerCache, BalanceLedger ledger, RoundLog roundLog,
+			HistoryStore historyStore, GameEventPublisher eventPublisher, IdempotencyCache idempotencyCache,
+			ClusterNode clusterNode, SessionHandoff handoff) {
+		this.shuffler = shuffler;
+		this.shoeManager = shoeManager;
+		this.sessionMetrics = sessionMetrics;
+		this.sessionStore = sessionStore;
+		this.playerCache = playerCache;
+		this.ledger = ledger;
+		this.roundLog = roundLog;
+		this.historyStore = historyStore;
+		this.eventPublisher = eventPublisher;
+		this.idempotencyCache = idempotencyCache;
+		this.clusterNode = clusterNode;
+		this.handoff = handoff;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		// Shoes
+		FunctionCounter.builder("blackjack.shoe.shuffles", shuffler, ShoeShuffler::getShuffles)
+				.description("Shoes reshuffled").register(registry);
+		FunctionCounter.builder("blackjack.shoe.inline.shuffles", shuffler, ShoeShuffler::getInlineShuffles)
+				.description("Reshuffles done on the request thread because no preshuffled shoe was ready")
+				.register(registry);
+		Gauge.builder("blackjack.shoe.active", shoeManager, ShoeManager::size)
+				.description("Shoes in memory").register(registry);
+
+		// Sessions and SQL
+		FunctionCounter.builder("blackjack.sql.statements", sessionMetrics, SessionMetrics::getSqlStatements)
+				.description("SQL statements prepared by Hibernate").register(registry);
+		FunctionCounter.builder("blackjack.sql.writes", sessionMetrics, SessionMetrics::getSqlWrites)
+				.description("INSERT, UPDATE and DELETE statements").register(registry);
+		Gauge.builder("blackjack.sessions.active", sessionStore, GameSessionStore::activeSessions)
+				.description("Players held in a session").register(registry);
+		Gauge.builder("blackjack.sessions.pending.writes", sessionStore, GameSessionStore::pendingWrites)
+				.description("Players waiting for a write-behind flush").register(registry);
+		FunctionCounter.builder("blackjack.sessions.version.conflicts", sessionMetrics,
+				SessionMetrics::getVersionConflicts)
+				.description("Stale player copies dropped because the row had a newer version").register(registry);
+		FunctionCounter.builder("blackjack.idempotency.replays", idempotencyCache, IdempotencyCache::getReplays)
+				.description("Retried requests answered with the first response").register(registry);
+
+		// Player cache
+		Gauge.builder("blackjack.player.cache.size", playerCache, PlayerCache::size).register(registry);
+		FunctionCounter.builder("blackjack.player.cache.requests", playerCache, PlayerCache::getHits)
+				.tag("result", "hit").register(registry);
+		FunctionCounter.builder("blackjack.player.cache.requests", playerCache, PlayerCache::getMisses)
+				.tag("result", "miss").register(registry);
+		FunctionCounter.builder("blackjack.player.cache.evictions", playerCache, PlayerCache::getEvictions)
+				.register(registry);
+
+		// Ledger, round log and history
+		FunctionCounter.builder("blackjack.ledger.changes", ledger, BalanceLedger::getChanges).register(registry);
+		FunctionCounter.builder("blackjack.ledger.retries", ledger, BalanceLedger::getRetries)
+				.description("Compare-and-set attempts lost to a concurrent change").register(registry);
+		Gauge.builder("blackjack.ledger.pending.reconcile", ledger, BalanceLedger::pendingReconcile)
+				.register(registry);
+		Gauge.builder("blackjack.round.log.unflushed", roundLog, log -> log.getSequence() - log.getDurable())
+				.description("Round records appended but not yet forced to disk").register(registry);
+		FunctionCounter.builder("blackjack.round.log.failures", roundLog, RoundLog::getFailures).register(registry);
+		Gauge.builder("blackjack.history.rows", historyStore, HistoryStore::getRows).register(registry);
+
+		// Event streams
+		Gauge.builder("blackjack.events.subscribers", eventPublisher, GameEventPublisher::subscribers)
+				.register(registry);
+		FunctionCounter.builder("blackjack.events.published", eventPublisher, GameEventPublisher::getPublished)
+				.register(registry);
+		FunctionCounter.builder("blackjack.events.dropped", eventPublisher, GameEventPublisher::getDropped)
+				.register(registry);
+
+		// Cluster
+		Gauge.builder("blackjack.cluster.members", clusterNode, ClusterNode::members)
+				.description("Nodes on the hash ring, this one included").register(registry);
+		FunctionCounter.builder("blackjack.cluster.forwarded", clusterNode, ClusterNode::getForwarded)
+				.description("Requests passed on to the node that serves the player or table").register(registry);
+		FunctionCounter.builder("blackjack.cluster.handoffs", handoff, SessionHandoff::getHandoffs)
+				.description("Players saved and released to another node").register(registry);
+	}
+}
@@ -1,62 +1,66 @@
 package com.ebenfuentes.blackjack.model;
 
-import jakarta.persistence.*;
+import com.ebenfuentes.blackjack.engine.CardCodes;
 
-@Entity
-public class Card {
+// Immutable playing card. Hands persist only card codes, so the 52 instances are
+// shared and dealing a card never allocates.
+public final class Card {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Integer id;
-    
-    @Column(name = "card_rank")
-    private String rank;
-    
-    private String suit;
-    private int value;
+    private static final Card[] CARDS = new Card[CardCodes.DECK_SIZE];
 
-    @ManyToOne
-    @JoinColumn(name = "hand_id")
-    private Hand hand;
+    static {
+        for (int code = 0; code < CardCodes.DECK_SIZE; code++) {
+            CARDS[code] = new Card(code);
+        }
+    }
 
-    public Card() {}
+    private final int code;
+    private final String rank;
+    private final String suit;
+    private final int value;
 
     public Card(String rank, String suit, int value) {
+        this.code = CardCodes.fromNames(rank, suit);
         this.rank = rank;
         this.suit = suit;
         this.value = value;
     }
 
-    public String getRank() {
-        return rank;
+    public Card(int code) {
+        this.code = code;
+        this.rank = CardCodes.rankName(code);
+        this.suit = CardCodes.suitName(code);
+        this.value = CardCodes.value(code);
     }
 
-    public void setRank(String rank) {
-        this.rank = rank;
+    public static Card of(int code) {
+        return CARDS[code];
     }
 
-    public String getSuit() {
-        return suit;
+    public int getCode() {
+        return code;
     }
 
-    public void setSuit(String suit) {
-        this.suit = suit;
+    public String getRank() {
+        return rank;
     }
 
-    public int getValue() {
-        return value;
+    public String getSuit() {
+        return suit;
     }
 
-    public void setValue(int value) {
-        this.value = value;
+    public int getValue() {
+        return value;
     }
 
-    public Hand getHand() {
-        return hand;
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Card && ((Card) o).code == code;
     }
 
-    public void setHand(Hand hand) {
-        this.hand = hand;
+    @Override
+    public int hashCode() {
+        return code;
     }
 
     @Override
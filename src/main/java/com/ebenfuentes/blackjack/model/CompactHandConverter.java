@@ -0,0 +1,24 @@
+package com.ebenfuentes.blackjack.model;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Maps a hand to a VARBINARY column holding one card code per byte, in deal order
+@Converter
+public class CompactHandConverter implements AttributeConverter<CompactHand, byte[]> {
+
+    // Longest possible hand is well under this even from an 8-deck shoe
+    public static final int MAX_CARDS = 32;
+
+    @Override
+    public byte[] convertToDatabaseColumn(CompactHand hand) {
+        return hand == null ? new byte[0] : hand.toBytes();
+    }
+
+    @Override
+    public CompactHand convertToEntityAttribute(byte[] codes) {
+        return CompactHand.fromBytes(codes);
+    }
+}
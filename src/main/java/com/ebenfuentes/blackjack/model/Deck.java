@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.ebenfuentes.blackjack.engine.CardCodes;
+
 public class Deck {
 
 	private List<Card> deckOfCards;
@@ -14,15 +16,10 @@ public class Deck {
 
 	public void initializeDeck() {
 
-		String[] ranks = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "Jack", "Queen", "King", "Ace" };
-		String[] suits = { "Spades", "Hearts", "Diamonds", "Clubs" };
-		deckOfCards = new ArrayList<>(52);
+		deckOfCards = new ArrayList<>(CardCodes.DECK_SIZE);
 
-		for (String rank : ranks) {
-			for (String suit : suits) {
-				int value = rank.matches("\\d+") ? Integer.parseInt(rank) : rank.equals("Ace") ? 11 : 10;
-				deckOfCards.add(new Card(rank, suit, value));
-			}
+		for (int code = 0; code < CardCodes.DECK_SIZE; code++) {
+			deckOfCards.add(Card.of(code));
 		}
 		Collections.shuffle(deckOfCards);
 
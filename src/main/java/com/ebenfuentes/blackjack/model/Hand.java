@@ -1,18 +1,24 @@
 package com.ebenfuentes.blackjack.model;
 
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 @Entity
 public class Hand {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hand_seq")
+    @SequenceGenerator(name = "hand_seq", sequenceName = "hand_seq", allocationSize = 50)
     private Integer id;
 
-    @OneToMany(mappedBy = "hand", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
-    private List<Card> cards = new ArrayList<>();
+    // Cards are stored as one byte per card code instead of a row per card
+    @Convert(converter = CompactHandConverter.class)
+    @Column(name = "card_codes", length = CompactHandConverter.MAX_CARDS)
+    private CompactHand cards = new CompactHand();
 
     private boolean isDealerHand; // Add a flag to track if this hand belongs to the dealer
 
@@ -37,8 +43,7 @@ public class Hand {
     }
 
     public void addCard(Card card) {
-        card.setHand(this);
-        cards.add(card);
+        cards.add(card.getCode());
     }
 
     public void clear() {
@@ -46,28 +51,34 @@ public class Hand {
     }
 
     public int getTotalValue() {
-        int total = 0;
-        int aceCount = 0;
-
-        for (Card card : cards) {
-            if (card.getRank().equals("Ace")) {
-                aceCount++;  // Count Aces separately
-                total += 1;  // Start by counting Aces as 1
-            } else {
-                total += card.getValue();
-            }
-        }
+        return cards.total();
+    }
 
-        // Convert Aces from 1 to 11 where possible (without busting)
-        while (aceCount > 0 && total + 10 <= 21) {
-            total += 10;
-            aceCount--;
-        }
+    public boolean isSoft() {
+        return cards.isSoft();
+    }
 
-        return total;
+    public boolean isBlackjack() {
+        return cards.isBlackjack();
     }
 
-    public List<Card> getCards() {
+    @JsonIgnore
+    public CompactHand getCompactHand() {
         return cards;
     }
+
+    // Read-only view over the stored codes
+    public List<Card> getCards() {
+        return new AbstractList<Card>() {
+            @Override
+            public Card get(int index) {
+                return Card.of(cards.code(index));
+            }
+
+            @Override
+            public int size() {
+                return cards.size();
+            }
+        };
+    }
 }
@@ -1,16 +1,24 @@
 package com.ebenfuentes.blackjack.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 
 @Entity
 public class Player {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+	@SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50) // Pooled ids keep inserts batchable
 	private Integer id;
 
+	// Bumped on every session save, so a save from a stale copy is caught instead of overwriting the
+	// newer row. LedgerReconciler balance write-backs leave it alone (the ledger owns the balance).
+	@Version
+	private long version;
+
 	private String username;
-	private int balance;
+	private int balance; // Mirrors the BalanceLedger account; bets and payouts go through the ledger
 	private int bet; // New field for bet amount
 
 	private boolean gameStarted = false;
@@ -24,6 +32,11 @@ public class Player {
 	@JoinColumn(name = "dealer_hand_id")
 	private Hand dealerHand; // Dealer's hand
 
+	// Every hand of the current round once it has been split; null otherwise
+	@Convert(converter = SplitHandsConverter.class)
+	@Column(name = "split_hands", length = SplitHands.MAX_BYTES)
+	private SplitHands splitHands;
+
 	public Player() {
 		this.hand = new Hand();
 		this.dealerHand = new Hand();
@@ -36,28 +49,6 @@ public class Player {
 		this.dealerHand = new Hand(true);
 	}
 
-	public void placeBet(int amount) {
-		if (amount > balance) {
-			throw new IllegalArgumentException("Insufficient balance to place bet.");
-		}
-		this.bet = amount;
-		this.balance -= amount;
-	}
-
-	public void winBet() {
-		this.balance += bet * 2; // Winning doubles the bet
-		this.bet = 0;
-	}
-
-	public void loseBet() {
-		this.bet = 0;
-	}
-
-	public void push() { // Tie scenario
-		this.balance += bet;
-		this.bet = 0;
-	}
-
 	public int getBet() {
 		return bet;
 	}
@@ -66,6 +57,7 @@ public class Player {
 		hand.clear();
 		dealerHand.clear();
 		hasStood = false;
+		splitHands = null;
 	}
 
 	public Integer getId() {
@@ -96,6 +88,15 @@ public class Player {
 		return dealerHand;
 	}
 
+	@JsonIgnore
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public String getUsername() {
 		return username;
 	}
@@ -112,6 +113,15 @@ public class Player {
 		this.dealerHand = dealerHand;
 	}
 
+	@JsonIgnore
+	public SplitHands getSplitHands() {
+		return splitHands;
+	}
+
+	public void setSplitHands(SplitHands splitHands) {
+		this.splitHands = splitHands;
+	}
+
 	public void receiveCard(Card card) {
 		if (hand != null) {
 			hand.addCard(card);
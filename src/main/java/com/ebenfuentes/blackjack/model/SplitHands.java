@@ -0,0 +1,158 @@
+package com.ebenfuentes.blackjack.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+
+// The hands of a split round in play order, each with its own bet. Player.hand always holds the
+// cards of the hand in play; the others are parked here (and the one in play is copied back when
+// play moves on). Stored on the player row as one column, so splitting adds no hand rows.
+public final class SplitHands {
+
+	public static final int MAX_HANDS = 4;
+
+	// Encoded: hand count, current index, then per hand a 4-byte bet, a flags byte, a card count and the codes
+	public static final int MAX_BYTES = 2 + MAX_HANDS * (6 + CompactHandConverter.MAX_CARDS);
+
+	private static final int DONE = 1;
+	private static final int DOUBLED = 2;
+	private static final int SPLIT_ACES = 4;
+
+	private final List<CompactHand> cards = new ArrayList<>(MAX_HANDS);
+	private final List<int[]> betsAndFlags = new ArrayList<>(MAX_HANDS);
+	private int current;
+
+	// The round before its first split: one hand holding the whole bet
+	public static SplitHands of(CompactHand hand, int bet) {
+		SplitHands hands = new SplitHands();
+		hands.cards.add(copy(hand));
+		hands.betsAndFlags.add(new int[] { bet, 0 });
+		return hands;
+	}
+
+	public int size() {
+		return cards.size();
+	}
+
+	public int getCurrent() {
+		return current;
+	}
+
+	public CompactHand cards(int index) {
+		return cards.get(index);
+	}
+
+	public int bet(int index) {
+		return betsAndFlags.get(index)[0];
+	}
+
+	public boolean isDone(int index) {
+		return (betsAndFlags.get(index)[1] & DONE) != 0;
+	}
+
+	public boolean isDoubled(int index) {
+		return (betsAndFlags.get(index)[1] & DOUBLED) != 0;
+	}
+
+	public boolean isSplitAces(int index) {
+		return (betsAndFlags.get(index)[1] & SPLIT_ACES) != 0;
+	}
+
+	// Split the current hand: it keeps `first`, a new hand with `second` and the same bet goes right after it
+	public void split(CompactHand first, CompactHand second, boolean aces) {
+		int bet = bet(current);
+		cards.set(current, copy(first));
+		cards.add(current + 1, copy(second));
+		betsAndFlags.add(current + 1, new int[] { bet, 0 });
+		if (aces) {
+			// One card each on split aces; both hands are finished
+			betsAndFlags.get(current)[1] |= DONE | SPLIT_ACES;
+			betsAndFlags.get(current + 1)[1] |= DONE | SPLIT_ACES;
+		}
+	}
+
+	public void doubleCurrent() {
+		int[] hand = betsAndFlags.get(current);
+		hand[0] *= 2;
+		hand[1] |= DOUBLED;
+	}
+
+	// Store the final cards of the hand in play and mark it finished
+	public void finishCurrent(CompactHand played) {
+		cards.set(current, copy(played));
+		betsAndFlags.get(current)[1] |= DONE;
+	}
+
+	// Move to the next unfinished hand; false when every hand is finished
+	public boolean advance() {
+		for (int i = 0; i < cards.size(); i++) {
+			if (!isDone(i)) {
+				current = i;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public byte[] toBytes() {
+		int length = 2;
+		for (CompactHand hand : cards) {
+			length += 6 + hand.size();
+		}
+		byte[] out = new byte[length];
+		out[0] = (byte) cards.size();
+		out[1] = (byte) current;
+		int at = 2;
+		for (int i = 0; i < cards.size(); i++) {
+			int bet = bet(i);
+			out[at++] = (byte) (bet >>> 24);
+			out[at++] = (byte) (bet >>> 16);
+			out[at++] = (byte) (bet >>> 8);
+			out[at++] = (byte) bet;
+			out[at++] = (byte) betsAndFlags.get(i)[1];
+			byte[] codes = cards.get(i).toBytes();
+			out[at++] = (byte) codes.length;
+			System.arraycopy(codes, 0, out, at, codes.length);
+			at += codes.length;
+		}
+		return out;
+	}
+
+	// Null for an empty column (a round that was never split)
+	public static SplitHands fromBytes(byte[] in) {
+		if (in == null || in.length == 0) {
+			return null;
+		}
+		SplitHands hands = new SplitHands();
+		int count = in[0];
+		hands.current = in[1];
+		int at = 2;
+		for (int i = 0; i < count; i++) {
+			int bet = (in[at] & 0xFF) << 24 | (in[at + 1] & 0xFF) << 16 | (in[at + 2] & 0xFF) << 8 | in[at + 3] & 0xFF;
+			int flags = in[at + 4];
+			int length = in[at + 5];
+			at += 6;
+			hands.cards.add(CompactHand.fromBytes(Arrays.copyOfRange(in, at, at + length)));
+			hands.betsAndFlags.add(new int[] { bet, flags });
+			at += length;
+		}
+		return hands;
+	}
+
+	// Compared by encoded state; Hibernate relies on this for dirty checking
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof SplitHands other && Arrays.equals(toBytes(), other.toBytes());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(toBytes());
+	}
+
+	private static CompactHand copy(CompactHand hand) {
+		return CompactHand.fromBytes(hand.toBytes());
+	}
+}
@@ -0,0 +1,19 @@
+package com.ebenfuentes.blackjack.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Maps a split round's hands to a VARBINARY column; empty when the round was not split
+@Converter
+public class SplitHandsConverter implements AttributeConverter<SplitHands, byte[]> {
+
+	@Override
+	public byte[] convertToDatabaseColumn(SplitHands hands) {
+		return hands == null ? new byte[0] : hands.toBytes();
+	}
+
+	@Override
+	public SplitHands convertToEntityAttribute(byte[] codes) {
+		return SplitHands.fromBytes(codes);
+	}
+}
@@ -1,6 +1,5 @@
 package com.ebenfuentes.blackjack.repository;
 
-
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -0,0 +1,110 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// Fixed 144-byte round record, little-endian:
+//   0 sequence (long)      8 timestamp millis (long)   16 player id      20 table id (0 = solo)
+//  24 bet                 28 payout                    32 balance after  36 outcome ordinal (byte)
+//  37 player card count   38 dealer card count         39 action count
+//  40 player cards [20]   60 dealer cards [12]         72 actions [20]
+//  92 shoe position (unsigned short, cards dealt from the shoe before the round)  94 unused [2]
+//  96 shoe index (long)  104 shoe commitment [32]     136 unused [4]    140 CRC32C of bytes 0..139
+// Sequences start at 1, so a zeroed or torn slot fails the check and marks the end of a segment.
+// Counts are the real counts; a hand longer than its slots keeps only its first cards. An unseeded
+// shoe is written as index -1 with a zero commitment.
+final class RecordLayout {
+
+	static final int RECORD_BYTES = 144;
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private static final int PLAYER_CARDS = 20;
+	private static final int DEALER_CARDS = 12;
+	static final int ACTIONS = 20;
+
+	private static final int COUNTS = 37;
+	private static final int PLAYER_OFFSET = 40;
+	private static final int DEALER_OFFSET = 60;
+	private static final int ACTION_OFFSET = 72;
+	private static final int SHOE_POSITION = 92;
+	private static final int SHOE_INDEX = 96;
+	private static final int COMMITMENT_OFFSET = 104;
+	static final int COMMITMENT_BYTES = 32;
+	private static final int CRC_OFFSET = 140;
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private RecordLayout() {
+	}
+
+	// Fill `buf` (RECORD_BYTES, ORDER) with one sealed record
+	static void encode(ByteBuffer buf, long sequence, long timestamp, int playerId, int tableId, RoundOutcome outcome,
+			int bet, int payout, int balanceAfter, CompactHand playerHand, CompactHand dealerHand, byte[] actions,
+			int actionCount, byte[] commitment, long shoeIndex, int shoePosition) {
+		byte[] bytes = buf.array();
+		Arrays.fill(bytes, (byte) 0);
+		buf.putLong(0, sequence)
+				.putLong(8, timestamp)
+				.putInt(16, playerId)
+				.putInt(20, tableId)
+				.putInt(24, bet)
+				.putInt(28, payout)
+				.putInt(32, balanceAfter)
+				.put(36, (byte) outcome.ordinal())
+				.put(COUNTS, (byte) playerHand.size())
+				.put(COUNTS + 1, (byte) dealerHand.size())
+				.put(COUNTS + 2, (byte) actionCount)
+				.putShort(SHOE_POSITION, (short) shoePosition)
+				.putLong(SHOE_INDEX, shoeIndex);
+		if (commitment != null) {
+			System.arraycopy(commitment, 0, bytes, COMMITMENT_OFFSET, COMMITMENT_BYTES);
+		}
+		for (int i = 0; i < Math.min(playerHand.size(), PLAYER_CARDS); i++) {
+			bytes[PLAYER_OFFSET + i] = (byte) playerHand.code(i);
+		}
+		for (int i = 0; i < Math.min(dealerHand.size(), DEALER_CARDS); i++) {
+			bytes[DEALER_OFFSET + i] = (byte) dealerHand.code(i);
+		}
+		System.arraycopy(actions, 0, bytes, ACTION_OFFSET, Math.min(actionCount, ACTIONS));
+		CRC32C crc = new CRC32C();
+		crc.update(bytes, 0, CRC_OFFSET);
+		buf.putInt(CRC_OFFSET, (int) crc.getValue());
+	}
+
+	// The record at `offset`, or null if the slot is empty or torn
+	static RoundRecord decode(ByteBuffer segment, int offset, byte[] scratch) {
+		segment.get(offset, scratch, 0, RECORD_BYTES);
+		ByteBuffer buf = ByteBuffer.wrap(scratch).order(ORDER);
+		long sequence = buf.getLong(0);
+		CRC32C crc = new CRC32C();
+		crc.update(scratch, 0, CRC_OFFSET);
+		if (sequence <= 0 || buf.getInt(CRC_OFFSET) != (int) crc.getValue()) {
+			return null;
+		}
+		int playerCount = Math.min(scratch[COUNTS] & 0xFF, PLAYER_CARDS);
+		int dealerCount = Math.min(scratch[COUNTS + 1] & 0xFF, DEALER_CARDS);
+		int actionCount = Math.min(scratch[COUNTS + 2] & 0xFF, ACTIONS);
+		return new RoundRecord(sequence, buf.getLong(8), buf.getInt(16), buf.getInt(20),
+				RoundOutcome.values()[scratch[36]], buf.getInt(24), buf.getInt(28), buf.getInt(32),
+				Arrays.copyOfRange(scratch, PLAYER_OFFSET, PLAYER_OFFSET + playerCount),
+				Arrays.copyOfRange(scratch, DEALER_OFFSET, DEALER_OFFSET + dealerCount),
+				Arrays.copyOfRange(scratch, ACTION_OFFSET, ACTION_OFFSET + actionCount),
+				commitment(scratch), buf.getLong(SHOE_INDEX), buf.getShort(SHOE_POSITION) & 0xFFFF);
+	}
+
+	// Hex like the published commitment, or null for an unseeded shoe
+	private static String commitment(byte[] scratch) {
+		for (int i = COMMITMENT_OFFSET; i < COMMITMENT_OFFSET + COMMITMENT_BYTES; i++) {
+			if (scratch[i] != 0) {
+				return HEX.formatHex(scratch, COMMITMENT_OFFSET, COMMITMENT_OFFSET + COMMITMENT_BYTES);
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,359 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.shoe.Shoe;
+import com.ebenfuentes.blackjack.shoe.ShoeSeed;
+
+// Append-only audit log of settled rounds in memory-mapped segment files. An append copies one
+// 144-byte record (see RecordLayout) into the mapped segment under a short lock and returns; a
+// flusher thread forces everything appended since its last pass in one group commit, so auditing
+// adds neither a database write nor an fsync to a round. Segments are named by their first
+// sequence and a new one is started when the current one fills; after a restart numbering
+// continues from the last intact record. Each record names the shoe its round was dealt from, and
+// seeds retired before the player saw them revealed (rotated, or dropped with an idle shoe) are
+// kept in seeds.log beside the segments, so every logged round can be replayed from its seed.
+@Component
+public class RoundLog implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(RoundLog.class);
+
+	static final String PREFIX = "rounds2-";
+	static final String SUFFIX = ".log";
+	// Segments from before records carried their shoe: 96-byte records, only read for their last sequence
+	private static final String LEGACY_PREFIX = "rounds-";
+	private static final int LEGACY_RECORD_BYTES = 96;
+	static final String SEEDS = "seeds.log";
+	private static final HexFormat HEX = HexFormat.of();
+	private static final byte[] NO_ACTIONS = new byte[0];
+
+	private final Path directory;
+	private final int segmentRecords;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ByteBuffer scratch = ByteBuffer.allocate(RecordLayout.RECORD_BYTES).order(RecordLayout.ORDER);
+	private final ConcurrentMap<Integer, ActionTrail> trails = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<MappedByteBuffer> unforced = new ConcurrentLinkedQueue<>();
+	private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>(); // By first sequence
+	private final ScheduledExecutorService flusher;
+
+	private MappedByteBuffer segment; // Guarded by lock, like slot and capacity
+	private int slot;
+	private int capacity;
+	private volatile long sequence; // Last appended
+	private volatile long durable; // Last forced to disk
+	private volatile long failures;
+
+	public RoundLog(RoundLogProperties properties) throws IOException {
+		String dir = properties.getDirectory();
+		if (dir == null || dir.isBlank()) {
+			this.directory = null;
+			this.segmentRecords = 0;
+			this.flusher = null;
+			return;
+		}
+		this.directory = Path.of(dir);
+		this.segmentRecords = Math.max(1, properties.getSegmentBytes() / RecordLayout.RECORD_BYTES);
+		Files.createDirectories(directory);
+		reopenLastSegment();
+		this.durable = sequence;
+
+		this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "round-log-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = Math.max(1, properties.getFlushInterval().toMillis());
+		flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	public boolean isEnabled() {
+		return directory != null;
+	}
+
+	// Remember a decision for the player's current round; written with the round's record
+	public void action(int playerId, PlayerAction action) {
+		if (directory != null) {
+			trails.computeIfAbsent(playerId, id -> new ActionTrail()).add(action);
+		}
+	}
+
+	// The player's round is about to be dealt from this shoe (reshuffled already if it was due); starts
+	// the round's trail, so call it before the first card and before any decision
+	public void dealtFrom(int playerId, Shoe shoe) {
+		if (directory == null) {
+			return;
+		}
+		ActionTrail trail = new ActionTrail();
+		ShoeSeed seed = shoe.getSeed();
+		if (seed != null) {
+			trail.commitment = HEX.parseHex(seed.commitment());
+			trail.shoeIndex = shoe.getShoeIndex();
+		}
+		trail.shoePosition = shoe.size() - shoe.remaining();
+		trails.put(playerId, trail);
+	}
+
+	// The round ended without settling (reset), so its decisions belong to no record
+	public void discardActions(int playerId) {
+		if (directory != null) {
+			trails.remove(playerId);
+		}
+	}
+
+	// Log one settled hand; returns its sequence, or -1 if the log is off or the append failed
+	public long append(long timestamp, int playerId, int tableId, RoundOutcome outcome, int bet, int payout,
+			int balanceAfter, CompactHand playerHand, CompactHand dealerHand) {
+		return append(timestamp, playerId, tableId, outcome, bet, payout, balanceAfter, playerHand, dealerHand, true);
+	}
+
+	// One hand of a split round: every hand names the round's shoe, the decisions go with the first
+	public long append(long timestamp, int playerId, int tableId, RoundOutcome outcome, int bet, int payout,
+			int balanceAfter, CompactHand playerHand, CompactHand dealerHand, boolean lastHand) {
+		if (directory == null) {
+			return -1;
+		}
+		ActionTrail trail = lastHand ? trails.remove(playerId) : trails.get(playerId);
+		byte[] actions = trail == null ? NO_ACTIONS : trail.actions;
+		int actionCount = trail == null ? 0 : trail.count;
+		if (trail != null && !lastHand) {
+			trail.count = 0;
+		}
+
+		lock.lock();
+		try {
+			if (segment == null || slot == capacity) {
+				roll();
+			}
+			long next = sequence + 1;
+			RecordLayout.encode(scratch, next, timestamp, playerId, tableId, outcome, bet, payout, balanceAfter,
+					playerHand, dealerHand, actions, actionCount, trail == null ? null : trail.commitment,
+					trail == null ? -1 : trail.shoeIndex, trail == null ? 0 : trail.shoePosition);
+			segment.put(slot * RecordLayout.RECORD_BYTES, scratch.array());
+			slot++;
+			sequence = next;
+			return next;
+		} catch (IOException e) {
+			// The round itself is already settled; losing its audit line must not fail it
+			failures++;
+			log.error("Round log append failed", e);
+			return -1;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// A seed retired before its rounds could be checked: shoes 0..shoes-1 were dealt from it. One
+	// line (commitment, seed, shoes) in seeds.log; logged instead when the round log is off.
+	public synchronized void revealSeed(ShoeSeed seed, long shoes) {
+		if (directory == null) {
+			log.info("Retired shoe seed {} (commitment {}, shoes 0..{})", seed.toHex(), seed.commitment(), shoes - 1);
+			return;
+		}
+		try {
+			Files.writeString(directory.resolve(SEEDS), seed.commitment() + " " + seed.toHex() + " " + shoes + "\n",
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			failures++;
+			log.error("Could not keep retired shoe seed {} (commitment {}, shoes 0..{})", seed.toHex(),
+					seed.commitment(), shoes - 1, e);
+		}
+	}
+
+	// Random access by sequence (for hand history); null if it was never logged or has not been appended yet
+	public RoundRecord find(long sequence) {
+		if (directory == null || sequence <= 0 || sequence > this.sequence) {
+			return null;
+		}
+		Map.Entry<Long, MappedByteBuffer> segment = segments.floorEntry(sequence);
+		if (segment == null) {
+			return null;
+		}
+		long slot = sequence - segment.getKey();
+		if (slot >= segment.getValue().capacity() / RecordLayout.RECORD_BYTES) {
+			return null;
+		}
+		RoundRecord record = RecordLayout.decode(segment.getValue(), (int) slot * RecordLayout.RECORD_BYTES,
+				new byte[RecordLayout.RECORD_BYTES]);
+		return record != null && record.sequence() == sequence ? record : null;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public long getDurable() {
+		return durable;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	// Group commit: force every segment written since the last pass
+	public synchronized void flush() throws IOException {
+		long target = sequence;
+		if (target == durable) {
+			return;
+		}
+		// Read the current segment first: anything rolled out after this is forced here directly
+		MappedByteBuffer current;
+		lock.lock();
+		try {
+			current = segment;
+		} finally {
+			lock.unlock();
+		}
+		MappedByteBuffer rolled;
+		while ((rolled = unforced.poll()) != null) {
+			rolled.force();
+		}
+		if (current != null) {
+			current.force();
+		}
+		durable = target;
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (flusher != null) {
+			flusher.shutdown();
+			flush();
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (IOException | RuntimeException e) {
+			log.error("Round log flush failed", e);
+		}
+	}
+
+	private void roll() throws IOException {
+		if (segment != null) {
+			unforced.add(segment);
+		}
+		Path file = directory.resolve(segmentName(sequence + 1));
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RecordLayout.RECORD_BYTES);
+		}
+		segments.put(sequence + 1, segment);
+		capacity = segmentRecords;
+		slot = 0;
+	}
+
+	// Continue in the newest segment after its last intact record; a torn record there is overwritten.
+	// Older segments are mapped read-only for find().
+	private void reopenLastSegment() throws IOException {
+		List<Path> files = RoundLogReader.segments(directory);
+		if (files.isEmpty()) {
+			sequence = legacySequence();
+			return;
+		}
+		for (Path file : files.subList(0, files.size() - 1)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				segments.put(firstSequence(file), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			}
+		}
+		Path last = files.get(files.size() - 1);
+		try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+		}
+		segments.put(firstSequence(last), segment);
+		capacity = (int) (segment.capacity() / RecordLayout.RECORD_BYTES);
+		long expected = firstSequence(last);
+		byte[] buffer = new byte[RecordLayout.RECORD_BYTES];
+		int intact = 0;
+		while (intact < capacity) {
+			RoundRecord record = RecordLayout.decode(segment, intact * RecordLayout.RECORD_BYTES, buffer);
+			if (record == null || record.sequence() != expected) {
+				break;
+			}
+			expected++;
+			intact++;
+		}
+		slot = intact;
+		sequence = expected - 1;
+	}
+
+	// The last sequence of a log in the old layout, so numbering (and history rows pointing into the
+	// log) carries on without reusing its sequences; 0 when there is none
+	private long legacySequence() throws IOException {
+		Path last = null;
+		try (Stream<Path> files = Files.list(directory)) {
+			last = files.filter(file -> {
+				String name = file.getFileName().toString();
+				return name.startsWith(LEGACY_PREFIX) && name.endsWith(SUFFIX);
+			}).max(Path::compareTo).orElse(null);
+		}
+		if (last == null) {
+			return 0;
+		}
+		long expected = firstSequence(last);
+		ByteBuffer buf = ByteBuffer.allocate(Long.BYTES).order(RecordLayout.ORDER);
+		try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ)) {
+			for (long offset = 0; offset + LEGACY_RECORD_BYTES <= channel.size(); offset += LEGACY_RECORD_BYTES) {
+				buf.clear();
+				channel.read(buf, offset);
+				if (buf.getLong(0) != expected) {
+					break;
+				}
+				expected++;
+			}
+		}
+		return expected - 1;
+	}
+
+	static String segmentName(long firstSequence) {
+		return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+	}
+
+	static long firstSequence(Path segment) {
+		String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(name.lastIndexOf('-') + 1, name.length() - SUFFIX.length()));
+	}
+
+	// Decisions of one player's round in progress; only touched under that player's lock
+	private static final class ActionTrail {
+
+		final byte[] actions = new byte[RecordLayout.ACTIONS];
+		int count;
+		byte[] commitment;
+		long shoeIndex = -1;
+		int shoePosition;
+
+		void add(PlayerAction action) {
+			if (count < actions.length) {
+				actions[count] = (byte) action.ordinal();
+			}
+			count++;
+		}
+	}
+}
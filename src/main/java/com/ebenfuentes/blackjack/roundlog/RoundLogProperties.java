@@ -0,0 +1,42 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.round-log")
+public class RoundLogProperties {
+
+	// Directory holding the segment files; rounds are not logged when unset
+	private String directory;
+
+	// Size of each memory-mapped segment file; a new one is started when it fills
+	private int segmentBytes = 64 * 1024 * 1024;
+
+	// How often appended records are forced to disk in one group commit
+	private Duration flushInterval = Duration.ofMillis(20);
+
+	public String getDirectory() {
+		return directory;
+	}
+
+	public void setDirectory(String directory) {
+		this.directory = directory;
+	}
+
+	public int getSegmentBytes() {
+		return segmentBytes;
+	}
+
+	public void setSegmentBytes(int segmentBytes) {
+		this.segmentBytes = segmentBytes;
+	}
+
+	public Duration getFlushInterval() {
+		return flushInterval;
+	}
+
+	public void setFlushInterval(Duration flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+}
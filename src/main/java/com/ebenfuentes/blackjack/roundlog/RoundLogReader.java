@@ -0,0 +1,60 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Reads round log segments back in sequence order, stopping each segment at its first empty or
+// torn slot. Works on a live log too; it just sees what had been appended when a segment was mapped.
+public final class RoundLogReader {
+
+	private RoundLogReader() {
+	}
+
+	// Segment files oldest first (names are zero-padded first sequences)
+	public static List<Path> segments(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> {
+				String name = file.getFileName().toString();
+				return name.startsWith(RoundLog.PREFIX) && name.endsWith(RoundLog.SUFFIX);
+			}).sorted().toList();
+		}
+	}
+
+	// Every intact record in order; returns how many were read
+	public static long read(Path directory, Consumer<RoundRecord> consumer) throws IOException {
+		long count = 0;
+		byte[] scratch = new byte[RecordLayout.RECORD_BYTES];
+		for (Path file : segments(directory)) {
+			MappedByteBuffer segment;
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
+			int slots = segment.capacity() / RecordLayout.RECORD_BYTES;
+			for (int slot = 0; slot < slots; slot++) {
+				RoundRecord record = RecordLayout.decode(segment, slot * RecordLayout.RECORD_BYTES, scratch);
+				if (record == null) {
+					break;
+				}
+				consumer.accept(record);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// Each player's balance after their last logged round
+	public static Map<Integer, Integer> balances(Path directory) throws IOException {
+		Map<Integer, Integer> balances = new HashMap<>();
+		read(directory, record -> balances.put(record.playerId(), record.balanceAfter()));
+		return balances;
+	}
+}
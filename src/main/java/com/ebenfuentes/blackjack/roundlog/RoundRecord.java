@@ -0,0 +1,30 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// One settled hand as read back from the round log. Cards are card codes (see CardCodes) and
+// actions are PlayerAction ordinals, in the order they happened; tableId is 0 for a solo round.
+// The round was dealt from shoe shoeIndex of the seed behind shoeCommitment, starting after its
+// first shoePosition cards (a round that ran the shoe out went on from the tail of shoe shoeIndex + 1);
+// the commitment is null when shoes are not seeded.
+public record RoundRecord(long sequence, long timestamp, int playerId, int tableId, RoundOutcome outcome, int bet,
+		int payout, int balanceAfter, byte[] playerCards, byte[] dealerCards, byte[] actions, String shoeCommitment,
+		long shoeIndex, int shoePosition) {
+
+	public List<PlayerAction> actionList() {
+		List<PlayerAction> list = new ArrayList<>(actions.length);
+		for (byte action : actions) {
+			list.add(PlayerAction.values()[action]);
+		}
+		return list;
+	}
+
+	// Balance before the bet was placed, assuming nothing else moved it in between
+	public int balanceBefore() {
+		return balanceAfter - payout + bet;
+	}
+}
@@ -2,68 +2,100 @@ package com.ebenfuentes.blackjack.service;
 
 import java.util.*;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.ebenfuentes.blackjack.dto.AdviceResponse;
+import com.ebenfuentes.blackjack.dto.BalanceResponse;
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.DealResponse;
+import com.ebenfuentes.blackjack.dto.GameStatusResponse;
+import com.ebenfuentes.blackjack.dto.HandDetailsResponse;
+import com.ebenfuentes.blackjack.dto.HitResponse;
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.ShoeSeedResponse;
+import com.ebenfuentes.blackjack.dto.SplitHandsResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.event.GameEvent;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.metrics.GameMetrics;
 import com.ebenfuentes.blackjack.model.Card;
 import com.ebenfuentes.blackjack.model.Hand;
 import com.ebenfuentes.blackjack.model.Player;
-import com.ebenfuentes.blackjack.repository.HandRepository;
-import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.model.SplitHands;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.shoe.Shoe;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.shoe.ShoeSeed;
+import com.ebenfuentes.blackjack.strategy.DealerOutcomes;
+import com.ebenfuentes.blackjack.strategy.RuleSet;
+import com.ebenfuentes.blackjack.strategy.StrategyProperties;
+import com.ebenfuentes.blackjack.strategy.StrategyTable;
+import com.ebenfuentes.blackjack.table.TableManager;
 
 @Service
 public class GameService {
-	private final PlayerRepository playerRepository;
-	private final HandRepository handRepository;
-	private List<Card> deck;
-
-	public GameService(PlayerRepository playerRepository, HandRepository handRepository) {
-		this.playerRepository = playerRepository;
-		this.handRepository = handRepository;
-		this.deck = generateDeck();
-	}
-
-	// Generate a fresh deck of 52 shuffled cards
-	private List<Card> generateDeck() {
-		String[] ranks = { "2", "3", "4", "5", "6", "7", "8", "9", "10", "Jack", "Queen", "King", "Ace" };
-		String[] suits = { "Spades", "Hearts", "Diamonds", "Clubs" };
-		List<Card> newDeck = new ArrayList<>();
-
-		for (String rank : ranks) {
-			for (String suit : suits) {
-				int value = rank.matches("\\d+") ? Integer.parseInt(rank) : (rank.equals("Ace") ? 11 : 10);
-				newDeck.add(new Card(rank, suit, value));
-			}
-		}
-		Collections.shuffle(newDeck);
-		return newDeck;
+	private static final Logger log = LoggerFactory.getLogger(GameService.class);
+
+	private final GameSessionStore sessionStore;
+	private final ShoeManager shoeManager;
+	private final StrategyTable strategyTable;
+	private final DealerOutcomes dealerOutcomes;
+	private final RuleSet ruleSet;
+	private final TableManager tableManager;
+	private final GameEventPublisher events;
+	private final BalanceLedger ledger;
+	private final RoundLog roundLog;
+	private final HistoryStore history;
+	private final GameMetrics metrics;
+
+	public GameService(GameSessionStore sessionStore, ShoeManager shoeManager, StrategyTable strategyTable,
+			DealerOutcomes dealerOutcomes, StrategyProperties strategyProperties, TableManager tableManager,
+			GameEventPublisher events, BalanceLedger ledger, RoundLog roundLog, HistoryStore history,
+			GameMetrics metrics) {
+		this.sessionStore = sessionStore;
+		this.tableManager = tableManager;
+		this.events = events;
+		this.ledger = ledger;
+		this.roundLog = roundLog;
+		this.history = history;
+		this.metrics = metrics;
+		this.shoeManager = shoeManager;
+		this.strategyTable = strategyTable;
+		this.dealerOutcomes = dealerOutcomes;
+		this.ruleSet = strategyProperties.getRuleSet();
+		// Idle shoes dropped by the manager reveal their seeds beside the rounds dealt from them
+		shoeManager.onSeedRetired(roundLog::revealSeed);
 	}
 
 	// Player places a bet
 	public void placeBet(int playerId, int amount) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-
+		sessionStore.withPlayer(playerId, player -> {
 			// Prevent betting if the game is already in session
 			if (player.isGameStarted()) {
 				throw new IllegalStateException("Cannot place a bet while the game is in session.");
 			}
 
-			// Allow betting only if game has NOT started
-			player.placeBet(amount);
-			playerRepository.save(player);
-		} else {
-			throw new RuntimeException("Player not found.");
-		}
+			// Allow betting only if game has NOT started; a second bet before the deal adds to the first
+			ledger.stake(player, amount);
+			sessionStore.changed(player);
+			events.toPlayer(playerId, GameEvent.balance(playerId, player.getBalance(), player.getBet()));
+			return null;
+		});
 	}
 
-	public Map<String, Object> startGame(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-
-		if (optionalPlayer.isPresent()) {
-
-			Player player = optionalPlayer.get();
-			System.out.println("Starting game for player: " + player.getId());
+	public PlayResponse startGame(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
+			log.debug("Starting game for player {}", player.getId());
 			// Prevent starting if game is already in session
 			if (player.isGameStarted()) {
 				throw new IllegalStateException("Game already started! Cannot restart without resetting.");
@@ -74,408 +106,535 @@ public class GameService {
 				throw new IllegalStateException("Cannot start game without placing a bet!");
 			}
 
-			// Clear previous hands
-			Hand hand = player.getHand();
-			Hand dealerHand = player.getDealerHand();
-			hand.clear();
-			dealerHand.clear();
-			player.setHand(hand);
-			player.setDealerHand(dealerHand);
-
-			// Ensure deck is full before dealing
-			if (deck.size() < 4) {
-				deck = generateDeck();
-			}
-
-			// Deal 2 cards to the player, 1 face-up and 1 face-down to the dealer
-			hand.addCard(deck.remove(0));
-			dealerHand.addCard(deck.remove(0)); // Face-Up
-			hand.addCard(deck.remove(0));
-			dealerHand.addCard(deck.remove(0)); // Face-Down
+			dealOpeningHands(player);
 
 			// Check for Blackjack
-			if (hand.getTotalValue() == 21) {
-				return handleBlackjackWin(player, hand, dealerHand);
+			if (player.getHand().getTotalValue() == 21) {
+				return handleBlackjackWin(player);
 			}
 
 			// Mark game as started
 			player.setGameStarted(true);
-
-			// Save updates
-			handRepository.save(hand);
-			handRepository.save(dealerHand);
-			playerRepository.save(player);
+			sessionStore.changed(player);
 
 			// Prepare response
 			return generateHandDetailsResponse(player);
-		}
-		throw new RuntimeException("Player not found.");
+		});
 	}
 
-	private Map<String, Object> handleBlackjackWin(Player player, Hand playerHand, Hand dealerHand) {
-		Map<String, Object> response = evaluateGame(player); // Evaluates the winner
-		response.put("status", "Blackjack! Player Wins!");
+	// Clear the previous hands and deal two cards each from the player's shoe
+	void dealOpeningHands(Player player) {
+		int playerId = player.getId();
+		Hand hand = player.getHand();
+		Hand dealerHand = player.getDealerHand();
+		hand.clear();
+		dealerHand.clear();
+		player.setHand(hand);
+		player.setDealerHand(dealerHand);
+		player.setSplitHands(null);
 
-		// Reveal dealer’s hand immediately
-		List<Map<String, String>> dealerCardsList = new ArrayList<>();
-		for (Card card : dealerHand.getCards()) {
-			Map<String, String> cardDetails = new HashMap<>();
-			cardDetails.put("rank", card.getRank());
-			cardDetails.put("suit", card.getSuit());
-			dealerCardsList.add(cardDetails);
-		}
-		response.put("dealerHand", dealerCardsList);
-		response.put("dealerValue", dealerHand.getTotalValue());
+		shoeManager.withShoe(ShoeManager.playerKey(playerId), shoe -> {
+			// Reshuffle between rounds once the cut card is out
+			shoe.prepareRound(4);
+			roundLog.dealtFrom(playerId, shoe);
+
+			// Deal 2 cards to the player, 1 face-up and 1 face-down to the dealer
+			hand.addCard(shoe.deal());
+			dealerHand.addCard(shoe.deal()); // Face-Up
+			hand.addCard(shoe.deal());
+			dealerHand.addCard(shoe.deal()); // Face-Down
+			return null;
+		});
+		pushCards(playerId, playerId, hand.getCompactHand(), 0, hand.getCompactHand().size());
+		pushCards(playerId, null, dealerHand.getCompactHand(), 0, 1);
+	}
+
+	RoundResultResponse handleBlackjackWin(Player player) {
+		// Evaluates the winner and reveals the dealer's hand immediately
+		RoundResultResponse response = evaluateGame(player).withStatus("Blackjack! Player Wins!");
+		pushSettlement(player, response);
 
 		// ✅ Mark game as over
 		player.setGameStarted(false);
-		playerRepository.save(player);
+		sessionStore.roundFinished(player);
 
 		return response;
 	}
 
-	private Map<String, Object> generateHandDetailsResponse(Player player) {
-		Map<String, Object> response = new LinkedHashMap<>(); // Ensures correct order
+	private DealResponse generateHandDetailsResponse(Player player) {
 		Hand playerHand = player.getHand();
-		Hand dealerHand = player.getDealerHand();
-		Card dealerFaceUpCard = dealerHand.getCards().get(0);
-
-		// Include player's cards and hand value
-		response.put("playerCards", getCardDetails(playerHand.getCards()));
-		response.put("handValue", playerHand.getTotalValue());
-		response.put("bet", player.getBet());
-
-		// Include dealer's face-up card (only the first card)
-		if (!dealerHand.getCards().isEmpty()) {
-			Map<String, String> dealerCardDetails = new HashMap<>();
-			dealerCardDetails.put("rank", dealerFaceUpCard.getRank());
-			dealerCardDetails.put("suit", dealerFaceUpCard.getSuit());
-			response.put("dealerFaceUpCard", dealerCardDetails);
-			response.put("dealerHandValue", dealerFaceUpCard.getValue()); // ✅ Show only the face-up card value
-		} else {
-			response.put("dealerFaceUpCard", "Unknown");
-			response.put("dealerHandValue", dealerFaceUpCard.getValue());
-		}
+		Card dealerFaceUpCard = player.getDealerHand().getCards().get(0);
 
-		return response;
-	}
-
-	private List<Map<String, String>> getCardDetails(List<Card> cards) {
-		List<Map<String, String>> cardList = new ArrayList<>();
-		for (Card card : cards) {
-			Map<String, String> cardDetails = new HashMap<>();
-			cardDetails.put("rank", card.getRank());
-			cardDetails.put("suit", card.getSuit());
-			cardList.add(cardDetails);
-		}
-		return cardList;
+		// Include player's cards and hand value, but only the dealer's face-up card
+		return new DealResponse(CardView.listOf(playerHand.getCompactHand()), playerHand.getTotalValue(),
+				player.getBet(), CardView.of(dealerFaceUpCard), dealerFaceUpCard.getValue());
 	}
 
 	// Player hits
-	public Map<String, Object> hit(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
+	public HitResponse hit(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
 			Hand playerHand = player.getHand();
-			Hand dealerHand = player.getDealerHand();
+			CardView dealerFaceUpCard = CardView.of(player.getDealerHand().getCards().get(0));
 
 			// ✅ Player receives a new card
-			if (!deck.isEmpty()) {
-				Card newCard = deck.remove(0);
-				player.receiveCard(newCard);
-			}
-
-			playerRepository.save(player);
-
-			// Prepare response with updated game state
-			Map<String, Object> response = new LinkedHashMap<>();
-			response.put("playerValue", playerHand.getTotalValue());
-			response.put("playerCards", getCardDetails(playerHand.getCards()));
-			response.put("dealerFaceUpCard", getCardDetails(Collections.singletonList(dealerHand.getCards().get(0))));
-			response.put("bet", player.getBet());
+			roundLog.action(playerId, PlayerAction.HIT);
+			drawCard(player);
+			List<CardView> playerCards = CardView.listOf(playerHand.getCompactHand());
 
 			// ✅ If the player busts, end the game immediately
 			if (playerHand.getTotalValue() > 21) {
-				response.put("status", "Bust! Dealer wins.");
-
-				// Evaluate the final game outcome
-				Map<String, Object> result = evaluateGame(player);
-				response.putAll(result);
-
-				// ✅ Mark game as over
-				player.setGameStarted(false);
-				playerRepository.save(player);
-			} else {
-				response.put("status", "Continue playing.");
+				int playerValue = playerHand.getTotalValue();
+				if (player.getSplitHands() != null) {
+					// A split hand busted: play moves to the next hand, or the round settles after the last one
+					if (finishHand(player) instanceof RoundResultResponse result) {
+						return HitResponse.bust(playerCards, dealerFaceUpCard, player.getBet(), result);
+					}
+					return HitResponse.nextHand(playerValue, playerCards, dealerFaceUpCard, player.getBet(),
+							player.getBalance());
+				}
+				RoundResultResponse result = settleBust(player);
+				return HitResponse.bust(playerCards, dealerFaceUpCard, player.getBet(), result);
 			}
 
-			// ✅ Always return the updated balance
-			response.put("playerNewBalance", player.getBalance());
+			sessionStore.changed(player);
+			return HitResponse.continuing(playerHand.getTotalValue(), playerCards, dealerFaceUpCard, player.getBet(),
+					player.getBalance());
+		});
+	}
 
-			return response;
-		}
-		throw new RuntimeException("Player not found.");
+	// Player stands (dealer reveals their hand); on a split round play moves to the next hand first
+	public PlayResponse stand(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
+			roundLog.action(playerId, PlayerAction.STAND);
+			return finishHand(player);
+		});
 	}
 
-	// Player stands (dealer reveals their hand)
-	public Map<String, Object> stand(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			Hand dealerHand = player.getDealerHand();
+	// One more card for the player from their shoe
+	void drawCard(Player player) {
+		player.receiveCard(shoeManager.deal(ShoeManager.playerKey(player.getId())));
+		CompactHand cards = player.getHand().getCompactHand();
+		pushCards(player.getId(), player.getId(), cards, cards.size() - 1, cards.size());
+	}
 
-			// Dealer plays their turn
-			while (dealerHand.getTotalValue() < 17 && !deck.isEmpty()) {
-				dealerHand.addCard(deck.remove(0));
-			}
-			handRepository.save(dealerHand);
+	// The player went over 21: the round ends without the dealer drawing
+	RoundResultResponse settleBust(Player player) {
+		// Evaluate the final game outcome
+		RoundResultResponse result = evaluateGame(player);
+		pushSettlement(player, result);
 
-			// Evaluate game results
-			Map<String, Object> result = evaluateGame(player);
+		// ✅ Mark game as over
+		player.setGameStarted(false);
+		sessionStore.roundFinished(player);
+		return result;
+	}
 
-			// Ensure balance updates correctly
-			result.put("playerNewBalance", player.getBalance());
-			player.setGameStarted(false);
-			playerRepository.save(player);
+	RoundResultResponse playDealerAndSettle(Player player) {
+		// Dealer plays their turn
+		playDealer(player.getDealerHand().getCompactHand(), ShoeManager.playerKey(player.getId()));
 
-			return result;
-		}
-		throw new RuntimeException("Player not found.");
+		// Evaluate game results
+		RoundResultResponse result = evaluateGame(player);
+		pushSettlement(player, result);
+		player.setGameStarted(false);
+		sessionStore.roundFinished(player);
+
+		return result;
 	}
 
-	// Player doubles down (double bet & get 1 more card)
-	public Map<String, Object> doubleDown(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			int betAmount = player.getBet();
+	// Player doubles down (double bet & get 1 more card); on a split round only the current hand's bet doubles
+	public PlayResponse doubleDown(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
+			SplitHands hands = player.getSplitHands();
+			int betAmount = hands == null ? player.getBet() : hands.bet(hands.getCurrent());
 			int doubledBet = betAmount * 2;
 
 			if (doubledBet <= player.getBalance()) {
-				player.setBet(doubledBet);
-				player.setBalance(player.getBalance() - betAmount);
-
-				// Give player one final card
-				if (!deck.isEmpty()) {
-					player.receiveCard(deck.remove(0));
+				ledger.stake(player, betAmount);
+				if (hands != null) {
+					hands.doubleCurrent();
 				}
+				roundLog.action(playerId, PlayerAction.DOUBLE);
 
-				playerRepository.save(player);
+				events.toPlayer(playerId, GameEvent.balance(playerId, player.getBalance(), player.getBet()));
 
-				// Dealer plays their turn immediately after double down
-				Map<String, Object> result = stand(playerId);
+				// Give player one final card
+				drawCard(player);
 
-				// Ensure balance updates correctly
-				result.put("playerNewBalance", player.getBalance());
-				return result;
+				// Dealer plays their turn immediately after double down (after the last hand of a split)
+				return finishHand(player);
 			} else {
 				throw new IllegalArgumentException("Insufficient funds to double down.");
 			}
-		}
-		throw new RuntimeException("Player not found.");
+		});
 	}
 
-	// Player splits (if possible)
-	public void split(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			Hand hand = player.getHand();
-
-			if (hand.getCards().size() == 2
-					&& hand.getCards().get(0).getRank().equals(hand.getCards().get(1).getRank())) {
-				Card firstCard = hand.getCards().get(0);
-				Card secondCard = hand.getCards().get(1);
+	// Player splits a pair: the current hand becomes two, each carrying its bet. Pairs may be split
+	// again up to SplitHands.MAX_HANDS hands; split aces get one card each and are not played further.
+	public PlayResponse split(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
+			CompactHand cards = player.getHand().getCompactHand();
+			if (!player.isGameStarted() || !cards.isPair()) {
+				throw new IllegalArgumentException("Cannot split this hand.");
+			}
+			SplitHands hands = player.getSplitHands();
+			if (hands == null) {
+				hands = SplitHands.of(cards, player.getBet());
+			}
+			if (hands.size() == SplitHands.MAX_HANDS) {
+				throw new IllegalArgumentException("Cannot split into more than " + SplitHands.MAX_HANDS + " hands.");
+			}
+			int betAmount = hands.bet(hands.getCurrent());
+			if (betAmount > player.getBalance()) {
+				throw new IllegalArgumentException("Insufficient funds to split.");
+			}
 
-				Hand splitHand1 = new Hand();
-				splitHand1.addCard(firstCard);
-				splitHand1.addCard(deck.remove(0));
+			ledger.stake(player, betAmount);
+			roundLog.action(playerId, PlayerAction.SPLIT);
+			events.toPlayer(playerId, GameEvent.balance(playerId, player.getBalance(), player.getBet()));
+
+			CompactHand first = new CompactHand();
+			CompactHand second = new CompactHand();
+			shoeManager.withShoe(ShoeManager.playerKey(playerId), shoe -> {
+				first.add(cards.code(0));
+				first.add(shoe.drawCode());
+				second.add(cards.code(1));
+				second.add(shoe.drawCode());
+				return null;
+			});
+			boolean aces = CardCodes.isAce(first.code(0));
+			hands.split(first, second, aces);
+			player.setSplitHands(hands);
+			loadCurrentHand(player);
+			pushCards(playerId, playerId, first, 0, first.size());
+
+			if (aces) {
+				return finishHand(player);
+			}
+			sessionStore.changed(player);
+			return splitHandsResponse(player, "Split into " + hands.size() + " hands.");
+		});
+	}
 
-				Hand splitHand2 = new Hand();
-				splitHand2.addCard(secondCard);
-				splitHand2.addCard(deck.remove(0));
+	// The hand in play is finished (stood, doubled or bust): move on to the next split hand, or play
+	// the dealer and settle once no hand is left
+	private PlayResponse finishHand(Player player) {
+		SplitHands hands = player.getSplitHands();
+		if (hands == null) {
+			return playDealerAndSettle(player);
+		}
+		hands.finishCurrent(player.getHand().getCompactHand());
+		if (hands.advance()) {
+			loadCurrentHand(player);
+			CompactHand cards = player.getHand().getCompactHand();
+			pushCards(player.getId(), player.getId(), cards, 0, cards.size());
+			sessionStore.changed(player);
+			return splitHandsResponse(player,
+					"Playing hand " + (hands.getCurrent() + 1) + " of " + hands.size() + ".");
+		}
+		return settleSplitHands(player);
+	}
 
-				handRepository.save(splitHand1);
-				handRepository.save(splitHand2);
-				player.setHand(splitHand1);
+	// Put the current split hand's cards into Player.hand, where hit/stand/double act on them
+	private void loadCurrentHand(Player player) {
+		SplitHands hands = player.getSplitHands();
+		CompactHand cards = player.getHand().getCompactHand();
+		CompactHand current = hands.cards(hands.getCurrent());
+		cards.clear();
+		for (int i = 0; i < current.size(); i++) {
+			cards.add(current.code(i));
+		}
+	}
 
-				playerRepository.save(player);
-			} else {
-				throw new IllegalArgumentException("Cannot split this hand.");
-			}
+	private SplitHandsResponse splitHandsResponse(Player player, String status) {
+		SplitHands hands = player.getSplitHands();
+		List<SplitHandsResponse.HandView> views = new ArrayList<>(hands.size());
+		for (int i = 0; i < hands.size(); i++) {
+			CompactHand cards = i == hands.getCurrent() ? player.getHand().getCompactHand() : hands.cards(i);
+			views.add(new SplitHandsResponse.HandView(CardView.listOf(cards), cards.total(), hands.bet(i),
+					hands.isDone(i)));
 		}
+		Card dealerFaceUpCard = player.getDealerHand().getCards().get(0);
+		return new SplitHandsResponse(views, hands.getCurrent(), CardView.of(dealerFaceUpCard),
+				dealerFaceUpCard.getValue(), player.getBalance(), status);
 	}
 
 	// Check Game Status
-	public Map<String, Object> checkGameStatus(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			Hand playerHand = player.getHand();
-			Hand dealerHand = player.getDealerHand();
-
-			Map<String, Object> response = new HashMap<>();
-			response.put("playerBalance", player.getBalance()); // ✅ Include balance
-
+	public GameStatusResponse checkGameStatus(int playerId) {
+		return sessionStore.readPlayer(playerId, player -> {
 			// If game has NOT started, return "Game not in session."
 			if (!player.isGameStarted()) {
-				response.put("status", "Game not in session.");
-				return response;
+				return GameStatusResponse.notInSession(player.getBalance());
 			}
 
 			// Include current hand values (but don't evaluate game outcome)
-			response.put("playerHandValue", playerHand.getTotalValue());
-			response.put("dealerHandValue", dealerHand.getTotalValue());
-			response.put("status", "Game in progress."); // ✅ Show game is active
-
-			return response;
-		}
-		throw new RuntimeException("Player not found.");
+			return GameStatusResponse.inProgress(player.getBalance(), player.getHand().getTotalValue(),
+					player.getDealerHand().getTotalValue());
+		});
 	}
 
 	// Reset Game
 	public void resetGame(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
+		sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
 			player.resetHand();
-			player.setBet(0);
-			deck = generateDeck();
+			ledger.forfeit(player);
+			roundLog.discardActions(playerId);
+			shoeManager.reshuffle(ShoeManager.playerKey(playerId));
 			player.setGameStarted(false);
-			playerRepository.save(player);
-		}
+			sessionStore.roundFinished(player);
+			events.toPlayer(playerId, GameEvent.balance(playerId, player.getBalance(), player.getBet()));
+			return null;
+		});
 	}
 
 	public Player createPlayer(String username, int balance) {
 		Player player = new Player(username, balance);
-		return playerRepository.save(player);
+		return sessionStore.create(player);
 	}
 
-	public Map<String, Object> getPlayerHandDetails(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			Map<String, Object> response = new HashMap<>();
+	public List<Player> createPlayers(List<Player> requests) {
+		List<Player> players = new ArrayList<>(requests.size());
+		for (Player request : requests) {
+			players.add(new Player(request.getUsername(), request.getBalance()));
+		}
+		return sessionStore.createAll(players);
+	}
 
+	public HandDetailsResponse getPlayerHandDetails(int playerId) {
+		return sessionStore.readPlayer(playerId, player -> {
 			// Player's Hand Details
-			if (player.getHand() != null) {
-				response.put("handValue", player.getHand().getTotalValue());
-
-				List<Map<String, String>> playerCardsList = new ArrayList<>();
-				for (Card card : player.getHand().getCards()) {
-					Map<String, String> cardDetails = new HashMap<>();
-					cardDetails.put("rank", card.getRank());
-					cardDetails.put("suit", card.getSuit());
-					playerCardsList.add(cardDetails);
-				}
-				response.put("playerCards", playerCardsList);
-				response.put("bet", player.getBet());
+			Hand playerHand = player.getHand();
+			Integer handValue = null;
+			List<CardView> playerCards = null;
+			Integer bet = null;
+			if (playerHand != null) {
+				handValue = playerHand.getTotalValue();
+				playerCards = CardView.listOf(playerHand.getCompactHand());
+				bet = player.getBet();
 			}
 
 			// Dealer's Hand Details (Different behavior before & after player stands)
 			Hand dealerHand = player.getDealerHand();
-			if (dealerHand != null && !dealerHand.getCards().isEmpty()) {
-				List<Map<String, String>> dealerCardsList = new ArrayList<>();
-				boolean isPlayerStanding = isPlayerStanding(player); // 🔥 FIXED ERROR
-
-				if (isPlayerStanding) {
-					// 🚀 Player stood, reveal ALL dealer cards
-					for (Card card : dealerHand.getCards()) {
-						Map<String, String> cardDetails = new HashMap<>();
-						cardDetails.put("rank", card.getRank());
-						cardDetails.put("suit", card.getSuit());
-						dealerCardsList.add(cardDetails);
-					}
-					response.put("dealerCards", dealerCardsList);
-					response.put("dealerHandValue", dealerHand.getTotalValue());
-				} else {
-					// 🔒 Player hasn't stood yet, show only the first (face-up) card
-					Card dealerFaceUpCard = dealerHand.getCards().get(0);
-					Map<String, String> dealerCardDetails = new HashMap<>();
-					dealerCardDetails.put("rank", dealerFaceUpCard.getRank());
-					dealerCardDetails.put("suit", dealerFaceUpCard.getSuit());
-					response.put("dealerFaceUpCard", dealerCardDetails);
-					response.put("dealerHandValue", dealerHand.getCards().get(0).getValue());
-				}
-			} else {
-				response.put("dealerFaceUpCard", "Unknown"); // Fallback case
+			if (dealerHand == null || dealerHand.getCards().isEmpty()) {
+				return new HandDetailsResponse(handValue, playerCards, bet, null, CardView.UNKNOWN, null); // Fallback case
 			}
+			if (isPlayerStanding(player)) {
+				// 🚀 Player stood, reveal ALL dealer cards
+				return new HandDetailsResponse(handValue, playerCards, bet, CardView.listOf(dealerHand.getCompactHand()),
+						null, dealerHand.getTotalValue());
+			}
+			// 🔒 Player hasn't stood yet, show only the first (face-up) card
+			Card dealerFaceUpCard = dealerHand.getCards().get(0);
+			return new HandDetailsResponse(handValue, playerCards, bet, null, CardView.of(dealerFaceUpCard),
+					dealerFaceUpCard.getValue());
+		});
+	}
 
-			return response;
-		}
+	// Basic-strategy advice for the current hand against the dealer's face-up card
+	public AdviceResponse getAdvice(int playerId) {
+		return sessionStore.readPlayer(playerId, player -> {
+			if (!player.isGameStarted()) {
+				throw new IllegalStateException("Game not in session.");
+			}
+			CompactHand hand = player.getHand().getCompactHand();
+			Card dealerFaceUpCard = player.getDealerHand().getCards().get(0);
+			int cell = strategyTable.cell(hand, dealerFaceUpCard.getCode(), ruleSet);
+			if (cell < 0) {
+				throw new IllegalStateException("No decision left for this hand.");
+			}
+			boolean firstDecision = hand.size() == 2;
+			PlayerAction action = strategyTable.bestAction(cell, firstDecision);
+
+			Map<String, Double> actionValues = new LinkedHashMap<>();
+			for (PlayerAction candidate : PlayerAction.values()) {
+				double ev = strategyTable.expectedValue(cell, candidate);
+				boolean allowed = firstDecision || candidate == PlayerAction.HIT || candidate == PlayerAction.STAND;
+				if (allowed && !Double.isNaN(ev)) {
+					actionValues.put(candidate.name(), ev);
+				}
+			}
+			return new AdviceResponse(action, strategyTable.expectedValue(cell, action), hand.total(), hand.isSoft(),
+					CardView.of(dealerFaceUpCard), dealerOutcomes.probability(ruleSet,
+							DealerOutcomes.upIndex(dealerFaceUpCard.getCode()), DealerOutcomes.BUST),
+					actionValues);
+		});
+	}
 
-		throw new RuntimeException("Player not found.");
+	// Dealer draws to 17 from the given shoe; shared by solo rounds and tables
+	void playDealer(CompactHand dealerHand, long shoeKey) {
+		shoeManager.withShoe(shoeKey, shoe -> {
+			while (RoundOutcome.dealerHits(dealerHand.total())) {
+				dealerHand.add(shoe.drawCode());
+			}
+			return null;
+		});
 	}
 
 	// Determine winner & include bet amount in the response
-	private Map<String, Object> evaluateGame(Player player) {
-		Map<String, Object> result = new LinkedHashMap<>(); // ✅ Ensures correct key order
-		int playerValue = player.getHand().getTotalValue();
-		int dealerValue = player.getDealerHand().getTotalValue();
+	private RoundResultResponse evaluateGame(Player player) {
+		return settle(player, player.getDealerHand().getCompactHand(), 0);
+	}
+
+	// Settle one player's bet against a dealer hand (their own, or a table's shared one) and log the round
+	RoundResultResponse settle(Player player, CompactHand dealerHand, int tableId) {
+		CompactHand playerHand = player.getHand().getCompactHand();
 		int betAmount = player.getBet();
-		int winnings = 0; // Stores how much the player wins or loses
-
-		// Move playerValue & dealerValue to the top for readability
-		result.put("playerValue", playerValue);
-		result.put("dealerValue", dealerValue);
-
-		// Include the final hands (Player & Dealer)
-		result.put("playerHand", getCardDetails(player.getHand().getCards()));
-		result.put("dealerHand", getCardDetails(player.getDealerHand().getCards()));
-
-		// ✅ Handle Blackjack scenario
-		if (playerValue == 21 && player.getHand().getCards().size() == 2) {
-			result.put("winner", "Player");
-			result.put("message", "Blackjack! Player Wins!");
-			player.winBet();
-			winnings = (int) (1.5 * betAmount); // Blackjack typically pays 3:2
-		} else if (playerValue > 21) {
-			result.put("winner", "Dealer");
-			result.put("message", "Bust! Dealer wins.");
-			player.loseBet();
-			winnings = -betAmount;
-		} else if (dealerValue > 21 || playerValue > dealerValue) {
-			result.put("winner", "Player");
-			result.put("message", "Player wins!");
-			player.winBet();
-			winnings = betAmount;
-		} else if (dealerValue > playerValue) {
-			result.put("winner", "Dealer");
-			result.put("message", "Dealer wins.");
-			player.loseBet();
-			winnings = -betAmount;
-		} else {
-			result.put("winner", "Tie");
-			result.put("message", "It's a push!");
-			player.push();
-			winnings = 0;
+
+		// ✅ Blackjack (typically pays 3:2), bust, then compare totals
+		RoundOutcome outcome = RoundOutcome.evaluate(playerHand, dealerHand);
+		int payout = payout(outcome, betAmount);
+		ledger.settle(player, payout);
+		long now = System.currentTimeMillis();
+		long sequence = roundLog.append(now, player.getId(), tableId, outcome, betAmount, payout, player.getBalance(),
+				playerHand, dealerHand);
+		history.record(now, sequence, player.getId(), tableId, outcome, betAmount, payout, player.getBalance());
+		metrics.roundSettled(outcome, betAmount, payout);
+		int winnings = outcome.winnings(betAmount); // Stores how much the player wins or loses
+
+		// Values first, then the final hands, the outcome and the bet details
+		return new RoundResultResponse(playerHand.total(), dealerHand.total(), CardView.listOf(playerHand),
+				CardView.listOf(dealerHand), outcome.getWinner(), outcome.getMessage(), betAmount, winnings,
+				player.getBalance(), null);
+	}
+
+	// Every hand of a split round against the dealer in one pass: one ledger update for the summed
+	// payout, then one log and history record per hand (the round's actions go with the first)
+	private RoundResultResponse settleSplitHands(Player player) {
+		SplitHands hands = player.getSplitHands();
+		CompactHand dealerHand = player.getDealerHand().getCompactHand();
+		boolean anyLive = false;
+		for (int i = 0; i < hands.size(); i++) {
+			anyLive |= !hands.cards(i).isBust();
+		}
+		if (anyLive) {
+			playDealer(dealerHand, ShoeManager.playerKey(player.getId()));
 		}
 
-		// Keep bet details grouped together
-		result.put("betAmount", betAmount);
-		result.put("winnings", winnings);
-		result.put("playerNewBalance", player.getBalance());
+		RoundOutcome[] outcomes = new RoundOutcome[hands.size()];
+		int totalPayout = 0;
+		for (int i = 0; i < hands.size(); i++) {
+			CompactHand cards = hands.cards(i);
+			outcomes[i] = RoundOutcome.evaluate(cards.total(), false, dealerHand.total()); // A split 21 is not a natural
+			totalPayout += payout(outcomes[i], hands.bet(i));
+		}
+		ledger.settle(player, totalPayout);
+
+		long now = System.currentTimeMillis();
+		List<CardView> dealerCards = CardView.listOf(dealerHand);
+		List<RoundResultResponse> results = new ArrayList<>(hands.size());
+		int totalBet = 0;
+		int totalWinnings = 0;
+		for (int i = 0; i < hands.size(); i++) {
+			CompactHand cards = hands.cards(i);
+			int betAmount = hands.bet(i);
+			int payout = payout(outcomes[i], betAmount);
+			long sequence = roundLog.append(now, player.getId(), 0, outcomes[i], betAmount, payout,
+					player.getBalance(), cards, dealerHand, i == hands.size() - 1);
+			history.record(now, sequence, player.getId(), 0, outcomes[i], betAmount, payout, player.getBalance());
+			metrics.roundSettled(outcomes[i], betAmount, payout);
+			int winnings = outcomes[i].winnings(betAmount);
+			results.add(new RoundResultResponse(cards.total(), dealerHand.total(), CardView.listOf(cards), dealerCards,
+					outcomes[i].getWinner(), outcomes[i].getMessage(), betAmount, winnings, player.getBalance(), null));
+			totalBet += betAmount;
+			totalWinnings += winnings;
+		}
 
-		playerRepository.save(player); // Save new balance
+		RoundResultResponse last = results.get(hands.getCurrent());
+		RoundResultResponse result = new RoundResultResponse(last.playerValue(), last.dealerValue(),
+				last.playerHand(), dealerCards, last.winner(), last.message(), totalBet, totalWinnings,
+				player.getBalance(), null, results);
+		pushSettlement(player, result);
+		player.setGameStarted(false);
+		sessionStore.roundFinished(player);
 		return result;
 	}
 
+	// What the ledger credits back: twice the bet for a win, the bet plus 3:2 for a natural (as the
+	// simulator counts it), the bet for a push
+	private static int payout(RoundOutcome outcome, int betAmount) {
+		return outcome.settlement(betAmount);
+	}
+
+	// Push cards [from, to) of a hand to the player's event stream; owner is null for the dealer
+	private void pushCards(int playerId, Integer owner, CompactHand hand, int from, int to) {
+		for (GameEvent event : GameEvent.cards(owner, hand, from, to)) {
+			events.toPlayer(playerId, event);
+		}
+	}
+
+	// Reveal the dealer's hole card and draws, then the outcome and new balance
+	private void pushSettlement(Player player, RoundResultResponse result) {
+		CompactHand dealerHand = player.getDealerHand().getCompactHand();
+		pushCards(player.getId(), null, dealerHand, 1, dealerHand.size());
+		events.toPlayer(player.getId(), GameEvent.outcome(player.getId(), result));
+		events.toPlayer(player.getId(), GameEvent.balance(player.getId(), player.getBalance(), player.getBet()));
+	}
+
+	// Seated players play through TableService; their hands belong to the table's round. Call with the
+	// player's lock held: TableService.join seats a player under that lock too, so a solo round that
+	// passed this check cannot have the player seated under it.
+	void requireNotSeated(int playerId) {
+		if (tableManager.isSeated(playerId)) {
+			throw new IllegalStateException("Player is seated at a table.");
+		}
+	}
+
 	private boolean isPlayerStanding(Player player) {
 		return player.hasStood();
 	}
 
 	// Get player's balance
-	public Map<String, Object> getPlayerBalance(int playerId) {
-		Optional<Player> optionalPlayer = playerRepository.findById(playerId);
-		if (optionalPlayer.isPresent()) {
-			Player player = optionalPlayer.get();
-			Map<String, Object> response = new HashMap<>();
-			response.put("balance", player.getBalance());
-			response.put("betAmount", player.getBet());
-			return response;
+	public BalanceResponse getPlayerBalance(int playerId) {
+		return sessionStore.readPlayer(playerId, player -> new BalanceResponse(player.getBalance(), player.getBet()));
+	}
+
+	// Commitment for the player's own shoe; fetch it before dealing to hold the shuffle to it. A read
+	// does not create the shoe: before the first deal (or once an idle shoe was dropped) there is no
+	// commitment yet, and rotating the seed commits to one without dealing a card.
+	public ShoeSeedResponse getShoeSeed(int playerId) {
+		sessionStore.readPlayer(playerId, Player::getId); // Unknown players fail here
+		if (!shoeManager.isSeeded()) {
+			throw new IllegalStateException("Shoes are not seeded.");
+		}
+		ShoeSeedResponse seed = shoeManager.withExistingShoe(ShoeManager.playerKey(playerId),
+				shoe -> shoeSeed(shoe, null, 0));
+		return seed != null ? seed : new ShoeSeedResponse(null, 0, 0, 0, null, null, null);
+	}
+
+	// Retire the seed and reveal it, and commit to a new one. Only between rounds: the retired seed
+	// gives away the dealer's hole card and every card left in the shoe.
+	public ShoeSeedResponse rotateShoeSeed(int playerId) {
+		return sessionStore.withPlayer(playerId, player -> {
+			requireNotSeated(playerId);
+			if (player.isGameStarted()) {
+				throw new IllegalStateException("Cannot rotate the shoe seed while the game is in session.");
+			}
+			return shoeManager.withShoe(ShoeManager.playerKey(playerId), shoe -> {
+				long shoes = shoe.getShoeIndex() + 1;
+				ShoeSeed retired = shoe.rotateSeed();
+				roundLog.revealSeed(retired, shoes);
+				log.info("Shoe seed rotated for player {} after {} shoes", playerId, shoes);
+				return shoeSeed(shoe, retired, shoes);
+			});
+		});
+	}
+
+	private static ShoeSeedResponse shoeSeed(Shoe shoe, ShoeSeed retired, long retiredShoes) {
+		ShoeSeed seed = shoe.getSeed();
+		if (seed == null) {
+			throw new IllegalStateException("Shoes are not seeded.");
+		}
+		int dealt = shoe.size() - shoe.remaining();
+		if (retired == null) {
+			return new ShoeSeedResponse(seed.commitment(), shoe.getShoeIndex(), shoe.size(), dealt, null, null, null);
 		}
-		throw new RuntimeException("Player not found.");
+		return new ShoeSeedResponse(seed.commitment(), shoe.getShoeIndex(), shoe.size(), dealt, retired.toHex(),
+				retired.commitment(), retiredShoes);
 	}
 
 }
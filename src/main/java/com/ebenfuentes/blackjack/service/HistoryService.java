@@ -0,0 +1,75 @@
+package com.ebenfuentes.blackjack.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.HistoryEntry;
+import com.ebenfuentes.blackjack.dto.HistoryPageResponse;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.history.HistoryPage;
+import com.ebenfuentes.blackjack.history.HistoryProperties;
+import com.ebenfuentes.blackjack.history.HistoryRow;
+import com.ebenfuentes.blackjack.history.HistoryStore;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.roundlog.RoundRecord;
+
+// Hand-history queries: rows come from the history store, and each page's cards and decisions
+// are read from the round log by sequence (one random read per row, no scan).
+@Service
+public class HistoryService {
+	private final HistoryStore historyStore;
+	private final RoundLog roundLog;
+	private final int maxPageSize;
+
+	public HistoryService(HistoryStore historyStore, RoundLog roundLog, HistoryProperties properties) {
+		this.historyStore = historyStore;
+		this.roundLog = roundLog;
+		this.maxPageSize = properties.getMaxPageSize();
+	}
+
+	// Last rounds of one player, newest first
+	public HistoryPageResponse playerHistory(int playerId, int limit, Long cursor) {
+		return toResponse(historyStore.playerRounds(playerId, cursor, pageSize(limit)));
+	}
+
+	// Rounds of every player in [from, to), optionally of one outcome; `since` is shorthand for from = now - since
+	public HistoryPageResponse search(RoundOutcome outcome, Instant from, Instant to, Duration since, int limit,
+			Long cursor) {
+		Instant now = Instant.now();
+		if (since != null) {
+			from = now.minus(since);
+		}
+		long fromMillis = from == null ? 0 : from.toEpochMilli();
+		long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+		if (fromMillis >= toMillis) {
+			throw new IllegalArgumentException("Empty time range.");
+		}
+		return toResponse(historyStore.search(outcome, fromMillis, toMillis, cursor, pageSize(limit)));
+	}
+
+	private int pageSize(int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Limit must be positive.");
+		}
+		return Math.min(limit, maxPageSize);
+	}
+
+	private HistoryPageResponse toResponse(HistoryPage page) {
+		List<HistoryEntry> entries = new ArrayList<>(page.rows().size());
+		for (HistoryRow row : page.rows()) {
+			RoundRecord record = row.sequence() < 0 ? null : roundLog.find(row.sequence());
+			entries.add(new HistoryEntry(row.rowId(), row.sequence() < 0 ? null : row.sequence(),
+					Instant.ofEpochMilli(row.timestamp()), row.playerId(), row.tableId() == 0 ? null : row.tableId(),
+					row.outcome(), row.bet(), row.payout(), row.balanceAfter(),
+					record == null ? null : CardView.listOf(record.playerCards()),
+					record == null ? null : CardView.listOf(record.dealerCards()),
+					record == null ? null : record.actionList()));
+		}
+		return new HistoryPageResponse(entries, page.nextCursor());
+	}
+}
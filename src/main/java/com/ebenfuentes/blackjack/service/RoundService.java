@@ -0,0 +1,291 @@
+package com.ebenfuentes.blackjack.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.BulkRoundResponse;
+import com.ebenfuentes.blackjack.dto.RoundRequest;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.ScriptedRoundResponse;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.strategy.RuleSet;
+import com.ebenfuentes.blackjack.strategy.StrategyProperties;
+import com.ebenfuentes.blackjack.strategy.StrategyTable;
+
+// Whole rounds played server-side for bots, replays and tournaments: bet, deal and every decision
+// under one session lock, so a round is one request and (in ROUND mode) one save instead of a
+// load and save per action. Decisions come from a fixed action script or a named strategy:
+// "basic" (the strategy table), "dealer" (hit below 17) or "stand". Splits are not played here.
+@Service
+public class RoundService {
+
+	static final int MAX_BULK_PLAYERS = 100;
+	static final int MAX_BULK_ROUNDS = 10_000;
+	// Rounds a bulk call plays for one player per lock and save
+	static final int ROUNDS_PER_LOCK = 100;
+
+	private final GameService gameService;
+	private final GameSessionStore sessionStore;
+	private final BalanceLedger ledger;
+	private final RoundLog roundLog;
+	private final StrategyTable strategyTable;
+	private final RuleSet ruleSet;
+
+	public RoundService(GameService gameService, GameSessionStore sessionStore, BalanceLedger ledger,
+			RoundLog roundLog, StrategyTable strategyTable, StrategyProperties strategyProperties) {
+		this.gameService = gameService;
+		this.sessionStore = sessionStore;
+		this.ledger = ledger;
+		this.roundLog = roundLog;
+		this.strategyTable = strategyTable;
+		this.ruleSet = strategyProperties.getRuleSet();
+	}
+
+	public ScriptedRoundResponse playRound(int playerId, RoundRequest request) {
+		validate(request.bet(), request.actions(), request.strategy());
+		return sessionStore.withPlayer(playerId, player -> {
+			gameService.requireNotSeated(playerId);
+			List<PlayerAction> taken = new ArrayList<>();
+			RoundResultResponse result = play(player, request.bet(), script(request.actions(), request.strategy()),
+					taken);
+			return new ScriptedRoundResponse(taken, result);
+		});
+	}
+
+	// Every player plays `rounds` rounds in turn, ROUNDS_PER_LOCK at a time: each chunk holds only
+	// that player's lock and is saved on its own, so a bulk call never blocks more than one player
+	// and the players it is not playing right now stay free for their own requests. A player who can
+	// no longer cover the bet (or the script's double) stops there with an error, as does one whose
+	// chunk fails (not found, or changed elsewhere); the chunks already saved still stand.
+	public BulkRoundResponse playRounds(BulkRoundRequest request) {
+		List<Integer> playerIds = request.playerIds();
+		if (playerIds == null || playerIds.isEmpty()) {
+			throw new IllegalArgumentException("At least one player is required.");
+		}
+		if (playerIds.size() > MAX_BULK_PLAYERS) {
+			throw new IllegalArgumentException("At most " + MAX_BULK_PLAYERS + " players per call.");
+		}
+		if (new HashSet<>(playerIds).size() != playerIds.size()) {
+			throw new IllegalArgumentException("Duplicate player id.");
+		}
+		if (request.rounds() <= 0 || (long) request.rounds() * playerIds.size() > MAX_BULK_ROUNDS) {
+			throw new IllegalArgumentException("Rounds must be positive and at most " + MAX_BULK_ROUNDS + " in total.");
+		}
+		validate(request.bet(), request.actions(), request.strategy());
+		// Seated players fail the whole call here; a player seated later stops at its next chunk
+		for (int playerId : playerIds) {
+			gameService.requireNotSeated(playerId);
+		}
+
+		List<BulkRoundResponse.PlayerRounds> summaries = new ArrayList<>(playerIds.size());
+		int totalRounds = 0;
+		long totalWagered = 0;
+		long totalWinnings = 0;
+		for (int playerId : playerIds) {
+			Tally tally = new Tally();
+			for (int left = request.rounds(); left > 0 && tally.error == null; left -= ROUNDS_PER_LOCK) {
+				int rounds = Math.min(left, ROUNDS_PER_LOCK);
+				try {
+					tally.add(sessionStore.withPlayer(playerId, player -> playChunk(player, rounds, request)));
+				} catch (RuntimeException e) {
+					tally.error = e.getMessage(); // Nothing of this chunk was saved
+				}
+			}
+			summaries.add(new BulkRoundResponse.PlayerRounds(playerId, tally.played, tally.wagered, tally.winnings,
+					tally.balance, tally.outcomes, tally.error));
+			totalRounds += tally.played;
+			totalWagered += tally.wagered;
+			totalWinnings += tally.winnings;
+		}
+		return new BulkRoundResponse(totalRounds, totalWagered, totalWinnings, summaries);
+	}
+
+	// Up to `rounds` rounds under the player's lock
+	private Tally playChunk(Player player, int rounds, BulkRoundRequest request) {
+		gameService.requireNotSeated(player.getId());
+		Tally tally = new Tally();
+		for (int round = 0; round < rounds; round++) {
+			int balanceBefore = player.getBalance();
+			RoundResultResponse result;
+			try {
+				result = play(player, request.bet(), script(request.actions(), request.strategy()), new ArrayList<>());
+			} catch (IllegalArgumentException | IllegalStateException e) {
+				tally.error = e.getMessage(); // Checked before anything changed, so earlier rounds still stand
+				break;
+			}
+			RoundOutcome outcome = RoundOutcome.evaluate(player.getHand().getCompactHand(),
+					player.getDealerHand().getCompactHand());
+			tally.outcomes.merge(outcome.name(), 1, Integer::sum);
+			tally.played++;
+			tally.wagered += result.betAmount();
+			tally.winnings += player.getBalance() - balanceBefore; // Net of the stake, as actually paid
+		}
+		tally.balance = player.getBalance();
+		return tally;
+	}
+
+	// One full round for a player between rounds. Everything that can reject the round is checked
+	// before the bet is taken, so a failure leaves the player untouched.
+	private RoundResultResponse play(Player player, int bet, Script script, List<PlayerAction> taken) {
+		if (player.isGameStarted()) {
+			throw new IllegalStateException("Cannot play a round while the game is in session.");
+		}
+		if (player.getBet() != 0) {
+			throw new IllegalStateException("A bet is already placed; start or reset that round first.");
+		}
+		if (bet > player.getBalance()) {
+			throw new IllegalArgumentException("Insufficient balance to place bet.");
+		}
+		if (script.doublesFirst() && 2L * bet > player.getBalance()) {
+			throw new IllegalArgumentException("Insufficient funds to double down.");
+		}
+
+		int playerId = player.getId();
+		ledger.stake(player, bet);
+		gameService.dealOpeningHands(player);
+		player.setGameStarted(true);
+		if (player.getHand().getTotalValue() == 21) {
+			return gameService.handleBlackjackWin(player);
+		}
+
+		CompactHand hand = player.getHand().getCompactHand();
+		int dealerUpCode = player.getDealerHand().getCompactHand().code(0);
+		while (true) {
+			boolean canDouble = hand.size() == 2 && player.getBet() <= player.getBalance();
+			PlayerAction action = script.next(hand, dealerUpCode, canDouble);
+			if (action == null) {
+				action = PlayerAction.STAND; // The script ran out
+			}
+			taken.add(action);
+			roundLog.action(playerId, action);
+			switch (action) {
+			case HIT -> {
+				gameService.drawCard(player);
+				if (hand.total() > 21) {
+					return gameService.settleBust(player);
+				}
+			}
+			case STAND -> {
+				return gameService.playDealerAndSettle(player);
+			}
+			case DOUBLE -> {
+				ledger.stake(player, player.getBet());
+				gameService.drawCard(player);
+				return hand.total() > 21 ? gameService.settleBust(player) : gameService.playDealerAndSettle(player);
+			}
+			default -> throw new IllegalStateException("Unexpected action: " + action);
+			}
+		}
+	}
+
+	private static void validate(int bet, List<PlayerAction> actions, String strategy) {
+		if (bet <= 0) {
+			throw new IllegalArgumentException("Bet amount must be positive.");
+		}
+		if ((actions == null) == (strategy == null)) {
+			throw new IllegalArgumentException("Give either actions or a strategy.");
+		}
+		if (actions != null) {
+			for (int i = 0; i < actions.size(); i++) {
+				PlayerAction action = actions.get(i);
+				if (action == PlayerAction.SPLIT) {
+					throw new IllegalArgumentException("Splits are not supported in a scripted round.");
+				}
+				if (action == PlayerAction.DOUBLE && i > 0) {
+					throw new IllegalArgumentException("Double down is only allowed as the first action.");
+				}
+				if (action != PlayerAction.HIT && i < actions.size() - 1) {
+					throw new IllegalArgumentException("No actions are allowed after " + action + ".");
+				}
+			}
+		}
+	}
+
+	// A fresh script per round: fixed scripts keep their position
+	private Script script(List<PlayerAction> actions, String strategy) {
+		if (actions != null) {
+			Iterator<PlayerAction> next = actions.iterator();
+			boolean doublesFirst = !actions.isEmpty() && actions.get(0) == PlayerAction.DOUBLE;
+			return new Script() {
+				@Override
+				public PlayerAction next(CompactHand hand, int dealerUpCode, boolean canDouble) {
+					return next.hasNext() ? next.next() : null;
+				}
+
+				@Override
+				public boolean doublesFirst() {
+					return doublesFirst;
+				}
+			};
+		}
+		return switch (strategy) {
+		case "basic" -> this::basicStrategy;
+		case "dealer" -> (hand, dealerUpCode, canDouble) -> hand.total() < 17 ? PlayerAction.HIT : PlayerAction.STAND;
+		case "stand" -> (hand, dealerUpCode, canDouble) -> PlayerAction.STAND;
+		default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+		};
+	}
+
+	// The strategy table's best action; a split pair is played as its best non-split action
+	private PlayerAction basicStrategy(CompactHand hand, int dealerUpCode, boolean canDouble) {
+		int cell = strategyTable.cell(hand, dealerUpCode, ruleSet);
+		if (cell < 0 || hand.total() == 21) {
+			return PlayerAction.STAND;
+		}
+		PlayerAction best = strategyTable.bestAction(cell, hand.size() == 2);
+		if (best == PlayerAction.HIT || best == PlayerAction.STAND || best == PlayerAction.DOUBLE && canDouble) {
+			return best;
+		}
+		double hit = strategyTable.expectedValue(cell, PlayerAction.HIT);
+		double stand = strategyTable.expectedValue(cell, PlayerAction.STAND);
+		double doubled = canDouble ? strategyTable.expectedValue(cell, PlayerAction.DOUBLE) : Double.NaN;
+		if (!Double.isNaN(doubled) && doubled > hit && doubled > stand) {
+			return PlayerAction.DOUBLE;
+		}
+		return hit > stand ? PlayerAction.HIT : PlayerAction.STAND;
+	}
+
+	// What a player's rounds in a bulk call added up to
+	private static final class Tally {
+
+		private final Map<String, Integer> outcomes = new LinkedHashMap<>();
+		private int played;
+		private long wagered;
+		private long winnings;
+		private int balance;
+		private String error;
+
+		void add(Tally chunk) {
+			chunk.outcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Integer::sum));
+			played += chunk.played;
+			wagered += chunk.wagered;
+			winnings += chunk.winnings;
+			balance = chunk.balance;
+			error = chunk.error;
+		}
+	}
+
+	// Picks the next action for a scripted hand; null when the script has nothing left (the hand stands)
+	@FunctionalInterface
+	private interface Script {
+
+		PlayerAction next(CompactHand hand, int dealerUpCode, boolean canDouble);
+
+		default boolean doublesFirst() {
+			return false;
+		}
+	}
+}
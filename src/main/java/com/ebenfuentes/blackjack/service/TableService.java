@@ -0,0 +1,263 @@
+package com.ebenfuentes.blackjack.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.ebenfuentes.blackjack.cluster.ClusterNode;
+import com.ebenfuentes.blackjack.cluster.SessionHandoff;
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.SeatView;
+import com.ebenfuentes.blackjack.dto.TableStateResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.event.GameEvent;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+import com.ebenfuentes.blackjack.table.GameTable;
+import com.ebenfuentes.blackjack.table.TableManager;
+
+// Multi-seat rounds: seats act in turn, the dealer plays once for the whole table and every
+// seat is settled with the same rules as a solo round, saved together in one batch.
+@Service
+public class TableService {
+	private final TableManager tableManager;
+	private final GameSessionStore sessionStore;
+	private final ShoeManager shoeManager;
+	private final GameService gameService;
+	private final GameEventPublisher events;
+	private final RoundLog roundLog;
+	private final ClusterNode clusterNode;
+	private final SessionHandoff handoff;
+
+	public TableService(TableManager tableManager, GameSessionStore sessionStore, ShoeManager shoeManager,
+			GameService gameService, GameEventPublisher events, RoundLog roundLog, ClusterNode clusterNode,
+			SessionHandoff handoff) {
+		this.tableManager = tableManager;
+		this.sessionStore = sessionStore;
+		this.shoeManager = shoeManager;
+		this.gameService = gameService;
+		this.events = events;
+		this.roundLog = roundLog;
+		this.clusterNode = clusterNode;
+		this.handoff = handoff;
+	}
+
+	// In a cluster the id is one this node owns, so the table's requests stay here
+	public TableStateResponse createTable(int seatCount) {
+		GameTable table = tableManager.create(seatCount, clusterNode::ownsNewTable);
+		return tableManager.withTable(table.getId(), t -> describe(t, null));
+	}
+
+	public TableStateResponse getTable(int tableId) {
+		return tableManager.withTable(tableId, table -> describe(table, null));
+	}
+
+	// In a cluster the player is first taken over from the node that holds it; seated, it is served here.
+	// The seat is taken under the player's lock (table first, as everywhere), so a solo action either
+	// finishes before it or sees the player seated.
+	public TableStateResponse join(int tableId, int playerId) {
+		handoff.claimForTable(playerId);
+		return tableManager.withTable(tableId, table -> {
+			if (table.isRoundInProgress()) {
+				throw new IllegalStateException("Cannot join while a round is in progress.");
+			}
+			sessionStore.readPlayer(playerId, player -> {
+				if (player.isGameStarted()) {
+					throw new IllegalStateException("Finish the current game before joining a table.");
+				}
+				tableManager.seat(table, playerId);
+				return null;
+			});
+			return describe(table, null);
+		});
+	}
+
+	public TableStateResponse leave(int tableId, int playerId) {
+		TableStateResponse state = tableManager.withTable(tableId, table -> {
+			if (table.isRoundInProgress() && table.getInRound().contains(playerId)) {
+				throw new IllegalStateException("Cannot leave during a round you are playing.");
+			}
+			tableManager.unseat(table, playerId);
+			return describe(table, null);
+		});
+		// Back to the node that owns the player when it is not at a table
+		handoff.returnFromTable(playerId);
+		return state;
+	}
+
+	// Deal every seat that has placed a bet, then the dealer: one card each around the table, twice
+	public TableStateResponse startRound(int tableId) {
+		return tableManager.withTable(tableId, table -> {
+			if (table.isRoundInProgress()) {
+				throw new IllegalStateException("Round already in progress.");
+			}
+			sessionStore.withPlayers(table.getSeats(), players -> {
+				List<Player> betting = new ArrayList<>(players.size());
+				List<Integer> bettingIds = new ArrayList<>(players.size());
+				for (Player player : players) {
+					if (player.getBet() > 0) {
+						betting.add(player);
+						bettingIds.add(player.getId());
+					}
+				}
+				if (betting.isEmpty()) {
+					throw new IllegalStateException("No bets placed at this table.");
+				}
+
+				table.startRound(bettingIds);
+				CompactHand dealerHand = table.getDealerHand();
+				shoeManager.withShoe(ShoeManager.tableKey(tableId), shoe -> {
+					// Reshuffle between rounds once the cut card is out
+					shoe.prepareRound(2 * (betting.size() + 1));
+					for (Player player : betting) {
+						player.getHand().clear();
+						player.setHasStood(false);
+						roundLog.dealtFrom(player.getId(), shoe);
+					}
+					for (int card = 0; card < 2; card++) {
+						for (Player player : betting) {
+							player.receiveCard(shoe.deal());
+						}
+						dealerHand.add(shoe.dealCode());
+					}
+					return null;
+				});
+				for (Player player : betting) {
+					player.setGameStarted(true);
+					sessionStore.changed(player);
+					pushCards(tableId, player, 0);
+				}
+				events.toTable(tableId, GameEvent.cards(null, dealerHand, 0, 1).get(0));
+				return null;
+			});
+			return proceed(table);
+		});
+	}
+
+	public TableStateResponse hit(int tableId, int playerId) {
+		return tableManager.withTable(tableId, table -> {
+			requireTurn(table, playerId);
+			sessionStore.withPlayer(playerId, player -> {
+				roundLog.action(playerId, PlayerAction.HIT);
+				player.receiveCard(shoeManager.deal(ShoeManager.tableKey(tableId)));
+				pushCards(tableId, player, player.getHand().getCompactHand().size() - 1);
+				sessionStore.changed(player);
+				return null;
+			});
+			return proceed(table);
+		});
+	}
+
+	public TableStateResponse stand(int tableId, int playerId) {
+		return tableManager.withTable(tableId, table -> {
+			requireTurn(table, playerId);
+			sessionStore.withPlayer(playerId, player -> {
+				roundLog.action(playerId, PlayerAction.STAND);
+				player.setHasStood(true);
+				sessionStore.changed(player);
+				return null;
+			});
+			table.advanceTurn();
+			return proceed(table);
+		});
+	}
+
+	// Push a seat's cards from index `from` on to the player and the table's observers
+	private void pushCards(int tableId, Player player, int from) {
+		CompactHand hand = player.getHand().getCompactHand();
+		for (GameEvent event : GameEvent.cards(player.getId(), hand, from, hand.size())) {
+			events.toSeat(tableId, player.getId(), event);
+		}
+	}
+
+	private void requireTurn(GameTable table, int playerId) {
+		Integer turn = table.getTurnPlayerId();
+		if (turn == null || turn != playerId) {
+			throw new IllegalStateException("It is not this player's turn.");
+		}
+	}
+
+	// Skip seats with nothing left to decide (blackjack, 21 or bust); the dealer plays once none remain
+	private TableStateResponse proceed(GameTable table) {
+		Integer playerId = table.getTurnPlayerId();
+		while (playerId != null && sessionStore.readPlayer(playerId, player -> player.getHand().getTotalValue()) >= 21) {
+			playerId = table.advanceTurn() ? table.getTurnPlayerId() : null;
+		}
+		return playerId != null ? describe(table, null) : finishRound(table);
+	}
+
+	// Dealer plays once for the whole table, then every seat settles in one batch
+	private TableStateResponse finishRound(GameTable table) {
+		Map<Integer, SeatView> settledSeats = new HashMap<>();
+		List<RoundResultResponse> results = sessionStore.withPlayers(table.getInRound(), players -> {
+			CompactHand dealerHand = table.getDealerHand();
+			boolean anyStanding = false;
+			for (Player player : players) {
+				anyStanding |= !player.getHand().getCompactHand().isBust();
+			}
+			if (anyStanding) {
+				gameService.playDealer(dealerHand, ShoeManager.tableKey(table.getId()));
+			}
+			for (GameEvent event : GameEvent.cards(null, dealerHand, 1, dealerHand.size())) {
+				events.toTable(table.getId(), event);
+			}
+
+			List<RoundResultResponse> settled = new ArrayList<>(players.size());
+			for (Player player : players) {
+				RoundResultResponse result = gameService.settle(player, dealerHand, table.getId());
+				settled.add(result);
+				events.toSeat(table.getId(), player.getId(), GameEvent.outcome(player.getId(), result));
+				events.toSeat(table.getId(), player.getId(),
+						GameEvent.balance(player.getId(), player.getBalance(), player.getBet()));
+				player.setGameStarted(false);
+				sessionStore.roundFinished(player);
+				settledSeats.put(player.getId(), seatView(player));
+			}
+			table.endRound();
+			return settled;
+		});
+		// Described after the batch so no other seat's lock is taken while it is held
+		return describe(table, results, settledSeats);
+	}
+
+	private TableStateResponse describe(GameTable table, List<RoundResultResponse> results) {
+		return describe(table, results, Map.of());
+	}
+
+	private TableStateResponse describe(GameTable table, List<RoundResultResponse> results,
+			Map<Integer, SeatView> knownSeats) {
+		List<SeatView> seats = new ArrayList<>(table.getSeats().size());
+		for (Integer playerId : table.getSeats()) {
+			SeatView seat = knownSeats.get(playerId);
+			seats.add(seat != null ? seat : sessionStore.readPlayer(playerId, TableService::seatView));
+		}
+
+		// Only the face-up card is shown until the dealer has played
+		CompactHand dealerHand = table.getDealerHand();
+		List<CardView> dealerCards = null;
+		Integer dealerValue = null;
+		if (dealerHand.size() > 0 && table.isRoundInProgress()) {
+			dealerCards = List.of(CardView.of(dealerHand.code(0)));
+			dealerValue = CardCodes.value(dealerHand.code(0));
+		} else if (dealerHand.size() > 0) {
+			dealerCards = CardView.listOf(dealerHand);
+			dealerValue = dealerHand.total();
+		}
+		return new TableStateResponse(table.getId(), table.getSeatCount(), table.isRoundInProgress(),
+				table.getTurnPlayerId(), seats, dealerCards, dealerValue, results);
+	}
+
+	private static SeatView seatView(Player player) {
+		return new SeatView(player.getId(), player.getUsername(), CardView.listOf(player.getHand().getCompactHand()),
+				player.getHand().getTotalValue(), player.getBet(), player.getBalance());
+	}
+}
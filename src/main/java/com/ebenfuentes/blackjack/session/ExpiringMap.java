@@ -0,0 +1,187 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// The bounded map behind PlayerCache and IdempotencyCache: entries go by size (oldest first, or
+// least recently used first in access order) and by age since they were stored. Split into
+// segments with one lock each so concurrent callers on different keys rarely meet. A size of 0
+// or less gives a disabled map that stores nothing.
+final class ExpiringMap<K, V> {
+
+	private static final int SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final long ttlNanos;
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	@SuppressWarnings("unchecked")
+	ExpiringMap(int size, long ttlNanos, boolean accessOrder) {
+		this.ttlNanos = ttlNanos;
+		if (size <= 0) {
+			this.segments = (Segment[]) new ExpiringMap.Segment[0];
+			return;
+		}
+		int count = Math.min(SEGMENTS, size);
+		this.segments = (Segment[]) new ExpiringMap.Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment((size + count - 1) / count, accessOrder);
+		}
+	}
+
+	boolean isEnabled() {
+		return segments.length > 0;
+	}
+
+	// The live value, or null when absent or expired (an expired entry is dropped)
+	V get(K key) {
+		if (segments.length == 0) {
+			return null;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			Stored<V> stored = segment.get(key);
+			if (stored == null) {
+				return null;
+			}
+			if (expired(stored)) {
+				segment.remove(key);
+				expirations.increment();
+				return null;
+			}
+			return stored.value;
+		}
+	}
+
+	// Whether get() would return a value right now
+	boolean contains(K key) {
+		if (segments.length == 0) {
+			return false;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			Stored<V> stored = segment.get(key);
+			return stored != null && !expired(stored);
+		}
+	}
+
+	void put(K key, V value) {
+		if (segments.length == 0) {
+			return;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			segment.put(key, new Stored<>(value, System.nanoTime()));
+		}
+	}
+
+	// The live value for the key, or null after storing the given one (an expired entry is replaced)
+	V putIfAbsent(K key, V value) {
+		if (segments.length == 0) {
+			return null;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			Stored<V> existing = segment.get(key);
+			if (existing != null && !expired(existing)) {
+				return existing.value;
+			}
+			if (existing != null) {
+				expirations.increment();
+			}
+			segment.put(key, new Stored<>(value, System.nanoTime()));
+			return null;
+		}
+	}
+
+	// Whether an entry was there to remove
+	boolean remove(K key) {
+		if (segments.length == 0) {
+			return false;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key) != null;
+		}
+	}
+
+	// Removes the entry only while it still holds this value
+	void remove(K key, V value) {
+		if (segments.length == 0) {
+			return;
+		}
+		Segment segment = segment(key);
+		synchronized (segment) {
+			Stored<V> stored = segment.get(key);
+			if (stored != null && stored.value == value) {
+				segment.remove(key);
+			}
+		}
+	}
+
+	// Every key, expired or not
+	List<K> keys() {
+		List<K> keys = new ArrayList<>();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				keys.addAll(segment.keySet());
+			}
+		}
+		return keys;
+	}
+
+	int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	long getEvictions() {
+		return evictions.sum();
+	}
+
+	long getExpirations() {
+		return expirations.sum();
+	}
+
+	private boolean expired(Stored<V> stored) {
+		return System.nanoTime() - stored.storedAt > ttlNanos;
+	}
+
+	private Segment segment(K key) {
+		return segments[Math.floorMod(key.hashCode(), segments.length)];
+	}
+
+	private record Stored<V>(V value, long storedAt) {
+	}
+
+	// Linked map that drops its eldest entry once over capacity
+	private final class Segment extends LinkedHashMap<K, Stored<V>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity, boolean accessOrder) {
+			super(16, 0.75f, accessOrder);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, Stored<V>> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}
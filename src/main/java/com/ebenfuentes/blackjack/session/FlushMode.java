@@ -0,0 +1,14 @@
+package com.ebenfuentes.blackjack.session;
+
+// When live session state is written back to the database
+public enum FlushMode {
+
+	// Save after every action, like the original per-request saves
+	WRITE_THROUGH,
+
+	// Keep the round in memory and save once when it ends; a crash loses only the round in progress
+	ROUND,
+
+	// Queue finished rounds and save them in batches; a crash can also lose up to one flush interval
+	WRITE_BEHIND
+}
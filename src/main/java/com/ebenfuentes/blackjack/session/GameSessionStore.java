@@ -0,0 +1,446 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+
+// Holds live Player state in memory while a round is in progress and decides when it
+// is written back (see FlushMode). Actions for one player are serialized through
+// PlayerActionSerializer, and flushes take the same stripes, so a save never races an action.
+// Balances come from the BalanceLedger: every player entering a session is attached to its account.
+// Between rounds the last saved copy is kept in the PlayerCache for reads and the account is
+// retired; the copy leaves the cache whenever the player enters a session to be changed.
+// Saves are checked against the row version (Player.version); a stale copy is dropped, never saved over
+// the newer row (see save()).
+@Component
+public class GameSessionStore implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(GameSessionStore.class);
+
+	private final PlayerRepository playerRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final SessionProperties properties;
+	private final SessionMetrics metrics;
+
+	private final ConcurrentMap<Integer, Player> sessions = new ConcurrentHashMap<>();
+	private final Set<Integer> changed = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> finished = ConcurrentHashMap.newKeySet();
+	private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final PlayerActionSerializer serializer;
+	private final BalanceLedger ledger;
+	private final PlayerCache cache;
+	private final ScheduledExecutorService flusher;
+
+	public GameSessionStore(PlayerRepository playerRepository, PlatformTransactionManager transactionManager,
+			SessionProperties properties, SessionMetrics metrics, PlayerActionSerializer serializer,
+			BalanceLedger ledger, PlayerCache cache) {
+		this.playerRepository = playerRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.properties = properties;
+		this.metrics = metrics;
+		this.serializer = serializer;
+		this.ledger = ledger;
+		this.cache = cache;
+
+		if (properties.getFlushMode() == FlushMode.WRITE_BEHIND) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "session-write-behind");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = properties.getFlushInterval().toMillis();
+			flusher.scheduleWithFixedDelay(this::flushDirty, interval, interval, TimeUnit.MILLISECONDS);
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	// Run a mutating action against the live player. Saves requested through changed()
+	// or roundFinished() are applied after the action returns, still under the lock. If the action
+	// fails, a player it brought into a session is dropped again (see discard()).
+	public <T> T withPlayer(int playerId, Function<Player, T> action) {
+		return serializer.run(playerId, () -> {
+			Player player = sessions.get(playerId);
+			boolean checkedOut = player == null;
+			if (checkedOut) {
+				player = checkOut(playerId);
+			}
+
+			T result;
+			try {
+				result = action.apply(player);
+			} catch (RuntimeException | Error e) {
+				changed.remove(playerId);
+				finished.remove(playerId);
+				if (checkedOut) {
+					discard(player);
+				}
+				throw e;
+			}
+			applyPendingSaves(player);
+			return result;
+		});
+	}
+
+	// Run one action across several live players (a table's seats). Saves requested for any of
+	// them are written together in one transaction, so a whole table round is a single batch.
+	public <T> T withPlayers(List<Integer> playerIds, Function<List<Player>, T> action) {
+		return serializer.runAll(playerIds, () -> {
+			List<Player> players = new ArrayList<>(playerIds.size());
+			List<Player> checkedOut = new ArrayList<>();
+			try {
+				for (Integer playerId : playerIds) {
+					Player player = sessions.get(playerId);
+					if (player == null) {
+						player = checkOut(playerId);
+						checkedOut.add(player);
+					}
+					players.add(player);
+				}
+			} catch (RuntimeException e) {
+				checkedOut.forEach(this::discard);
+				throw e;
+			}
+
+			T result;
+			try {
+				result = action.apply(players);
+			} catch (RuntimeException | Error e) {
+				changed.removeAll(playerIds);
+				finished.removeAll(playerIds);
+				checkedOut.forEach(this::discard);
+				throw e;
+			}
+			List<Player> toSave = new ArrayList<>(players.size());
+			for (Player player : players) {
+				if (takePendingSave(player)) {
+					toSave.add(player);
+				}
+			}
+			if (!toSave.isEmpty()) {
+				List<Player> saved = save(toSave);
+				metrics.flushed(saved.size());
+				for (Player player : saved) {
+					settle(player.getId(), player);
+				}
+				requireAllSaved(toSave, saved);
+			}
+			return result;
+		});
+	}
+
+	// Read the live player if there is one, otherwise the cached copy or the stored row (which is
+	// then cached). The reader must not change the player.
+	public <T> T readPlayer(int playerId, Function<Player, T> reader) {
+		return serializer.run(playerId, () -> {
+			Player player = sessions.get(playerId);
+			if (player == null) {
+				player = cache.get(playerId);
+				if (player == null) {
+					player = playerRepository.findById(playerId)
+							.orElseThrow(() -> new RuntimeException("Player not found."));
+					cache.put(player);
+				}
+				ledger.refresh(player); // A read opens no account
+			}
+			return reader.apply(player);
+		});
+	}
+
+	// True when an action or read for the player would not load its row: it is live or cached
+	public boolean isInMemory(int playerId) {
+		return sessions.containsKey(playerId) || cache.contains(playerId);
+	}
+
+	// A player row loaded by the caller (the reactive stack reads rows without blocking) enters the
+	// cache as if readPlayer() had loaded it. Ignored if the player got into memory in the meantime,
+	// since that copy is at least as new.
+	public void admit(Player player) {
+		serializer.run(player.getId(), () -> {
+			if (!isInMemory(player.getId())) {
+				ledger.refresh(player);
+				cache.put(player);
+			}
+			return null;
+		});
+	}
+
+	// Every player this node holds anything for: live, cached, or with an open ledger account
+	public Set<Integer> heldPlayerIds() {
+		Set<Integer> playerIds = new HashSet<>(sessions.keySet());
+		playerIds.addAll(cache.ids());
+		playerIds.addAll(ledger.accountIds());
+		return playerIds;
+	}
+
+	// Hand the player to another node: write whatever the row does not have yet (a live session, a
+	// pending write-behind save, a balance the ledger has not written back) and forget the player
+	// here, session, cache and ledger account alike. A clean cached copy is only dropped: saving it
+	// could put an old state over the row. Taken under the player's lock, so an action in progress
+	// finishes first. Returns false if nothing was held.
+	public boolean release(int playerId) {
+		return serializer.run(playerId, () -> {
+			Player live = sessions.remove(playerId);
+			Player cached = cache.get(playerId);
+			cache.invalidate(playerId);
+			boolean pending = changed.remove(playerId) | finished.remove(playerId) | dirty.remove(playerId);
+			boolean held = live != null || cached != null || ledger.get(playerId) != null;
+			if (live != null || pending || ledger.isUnreconciled(playerId)) {
+				Player player = live != null ? live : pending && cached != null ? cached : load(playerId);
+				ledger.attach(player);
+				metrics.flushed(save(List.of(player)).size()); // A stale copy is dropped; the row stands
+			}
+			ledger.release(playerId);
+			return held;
+		});
+	}
+
+	// The row was changed outside the session store; drop the cached copy so the next read reloads it
+	public void evict(int playerId) {
+		serializer.run(playerId, () -> {
+			cache.invalidate(playerId);
+			return null;
+		});
+	}
+
+	// Mid-round state change; only written immediately in WRITE_THROUGH mode
+	public void changed(Player player) {
+		changed.add(player.getId());
+	}
+
+	// The round is over (settled or reset); the player becomes eligible for a flush
+	public void roundFinished(Player player) {
+		if (!finished.add(player.getId())) {
+			metrics.roundCompleted(); // Several rounds in one action (scripted rounds); count the earlier one now
+		}
+	}
+
+	// A new player is idle, so its account opens with its first action
+	public Player create(Player player) {
+		Player saved = playerRepository.save(player);
+		cache.put(saved);
+		return saved;
+	}
+
+	// One transaction for the whole list so inserts go out in JDBC batches
+	public List<Player> createAll(List<Player> players) {
+		List<Player> saved = transactionTemplate.execute(status -> playerRepository.saveAll(players));
+		for (Player player : saved) {
+			cache.put(player);
+		}
+		return saved;
+	}
+
+	public int activeSessions() {
+		return sessions.size();
+	}
+
+	public int pendingWrites() {
+		return dirty.size();
+	}
+
+	// Drain the write-behind queue in batches, one transaction per batch
+	public void flushDirty() {
+		try {
+			List<Integer> batch = new ArrayList<>(properties.getBatchSize());
+			Iterator<Integer> it = dirty.iterator();
+			while (it.hasNext()) {
+				batch.add(it.next());
+				it.remove();
+				if (batch.size() == properties.getBatchSize()) {
+					flushBatch(batch);
+					batch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				flushBatch(batch);
+			}
+		} catch (RuntimeException e) {
+			log.error("Write-behind flush failed", e);
+		} finally {
+			flushScheduled.set(false);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (flusher != null) {
+			flusher.shutdown();
+			flushDirty();
+		}
+	}
+
+	private void applyPendingSaves(Player player) {
+		if (takePendingSave(player)) {
+			List<Player> saved = save(List.of(player));
+			requireAllSaved(List.of(player), saved);
+			metrics.flushed(1);
+			settle(player.getId(), saved.get(0));
+		}
+	}
+
+	// True when the flush mode wants this player written now; write-behind players are queued instead
+	private boolean takePendingSave(Player player) {
+		int playerId = player.getId();
+		boolean roundOver = finished.remove(playerId);
+		boolean midRound = changed.remove(playerId);
+		if (roundOver) {
+			metrics.roundCompleted();
+		}
+
+		FlushMode mode = properties.getFlushMode();
+		if (mode == FlushMode.WRITE_THROUGH && (roundOver || midRound)
+				|| mode == FlushMode.ROUND && roundOver) {
+			return true;
+		}
+		if (mode == FlushMode.WRITE_BEHIND && roundOver) {
+			dirty.add(playerId);
+			if (flusher != null && dirty.size() >= properties.getBatchSize()
+					&& flushScheduled.compareAndSet(false, true)) {
+				flusher.execute(this::flushDirty);
+			}
+		}
+		return false;
+	}
+
+	private void flushBatch(List<Integer> playerIds) {
+		try {
+			serializer.runAll(playerIds, () -> {
+				List<Player> players = new ArrayList<>(playerIds.size());
+				for (Integer playerId : playerIds) {
+					Player player = sessions.get(playerId);
+					if (player != null) {
+						players.add(player);
+					}
+				}
+				List<Player> saved = save(players);
+				metrics.flushed(saved.size());
+				for (Player player : saved) {
+					settle(player.getId(), player);
+				}
+				return null;
+			});
+		} catch (RuntimeException e) {
+			dirty.addAll(playerIds); // Retry on the next interval
+			throw e;
+		}
+	}
+
+	// Save in one transaction. Every change to a live player happens under its lock, so a newer row
+	// version means the row was written outside this store (another node, a manual fix) after the
+	// copy was loaded. Saving the copy anyway would overwrite that change, so a stale copy is
+	// dropped instead (see conflict()) and left out of the returned list. On a conflict the batch is
+	// saved again player by player, so only the stale ones are lost.
+	private List<Player> save(List<Player> players) {
+		try {
+			return transactionTemplate.execute(status -> playerRepository.saveAll(players));
+		} catch (OptimisticLockingFailureException e) {
+			if (players.size() == 1) {
+				conflict(players.get(0));
+				return List.of();
+			}
+		}
+		List<Player> saved = new ArrayList<>(players.size());
+		for (Player player : players) {
+			try {
+				saved.add(transactionTemplate.execute(status -> playerRepository.save(player)));
+			} catch (OptimisticLockingFailureException e) {
+				conflict(player);
+			}
+		}
+		return saved;
+	}
+
+	// Forget everything held for the player, ledger account included, so the next action starts from
+	// the stored row. Called with the player's lock held.
+	private void conflict(Player player) {
+		int playerId = player.getId();
+		metrics.versionConflict();
+		log.warn("Player {} row is newer than the copy in memory; dropping the copy", playerId);
+		sessions.remove(playerId);
+		cache.invalidate(playerId);
+		changed.remove(playerId);
+		finished.remove(playerId);
+		dirty.remove(playerId);
+		ledger.release(playerId);
+	}
+
+	// Fail the request if any of its players lost a conflict; the others' saves stand
+	private void requireAllSaved(List<Player> players, List<Player> saved) {
+		if (saved.size() < players.size()) {
+			Set<Integer> savedIds = new HashSet<>();
+			for (Player player : saved) {
+				savedIds.add(player.getId());
+			}
+			for (Player player : players) {
+				if (!savedIds.contains(player.getId())) {
+					throw new PlayerConflictException(player.getId());
+				}
+			}
+		}
+	}
+
+	// Replace the live copy with the saved one (which carries generated ids), or move the saved
+	// one to the cache once the player is between rounds and nothing is pending. The row now holds
+	// the account's state, so the account is retired too and the next action opens it again.
+	private void settle(int playerId, Player saved) {
+		ledger.persisted(saved);
+		if (!saved.isGameStarted() && saved.getBet() == 0 && !dirty.contains(playerId)) {
+			sessions.remove(playerId);
+			cache.put(saved);
+			ledger.retire(playerId);
+		} else {
+			sessions.put(playerId, saved);
+		}
+	}
+
+	// Bring the player into a session to be changed: a cached copy is taken out of the cache
+	// (so no reader sees it mid-change), otherwise the row is loaded
+	private Player checkOut(int playerId) {
+		Player player = cache.get(playerId);
+		if (player != null) {
+			cache.invalidate(playerId);
+			ledger.attach(player);
+		} else {
+			player = load(playerId);
+		}
+		sessions.put(playerId, player);
+		return player;
+	}
+
+	// A failed action leaves behind a copy it may have half changed; the row (with the ledger's
+	// balance) is the truth, so the next action or read loads it again. Only for players the action
+	// checked out: one already live was mid-round before the action and stays.
+	private void discard(Player player) {
+		sessions.remove(player.getId(), player);
+	}
+
+	// The stored row may trail the ledger (reconcile runs on an interval), so the account wins
+	private Player load(int playerId) {
+		Player player = playerRepository.findById(playerId).orElseThrow(() -> new RuntimeException("Player not found."));
+		ledger.attach(player);
+		return player;
+	}
+}
@@ -0,0 +1,135 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Responses of mutating requests by client idempotency key, so a retried hit or double-down gets
+// the first response back instead of a second card or a second stake. A key belongs to one player
+// and one action, and to the request body it first came with: reusing it for another action or
+// another body is rejected with 422 (requests that are not about one player share a scope, so two
+// clients picking the same key must not get each other's response). A duplicate that arrives while the
+// first request is still running waits for its response. Failed requests are not kept, so they can
+// be retried. Bounded like the PlayerCache (see ExpiringMap), but by age of insertion: oldest first.
+@Component
+public class IdempotencyCache {
+
+	static final int MAX_KEY_LENGTH = 128;
+
+	// Map keys sorted, so the same JSON object fingerprints the same whatever order its fields came in
+	private static final ObjectMapper FINGERPRINT = new ObjectMapper()
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+	private final ExpiringMap<Key, Entry> entries;
+	private final LongAdder replays = new LongAdder();
+	private final LongAdder stored = new LongAdder();
+
+	public IdempotencyCache(SessionProperties properties) {
+		this.entries = new ExpiringMap<>(properties.getIdempotencySize(), properties.getIdempotencyTtl().toNanos(),
+				false);
+	}
+
+	public boolean isEnabled() {
+		return entries.isEnabled();
+	}
+
+	// Run the request once per key; a null key (or a disabled cache) always runs it. playerId is 0
+	// for requests that are not about one player (creating players, bulk rounds).
+	public <T> T execute(int playerId, String action, String key, Supplier<T> request) {
+		return execute(playerId, action, key, null, request);
+	}
+
+	// As above for a request with a body (the parsed object); a replay must carry the same body
+	@SuppressWarnings("unchecked")
+	public <T> T execute(int playerId, String action, String key, Object body, Supplier<T> request) {
+		if (key == null || !entries.isEnabled()) {
+			return request.get();
+		}
+		if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+		}
+
+		Key id = new Key(playerId, key);
+		Entry entry = new Entry(action, fingerprint(body), new CompletableFuture<>());
+		Entry existing = entries.putIfAbsent(id, entry);
+		if (existing != null) {
+			if (!existing.action.equals(action) || !MessageDigest.isEqual(existing.body, entry.body)) {
+				throw new IdempotencyKeyReusedException();
+			}
+			replays.increment();
+			try {
+				return (T) existing.response.join(); // Waits while the first request is still running
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+
+		// Whatever the request throws, duplicates waiting on it must be released and the key freed
+		T response;
+		try {
+			response = request.get();
+		} catch (Throwable e) {
+			entries.remove(id, entry);
+			entry.response.completeExceptionally(e);
+			throw e;
+		}
+		entry.response.complete(response);
+		stored.increment();
+		return response;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getReplays() {
+		return replays.sum();
+	}
+
+	public long getStored() {
+		return stored.sum();
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", isEnabled());
+		stats.put("size", size());
+		stats.put("stored", stored.sum());
+		stats.put("replays", replays.sum());
+		stats.put("evictions", entries.getEvictions());
+		stats.put("expirations", entries.getExpirations());
+		return stats;
+	}
+
+	// SHA-256 of the body as JSON, or null without one
+	private static byte[] fingerprint(Object body) {
+		if (body == null) {
+			return null;
+		}
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(FINGERPRINT.writeValueAsBytes(body));
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Could not fingerprint the request body.", e);
+		}
+	}
+
+	private record Key(int playerId, String key) {
+	}
+
+	private record Entry(String action, byte[] body, CompletableFuture<Object> response) {
+	}
+}
@@ -0,0 +1,16 @@
+package com.ebenfuentes.blackjack.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// An idempotency key came back with another action or another body than the request it was first
+// used for. Replaying the stored response would answer a different request, so the client sees 422.
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyKeyReusedException() {
+		super("Idempotency key was already used for another request.");
+	}
+}
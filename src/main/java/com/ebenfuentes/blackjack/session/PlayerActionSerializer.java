@@ -0,0 +1,62 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+// Orders actions per player without a global lock. Each player id maps to one of a fixed set
+// of stripe locks, so two requests for the same player run one after the other (in arrival
+// order when the locks are fair) while other players proceed in parallel. ReentrantLock rather
+// than synchronized, so a virtual thread waiting for its turn releases its carrier thread.
+@Component
+public class PlayerActionSerializer {
+
+	private final ReentrantLock[] stripes;
+
+	public PlayerActionSerializer(SessionProperties properties) {
+		int stripeCount = properties.getLockStripes();
+		int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+		this.stripes = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			stripes[i] = new ReentrantLock(properties.isFairLocks());
+		}
+	}
+
+	public <T> T run(int playerId, Supplier<T> action) {
+		ReentrantLock lock = stripeFor(playerId);
+		lock.lock();
+		try {
+			return action.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Hold every stripe the given players map to; stripes are taken in index order so two
+	// batches can never deadlock
+	public <T> T runAll(Collection<Integer> playerIds, Supplier<T> action) {
+		TreeMap<Integer, ReentrantLock> locks = new TreeMap<>();
+		for (Integer playerId : playerIds) {
+			int index = stripeIndex(playerId);
+			locks.put(index, stripes[index]);
+		}
+		locks.values().forEach(ReentrantLock::lock);
+		try {
+			return action.get();
+		} finally {
+			locks.descendingMap().values().forEach(ReentrantLock::unlock);
+		}
+	}
+
+	int stripeIndex(int playerId) {
+		int h = playerId * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (stripes.length - 1);
+	}
+
+	private ReentrantLock stripeFor(int playerId) {
+		return stripes[stripeIndex(playerId)];
+	}
+}
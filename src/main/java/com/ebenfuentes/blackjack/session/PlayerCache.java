@@ -0,0 +1,105 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.model.Player;
+
+// Players between rounds, kept after their last save so read-only endpoints (balance, status,
+// hand value) do not reload the row and both EAGER hands on every request. Bounded by size
+// (least recently used goes first) and by age since the entry was stored (see ExpiringMap).
+//
+// Only GameSessionStore touches it: a player is taken out when it enters a session to be changed
+// and the saved copy is put back when the session ends, so a cached entry is always the last
+// thing written. Balances are re-mirrored from an open ledger account on every read (see
+// BalanceLedger.refresh); a cached player usually has none, its account retired with the save.
+@Component
+public class PlayerCache {
+
+	private final ExpiringMap<Integer, Player> players;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	public PlayerCache(SessionProperties properties) {
+		this.players = new ExpiringMap<>(properties.getCacheSize(), properties.getCacheTtl().toNanos(), true);
+	}
+
+	public boolean isEnabled() {
+		return players.isEnabled();
+	}
+
+	// The cached player, or null on a miss (absent or expired)
+	Player get(int playerId) {
+		if (!players.isEnabled()) {
+			return null;
+		}
+		Player player = players.get(playerId);
+		if (player == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return player;
+	}
+
+	// Whether get() would hit right now; not counted as a hit or a miss
+	boolean contains(int playerId) {
+		return players.contains(playerId);
+	}
+
+	void put(Player player) {
+		players.put(player.getId(), player);
+	}
+
+	// The player is about to change (or was changed elsewhere); the next read must not see this copy
+	public void invalidate(int playerId) {
+		if (players.remove(playerId)) {
+			invalidations.increment();
+		}
+	}
+
+	// Ids of every cached player, expired or not
+	List<Integer> ids() {
+		return players.keys();
+	}
+
+	public int size() {
+		return players.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return players.getEvictions();
+	}
+
+	public double hitRatio() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", isEnabled());
+		stats.put("size", size());
+		stats.put("hits", hits.sum());
+		stats.put("misses", misses.sum());
+		stats.put("hitRatio", hitRatio());
+		stats.put("evictions", players.getEvictions());
+		stats.put("expirations", players.getExpirations());
+		stats.put("invalidations", invalidations.sum());
+		return stats;
+	}
+}
@@ -0,0 +1,16 @@
+package com.ebenfuentes.blackjack.session;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A save found a newer player row than the copy the action ran on. The copy is dropped and the
+// next request works from the stored row; the client sees 409 and can retry.
+@ResponseStatus(HttpStatus.CONFLICT)
+public class PlayerConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PlayerConflictException(int playerId) {
+		super("Player " + playerId + " was changed elsewhere; retry the request.");
+	}
+}
@@ -0,0 +1,69 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+// Rounds, flushes and SQL statements since startup, so statements per round can be
+// compared across flush modes
+@Component
+public class SessionMetrics {
+
+	private final SqlStatementCounter sqlStatementCounter;
+	private final LongAdder rounds = new LongAdder();
+	private final LongAdder flushes = new LongAdder();
+	private final LongAdder playersFlushed = new LongAdder();
+	private final LongAdder versionConflicts = new LongAdder();
+
+	public SessionMetrics(SqlStatementCounter sqlStatementCounter) {
+		this.sqlStatementCounter = sqlStatementCounter;
+	}
+
+	void roundCompleted() {
+		rounds.increment();
+	}
+
+	void flushed(int players) {
+		flushes.increment();
+		playersFlushed.add(players);
+	}
+
+	void versionConflict() {
+		versionConflicts.increment();
+	}
+
+	public long getVersionConflicts() {
+		return versionConflicts.sum();
+	}
+
+	public long getRounds() {
+		return rounds.sum();
+	}
+
+	public long getSqlStatements() {
+		return sqlStatementCounter.getCount();
+	}
+
+	public long getSqlWrites() {
+		return sqlStatementCounter.getWriteCount();
+	}
+
+	public double getStatementsPerRound() {
+		long completed = getRounds();
+		return completed == 0 ? 0 : (double) getSqlStatements() / completed;
+	}
+
+	public Map<String, Object> snapshot() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("rounds", getRounds());
+		stats.put("sqlStatements", getSqlStatements());
+		stats.put("sqlWrites", getSqlWrites());
+		stats.put("statementsPerRound", getStatementsPerRound());
+		stats.put("flushes", flushes.sum());
+		stats.put("playersFlushed", playersFlushed.sum());
+		stats.put("versionConflicts", versionConflicts.sum());
+		return stats;
+	}
+}
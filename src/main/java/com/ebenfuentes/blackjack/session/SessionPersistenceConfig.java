@@ -0,0 +1,20 @@
+package com.ebenfuentes.blackjack.session;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SessionPersistenceConfig {
+
+	@Bean
+	public SqlStatementCounter sqlStatementCounter() {
+		return new SqlStatementCounter();
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer statementCounterCustomizer(SqlStatementCounter counter) {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+	}
+}
@@ -0,0 +1,109 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.session")
+public class SessionProperties {
+
+	private FlushMode flushMode = FlushMode.ROUND;
+
+	// How often the write-behind queue is drained
+	private Duration flushInterval = Duration.ofMillis(250);
+
+	// Players saved per write-behind transaction; a full batch also triggers an early flush
+	private int batchSize = 100;
+
+	// Player ids are hashed onto this many locks; more stripes mean fewer unrelated players
+	// waiting on each other when thousands of sessions are active
+	private int lockStripes = 1024;
+
+	// Fair stripes hand the lock to waiters in arrival order, so same-player actions apply in
+	// the order their requests came in
+	private boolean fairLocks = true;
+
+	// Players kept in memory between rounds for read-only endpoints; 0 turns the cache off
+	private int cacheSize = 10_000;
+
+	// A cached player is reloaded from its row once it is this old
+	private Duration cacheTtl = Duration.ofMinutes(5);
+
+	// Responses kept for Idempotency-Key replays; 0 turns replays off (keys are then ignored)
+	private int idempotencySize = 100_000;
+
+	// How long a key is remembered; a retry later than this runs the request again
+	private Duration idempotencyTtl = Duration.ofMinutes(10);
+
+	public FlushMode getFlushMode() {
+		return flushMode;
+	}
+
+	public void setFlushMode(FlushMode flushMode) {
+		this.flushMode = flushMode;
+	}
+
+	public Duration getFlushInterval() {
+		return flushInterval;
+	}
+
+	public void setFlushInterval(Duration flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getLockStripes() {
+		return lockStripes;
+	}
+
+	public void setLockStripes(int lockStripes) {
+		this.lockStripes = lockStripes;
+	}
+
+	public boolean isFairLocks() {
+		return fairLocks;
+	}
+
+	public void setFairLocks(boolean fairLocks) {
+		this.fairLocks = fairLocks;
+	}
+
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public void setCacheSize(int cacheSize) {
+		this.cacheSize = cacheSize;
+	}
+
+	public Duration getCacheTtl() {
+		return cacheTtl;
+	}
+
+	public void setCacheTtl(Duration cacheTtl) {
+		this.cacheTtl = cacheTtl;
+	}
+
+	public int getIdempotencySize() {
+		return idempotencySize;
+	}
+
+	public void setIdempotencySize(int idempotencySize) {
+		this.idempotencySize = idempotencySize;
+	}
+
+	public Duration getIdempotencyTtl() {
+		return idempotencyTtl;
+	}
+
+	public void setIdempotencyTtl(Duration idempotencyTtl) {
+		this.idempotencyTtl = idempotencyTtl;
+	}
+}
@@ -0,0 +1,49 @@
+package com.ebenfuentes.blackjack.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts every SQL statement Hibernate prepares; registered through SessionPersistenceConfig
+public class SqlStatementCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder writes = new LongAdder();
+	private final transient ThreadLocal<long[]> perThread = ThreadLocal.withInitial(() -> new long[1]);
+
+	@Override
+	public String inspect(String sql) {
+		statements.increment();
+		perThread.get()[0]++;
+		if (isWrite(sql)) {
+			writes.increment();
+		}
+		return sql;
+	}
+
+	public long getCount() {
+		return statements.sum();
+	}
+
+	// Statements prepared by the calling thread so far; the difference across a request is what it issued
+	public long getThreadCount() {
+		return perThread.get()[0];
+	}
+
+	// INSERT, UPDATE and DELETE statements only
+	public long getWriteCount() {
+		return writes.sum();
+	}
+
+	private static boolean isWrite(String sql) {
+		int i = 0;
+		while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+			i++;
+		}
+		return sql.regionMatches(true, i, "insert", 0, 6)
+				|| sql.regionMatches(true, i, "update", 0, 6)
+				|| sql.regionMatches(true, i, "delete", 0, 6);
+	}
+}
@@ -0,0 +1,138 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import java.util.random.RandomGenerator;
+
+import com.ebenfuentes.blackjack.model.Card;
+
+// An N-deck shoe of primitive card codes owned by one table or player. Cards are dealt
+// from the tail and a cut card marks when the next round should start on a fresh shoe.
+// Not thread-safe on its own: callers go through ShoeManager, which serializes access per shoe.
+// When the shuffler is seeded, every reshuffle deals the next numbered shoe of the current seed.
+public class Shoe {
+
+	private final ShoeShuffler shuffler;
+	private byte[] cards;
+	private int remaining;
+	private RandomGenerator random;
+	private long shuffles;
+	private ShoeSeed seed;
+	private long shoeIndex = -1;
+
+	public Shoe(ShoeShuffler shuffler) {
+		this.shuffler = shuffler;
+		reset();
+	}
+
+	// Swap in a freshly shuffled shoe
+	public void reset() {
+		if (shuffler.isSeeded()) {
+			if (seed == null) {
+				seed = shuffler.newSeed();
+			}
+			cards = shuffler.seededShoe(seed, ++shoeIndex, cards);
+		} else {
+			if (cards != null) {
+				shuffler.recycle(cards);
+			}
+			cards = shuffler.nextShuffled(this::random);
+		}
+		remaining = cards.length;
+		shuffles++;
+	}
+
+	// Called between rounds: reshuffle once the cut card is out or too few cards remain
+	public boolean prepareRound(int minCards) {
+		if (needsReshuffle() || remaining < minCards) {
+			reset();
+			return true;
+		}
+		return false;
+	}
+
+	// Next card code from the tail, or -1 when the shoe is empty
+	public int dealCode() {
+		return remaining == 0 ? -1 : cards[--remaining];
+	}
+
+	// Deal a shared Card instance; returns null when the shoe is empty
+	public Card deal() {
+		int code = dealCode();
+		return code < 0 ? null : Card.of(code);
+	}
+
+	// Next card code for a round already dealt: a shoe that runs out is replaced by a fresh one (the
+	// next numbered shoe when seeded, so a replay carries on from that shoe's tail) and play goes on
+	public int drawCode() {
+		if (remaining == 0) {
+			reset();
+		}
+		return cards[--remaining];
+	}
+
+	// Retire the seed: the next shoe is shoe 0 of a fresh one. The old seed is returned and may be
+	// revealed, since none of its shoes will be dealt from again.
+	public ShoeSeed rotateSeed() {
+		if (!shuffler.isSeeded()) {
+			throw new IllegalStateException("Shoes are not seeded.");
+		}
+		ShoeSeed retired = seed;
+		seed = shuffler.newSeed();
+		shoeIndex = -1;
+		reset();
+		return retired;
+	}
+
+	// The position to carry this shoe to another node; null when shoes are not seeded (an unseeded
+	// shoe cannot be rebuilt, so the next owner starts a fresh one)
+	public ShoeState state() {
+		return seed == null ? null : new ShoeState(seed.toHex(), shoeIndex, remaining);
+	}
+
+	// Continue a shoe handed over by another node: rebuild its numbered shoe and skip what was dealt
+	public void restore(ShoeState state) {
+		if (!shuffler.isSeeded()) {
+			throw new IllegalStateException("Shoes are not seeded.");
+		}
+		seed = ShoeSeed.fromHex(state.seed());
+		shoeIndex = state.shoeIndex();
+		cards = shuffler.seededShoe(seed, shoeIndex, cards);
+		remaining = Math.min(state.remaining(), cards.length);
+	}
+
+	// Null when the shuffler is not seeded
+	public ShoeSeed getSeed() {
+		return seed;
+	}
+
+	// Number of the shoe in play under the current seed
+	public long getShoeIndex() {
+		return shoeIndex;
+	}
+
+	public boolean needsReshuffle() {
+		return remaining <= shuffler.cutCard();
+	}
+
+	public int remaining() {
+		return remaining;
+	}
+
+	public int size() {
+		return cards.length;
+	}
+
+	public boolean isEmpty() {
+		return remaining == 0;
+	}
+
+	public long getShuffles() {
+		return shuffles;
+	}
+
+	private RandomGenerator random() {
+		if (random == null) {
+			random = shuffler.newRandom();
+		}
+		return random;
+	}
+}
@@ -0,0 +1,190 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.model.Card;
+
+// Owns one independent shoe per key (player or table). Access to a shoe is
+// serialized through a fixed set of striped locks, so requests for different
+// keys only contend when they hash to the same stripe. Each stripe keeps its
+// shoes least recently used first and drops the eldest past its share of
+// maxShoes, so shoes of players and tables that stopped playing do not pile up. A dropped shoe's
+// seed is retired and handed to the seed listener (with the number of shoes dealt from it), so
+// rounds already dealt from it can still be checked.
+@Component
+public class ShoeManager {
+
+	private final ShoeShuffler shuffler;
+	private final ReentrantLock[] stripes;
+	private final Shoes[] shoes;
+	private final int mask;
+	private final LongAdder evictions = new LongAdder();
+	private volatile ObjLongConsumer<ShoeSeed> retiredSeeds = (seed, shoes) -> {
+	};
+
+	public ShoeManager(ShoeShuffler shuffler, ShoeProperties properties) {
+		this.shuffler = shuffler;
+		int stripeCount = properties.getLockStripes();
+		int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+		int capacity = Math.max(1, (properties.getMaxShoes() + size - 1) / size);
+		this.stripes = new ReentrantLock[size];
+		this.shoes = new Shoes[size];
+		for (int i = 0; i < size; i++) {
+			stripes[i] = new ReentrantLock();
+			shoes[i] = new Shoes(capacity);
+		}
+		this.mask = size - 1;
+	}
+
+	public static long playerKey(int playerId) {
+		return playerId;
+	}
+
+	// Table shoes live above the int range so they never collide with a player's shoe
+	public static long tableKey(int tableId) {
+		return (1L << 32) | (tableId & 0xFFFFFFFFL);
+	}
+
+	// Where the seeds of dropped shoes go
+	public void onSeedRetired(ObjLongConsumer<ShoeSeed> listener) {
+		this.retiredSeeds = listener;
+	}
+
+	public boolean isSeeded() {
+		return shuffler.isSeeded();
+	}
+
+	// Run an action against the shoe for this key while holding its stripe lock
+	public <T> T withShoe(long key, Function<Shoe, T> action) {
+		int stripe = stripe(key);
+		ReentrantLock lock = stripes[stripe];
+		lock.lock();
+		try {
+			Shoe shoe = shoes[stripe].computeIfAbsent(key, k -> new Shoe(shuffler));
+			return action.apply(shoe);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Like withShoe, but for reads: null instead of creating a shoe that is not there
+	public <T> T withExistingShoe(long key, Function<Shoe, T> action) {
+		int stripe = stripe(key);
+		ReentrantLock lock = stripes[stripe];
+		lock.lock();
+		try {
+			Shoe shoe = shoes[stripe].get(key);
+			return shoe == null ? null : action.apply(shoe);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Deal a single card mid-round, moving on to a fresh shoe if this one has run out (see Shoe.drawCode)
+	public Card deal(long key) {
+		return withShoe(key, shoe -> Card.of(shoe.drawCode()));
+	}
+
+	public void reshuffle(long key) {
+		withShoe(key, shoe -> {
+			shoe.reset();
+			return null;
+		});
+	}
+
+	// Take the shoe off this node, returning where it stood (null if there was none or it is unseeded)
+	public ShoeState export(long key) {
+		int stripe = stripe(key);
+		ReentrantLock lock = stripes[stripe];
+		lock.lock();
+		try {
+			Shoe shoe = shoes[stripe].remove(key);
+			return shoe == null ? null : shoe.state();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Continue a shoe exported by another node under the same key
+	public void restore(long key, ShoeState state) {
+		withShoe(key, shoe -> {
+			shoe.restore(state);
+			return null;
+		});
+	}
+
+	// Players with a shoe on this node
+	public List<Integer> playerIds() {
+		List<Integer> playerIds = new ArrayList<>();
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i].lock();
+			try {
+				for (Long key : shoes[i].keySet()) {
+					if (key >= 0 && key <= Integer.MAX_VALUE) {
+						playerIds.add(key.intValue());
+					}
+				}
+			} finally {
+				stripes[i].unlock();
+			}
+		}
+		return playerIds;
+	}
+
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i].lock();
+			try {
+				size += shoes[i].size();
+			} finally {
+				stripes[i].unlock();
+			}
+		}
+		return size;
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	private int stripe(long key) {
+		int h = Long.hashCode(key) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	// One stripe's shoes in access order; only touched with the stripe's lock held
+	private final class Shoes extends LinkedHashMap<Long, Shoe> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Shoes(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Shoe> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				ShoeSeed seed = eldest.getValue().getSeed();
+				if (seed != null) {
+					retiredSeeds.accept(seed, eldest.getValue().getShoeIndex() + 1);
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+}
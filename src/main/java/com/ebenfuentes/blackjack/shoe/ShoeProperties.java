@@ -0,0 +1,96 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.shoe")
+public class ShoeProperties {
+
+	// Number of 52-card decks per shoe
+	private int decks = 6;
+
+	// Fraction of the shoe dealt before the cut card forces a reshuffle
+	private double penetration = 0.75;
+
+	// Any java.util.random algorithm name, e.g. L64X128MixRandom, Xoshiro256PlusPlus, SplittableRandom
+	private String rng = "L64X128MixRandom";
+
+	// Shuffle every shoe from a committed per-shoe-key seed (see ShoeSeed) so it can be replayed;
+	// false shuffles with the rng above, which cannot be reproduced
+	private boolean seeded = true;
+
+	// Shoes kept shuffled ahead of time by the background shuffler when not seeded; 0 shuffles inline
+	private int preshuffled = 4;
+
+	// Lock stripes guarding the per-key shoes
+	private int lockStripes = 64;
+
+	// Shoes kept on this node (least recently used go first). A player whose shoe was dropped starts
+	// a fresh one under a new seed, so fetch the seed commitment again after a long break; the old
+	// seed is revealed in the round log's seeds.log.
+	private int maxShoes = 100_000;
+
+	public int getDecks() {
+		return decks;
+	}
+
+	public void setDecks(int decks) {
+		if (decks < 1) {
+			throw new IllegalArgumentException("A shoe needs at least one deck.");
+		}
+		this.decks = decks;
+	}
+
+	public double getPenetration() {
+		return penetration;
+	}
+
+	public void setPenetration(double penetration) {
+		if (penetration <= 0 || penetration > 1) {
+			throw new IllegalArgumentException("Penetration must be in (0, 1].");
+		}
+		this.penetration = penetration;
+	}
+
+	public String getRng() {
+		return rng;
+	}
+
+	public void setRng(String rng) {
+		this.rng = rng;
+	}
+
+	public boolean isSeeded() {
+		return seeded;
+	}
+
+	public void setSeeded(boolean seeded) {
+		this.seeded = seeded;
+	}
+
+	public int getPreshuffled() {
+		return preshuffled;
+	}
+
+	public void setPreshuffled(int preshuffled) {
+		this.preshuffled = preshuffled;
+	}
+
+	public int getLockStripes() {
+		return lockStripes;
+	}
+
+	public void setLockStripes(int lockStripes) {
+		this.lockStripes = lockStripes;
+	}
+
+	public int getMaxShoes() {
+		return maxShoes;
+	}
+
+	public void setMaxShoes(int maxShoes) {
+		if (maxShoes < 1) {
+			throw new IllegalArgumentException("At least one shoe must be kept.");
+		}
+		this.maxShoes = maxShoes;
+	}
+}
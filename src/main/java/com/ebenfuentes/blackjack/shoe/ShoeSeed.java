@@ -0,0 +1,80 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.ChaChaRandom;
+import com.ebenfuentes.blackjack.engine.FisherYates;
+
+// The secret behind a run of shoes, so any of them can be rebuilt from 32 bytes and its number.
+// Shoe n starts from the ordered shoe (position i holds card code i % 52) and is shuffled with
+// Fisher-Yates (i from the last position down to 1, swap with j = draw in [0, i]) using
+// ChaChaRandom keyed by the seed with n as the stream number. Cards are dealt from the last position.
+// The commitment (SHA-256 of the seed, hex) is published before the first card is dealt; the seed
+// itself only once it is retired, when anyone can check it against the commitment and replay.
+public final class ShoeSeed {
+
+	public static final int BYTES = ChaChaRandom.KEY_BYTES;
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private final byte[] seed;
+	private final String commitment;
+
+	private ShoeSeed(byte[] seed) {
+		this.seed = seed;
+		this.commitment = commit(seed);
+	}
+
+	public static ShoeSeed generate(SecureRandom random) {
+		byte[] seed = new byte[BYTES];
+		random.nextBytes(seed);
+		return new ShoeSeed(seed);
+	}
+
+	// A revealed seed, e.g. to replay a disputed shoe
+	public static ShoeSeed fromHex(String hex) {
+		byte[] seed = HEX.parseHex(hex);
+		if (seed.length != BYTES) {
+			throw new IllegalArgumentException("A shoe seed is " + BYTES + " bytes (" + 2 * BYTES + " hex digits).");
+		}
+		return new ShoeSeed(seed);
+	}
+
+	public String commitment() {
+		return commitment;
+	}
+
+	public String toHex() {
+		return HEX.formatHex(seed);
+	}
+
+	public boolean matches(String publishedCommitment) {
+		return MessageDigest.isEqual(commitment.getBytes(), publishedCommitment.toLowerCase().getBytes());
+	}
+
+	// Shoe `index` of this seed, written over the whole array (its length sets the number of decks)
+	public void shuffle(byte[] cards, long index) {
+		for (int i = 0; i < cards.length; i++) {
+			cards[i] = (byte) (i % CardCodes.DECK_SIZE);
+		}
+		FisherYates.shuffle(cards, new ChaChaRandom(seed, index));
+	}
+
+	public byte[] shoe(long index, int decks) {
+		byte[] cards = new byte[decks * CardCodes.DECK_SIZE];
+		shuffle(cards, index);
+		return cards;
+	}
+
+	private static String commit(byte[] seed) {
+		try {
+			return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(seed));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available.", e);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.FisherYates;
+
+// Produces shuffled N-deck card arrays. With preshuffling enabled a daemon thread keeps
+// a few shoes shuffled ahead of time and recycles spent arrays, so a reshuffle on the
+// request path is normally just a queue poll. Seeded shoes are shuffled on the caller's thread
+// instead, since each one depends on its key's seed; that costs a few microseconds per shoe.
+@Component
+public class ShoeShuffler implements DisposableBean {
+
+	private final RandomGeneratorFactory<RandomGenerator> rngFactory;
+	private final byte[] ordered;
+	private final int cutCard;
+	private final boolean seeded;
+	private final SecureRandom seedSource = new SecureRandom();
+	private final BlockingQueue<byte[]> ready;
+	private final BlockingQueue<byte[]> spent;
+	private final Thread worker;
+	private final LongAdder shuffles = new LongAdder();
+	private final LongAdder inlineShuffles = new LongAdder();
+
+	public ShoeShuffler(ShoeProperties properties) {
+		this.rngFactory = RandomGeneratorFactory.of(properties.getRng());
+		this.ordered = new byte[properties.getDecks() * CardCodes.DECK_SIZE];
+		for (int i = 0; i < ordered.length; i++) {
+			ordered[i] = (byte) (i % CardCodes.DECK_SIZE);
+		}
+		this.cutCard = (int) Math.round(ordered.length * (1 - properties.getPenetration()));
+
+		this.seeded = properties.isSeeded();
+		int preshuffled = seeded ? 0 : properties.getPreshuffled();
+		if (preshuffled > 0) {
+			this.ready = new ArrayBlockingQueue<>(preshuffled);
+			this.spent = new ArrayBlockingQueue<>(preshuffled);
+			this.worker = new Thread(this::fillReady, "shoe-shuffler");
+			this.worker.setDaemon(true);
+			this.worker.start();
+		} else {
+			this.ready = null;
+			this.spent = null;
+			this.worker = null;
+		}
+	}
+
+	public RandomGenerator newRandom() {
+		return rngFactory.create();
+	}
+
+	public boolean isSeeded() {
+		return seeded;
+	}
+
+	public ShoeSeed newSeed() {
+		return ShoeSeed.generate(seedSource);
+	}
+
+	// Shoe `index` of the seed, shuffled into the finished shoe's array when there is one
+	public byte[] seededShoe(ShoeSeed seed, long index, byte[] spentCards) {
+		shuffles.increment();
+		byte[] cards = spentCards != null && spentCards.length == ordered.length ? spentCards : new byte[ordered.length];
+		seed.shuffle(cards, index);
+		return cards;
+	}
+
+	public int shoeSize() {
+		return ordered.length;
+	}
+
+	// Cards left in the shoe when the cut card comes out
+	public int cutCard() {
+		return cutCard;
+	}
+
+	// A freshly shuffled shoe; shuffles inline with the caller's generator if none is ready
+	public byte[] nextShuffled(Supplier<RandomGenerator> fallback) {
+		shuffles.increment();
+		if (ready != null) {
+			byte[] cards = ready.poll();
+			if (cards != null) {
+				return cards;
+			}
+		}
+		inlineShuffles.increment();
+		byte[] cards = ordered.clone();
+		FisherYates.shuffle(cards, fallback.get());
+		return cards;
+	}
+
+	// Hand a finished shoe back so its array can be reshuffled instead of reallocated
+	public void recycle(byte[] cards) {
+		if (spent != null && cards.length == ordered.length) {
+			spent.offer(cards);
+		}
+	}
+
+	// Shoes handed out (every reshuffle of every shoe)
+	public long getShuffles() {
+		return shuffles.sum();
+	}
+
+	// Of those, shuffled on the caller's thread because none was ready
+	public long getInlineShuffles() {
+		return inlineShuffles.sum();
+	}
+
+	private void fillReady() {
+		RandomGenerator random = newRandom();
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				byte[] cards = spent.poll();
+				if (cards == null) {
+					cards = ordered.clone();
+				}
+				FisherYates.shuffle(cards, random);
+				ready.put(cards);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (worker != null) {
+			worker.interrupt();
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package com.ebenfuentes.blackjack.shoe;
+
+// Enough to rebuild a seeded shoe exactly where it was on another node: the seed (hex), which of
+// its shoes is in play and how many cards are left in it
+public record ShoeState(String seed, long shoeIndex, int remaining) {
+}
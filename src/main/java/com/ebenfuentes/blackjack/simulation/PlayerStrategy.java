@@ -0,0 +1,12 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// Decides the next action for a live hand. Implementations must be stateless or
+// thread-confined: the simulator shares one instance across worker threads.
+@FunctionalInterface
+public interface PlayerStrategy {
+
+	PlayerAction decide(CompactHand hand, int dealerUpCode, boolean canDouble, boolean canSplit);
+}
@@ -0,0 +1,106 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import java.util.random.RandomGenerator;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.FisherYates;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// Plays rounds headlessly on a private primitive shoe using the same deal order,
+// dealer rule and settlement as GameService. One instance per thread.
+public final class RoundSimulator {
+
+	// Enough cards for any single round without running dry
+	private static final int MIN_CARDS_PER_ROUND = 24;
+
+	private final PlayerStrategy strategy;
+	private final RandomGenerator random;
+	private final byte[] shoe;
+	private final int cutCard;
+	private int remaining;
+
+	private final CompactHand player = new CompactHand();
+	private final CompactHand dealer = new CompactHand();
+
+	public RoundSimulator(PlayerStrategy strategy, int decks, double penetration, RandomGenerator random) {
+		this.strategy = strategy;
+		this.random = random;
+		this.shoe = new byte[decks * CardCodes.DECK_SIZE];
+		for (int i = 0; i < shoe.length; i++) {
+			shoe[i] = (byte) (i % CardCodes.DECK_SIZE);
+		}
+		this.cutCard = Math.max(MIN_CARDS_PER_ROUND, (int) Math.round(shoe.length * (1 - penetration)));
+		reshuffle();
+	}
+
+	public SimulationResult run(long rounds) {
+		SimulationResult result = new SimulationResult();
+		long start = System.nanoTime();
+		for (long i = 0; i < rounds; i++) {
+			if (remaining <= cutCard) {
+				reshuffle();
+			}
+			playRound(result);
+		}
+		result.setElapsedNanos(System.nanoTime() - start);
+		return result;
+	}
+
+	private void playRound(SimulationResult result) {
+		player.clear();
+		dealer.clear();
+
+		// Same order as GameService.startGame: player, dealer up, player, dealer hole
+		player.add(deal());
+		dealer.add(deal());
+		player.add(deal());
+		dealer.add(deal());
+
+		if (player.isBlackjack()) {
+			result.record(RoundOutcome.BLACKJACK, RoundOutcome.BLACKJACK.getPayout());
+			return;
+		}
+
+		int stake = 1;
+		int upCard = dealer.code(0);
+		boolean done = false;
+		while (!done) {
+			boolean firstDecision = player.size() == 2;
+			switch (strategy.decide(player, upCard, firstDecision, false)) {
+			case HIT, SPLIT -> {
+				player.add(deal());
+				if (player.isBust()) {
+					result.record(RoundOutcome.PLAYER_BUST, -stake);
+					return;
+				}
+			}
+			case DOUBLE -> {
+				if (firstDecision) {
+					stake = 2;
+				}
+				player.add(deal());
+				done = true;
+			}
+			case STAND -> done = true;
+			}
+		}
+
+		while (RoundOutcome.dealerHits(dealer.total())) {
+			dealer.add(deal());
+		}
+
+		RoundOutcome outcome = RoundOutcome.evaluate(player, dealer);
+		result.record(outcome, outcome.getPayout() * stake);
+	}
+
+	private int deal() {
+		return shoe[--remaining];
+	}
+
+	private void reshuffle() {
+		FisherYates.shuffle(shoe, random);
+		remaining = shoe.length;
+	}
+}
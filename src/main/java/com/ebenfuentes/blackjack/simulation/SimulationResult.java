@@ -0,0 +1,68 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+// Running totals for a batch of simulated rounds. Payouts are in units of the initial bet,
+// so a doubled hand contributes +/-2.
+public final class SimulationResult {
+
+	private long rounds;
+	private double totalPayout;
+	private double totalSquaredPayout;
+	private final long[] outcomes = new long[RoundOutcome.values().length];
+	private long elapsedNanos;
+
+	void record(RoundOutcome outcome, double payout) {
+		rounds++;
+		totalPayout += payout;
+		totalSquaredPayout += payout * payout;
+		outcomes[outcome.ordinal()]++;
+	}
+
+	void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	SimulationResult merge(SimulationResult other) {
+		rounds += other.rounds;
+		totalPayout += other.totalPayout;
+		totalSquaredPayout += other.totalSquaredPayout;
+		for (int i = 0; i < outcomes.length; i++) {
+			outcomes[i] += other.outcomes[i];
+		}
+		return this;
+	}
+
+	public long getRounds() {
+		return rounds;
+	}
+
+	// Expected value per round in bets; the house edge is its negation
+	public double getExpectedValue() {
+		return rounds == 0 ? 0 : totalPayout / rounds;
+	}
+
+	public double getVariance() {
+		if (rounds == 0) {
+			return 0;
+		}
+		double ev = getExpectedValue();
+		return totalSquaredPayout / rounds - ev * ev;
+	}
+
+	public double getStandardError() {
+		return rounds == 0 ? 0 : Math.sqrt(getVariance() / rounds);
+	}
+
+	public long getOutcomeCount(RoundOutcome outcome) {
+		return outcomes[outcome.ordinal()];
+	}
+
+	public double getHandsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
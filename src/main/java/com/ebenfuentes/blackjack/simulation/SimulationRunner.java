@@ -0,0 +1,65 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Splits a simulation across a fork/join pool. The task tree depends only on the round
+// count, and each task splits its SplittableRandom before forking, so a given seed
+// produces the same result on any number of threads.
+public final class SimulationRunner {
+
+	private static final long MIN_ROUNDS_PER_TASK = 250_000;
+	private static final long MAX_TASKS = 256;
+
+	private final PlayerStrategy strategy;
+	private final int decks;
+	private final double penetration;
+
+	public SimulationRunner(PlayerStrategy strategy, int decks, double penetration) {
+		this.strategy = strategy;
+		this.decks = decks;
+		this.penetration = penetration;
+	}
+
+	public SimulationResult run(long rounds, int threads, long seed) {
+		long leafSize = Math.max(MIN_ROUNDS_PER_TASK, rounds / MAX_TASKS);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			long start = System.nanoTime();
+			SimulationResult result = pool.invoke(new Task(rounds, leafSize, new SplittableRandom(seed)));
+			result.setElapsedNanos(System.nanoTime() - start);
+			return result;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private final class Task extends RecursiveTask<SimulationResult> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long rounds;
+		private final long leafSize;
+		private final SplittableRandom random;
+
+		Task(long rounds, long leafSize, SplittableRandom random) {
+			this.rounds = rounds;
+			this.leafSize = leafSize;
+			this.random = random;
+		}
+
+		@Override
+		protected SimulationResult compute() {
+			if (rounds <= leafSize) {
+				return new RoundSimulator(strategy, decks, penetration, random).run(rounds);
+			}
+			long half = rounds / 2;
+			Task left = new Task(half, leafSize, random.split());
+			Task right = new Task(rounds - half, leafSize, random);
+			left.fork();
+			SimulationResult rightResult = right.compute();
+			return left.join().merge(rightResult);
+		}
+	}
+}
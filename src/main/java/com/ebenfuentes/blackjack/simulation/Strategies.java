@@ -0,0 +1,47 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.strategy.BasicStrategy;
+import com.ebenfuentes.blackjack.strategy.DealerOutcomes;
+import com.ebenfuentes.blackjack.strategy.RuleSet;
+import com.ebenfuentes.blackjack.strategy.StrategyTable;
+
+// Named strategies selectable from the CLI
+public final class Strategies {
+
+	// Play like the dealer: hit below 17
+	public static final PlayerStrategy MIMIC_DEALER = (hand, up, canDouble, canSplit) -> RoundOutcome
+			.dealerHits(hand.total()) ? PlayerAction.HIT : PlayerAction.STAND;
+
+	// Only hit when no single card can bust the hand
+	public static final PlayerStrategy NEVER_BUST = (hand, up, canDouble, canSplit) -> hand.total() <= 11
+			? PlayerAction.HIT
+			: PlayerAction.STAND;
+
+	private static final Map<String, PlayerStrategy> BY_NAME = new TreeMap<>();
+
+	static {
+		BY_NAME.put("mimic-dealer", MIMIC_DEALER);
+		BY_NAME.put("never-bust", NEVER_BUST);
+		BY_NAME.put("basic", new BasicStrategy(StrategyTable.build(DealerOutcomes.build()), RuleSet.S17));
+	}
+
+	private Strategies() {
+	}
+
+	public static PlayerStrategy byName(String name) {
+		PlayerStrategy strategy = BY_NAME.get(name);
+		if (strategy == null) {
+			throw new IllegalArgumentException("Unknown strategy '" + name + "'. Available: " + BY_NAME.keySet());
+		}
+		return strategy;
+	}
+
+	public static Iterable<String> names() {
+		return BY_NAME.keySet();
+	}
+}
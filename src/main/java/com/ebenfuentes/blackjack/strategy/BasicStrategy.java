@@ -0,0 +1,30 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.simulation.PlayerStrategy;
+
+// Plays the table's best action, falling back to hit/stand when double or split isn't offered
+public final class BasicStrategy implements PlayerStrategy {
+
+	private final StrategyTable table;
+	private final RuleSet ruleSet;
+
+	public BasicStrategy(StrategyTable table, RuleSet ruleSet) {
+		this.table = table;
+		this.ruleSet = ruleSet;
+	}
+
+	@Override
+	public PlayerAction decide(CompactHand hand, int dealerUpCode, boolean canDouble, boolean canSplit) {
+		int cell = table.cell(hand, dealerUpCode, ruleSet);
+		if (cell < 0) {
+			return PlayerAction.STAND;
+		}
+		PlayerAction action = table.bestAction(cell, true);
+		if (action == PlayerAction.DOUBLE && canDouble || action == PlayerAction.SPLIT && canSplit) {
+			return action;
+		}
+		return table.bestAction(cell, false);
+	}
+}
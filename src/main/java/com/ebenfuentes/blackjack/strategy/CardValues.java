@@ -0,0 +1,26 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+
+// The ten distinct blackjack card values used by the infinite-deck tables: index 0..7 are 2..9,
+// 8 is any ten-value card and 9 is the Ace (counted as 1 here).
+final class CardValues {
+
+	static final int ACE = 9;
+
+	private CardValues() {
+	}
+
+	static int points(int valueIndex) {
+		return valueIndex == ACE ? 1 : valueIndex + 2;
+	}
+
+	static double probability(int valueIndex) {
+		return valueIndex == 8 ? 4.0 / 13 : 1.0 / 13;
+	}
+
+	static int ofCode(int code) {
+		int rank = CardCodes.rankIndex(code);
+		return rank == CardCodes.ACE_RANK ? ACE : Math.min(rank, 8);
+	}
+}
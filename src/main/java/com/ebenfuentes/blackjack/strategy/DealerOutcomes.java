@@ -0,0 +1,60 @@
+package com.ebenfuentes.blackjack.strategy;
+
+// Infinite-deck probabilities of the dealer's final total (17..21 or bust) for each up card
+// and rule set, in one flat array. The game has no hole-card peek, so a dealer natural is
+// just a 21 here.
+public final class DealerOutcomes {
+
+	public static final int UP_CARDS = 10; // 2..9, ten-value, Ace
+	public static final int FINALS = 6; // 17, 18, 19, 20, 21, bust
+	public static final int BUST = 5;
+
+	private final double[] probabilities;
+
+	private DealerOutcomes(double[] probabilities) {
+		this.probabilities = probabilities;
+	}
+
+	public static DealerOutcomes build() {
+		RuleSet[] ruleSets = RuleSet.values();
+		double[] probabilities = new double[ruleSets.length * UP_CARDS * FINALS];
+		for (RuleSet ruleSet : ruleSets) {
+			for (int up = 0; up < UP_CARDS; up++) {
+				double[] finals = new double[FINALS];
+				draw(CardValues.points(up), up == CardValues.ACE, 1.0, ruleSet, finals);
+				System.arraycopy(finals, 0, probabilities, index(ruleSet, up, 0), FINALS);
+			}
+		}
+		return new DealerOutcomes(probabilities);
+	}
+
+	// Probability that the dealer ends on finalSlot (0..4 for 17..21, BUST) showing this up card
+	public double probability(RuleSet ruleSet, int upIndex, int finalSlot) {
+		return probabilities[index(ruleSet, upIndex, finalSlot)];
+	}
+
+	public static int upIndex(int dealerUpCode) {
+		return CardValues.ofCode(dealerUpCode);
+	}
+
+	private static void draw(int hard, boolean hasAce, double weight, RuleSet ruleSet, double[] finals) {
+		int total = hasAce && hard + 10 <= 21 ? hard + 10 : hard;
+		boolean soft = total != hard;
+		if (total > 21) {
+			finals[BUST] += weight;
+			return;
+		}
+		if (total >= 17 && !(soft && total == 17 && ruleSet.dealerHitsSoft17())) {
+			finals[total - 17] += weight;
+			return;
+		}
+		for (int card = 0; card < UP_CARDS; card++) {
+			draw(hard + CardValues.points(card), hasAce || card == CardValues.ACE, weight * CardValues.probability(card),
+					ruleSet, finals);
+		}
+	}
+
+	private static int index(RuleSet ruleSet, int upIndex, int finalSlot) {
+		return (ruleSet.ordinal() * UP_CARDS + upIndex) * FINALS + finalSlot;
+	}
+}
@@ -0,0 +1,18 @@
+package com.ebenfuentes.blackjack.strategy;
+
+// Table rule variants. GameService deals S17: the dealer stands on every 17.
+public enum RuleSet {
+
+	S17(false),
+	H17(true);
+
+	private final boolean dealerHitsSoft17;
+
+	RuleSet(boolean dealerHitsSoft17) {
+		this.dealerHitsSoft17 = dealerHitsSoft17;
+	}
+
+	public boolean dealerHitsSoft17() {
+		return dealerHitsSoft17;
+	}
+}
@@ -0,0 +1,29 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "blackjack.strategy")
+public class StrategyProperties {
+
+	// Rules the live game is dealt under
+	private RuleSet ruleSet = RuleSet.S17;
+
+	// Optional precomputed table; loaded if present, otherwise built and written here
+	private String tableFile;
+
+	public RuleSet getRuleSet() {
+		return ruleSet;
+	}
+
+	public void setRuleSet(RuleSet ruleSet) {
+		this.ruleSet = ruleSet;
+	}
+
+	public String getTableFile() {
+		return tableFile;
+	}
+
+	public void setTableFile(String tableFile) {
+		this.tableFile = tableFile;
+	}
+}
@@ -0,0 +1,205 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+// Infinite-deck basic strategy for every (rule set, up card, hand) cell, with the EV of each
+// action, held in flat primitive arrays so a lookup is a few array reads.
+//
+// Rows 0..21 are hard totals, 22..43 hands holding an Ace (by hard total) and 44..53 pairs.
+// Split hands may hit or stand but not double or resplit, and split Aces take one card each.
+public final class StrategyTable {
+
+	public static final int ROWS = 54;
+	private static final int SOFT_ROW = 22;
+	private static final int PAIR_ROW = 44;
+	private static final int ACTIONS = 4; // PlayerAction ordinals: HIT, STAND, DOUBLE, SPLIT
+	private static final int MAGIC = 0x424A5354; // "BJST"
+	private static final int VERSION = 1;
+
+	private final float[] ev; // [ruleSet][up][row][action], NaN where an action is not allowed
+	private final byte[] bestFirst; // best action on the first decision (double/split allowed)
+	private final byte[] bestLater; // best action once the hand has three or more cards
+
+	private StrategyTable(float[] ev, byte[] bestFirst, byte[] bestLater) {
+		this.ev = ev;
+		this.bestFirst = bestFirst;
+		this.bestLater = bestLater;
+	}
+
+	public static StrategyTable build(DealerOutcomes dealer) {
+		int cells = RuleSet.values().length * DealerOutcomes.UP_CARDS * ROWS;
+		float[] ev = new float[cells * ACTIONS];
+		Arrays.fill(ev, Float.NaN);
+		byte[] bestFirst = new byte[cells];
+		byte[] bestLater = new byte[cells];
+
+		for (RuleSet ruleSet : RuleSet.values()) {
+			for (int up = 0; up < DealerOutcomes.UP_CARDS; up++) {
+				double[] stand = new double[32];
+				for (int total = 0; total < stand.length; total++) {
+					stand[total] = standEv(dealer, ruleSet, up, total);
+				}
+
+				// Value of a hand that may still hit or stand, from high totals down
+				double[][] play = new double[2][32];
+				double[][] hit = new double[2][32];
+				for (int hard = 21; hard >= 2; hard--) {
+					for (int ace = 0; ace < 2; ace++) {
+						double h = 0;
+						for (int card = 0; card < DealerOutcomes.UP_CARDS; card++) {
+							int next = hard + CardValues.points(card);
+							int nextAce = ace == 1 || card == CardValues.ACE ? 1 : 0;
+							h += CardValues.probability(card) * (next > 21 ? -1 : play[nextAce][next]);
+						}
+						hit[ace][hard] = h;
+						play[ace][hard] = Math.max(stand[total(hard, ace == 1)], h);
+					}
+				}
+
+				for (int hard = 2; hard <= 21; hard++) {
+					for (int ace = 0; ace < 2; ace++) {
+						double dbl = 0;
+						for (int card = 0; card < DealerOutcomes.UP_CARDS; card++) {
+							int next = hard + CardValues.points(card);
+							boolean nextAce = ace == 1 || card == CardValues.ACE;
+							dbl += CardValues.probability(card) * (next > 21 ? -1 : stand[total(next, nextAce)]);
+						}
+						int cell = cell(ruleSet, up, ace == 1 ? SOFT_ROW + hard : hard);
+						fill(ev, bestFirst, bestLater, cell, hit[ace][hard], stand[total(hard, ace == 1)], 2 * dbl,
+								Double.NaN);
+					}
+				}
+
+				for (int pair = 0; pair < DealerOutcomes.UP_CARDS; pair++) {
+					boolean aces = pair == CardValues.ACE;
+					int one = CardValues.points(pair);
+					double perHand = 0;
+					for (int card = 0; card < DealerOutcomes.UP_CARDS; card++) {
+						int hard = one + CardValues.points(card);
+						boolean hasAce = aces || card == CardValues.ACE;
+						double value = aces ? stand[total(hard, true)] : play[hasAce ? 1 : 0][hard];
+						perHand += CardValues.probability(card) * value;
+					}
+					int hard = 2 * one;
+					int source = cell(ruleSet, up, aces ? SOFT_ROW + hard : hard);
+					int cell = cell(ruleSet, up, PAIR_ROW + pair);
+					fill(ev, bestFirst, bestLater, cell, ev[source * ACTIONS], ev[source * ACTIONS + 1],
+							ev[source * ACTIONS + 2], 2 * perHand);
+				}
+			}
+		}
+		return new StrategyTable(ev, bestFirst, bestLater);
+	}
+
+	// Cell for a live hand, or -1 if the hand is bust or empty
+	public int cell(CompactHand hand, int dealerUpCode, RuleSet ruleSet) {
+		int hard = hand.hardTotal();
+		if (hand.size() == 0 || hard > 21) {
+			return -1;
+		}
+		int row;
+		if (hand.isPair()) {
+			row = PAIR_ROW + CardValues.ofCode(hand.code(0));
+		} else {
+			row = hand.hasAce() ? SOFT_ROW + hard : hard;
+		}
+		return cell(ruleSet, CardValues.ofCode(dealerUpCode), row);
+	}
+
+	public PlayerAction bestAction(int cell, boolean firstDecision) {
+		return PlayerAction.values()[firstDecision ? bestFirst[cell] : bestLater[cell]];
+	}
+
+	// EV in units of the initial bet; NaN if the action is not available in this cell
+	public double expectedValue(int cell, PlayerAction action) {
+		return ev[cell * ACTIONS + action.ordinal()];
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(bestFirst.length);
+		for (float value : ev) {
+			data.writeFloat(value);
+		}
+		data.write(bestFirst);
+		data.write(bestLater);
+		data.flush();
+	}
+
+	public static StrategyTable readFrom(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+			throw new IOException("Not a strategy table file.");
+		}
+		int cells = data.readInt();
+		if (cells != RuleSet.values().length * DealerOutcomes.UP_CARDS * ROWS) {
+			throw new IOException("Strategy table was built for a different layout.");
+		}
+		float[] ev = new float[cells * ACTIONS];
+		for (int i = 0; i < ev.length; i++) {
+			ev[i] = data.readFloat();
+		}
+		byte[] bestFirst = new byte[cells];
+		byte[] bestLater = new byte[cells];
+		data.readFully(bestFirst);
+		data.readFully(bestLater);
+		return new StrategyTable(ev, bestFirst, bestLater);
+	}
+
+	private static void fill(float[] ev, byte[] bestFirst, byte[] bestLater, int cell, double hit, double stand,
+			double dbl, double split) {
+		int base = cell * ACTIONS;
+		ev[base + PlayerAction.HIT.ordinal()] = (float) hit;
+		ev[base + PlayerAction.STAND.ordinal()] = (float) stand;
+		ev[base + PlayerAction.DOUBLE.ordinal()] = (float) dbl;
+		ev[base + PlayerAction.SPLIT.ordinal()] = (float) split;
+
+		PlayerAction later = hit > stand ? PlayerAction.HIT : PlayerAction.STAND;
+		PlayerAction first = later;
+		double best = Math.max(hit, stand);
+		if (dbl > best) {
+			first = PlayerAction.DOUBLE;
+			best = dbl;
+		}
+		if (!Double.isNaN(split) && split > best) {
+			first = PlayerAction.SPLIT;
+		}
+		bestFirst[cell] = (byte) first.ordinal();
+		bestLater[cell] = (byte) later.ordinal();
+	}
+
+	private static double standEv(DealerOutcomes dealer, RuleSet ruleSet, int up, int total) {
+		if (total > 21) {
+			return -1;
+		}
+		double ev = dealer.probability(ruleSet, up, DealerOutcomes.BUST);
+		for (int slot = 0; slot < DealerOutcomes.BUST; slot++) {
+			int dealerTotal = 17 + slot;
+			double p = dealer.probability(ruleSet, up, slot);
+			if (total > dealerTotal) {
+				ev += p;
+			} else if (total < dealerTotal) {
+				ev -= p;
+			}
+		}
+		return ev;
+	}
+
+	private static int total(int hard, boolean hasAce) {
+		return CompactHand.total(hard, hasAce ? 1 : 0);
+	}
+
+	private static int cell(RuleSet ruleSet, int up, int row) {
+		return (ruleSet.ordinal() * DealerOutcomes.UP_CARDS + up) * ROWS + row;
+	}
+}
@@ -0,0 +1,47 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StrategyTableConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(StrategyTableConfig.class);
+
+	@Bean
+	public DealerOutcomes dealerOutcomes() {
+		return DealerOutcomes.build();
+	}
+
+	@Bean
+	public StrategyTable strategyTable(DealerOutcomes dealerOutcomes, StrategyProperties properties) throws IOException {
+		Path file = properties.getTableFile() == null ? null : Path.of(properties.getTableFile());
+		if (file != null && Files.exists(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				StrategyTable table = StrategyTable.readFrom(in);
+				log.info("Loaded strategy table from {}", file);
+				return table;
+			} catch (IOException e) {
+				log.warn("Ignoring unreadable strategy table {}: {}", file, e.getMessage());
+			}
+		}
+
+		long start = System.nanoTime();
+		StrategyTable table = StrategyTable.build(dealerOutcomes);
+		log.info("Built strategy table in {} us", (System.nanoTime() - start) / 1_000);
+		if (file != null) {
+			try (OutputStream out = Files.newOutputStream(file)) {
+				table.writeTo(out);
+			}
+		}
+		return table;
+	}
+}
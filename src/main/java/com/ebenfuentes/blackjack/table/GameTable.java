@@ -0,0 +1,81 @@
+package com.ebenfuentes.blackjack.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+
+// A casino table: up to seatCount players sharing one shoe and one dealer hand. Seated
+// players keep their own Player/Hand rows; the dealer hand lives only here, like the shoe.
+// Not thread-safe on its own: callers go through TableManager, which holds the table's lock.
+public class GameTable {
+
+	public static final int MAX_SEATS = 7;
+
+	private final int id;
+	private final int seatCount;
+	private final List<Integer> seats = new ArrayList<>(); // Player ids in seat order
+	private final List<Integer> inRound = new ArrayList<>(); // Seats dealt into the current round
+	private final CompactHand dealerHand = new CompactHand();
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private int turn = -1; // Index into inRound of the seat to act; -1 between rounds
+
+	public GameTable(int id, int seatCount) {
+		if (seatCount < 1 || seatCount > MAX_SEATS) {
+			throw new IllegalArgumentException("A table has between 1 and " + MAX_SEATS + " seats.");
+		}
+		this.id = id;
+		this.seatCount = seatCount;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getSeatCount() {
+		return seatCount;
+	}
+
+	public List<Integer> getSeats() {
+		return seats;
+	}
+
+	public List<Integer> getInRound() {
+		return inRound;
+	}
+
+	public CompactHand getDealerHand() {
+		return dealerHand;
+	}
+
+	public boolean isRoundInProgress() {
+		return turn >= 0;
+	}
+
+	// Player whose turn it is, or null between rounds and once the dealer is up
+	public Integer getTurnPlayerId() {
+		return turn >= 0 && turn < inRound.size() ? inRound.get(turn) : null;
+	}
+
+	public void startRound(List<Integer> playerIds) {
+		inRound.clear();
+		inRound.addAll(playerIds);
+		dealerHand.clear();
+		turn = 0;
+	}
+
+	// Move to the next seat; returns false once every seat has acted
+	public boolean advanceTurn() {
+		turn++;
+		return turn < inRound.size();
+	}
+
+	public void endRound() {
+		turn = -1;
+	}
+
+	ReentrantLock getLock() {
+		return lock;
+	}
+}
@@ -0,0 +1,129 @@
+package com.ebenfuentes.blackjack.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+import org.springframework.stereotype.Component;
+
+// Owns the live tables and which table each player is seated at. Actions on one table are
+// serialized by that table's lock; seat players are then locked through the session store,
+// always table first, so a table action never waits on a lock a solo action could hold.
+@Component
+public class TableManager {
+
+	private final ConcurrentMap<Integer, GameTable> tables = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Integer, Integer> seatedAt = new ConcurrentHashMap<>();
+	private final AtomicInteger nextId = new AtomicInteger();
+
+	public GameTable create(int seatCount) {
+		return create(seatCount, id -> true);
+	}
+
+	// The next free id that `usable` accepts; in a cluster, one this node owns
+	public GameTable create(int seatCount, IntPredicate usable) {
+		while (true) {
+			int id = nextId.incrementAndGet();
+			if (usable.test(id)) {
+				GameTable table = new GameTable(id, seatCount);
+				if (tables.putIfAbsent(id, table) == null) {
+					return table;
+				}
+			}
+		}
+	}
+
+	// Take a table off this node between rounds (null while a round is in progress), unseating
+	// everyone; the seats stay on the returned table for whoever adopts it
+	public GameTable release(int tableId) {
+		GameTable table = tables.get(tableId);
+		if (table == null) {
+			return null;
+		}
+		ReentrantLock lock = table.getLock();
+		lock.lock();
+		try {
+			if (table.isRoundInProgress() || !tables.remove(tableId, table)) {
+				return null;
+			}
+			for (Integer playerId : table.getSeats()) {
+				seatedAt.remove(playerId, tableId);
+			}
+			return table;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// A table released by another node, with its players in the same seats
+	public GameTable adopt(int tableId, int seatCount, List<Integer> seats) {
+		GameTable table = new GameTable(tableId, seatCount);
+		if (tables.putIfAbsent(tableId, table) != null) {
+			throw new IllegalStateException("Table " + tableId + " already exists here.");
+		}
+		for (Integer playerId : seats) {
+			seatedAt.put(playerId, tableId);
+			table.getSeats().add(playerId);
+		}
+		return table;
+	}
+
+	public List<Integer> tableIds() {
+		return new ArrayList<>(tables.keySet());
+	}
+
+	// Players seated at a table on this node
+	public Set<Integer> seatedPlayerIds() {
+		return Set.copyOf(seatedAt.keySet());
+	}
+
+	public <T> T withTable(int tableId, Function<GameTable, T> action) {
+		GameTable table = tables.get(tableId);
+		if (table == null) {
+			throw new RuntimeException("Table not found.");
+		}
+		ReentrantLock lock = table.getLock();
+		lock.lock();
+		try {
+			return action.apply(table);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Call with the table's lock held
+	public void seat(GameTable table, int playerId) {
+		if (table.getSeats().size() >= table.getSeatCount()) {
+			throw new IllegalStateException("Table is full.");
+		}
+		if (seatedAt.putIfAbsent(playerId, table.getId()) != null) {
+			throw new IllegalStateException("Player is already seated at a table.");
+		}
+		table.getSeats().add(playerId);
+	}
+
+	// Call with the table's lock held
+	public void unseat(GameTable table, int playerId) {
+		if (table.getSeats().remove(Integer.valueOf(playerId))) {
+			seatedAt.remove(playerId);
+		}
+	}
+
+	public boolean contains(int tableId) {
+		return tables.containsKey(tableId);
+	}
+
+	public boolean isSeated(int playerId) {
+		return seatedAt.containsKey(playerId);
+	}
+
+	public int size() {
+		return tables.size();
+	}
+}
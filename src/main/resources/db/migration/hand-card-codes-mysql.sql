@@ -0,0 +1,24 @@
+-- Moves dealt cards from the per-card `card` table into the compact hand.card_codes column.
+-- Each card becomes one byte, code = rank index * 4 + suit index (see CardCodes), in deal order.
+-- Run once against an existing schema before starting the application with ddl-auto=validate.
+
+ALTER TABLE hand ADD COLUMN card_codes VARBINARY(32);
+
+UPDATE hand h
+SET h.card_codes = (
+    SELECT UNHEX(GROUP_CONCAT(LPAD(HEX(
+        (CASE c.card_rank
+            WHEN 'Jack' THEN 9
+            WHEN 'Queen' THEN 10
+            WHEN 'King' THEN 11
+            WHEN 'Ace' THEN 12
+            ELSE CAST(c.card_rank AS UNSIGNED) - 2
+        END) * 4 + FIELD(c.suit, 'Spades', 'Hearts', 'Diamonds', 'Clubs') - 1
+    ), 2, '0') ORDER BY c.id SEPARATOR ''))
+    FROM card c
+    WHERE c.hand_id = h.id
+);
+
+UPDATE hand SET card_codes = x'' WHERE card_codes IS NULL;
+
+DROP TABLE card;
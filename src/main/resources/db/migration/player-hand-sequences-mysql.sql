@@ -0,0 +1,9 @@
+-- Sequence tables for the pooled Player/Hand id generators. MySQL has no sequences, so
+-- Hibernate emulates them with a single-row table. The pooled optimizer treats
+-- next_val as the top of a 50-id block, so seed it one block past the existing AUTO_INCREMENT ids.
+
+CREATE TABLE player_seq (next_val BIGINT);
+INSERT INTO player_seq SELECT COALESCE(MAX(id), 0) + 51 FROM player;
+
+CREATE TABLE hand_seq (next_val BIGINT);
+INSERT INTO hand_seq SELECT COALESCE(MAX(id), 0) + 51 FROM hand;
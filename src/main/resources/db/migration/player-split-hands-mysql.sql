@@ -0,0 +1,5 @@
+-- Split hands are kept on the player row (see SplitHandsConverter): hand count, current hand,
+-- then per hand its bet, flags and card codes. NULL or empty for a round that was not split.
+-- Run once against an existing schema before starting the application with ddl-auto=validate.
+
+ALTER TABLE player ADD COLUMN split_hands VARBINARY(154);
@@ -0,0 +1,5 @@
+-- Optimistic lock column for Player (@Version): every session save checks and bumps it, so a save
+-- from a stale copy fails instead of overwriting a newer row. Existing rows start at 0.
+-- Run once against an existing schema before starting the application with ddl-auto=validate.
+
+ALTER TABLE player ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
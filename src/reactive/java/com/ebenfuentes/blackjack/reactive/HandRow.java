@@ -0,0 +1,12 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// A hand row: one card code per byte in card_codes, in deal order (see CompactHandConverter)
+@Table("hand")
+public record HandRow(
+		@Id Integer id,
+		byte[] cardCodes,
+		boolean isDealerHand) {
+}
@@ -0,0 +1,223 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.RoundRequest;
+import com.ebenfuentes.blackjack.event.EventSink;
+import com.ebenfuentes.blackjack.event.GameEvent;
+import com.ebenfuentes.blackjack.event.GameEventPublisher;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.service.HistoryService;
+import com.ebenfuentes.blackjack.service.RoundService;
+import com.ebenfuentes.blackjack.session.FlushMode;
+import com.ebenfuentes.blackjack.session.IdempotencyCache;
+import com.ebenfuentes.blackjack.session.PlayerCache;
+import com.ebenfuentes.blackjack.session.SessionProperties;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+import reactor.netty.http.server.HttpServerRequest;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// The /api/players API of PlayerController on WebFlux, over the same GameService, RoundService and
+// IdempotencyCache. A player action first makes sure the player is in memory (ReactivePlayerLoader
+// reads it through R2DBC without blocking), then runs the shared game logic on the bounded elastic
+// scheduler: that logic waits on the player's stripe lock, may wait for a duplicate request under
+// the same idempotency key, and loads the row through JPA if the cached copy expired meanwhile,
+// none of which may happen on an event loop thread. Creating players and bulk rounds go through
+// JPA outright and run there too.
+@Configuration
+@Profile("reactive")
+public class PlayerRoutes {
+
+	// Same header and meaning as on PlayerController
+	static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+	private static final ParameterizedTypeReference<Map<String, Integer>> AMOUNT = new ParameterizedTypeReference<>() {
+	};
+	private static final ParameterizedTypeReference<List<Player>> PLAYERS = new ParameterizedTypeReference<>() {
+	};
+	private static final ParameterizedTypeReference<ServerSentEvent<GameEvent>> EVENTS = new ParameterizedTypeReference<>() {
+	};
+
+	private final GameService gameService;
+	private final RoundService roundService;
+	private final HistoryService historyService;
+	private final GameEventPublisher eventPublisher;
+	private final IdempotencyCache idempotency;
+	private final ReactivePlayerLoader loader;
+
+	public PlayerRoutes(GameService gameService, RoundService roundService, HistoryService historyService,
+			GameEventPublisher eventPublisher, IdempotencyCache idempotency, ReactivePlayerLoader loader,
+			SessionProperties sessionProperties, PlayerCache cache) {
+		// Otherwise finished players leave memory on the request path and the next action loads over JDBC
+		if (sessionProperties.getFlushMode() != FlushMode.WRITE_BEHIND) {
+			throw new IllegalStateException("The reactive stack needs blackjack.session.flush-mode=WRITE_BEHIND.");
+		}
+		if (!cache.isEnabled()) {
+			throw new IllegalStateException("The reactive stack needs the player cache (blackjack.session.cache-size > 0).");
+		}
+		this.gameService = gameService;
+		this.roundService = roundService;
+		this.historyService = historyService;
+		this.eventPublisher = eventPublisher;
+		this.idempotency = idempotency;
+		this.loader = loader;
+	}
+
+	@Bean
+	public RouterFunction<ServerResponse> playerRouter() {
+		return route()
+				.path("/api/players", builder -> builder
+						// Create a player
+						.POST("", request -> request.bodyToMono(Player.class)
+								.flatMap(player -> blocking(request, 0, "create", player,
+										() -> gameService.createPlayer(player.getUsername(), player.getBalance()))))
+						// Create many players in one batched insert
+						.POST("/bulk", request -> request.bodyToMono(PLAYERS)
+								.flatMap(players -> blocking(request, 0, "bulk", players,
+										() -> gameService.createPlayers(players))))
+						// Many rounds for many players in one call, saved together
+						.POST("/rounds", request -> request.bodyToMono(BulkRoundRequest.class)
+								.flatMap(body -> blocking(request, 0, "rounds", body, () -> roundService.playRounds(body))))
+						.GET("/{id}", request -> read(request, gameService::checkGameStatus))
+						.POST("/{id}/bet", request -> request.bodyToMono(AMOUNT)
+								.flatMap(body -> act(request, "bet", body, id -> {
+									gameService.placeBet(id, body.get("amount"));
+									return null;
+								})))
+						.POST("/{id}/start", request -> act(request, "start", gameService::startGame))
+						.POST("/{id}/hit", request -> act(request, "hit", gameService::hit))
+						.GET("/{id}/hand-value", request -> read(request, gameService::getPlayerHandDetails))
+						.GET("/{id}/events", this::events)
+						.GET("/{id}/advice", request -> read(request, gameService::getAdvice))
+						.POST("/{id}/stand", request -> act(request, "stand", gameService::stand))
+						.POST("/{id}/double-down", request -> act(request, "double-down", gameService::doubleDown))
+						.POST("/{id}/split", request -> act(request, "split", gameService::split))
+						.POST("/{id}/round", request -> request.bodyToMono(RoundRequest.class)
+								.flatMap(body -> act(request, "round", body, id -> roundService.playRound(id, body))))
+						.POST("/{id}/reset", request -> act(request, "reset", id -> {
+							gameService.resetGame(id);
+							return null;
+						}))
+						.GET("/{id}/balance", request -> read(request, gameService::getPlayerBalance))
+						.GET("/{id}/shoe", request -> read(request, gameService::getShoeSeed))
+						.POST("/{id}/shoe/rotate", request -> act(request, "rotate-seed", gameService::rotateShoeSeed))
+						.GET("/{id}/history", request -> ok(Optional.ofNullable(historyService.playerHistory(
+								playerId(request),
+								request.queryParam("limit").map(Integer::parseInt).orElse(20),
+								request.queryParam("cursor").map(Long::valueOf).orElse(null))))))
+				.build();
+	}
+
+	// Live game events as Server-Sent Events. The publisher's per-subscriber queue already drops the
+	// oldest events (with a RESYNC) when delivery falls behind; the buffer here does the same for a
+	// client that reads slower than the events arrive.
+	private Mono<ServerResponse> events(ServerRequest request) {
+		int id = playerId(request);
+		Flux<ServerSentEvent<GameEvent>> events = Flux.<ServerSentEvent<GameEvent>>create(sink -> {
+			Runnable unsubscribe = eventPublisher.subscribePlayer(id, new EventSink() {
+				@Override
+				public void send(long sequence, GameEvent event) {
+					sink.next(ServerSentEvent.builder(event)
+							.id(Long.toString(sequence))
+							.event(event.type().name())
+							.build());
+				}
+
+				@Override
+				public void complete() {
+					sink.complete();
+				}
+
+				@Override
+				public void fail(Throwable error) {
+					sink.error(error);
+				}
+			});
+			sink.onDispose(unsubscribe::run);
+		}).onBackpressureBuffer(eventPublisher.getProperties().getQueueCapacity(), BufferOverflowStrategy.DROP_OLDEST);
+
+		// Commits the response headers right away instead of on the first game event
+		Flux<ServerSentEvent<GameEvent>> stream = Flux.concat(
+				Mono.just(ServerSentEvent.<GameEvent>builder().comment("subscribed").build()), events)
+				.take(eventPublisher.getProperties().getTimeout());
+		return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(stream, EVENTS);
+	}
+
+	// A mutating action on a player, once per idempotency key
+	private <T> Mono<ServerResponse> act(ServerRequest request, String action, IntFunction<T> call) {
+		return act(request, action, null, call);
+	}
+
+	// As above for an action with a request body, which a replay must repeat (see IdempotencyCache)
+	private <T> Mono<ServerResponse> act(ServerRequest request, String action, Object body, IntFunction<T> call) {
+		int id = playerId(request);
+		String key = request.headers().firstHeader(IDEMPOTENCY_KEY);
+		return loader.ensureLoaded(id)
+				.then(Mono.fromSupplier(
+						() -> Optional.ofNullable(idempotency.execute(id, action, key, body, () -> call.apply(id))))
+						.subscribeOn(Schedulers.boundedElastic()))
+				.publishOn(eventLoop(request))
+				.flatMap(PlayerRoutes::ok);
+	}
+
+	private <T> Mono<ServerResponse> read(ServerRequest request, IntFunction<T> call) {
+		int id = playerId(request);
+		return loader.ensureLoaded(id)
+				.then(Mono.fromSupplier(() -> Optional.ofNullable(call.apply(id)))
+						.subscribeOn(Schedulers.boundedElastic()))
+				.publishOn(eventLoop(request))
+				.flatMap(PlayerRoutes::ok);
+	}
+
+	// Work that goes through JPA; playerId is 0 as on PlayerController, so the key is also held to the body
+	private <T> Mono<ServerResponse> blocking(ServerRequest request, int playerId, String action, Object body,
+			Supplier<T> call) {
+		String key = request.headers().firstHeader(IDEMPOTENCY_KEY);
+		return Mono.fromSupplier(() -> Optional.ofNullable(idempotency.execute(playerId, action, key, body, call)))
+				.subscribeOn(Schedulers.boundedElastic())
+				.publishOn(eventLoop(request))
+				.flatMap(PlayerRoutes::ok);
+	}
+
+	// An empty 200 for actions without a response body, as a void controller method gives
+	private static Mono<ServerResponse> ok(Optional<?> body) {
+		return body.isPresent() ? ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body.get())
+				: ServerResponse.ok().build();
+	}
+
+	// The connection's event loop, to write the response on once the work is done. Reactor Netty can
+	// read the client's next keep-alive request before it finishes a response written from another
+	// thread, and the connection then stays busy to a graceful shutdown.
+	private static Scheduler eventLoop(ServerRequest request) {
+		HttpServerRequest nativeRequest = ServerHttpRequestDecorator.getNativeRequest(request.exchange().getRequest());
+		return Schedulers.fromExecutor(((Connection) nativeRequest).channel().eventLoop());
+	}
+
+	private static int playerId(ServerRequest request) {
+		return Integer.parseInt(request.pathVariable("id"));
+	}
+}
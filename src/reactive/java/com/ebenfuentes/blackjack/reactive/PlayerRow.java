@@ -0,0 +1,19 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// The player table as R2DBC reads it; the JPA entity (model.Player) stays the owner of the schema
+@Table("player")
+public record PlayerRow(
+		@Id Integer id,
+		long version,
+		String username,
+		int balance,
+		int bet,
+		boolean gameStarted,
+		boolean hasStood,
+		Integer handId,
+		Integer dealerHandId,
+		byte[] splitHands) {
+}
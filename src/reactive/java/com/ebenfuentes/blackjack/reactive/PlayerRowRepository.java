@@ -0,0 +1,6 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface PlayerRowRepository extends ReactiveCrudRepository<PlayerRow, Integer> {
+}
@@ -0,0 +1,94 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.model.Hand;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.model.SplitHands;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+
+import reactor.core.publisher.Mono;
+
+// Gets a player into the session store without blocking: a player that is not live or cached is
+// read through R2DBC (the player row, then both hands in one query) and admitted to the cache,
+// so the shared game logic that runs next (on the bounded elastic scheduler) finds it in memory.
+// A cached copy can still expire between the two steps; the store then loads the row itself.
+@Component
+public class ReactivePlayerLoader {
+
+	private final PlayerRowRepository players;
+	private final HandRowRepository hands;
+	private final GameSessionStore sessionStore;
+	private final LongAdder loads = new LongAdder();
+
+	public ReactivePlayerLoader(PlayerRowRepository players, HandRowRepository hands, GameSessionStore sessionStore) {
+		this.players = players;
+		this.hands = hands;
+		this.sessionStore = sessionStore;
+	}
+
+	public Mono<Void> ensureLoaded(int playerId) {
+		if (sessionStore.isInMemory(playerId)) {
+			return Mono.empty();
+		}
+		return players.findById(playerId)
+				.switchIfEmpty(Mono.error(() -> new RuntimeException("Player not found.")))
+				.flatMap(row -> {
+					List<Integer> handIds = new ArrayList<>(2);
+					if (row.handId() != null) {
+						handIds.add(row.handId());
+					}
+					if (row.dealerHandId() != null) {
+						handIds.add(row.dealerHandId());
+					}
+					return hands.findAllById(handIds)
+							.collectMap(HandRow::id)
+							.map(handRows -> toPlayer(row, handRows));
+				})
+				.doOnNext(player -> {
+					loads.increment();
+					sessionStore.admit(player);
+				})
+				.then();
+	}
+
+	public long getLoads() {
+		return loads.sum();
+	}
+
+	private static Player toPlayer(PlayerRow row, Map<Integer, HandRow> handRows) {
+		Player player = new Player();
+		player.setId(row.id());
+		player.setVersion(row.version());
+		player.setUsername(row.username());
+		player.setBalance(row.balance());
+		player.setBet(row.bet());
+		player.setGameStarted(row.gameStarted());
+		player.setHasStood(row.hasStood());
+		player.setHand(toHand(handRows.get(row.handId()), false));
+		player.setDealerHand(toHand(handRows.get(row.dealerHandId()), true));
+		player.setSplitHands(SplitHands.fromBytes(row.splitHands()));
+		return player;
+	}
+
+	// A missing row becomes an empty hand, as a new Player starts with
+	private static Hand toHand(HandRow row, boolean dealer) {
+		if (row == null) {
+			return new Hand(dealer);
+		}
+		Hand hand = new Hand(row.isDealerHand());
+		hand.setId(row.id());
+		CompactHand cards = CompactHand.fromBytes(row.cardCodes());
+		for (int i = 0; i < cards.size(); i++) {
+			hand.addCard(Card.of(cards.code(i)));
+		}
+		return hand;
+	}
+}
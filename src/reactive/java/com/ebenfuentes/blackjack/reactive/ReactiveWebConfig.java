@@ -0,0 +1,33 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+	// Tomcat is on the classpath for the MVC stack and would otherwise be picked to host WebFlux too;
+	// Netty keeps every connection on the event loops
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	// Same origin PlayerController allows with @CrossOrigin
+	@Bean
+	public CorsWebFilter playerCorsFilter() {
+		CorsConfiguration cors = new CorsConfiguration();
+		cors.addAllowedOrigin("http://localhost:5173");
+		cors.addAllowedMethod("*");
+		cors.addAllowedHeader("*");
+		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+		source.registerCorsConfiguration("/api/players/**", cors);
+		return new CorsWebFilter(source);
+	}
+}
@@ -0,0 +1,114 @@
+package com.ebenfuentes.blackjack.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+
+// The player API on the reactive stack (mvn -Preactive test)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class PlayerRoutesTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private ReactivePlayerLoader loader;
+
+	// Bet, deal and stand; the balance moves by what the round paid
+	@Test
+	void playsRoundsOverWebFlux() {
+		JsonNode player = post("/api/players", Map.of("username", "reactive-round", "balance", 1_000), null);
+		String path = "/api/players/" + player.get("id").asInt();
+
+		JsonNode result = startRound(path);
+		if (!result.has("winner")) {
+			result = post(path + "/stand", null, null);
+		}
+		assertTrue(result.has("winner"), result.toString());
+
+		int balance = get(path + "/balance").get("balance").asInt();
+		assertTrue(balance >= 990 && balance <= 1_015, "balance " + balance);
+		assertEquals(balance, get(path).get("playerBalance").asInt());
+	}
+
+	// A retried hit under the same key gets the first response and deals no second card
+	@Test
+	void retriedHitIsReplayed() {
+		JsonNode player = post("/api/players", Map.of("username", "reactive-retry", "balance", 1_000), null);
+		String path = "/api/players/" + player.get("id").asInt();
+		while (startRound(path).has("winner")) {
+			// A natural settles on the deal; deal again
+		}
+
+		JsonNode first = post(path + "/hit", null, "hit-1");
+		JsonNode retry = post(path + "/hit", null, "hit-1");
+		assertEquals(first, retry);
+		assertEquals(3, get(path + "/hand-value").get("playerCards").size());
+	}
+
+	// A create key reused with another body is rejected rather than replayed
+	@Test
+	void createKeyReusedForAnotherPlayerIsRejected() {
+		JsonNode first = post("/api/players", Map.of("username", "reactive-keyed-a", "balance", 100), "create-1");
+		assertEquals(first, post("/api/players", Map.of("username", "reactive-keyed-a", "balance", 100), "create-1"));
+
+		client.post().uri("/api/players").header(PlayerRoutes.IDEMPOTENCY_KEY, "create-1")
+				.bodyValue(Map.of("username", "reactive-keyed-b", "balance", 100))
+				.exchange().expectStatus().isEqualTo(422);
+	}
+
+	// A player written outside the session store (not cached) is read through R2DBC, hands included
+	@Test
+	void uncachedPlayerIsLoadedThroughR2dbc() {
+		Player stored = new Player("reactive-load", 700);
+		stored.receiveCard(Card.of(0));
+		stored.receiveCard(Card.of(12));
+		stored.setBet(10);
+		stored.setGameStarted(true);
+		int playerId = playerRepository.save(stored).getId();
+		long loads = loader.getLoads();
+
+		JsonNode hand = get("/api/players/" + playerId + "/hand-value");
+		assertEquals(2, hand.get("playerCards").size());
+		assertEquals(700, get("/api/players/" + playerId + "/balance").get("balance").asInt());
+		assertEquals(loads + 1, loader.getLoads());
+
+		client.get().uri("/api/players/999999/balance").exchange().expectStatus().is5xxServerError();
+	}
+
+	private JsonNode startRound(String path) {
+		post(path + "/bet", Map.of("amount", 10), null);
+		return post(path + "/start", null, null);
+	}
+
+	private JsonNode get(String uri) {
+		return client.get().uri(uri).exchange()
+				.expectStatus().isOk()
+				.expectBody(JsonNode.class).returnResult().getResponseBody();
+	}
+
+	private JsonNode post(String uri, Object body, String key) {
+		WebTestClient.RequestBodySpec request = client.post().uri(uri);
+		if (key != null) {
+			request.header(PlayerRoutes.IDEMPOTENCY_KEY, key);
+		}
+		WebTestClient.ResponseSpec response = body == null ? request.exchange() : request.bodyValue(body).exchange();
+		return response.expectStatus().isOk()
+				.expectBody(JsonNode.class).returnResult().getResponseBody();
+	}
+}
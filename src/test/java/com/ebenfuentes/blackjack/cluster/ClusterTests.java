@@ -0,0 +1,289 @@
+package com.ebenfuentes.blackjack.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ebenfuentes.blackjack.BlackjackGameApplication;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Several nodes in one JVM, each a full application context on its own port, sharing one database
+class ClusterTests {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+	private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+	@TempDir
+	static Path dir;
+
+	private static ConfigurableApplicationContext first;
+	private static ConfigurableApplicationContext second;
+	// Ports picked up front so every node, the one that joins later included, is in the seed list
+	private static final Map<String, Integer> ports = new HashMap<>();
+
+	@BeforeAll
+	static void startCluster() throws IOException {
+		for (String name : List.of("a", "b", "c")) {
+			try (ServerSocket socket = new ServerSocket(0)) {
+				ports.put(name, socket.getLocalPort());
+			}
+		}
+		first = startNode("a");
+		second = startNode("b");
+		awaitRing(2, first, second);
+	}
+
+	@AfterAll
+	static void stopCluster() {
+		if (second != null) {
+			second.close();
+		}
+		if (first != null) {
+			first.close();
+		}
+	}
+
+	@Test
+	void requestsAreForwardedToTheOwnerWhoKeepsThePlayerLive() throws Exception {
+		int playerId = playerOwnedBy(url(second));
+
+		// Every call goes to the first node; the second one serves them
+		post(first, "/api/players/" + playerId + "/bet", "{\"amount\":10}");
+		post(first, "/api/players/" + playerId + "/start", "");
+		JsonNode status = get(first, "/api/players/" + playerId);
+		assertNotNull(status.get("playerBalance"));
+
+		assertTrue(second.getBean(GameSessionStore.class).isInMemory(playerId));
+		// The copy cached when the player was created here is dropped by the next sweep
+		await(() -> !first.getBean(GameSessionStore.class).isInMemory(playerId));
+		assertTrue(first.getBean(ClusterNode.class).getForwarded() >= 3);
+		assertEquals(status, get(second, "/api/players/" + playerId));
+	}
+
+	@Test
+	void aForwardedMarkerFromAClientIsIgnored() throws Exception {
+		int playerId = playerOwnedBy(url(second));
+		await(() -> !first.getBean(GameSessionStore.class).isInMemory(playerId));
+
+		// Without the cluster secret the marker is dropped and the request goes to the owner as usual
+		send(HttpRequest.newBuilder(URI.create(url(first) + "/api/players/" + playerId + "/bet"))
+				.header("Content-Type", "application/json")
+				.header(ClusterClient.FORWARDED, url(first))
+				.POST(HttpRequest.BodyPublishers.ofString("{\"amount\":10}")));
+
+		assertTrue(second.getBean(GameSessionStore.class).isInMemory(playerId));
+		assertFalse(first.getBean(GameSessionStore.class).isInMemory(playerId));
+	}
+
+	// Internal calls are refused without the secret; with it, an unknown node still cannot join the
+	// ring or have a player released to it
+	@Test
+	void internalCallsNeedTheSecretAndAKnownNode() throws Exception {
+		int playerId = playerOwnedBy(url(second));
+		post(first, "/api/players/" + playerId + "/bet", "{\"amount\":10}");
+		post(first, "/api/players/" + playerId + "/start", "");
+		String commitment = get(first, "/api/players/" + playerId + "/shoe").get("commitment").asText();
+		String outsider = "http://localhost:1";
+		String heartbeat = JSON.writeValueAsString(new Heartbeat(outsider, List.of(), List.of(), List.of(), false));
+		String adopt = "{\"playerId\":" + playerId + ",\"held\":false,\"shoe\":{\"seed\":\"" + "00".repeat(32)
+				+ "\",\"shoeIndex\":0,\"remaining\":10}}";
+
+		assertNotEquals(200, internal(second, "/heartbeat", heartbeat, null));
+		assertNotEquals(200, internal(second, "/players/" + playerId + "/release?to=" + outsider, "{}", null));
+		assertNotEquals(200, internal(second, "/players/" + playerId + "/adopt", adopt, "wrong-secret"));
+		assertNotEquals(200, internal(second, "/heartbeat", heartbeat, "test-secret"));
+		assertNotEquals(200, internal(second, "/players/" + playerId + "/release?to=" + outsider, "{}", "test-secret"));
+
+		assertEquals(2, second.getBean(ClusterNode.class).members());
+		assertEquals(url(second), second.getBean(ClusterNode.class).playerRoute(playerId));
+		assertTrue(second.getBean(GameSessionStore.class).isInMemory(playerId));
+		assertEquals(commitment, get(first, "/api/players/" + playerId + "/shoe").get("commitment").asText());
+	}
+
+	@Test
+	void aClusterNodeWithoutTheSecretDoesNotStart() throws IOException {
+		Path home = Files.createDirectories(dir.resolve("no-secret"));
+		Exception thrown = assertThrows(Exception.class, () -> new SpringApplicationBuilder(BlackjackGameApplication.class)
+				.run("--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:blackjack-cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"--spring.jpa.hibernate.ddl-auto=none",
+						"--blackjack.ledger.journal-file=" + home.resolve("ledger.journal"),
+						"--blackjack.round-log.directory=" + home.resolve("round-log"),
+						"--blackjack.history.directory=" + home.resolve("history"),
+						"--blackjack.cluster.enabled=true"));
+		assertTrue(rootCause(thrown).getMessage().contains("blackjack.cluster.secret"), thrown.toString());
+	}
+
+	@Test
+	void joiningAndLeavingNodesTakeHandsShoesAndTablesAlong() throws Exception {
+		// Rounds in progress on the two-node ring
+		List<Integer> players = new ArrayList<>();
+		Map<Integer, String> hands = new HashMap<>();
+		Map<Integer, String> commitments = new HashMap<>();
+		for (int i = 0; i < 24; i++) {
+			int playerId = createPlayer();
+			post(first, "/api/players/" + playerId + "/bet", "{\"amount\":10}");
+			post(first, "/api/players/" + playerId + "/start", "");
+			if (get(first, "/api/players/" + playerId).get("playerHandValue") != null) {
+				players.add(playerId);
+				hands.put(playerId, get(first, "/api/players/" + playerId + "/hand-value").toString());
+				commitments.put(playerId, get(first, "/api/players/" + playerId + "/shoe").get("commitment").asText());
+			}
+		}
+
+		ConfigurableApplicationContext third = startNode("c");
+		try {
+			awaitRing(3, first, second, third);
+			ClusterNode node = first.getBean(ClusterNode.class);
+			List<Integer> moved = players.stream().filter(id -> node.playerRoute(id).equals(url(third))).toList();
+			assertFalse(moved.isEmpty(), "No player moved to the new node");
+
+			// Mid-round players continue on the new node with the same cards and shoe
+			for (int playerId : moved) {
+				assertEquals(hands.get(playerId), get(first, "/api/players/" + playerId + "/hand-value").toString());
+				assertEquals(commitments.get(playerId),
+						get(first, "/api/players/" + playerId + "/shoe").get("commitment").asText());
+				assertTrue(third.getBean(GameSessionStore.class).isInMemory(playerId));
+			}
+
+			// A table opened on the new node, with a player seated
+			int tableId = post(third, "/api/tables", "{\"seats\":3}").get("tableId").asInt();
+			int seated = createPlayer();
+			post(first, "/api/tables/" + tableId + "/seats/" + seated, "");
+			assertEquals(seated, get(first, "/api/tables/" + tableId).get("seats").get(0).get("playerId").asInt());
+
+			third.close();
+			awaitRing(2, first, second);
+
+			// Graceful leave: the same hands and shoes on the remaining nodes, and the table with its seat
+			for (int playerId : moved) {
+				assertEquals(hands.get(playerId), get(first, "/api/players/" + playerId + "/hand-value").toString());
+				assertEquals(commitments.get(playerId),
+						get(second, "/api/players/" + playerId + "/shoe").get("commitment").asText());
+				post(second, "/api/players/" + playerId + "/stand", "");
+				assertNull(get(first, "/api/players/" + playerId).get("playerHandValue"));
+			}
+			assertEquals(seated, get(second, "/api/tables/" + tableId).get("seats").get(0).get("playerId").asInt());
+		} finally {
+			third.close();
+		}
+	}
+
+	private static ConfigurableApplicationContext startNode(String name) throws IOException {
+		Path home = Files.createDirectories(dir.resolve(name));
+		// As command-line arguments, so they win over application.properties; only the first node creates the schema
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=" + ports.get(name),
+				"--spring.datasource.url=jdbc:h2:mem:blackjack-cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"--spring.jpa.hibernate.ddl-auto=" + (name.equals("a") ? "create" : "none"),
+				"--blackjack.ledger.journal-file=" + home.resolve("ledger.journal"),
+				"--blackjack.round-log.directory=" + home.resolve("round-log"),
+				"--blackjack.history.directory=" + home.resolve("history"),
+				"--blackjack.session.flush-mode=WRITE_BEHIND",
+				"--blackjack.cluster.enabled=true",
+				"--blackjack.cluster.heartbeat-interval=100ms",
+				"--blackjack.cluster.failure-timeout=1500ms",
+				"--blackjack.cluster.secret=test-secret",
+				"--blackjack.cluster.seeds=" + String.join(",", ports.values().stream()
+						.map(port -> "http://localhost:" + port).toList())));
+		return new SpringApplicationBuilder(BlackjackGameApplication.class).run(args.toArray(String[]::new));
+	}
+
+	private static String url(ConfigurableApplicationContext node) {
+		return "http://localhost:" + ((WebServerApplicationContext) node).getWebServer().getPort();
+	}
+
+	private static void awaitRing(int size, ConfigurableApplicationContext... nodes) {
+		await(() -> {
+			for (ConfigurableApplicationContext node : nodes) {
+				if (node.getBean(ClusterNode.class).members() != size) {
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the cluster");
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private static int createPlayer() throws Exception {
+		return post(first, "/api/players", "{\"username\":\"node-player\",\"balance\":1000}").get("id").asInt();
+	}
+
+	private static int playerOwnedBy(String node) throws Exception {
+		ClusterNode cluster = first.getBean(ClusterNode.class);
+		while (true) {
+			int playerId = createPlayer();
+			if (cluster.playerRoute(playerId).equals(node)) {
+				return playerId;
+			}
+		}
+	}
+
+	private static JsonNode get(ConfigurableApplicationContext node, String path) throws Exception {
+		return send(HttpRequest.newBuilder(URI.create(url(node) + path)).GET());
+	}
+
+	private static JsonNode post(ConfigurableApplicationContext node, String path, String body) throws Exception {
+		return send(HttpRequest.newBuilder(URI.create(url(node) + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)));
+	}
+
+	private static Throwable rootCause(Throwable thrown) {
+		while (thrown.getCause() != null) {
+			thrown = thrown.getCause();
+		}
+		return thrown;
+	}
+
+	private static int internal(ConfigurableApplicationContext node, String path, String body, String secret)
+			throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url(node) + "/internal/cluster" + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (secret != null) {
+			request.header(ClusterClient.SECRET, secret);
+		}
+		return HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString()).statusCode();
+	}
+
+	private static JsonNode send(HttpRequest.Builder request) throws Exception {
+		HttpResponse<String> response = HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode(), response.body());
+		return response.body().isEmpty() ? JSON.nullNode() : JSON.readTree(response.body());
+	}
+}
@@ -0,0 +1,44 @@
+package com.ebenfuentes.blackjack.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ResponseJsonTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void cardsKeepRankSuitShape() throws Exception {
+		int aceOfSpades = CardCodes.encode(CardCodes.ACE_RANK, 0);
+		assertSame(CardView.of(aceOfSpades), CardView.of(aceOfSpades));
+		assertEquals("{\"rank\":\"Ace\",\"suit\":\"Spades\"}", mapper.writeValueAsString(CardView.of(aceOfSpades)));
+		assertEquals("\"Unknown\"", mapper.writeValueAsString(CardView.UNKNOWN));
+	}
+
+	@Test
+	void roundResultKeepsLegacyFieldOrder() throws Exception {
+		CompactHand hand = new CompactHand();
+		hand.add(CardCodes.encode(8, 1));
+		RoundResultResponse result = new RoundResultResponse(10, 20, CardView.listOf(hand), List.of(), "Dealer",
+				"Dealer wins.", 10, -10, 990, null);
+		assertEquals("{\"playerValue\":10,\"dealerValue\":20,\"playerHand\":[{\"rank\":\"10\",\"suit\":\"Hearts\"}],"
+				+ "\"dealerHand\":[],\"winner\":\"Dealer\",\"message\":\"Dealer wins.\",\"betAmount\":10,"
+				+ "\"winnings\":-10,\"playerNewBalance\":990}", mapper.writeValueAsString(result));
+	}
+
+	@Test
+	void continuingHitOmitsSettlementFields() throws Exception {
+		String json = mapper.writeValueAsString(
+				HitResponse.continuing(15, List.of(CardView.of(0)), CardView.of(1), 10, 990));
+		assertEquals("{\"playerValue\":15,\"playerCards\":[{\"rank\":\"2\",\"suit\":\"Spades\"}],"
+				+ "\"dealerFaceUpCard\":[{\"rank\":\"2\",\"suit\":\"Hearts\"}],\"bet\":10,"
+				+ "\"status\":\"Continue playing.\",\"playerNewBalance\":990}", json);
+	}
+}
@@ -0,0 +1,69 @@
+package com.ebenfuentes.blackjack.engine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.model.Hand;
+
+class CompactHandTests {
+
+	@Test
+	void codesRoundTripThroughNames() {
+		for (int code = 0; code < CardCodes.DECK_SIZE; code++) {
+			Card card = Card.of(code);
+			assertEquals(code, CardCodes.fromNames(card.getRank(), card.getSuit()));
+			assertEquals(card.getValue(), CardCodes.value(code));
+		}
+	}
+
+	@Test
+	void totalsMatchStringBasedEvaluation() {
+		// Every ordered three-card combination of ranks, checked after each card
+		for (int a = 0; a < CardCodes.DECK_SIZE; a += 4) {
+			for (int b = 0; b < CardCodes.DECK_SIZE; b += 4) {
+				for (int c = 0; c < CardCodes.DECK_SIZE; c += 4) {
+					Hand hand = new Hand();
+					for (int code : new int[] { a, b, c }) {
+						hand.addCard(Card.of(code));
+						assertEquals(legacyTotal(hand), hand.getTotalValue());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void tracksSoftAndBlackjack() {
+		CompactHand hand = new CompactHand();
+		hand.add(CardCodes.encode(CardCodes.ACE_RANK, 0));
+		hand.add(CardCodes.encode(11, 1)); // King
+		assertTrue(hand.isBlackjack());
+		assertTrue(hand.isSoft());
+
+		hand.add(CardCodes.encode(4, 2)); // 6
+		assertEquals(17, hand.total());
+		assertFalse(hand.isSoft());
+		assertFalse(hand.isBlackjack());
+	}
+
+	// The original Hand.getTotalValue() loop
+	private static int legacyTotal(Hand hand) {
+		int total = 0;
+		int aceCount = 0;
+		for (Card card : hand.getCards()) {
+			if (card.getRank().equals("Ace")) {
+				aceCount++;
+				total += 1;
+			} else {
+				total += card.getValue();
+			}
+		}
+		while (aceCount > 0 && total + 10 <= 21) {
+			total += 10;
+			aceCount--;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,88 @@
+package com.ebenfuentes.blackjack.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GameEventStreamTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private GameEventPublisher eventPublisher;
+
+	@Test
+	void roundIsStreamedAsDeltaEvents() throws Exception {
+		Player player = gameService.createPlayer("stream", 1_000);
+		HttpClient client = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(
+				URI.create("http://localhost:" + port + "/api/players/" + player.getId() + "/events")).build();
+		HttpResponse<Stream<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+				.get(10, TimeUnit.SECONDS);
+		assertEquals(200, response.statusCode());
+		awaitSubscriber();
+
+		gameService.placeBet(player.getId(), 10);
+		if (!gameService.startGame(player.getId()).roundOver()) {
+			gameService.stand(player.getId());
+		}
+
+		// Read event names until the round's final balance update
+		List<String> names = new ArrayList<>();
+		Iterator<String> lines = response.body().iterator();
+		while (lines.hasNext()) {
+			String line = lines.next();
+			if (line.startsWith("event:")) {
+				names.add(line.substring("event:".length()).trim());
+				if (names.contains("OUTCOME") && names.get(names.size() - 1).equals("BALANCE")) {
+					break;
+				}
+			}
+		}
+		response.body().close();
+
+		assertEquals("BALANCE", names.get(0)); // The bet
+		assertTrue(names.stream().filter("CARD_DEALT"::equals).count() >= 4, names.toString());
+		assertTrue(names.contains("OUTCOME"), names.toString());
+	}
+
+	@Test
+	void cardEventsCarryRunningHandValues() {
+		CompactHand hand = new CompactHand();
+		hand.add(48); // Ace
+		hand.add(20); // 7
+		hand.add(36); // Jack
+		List<GameEvent> events = GameEvent.cards(7, hand, 0, 3);
+		assertEquals(List.of(11, 18, 18), events.stream().map(GameEvent::value).toList());
+		assertEquals(1, GameEvent.cards(null, hand, 2, 3).size());
+	}
+
+	private void awaitSubscriber() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (eventPublisher.subscribers() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.ebenfuentes.blackjack.history;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+class HistoryStoreTests {
+
+	private static final long HOUR = Duration.ofHours(1).toMillis();
+	private static final long START = 1_700_000_000_000L - 1_700_000_000_000L % HOUR;
+
+	@TempDir
+	Path dir;
+
+	private HistoryStore store;
+
+	@AfterEach
+	void close() throws IOException {
+		if (store != null) {
+			store.destroy();
+		}
+	}
+
+	// Three players interleaved across several small partitions; each player's pages follow their own chain
+	@Test
+	void playerPagesWalkOnlyThatPlayersRows() throws IOException {
+		store = open(false);
+		for (int i = 0; i < 90; i++) {
+			store.record(START + i, i + 1, i % 3, 0, RoundOutcome.PLAYER_WIN, 10, 20, 1_000 + i);
+		}
+		assertEquals(9, store.partitions());
+
+		List<HistoryRow> rows = new ArrayList<>();
+		Long cursor = null;
+		int pages = 0;
+		do {
+			HistoryPage page = store.playerRounds(1, cursor, 7);
+			rows.addAll(page.rows());
+			cursor = page.nextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(5, pages);
+		assertEquals(30, rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			HistoryRow row = rows.get(i);
+			assertEquals(1, row.playerId());
+			assertEquals(1_000 + 88 - 3 * i, row.balanceAfter()); // Newest first
+			assertEquals(89 - 3 * i, row.sequence());
+		}
+		assertTrue(store.playerRounds(42, null, 10).rows().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> store.playerRounds(2, rows.get(0).rowId(), 10));
+	}
+
+	@Test
+	void searchReadsOnlyTheTimeRangeAndOutcome() throws IOException {
+		store = open(false);
+		// One round a minute for three hours; every fifth is a blackjack
+		for (int i = 0; i < 180; i++) {
+			RoundOutcome outcome = i % 5 == 0 ? RoundOutcome.BLACKJACK : RoundOutcome.DEALER_WIN;
+			store.record(START + i * 60_000L, -1, i % 4, 0, outcome, 10, outcome == RoundOutcome.BLACKJACK ? 20 : 0, i);
+		}
+
+		long from = START + HOUR;
+		long to = START + 2 * HOUR;
+		List<HistoryRow> rows = new ArrayList<>();
+		Long cursor = null;
+		do {
+			HistoryPage page = store.search(RoundOutcome.BLACKJACK, from, to, cursor, 5);
+			rows.addAll(page.rows());
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		assertEquals(12, rows.size());
+		assertEquals(115, rows.get(0).balanceAfter());
+		assertEquals(60, rows.get(11).balanceAfter());
+		for (HistoryRow row : rows) {
+			assertEquals(RoundOutcome.BLACKJACK, row.outcome());
+			assertTrue(row.timestamp() >= from && row.timestamp() < to);
+			assertEquals(-1, row.sequence());
+		}
+		assertEquals(180, store.search(null, 0, Long.MAX_VALUE, null, 1_000).rows().size());
+	}
+
+	// Old partitions go once past retention; a reopened store rebuilds the player index from the files
+	@Test
+	void retentionAndReopen() throws IOException {
+		store = open(true);
+		for (int day = 0; day < 4; day++) {
+			store.record(START + day * 24 * HOUR, day + 1, 7, 3, RoundOutcome.PUSH, 10, 10, 100 + day);
+		}
+		assertEquals(3, store.partitions()); // Day 0 is older than the two-day retention
+		store.destroy();
+
+		store = open(true);
+		assertEquals(3, store.getRows());
+		HistoryPage page = store.playerRounds(7, null, 10);
+		assertEquals(List.of(103, 102, 101), page.rows().stream().map(HistoryRow::balanceAfter).toList());
+		assertEquals(3, page.rows().get(0).tableId());
+		assertNull(page.nextCursor());
+		store.record(START + 4 * 24 * HOUR, 5, 7, 0, RoundOutcome.PUSH, 10, 10, 104);
+		assertEquals(104, store.playerRounds(7, null, 1).rows().get(0).balanceAfter());
+	}
+
+	private HistoryStore open(boolean keepOnRestart) throws IOException {
+		HistoryProperties properties = new HistoryProperties();
+		properties.setDirectory(dir.toString());
+		properties.setPartitionRows(10);
+		properties.setRetention(Duration.ofDays(2));
+		properties.setKeepOnRestart(keepOnRestart);
+		return new HistoryStore(properties);
+	}
+}
@@ -0,0 +1,181 @@
+package com.ebenfuentes.blackjack.ledger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ebenfuentes.blackjack.model.Player;
+
+class BalanceLedgerTests {
+
+	private static final int THREADS = 8;
+	private static final int ACCOUNTS = 16; // Few accounts, so threads keep colliding on the same one
+	private static final int OPS_PER_THREAD = 100_000;
+	private static final int OPENING_BALANCE = 1_000;
+
+	@TempDir
+	Path dir;
+
+	private BalanceLedger ledger;
+
+	@AfterEach
+	void close() throws Exception {
+		if (ledger != null) {
+			ledger.destroy();
+		}
+	}
+
+	// Every thread stakes and settles on shared accounts. Stakes only move money onto the bet, so
+	// each account must end at its opening balance plus everything paid out minus everything staked.
+	@Test
+	void concurrentStakesAndPayoutsLoseNothing() throws Exception {
+		ledger = newLedger();
+		for (int id = 1; id <= ACCOUNTS; id++) {
+			ledger.attach(player(id, OPENING_BALANCE));
+		}
+
+		long[][] staked = new long[THREADS][ACCOUNTS + 1];
+		long[][] paid = new long[THREADS][ACCOUNTS + 1];
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				futures.add(pool.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					start.await();
+					for (int i = 0; i < OPS_PER_THREAD; i++) {
+						int id = 1 + random.nextInt(ACCOUNTS);
+						if (random.nextBoolean()) {
+							try {
+								ledger.stake(id, 10);
+								staked[thread][id] += 10;
+							} catch (IllegalArgumentException e) {
+								// Insufficient balance; nothing moved
+							}
+						} else {
+							int payout = 10 * random.nextInt(3);
+							ledger.settle(id, payout);
+							paid[thread][id] += payout;
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		for (int id = 1; id <= ACCOUNTS; id++) {
+			long expected = OPENING_BALANCE;
+			for (int t = 0; t < THREADS; t++) {
+				expected += paid[t][id] - staked[t][id];
+			}
+			AccountBalance state = ledger.get(id);
+			assertEquals(expected, state.balance(), "account " + id);
+			assertTrue(state.balance() >= 0 && state.bet() >= 0, "account " + id + ": " + state);
+		}
+	}
+
+	@Test
+	void journalReplayMatchesLiveBalances() throws Exception {
+		ledger = newLedger();
+		for (int id = 1; id <= ACCOUNTS; id++) {
+			ledger.attach(player(id, OPENING_BALANCE));
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(pool.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < 20_000; i++) {
+						int id = 1 + random.nextInt(ACCOUNTS);
+						try {
+							ledger.stake(id, 5);
+						} catch (IllegalArgumentException e) {
+							// Insufficient balance
+						}
+						if (random.nextInt(4) == 0) {
+							ledger.settle(id, 10);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		ledger.flushJournal();
+
+		Map<Integer, AccountBalance> replayed = LedgerJournal.replay(dir.resolve("ledger.journal"));
+		assertEquals(ACCOUNTS, replayed.size());
+		for (int id = 1; id <= ACCOUNTS; id++) {
+			assertEquals(ledger.get(id), replayed.get(id), "account " + id);
+		}
+	}
+
+	@Test
+	void restartRecoversPreviousJournal() throws Exception {
+		ledger = newLedger();
+		ledger.attach(player(7, 100));
+		ledger.stake(7, 40);
+		AccountBalance last = ledger.settle(7, 80);
+		ledger.destroy();
+
+		ledger = newLedger();
+		assertEquals(Map.of(7, last), ledger.takeRecovered());
+		assertTrue(dir.resolve("ledger.journal.1").toFile().exists());
+		assertTrue(ledger.takeRecovered().isEmpty());
+	}
+
+	@Test
+	void stakeBeyondBalanceIsRejectedAndMirrored() throws Exception {
+		ledger = newLedger();
+		Player player = player(3, 50);
+		ledger.attach(player);
+
+		ledger.stake(player, 30);
+		assertEquals(20, player.getBalance());
+		assertEquals(30, player.getBet());
+		assertThrows(IllegalArgumentException.class, () -> ledger.stake(player, 30));
+		assertEquals(new AccountBalance(20, 30, 2), ledger.get(3));
+
+		ledger.settle(player, 60);
+		assertEquals(80, player.getBalance());
+		assertEquals(0, player.getBet());
+	}
+
+	private BalanceLedger newLedger() throws Exception {
+		LedgerProperties properties = new LedgerProperties();
+		properties.setJournalFile(dir.resolve("ledger.journal").toString());
+		return new BalanceLedger(properties);
+	}
+
+	private static Player player(int id, int balance) {
+		Player player = new Player("ledger-" + id, balance);
+		player.setId(id);
+		return player;
+	}
+}
@@ -0,0 +1,62 @@
+package com.ebenfuentes.blackjack.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+
+// Tests disable metrics export unless asked; this one needs the Prometheus registry
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsEndpointTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private GameService gameService;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void roundsAndRequestsShowUpInPrometheusScrape() throws Exception {
+		Player player = gameService.createPlayer("metrics", 1_000);
+		String base = "/api/players/" + player.getId();
+		assertEquals(200, send("POST", base + "/bet", "{\"amount\":10}").statusCode());
+		String state = send("POST", base + "/start", "").body();
+		if (!state.contains("\"winner\"")) {
+			send("POST", base + "/stand", "");
+		}
+		send("GET", base + "/balance", null);
+
+		HttpResponse<String> scrape = send("GET", "/actuator/prometheus", null);
+		assertEquals(200, scrape.statusCode());
+		String body = scrape.body();
+		assertTrue(body.contains("blackjack_rounds_total{"), "rounds by outcome");
+		assertTrue(body.contains("blackjack_wagered_chips_total"), "wagered");
+		assertTrue(body.contains("blackjack_shoe_shuffles_total"), "shuffles");
+		assertTrue(body.contains("http_server_requests_seconds_bucket{")
+				&& body.contains("uri=\"/api/players/{id}/start\""), "latency histogram per endpoint");
+		assertTrue(body.contains("blackjack_request_sql_count{") && body.contains("uri=\"/api/players/{id}/bet\""),
+				"sql per request");
+	}
+
+	private HttpResponse<String> send(String method, String path, String json) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json");
+		request.method(method,
+				json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+}
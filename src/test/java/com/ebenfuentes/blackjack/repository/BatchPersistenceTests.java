@@ -0,0 +1,48 @@
+package com.ebenfuentes.blackjack.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+// Runs with the production batching settings against H2 in MySQL mode
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-prod.properties", properties = {
+		"spring.jpa.hibernate.ddl-auto=create",
+		"blackjack.session.flush-mode=ROUND" })
+class BatchPersistenceTests {
+
+	private static final int PLAYERS = 200;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Test
+	void bulkSignupInsertsInBatches() {
+		List<Player> requests = new ArrayList<>();
+		for (int i = 0; i < PLAYERS; i++) {
+			requests.add(new Player("bulk" + i, 1_000));
+		}
+
+		long before = sqlStatementCounter.getWriteCount();
+		List<Player> created = gameService.createPlayers(requests);
+		long writes = sqlStatementCounter.getWriteCount() - before;
+
+		assertEquals(PLAYERS, created.size());
+		assertTrue(created.stream().allMatch(p -> p.getId() != null));
+		// 600 rows (player + two hands each) in batches of 50: one prepared statement per batch
+		assertTrue(writes <= (PLAYERS * 3) / 50 + 2, "insert statements prepared: " + writes);
+	}
+}
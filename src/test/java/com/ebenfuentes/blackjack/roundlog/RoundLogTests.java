@@ -0,0 +1,164 @@
+package com.ebenfuentes.blackjack.roundlog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.shoe.Shoe;
+import com.ebenfuentes.blackjack.shoe.ShoeProperties;
+import com.ebenfuentes.blackjack.shoe.ShoeShuffler;
+
+class RoundLogTests {
+
+	private static final int RECORDS_PER_SEGMENT = 10;
+
+	@TempDir
+	Path dir;
+
+	private RoundLog roundLog;
+
+	@AfterEach
+	void close() throws IOException {
+		if (roundLog != null) {
+			roundLog.destroy();
+		}
+	}
+
+	@Test
+	void recordsRollAcrossSegmentsAndReadBackInOrder() throws IOException {
+		roundLog = open();
+		for (int i = 0; i < 35; i++) {
+			logRound(i % 3, 100 + i);
+		}
+		roundLog.flush();
+		assertEquals(35, roundLog.getDurable());
+
+		assertEquals(4, RoundLogReader.segments(dir).size());
+		List<RoundRecord> records = new ArrayList<>();
+		assertEquals(35, RoundLogReader.read(dir, records::add));
+		for (int i = 0; i < records.size(); i++) {
+			RoundRecord record = records.get(i);
+			assertEquals(i + 1, record.sequence());
+			assertEquals(i % 3, record.playerId());
+			assertEquals(100 + i, record.balanceAfter());
+			assertEquals(RoundOutcome.PLAYER_WIN, record.outcome());
+			assertEquals(List.of(PlayerAction.HIT, PlayerAction.STAND), record.actionList());
+			assertArrayEquals(new byte[] { (byte) ace(), 20, 8 }, record.playerCards());
+			assertEquals(3, record.dealerCards().length);
+		}
+		assertEquals(Map.of(0, 133, 1, 134, 2, 132), RoundLogReader.balances(dir));
+	}
+
+	// A torn write at the tail is dropped on restart and numbering continues after the last good record
+	@Test
+	void reopenContinuesAfterLastIntactRecord() throws IOException {
+		roundLog = open();
+		for (int i = 0; i < 15; i++) {
+			logRound(1, i);
+		}
+		roundLog.destroy();
+		Path last = RoundLogReader.segments(dir).get(1);
+		try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x7F }), 4L * RecordLayout.RECORD_BYTES + 50);
+		}
+
+		roundLog = open();
+		assertEquals(14, roundLog.getSequence());
+		assertEquals(15, logRound(1, 99));
+		List<RoundRecord> records = new ArrayList<>();
+		RoundLogReader.read(dir, records::add);
+		assertEquals(15, records.size());
+		assertEquals(99, records.get(14).balanceAfter());
+	}
+
+	// Each hand of a split names the round's shoe; the decisions go with the first
+	@Test
+	void splitHandsShareTheRoundsShoe() throws IOException {
+		roundLog = open();
+		Shoe shoe = new Shoe(new ShoeShuffler(new ShoeProperties()));
+		shoe.dealCode();
+		roundLog.dealtFrom(7, shoe);
+		roundLog.action(7, PlayerAction.SPLIT);
+		CompactHand dealer = hand(40, 12, 24);
+		roundLog.append(1L, 7, 0, RoundOutcome.PLAYER_WIN, 10, 20, 110, hand(ace(), 20), dealer, false);
+		roundLog.append(1L, 7, 0, RoundOutcome.DEALER_WIN, 10, 0, 110, hand(ace(), 8), dealer, true);
+
+		RoundRecord first = roundLog.find(1);
+		RoundRecord second = roundLog.find(2);
+		for (RoundRecord record : List.of(first, second)) {
+			assertEquals(shoe.getSeed().commitment(), record.shoeCommitment());
+			assertEquals(0, record.shoeIndex());
+			assertEquals(1, record.shoePosition());
+		}
+		assertEquals(List.of(PlayerAction.SPLIT), first.actionList());
+		assertEquals(List.of(), second.actionList());
+		// Without a deal on record the shoe is unknown
+		logRound(8, 50);
+		assertNull(roundLog.find(3).shoeCommitment());
+		assertEquals(-1, roundLog.find(3).shoeIndex());
+	}
+
+	// Numbering carries on after a log written in the previous record layout
+	@Test
+	void numberingContinuesAfterALegacyLog() throws IOException {
+		ByteBuffer legacy = ByteBuffer.allocate(3 * 96).order(RecordLayout.ORDER);
+		for (int i = 0; i < 3; i++) {
+			legacy.putLong(i * 96, 41 + i);
+		}
+		Files.write(dir.resolve("rounds-00000000000000000041.log"), legacy.array());
+
+		roundLog = open();
+		assertEquals(43, roundLog.getSequence());
+		assertEquals(44, logRound(1, 10));
+	}
+
+	@Test
+	void disabledWithoutDirectory() throws IOException {
+		roundLog = new RoundLog(new RoundLogProperties());
+		assertFalse(roundLog.isEnabled());
+		assertEquals(-1, logRound(1, 10));
+	}
+
+	private RoundLog open() throws IOException {
+		RoundLogProperties properties = new RoundLogProperties();
+		properties.setDirectory(dir.toString());
+		properties.setSegmentBytes(RECORDS_PER_SEGMENT * RecordLayout.RECORD_BYTES);
+		return new RoundLog(properties);
+	}
+
+	private long logRound(int playerId, int balanceAfter) {
+		CompactHand player = hand(ace(), 20, 8);
+		CompactHand dealer = hand(40, 12, 24);
+		roundLog.action(playerId, PlayerAction.HIT);
+		roundLog.action(playerId, PlayerAction.STAND);
+		return roundLog.append(System.currentTimeMillis(), playerId, 0, RoundOutcome.PLAYER_WIN, 10, 20, balanceAfter, player, dealer);
+	}
+
+	private static int ace() {
+		return CardCodes.encode(CardCodes.ACE_RANK, 0);
+	}
+
+	private static CompactHand hand(int... codes) {
+		CompactHand hand = new CompactHand();
+		for (int code : codes) {
+			hand.add(code);
+		}
+		return hand;
+	}
+}
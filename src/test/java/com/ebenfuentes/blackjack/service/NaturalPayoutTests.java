@@ -0,0 +1,53 @@
+package com.ebenfuentes.blackjack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+
+@SpringBootTest
+class NaturalPayoutTests {
+
+	private static final int KING = 11;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private GameSessionStore sessionStore;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	// A natural settles for what the simulator counts it: 3:2 on top of the returned stake
+	@Test
+	void naturalPaysWhatTheSimulatorCounts() {
+		int playerId = gameService.createPlayer("natural", 1_000).getId();
+		do {
+			gameService.placeBet(playerId, 10);
+		} while (gameService.startGame(playerId).roundOver());
+		int staked = gameService.getPlayerBalance(playerId).balance();
+
+		RoundResultResponse result = sessionStore.withPlayer(playerId, player -> {
+			CompactHand cards = player.getHand().getCompactHand();
+			cards.clear();
+			cards.add(CardCodes.encode(CardCodes.ACE_RANK, 0));
+			cards.add(CardCodes.encode(KING, 1));
+			return gameService.handleBlackjackWin(player);
+		});
+
+		int simulated = (int) (RoundOutcome.BLACKJACK.getPayout() * 10);
+		assertEquals(15, simulated);
+		assertEquals(simulated, result.winnings());
+		assertEquals(staked + 10 + simulated, result.playerNewBalance());
+		assertEquals(result.playerNewBalance(), playerRepository.findById(playerId).orElseThrow().getBalance());
+	}
+}
@@ -0,0 +1,85 @@
+package com.ebenfuentes.blackjack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.ebenfuentes.blackjack.dto.ShoeSeedResponse;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+import com.ebenfuentes.blackjack.roundlog.RoundLog;
+import com.ebenfuentes.blackjack.roundlog.RoundRecord;
+import com.ebenfuentes.blackjack.shoe.ShoeProperties;
+import com.ebenfuentes.blackjack.shoe.ShoeSeed;
+
+@SpringBootTest
+class RoundReplayTests {
+
+	private static Path directory;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private RoundLog roundLog;
+
+	@Autowired
+	private ShoeProperties shoeProperties;
+
+	@DynamicPropertySource
+	static void roundLogDirectory(DynamicPropertyRegistry registry) throws IOException {
+		directory = Files.createTempDirectory("round-replay");
+		registry.add("blackjack.round-log.directory", directory::toString);
+	}
+
+	// A settled round is rebuilt from its log record alone once the seed it names is revealed
+	@Test
+	void settledRoundReplaysFromItsRecord() throws IOException {
+		int playerId = gameService.createPlayer("replay", 1_000).getId();
+		for (int round = 0; round < 2; round++) {
+			gameService.placeBet(playerId, 10);
+			if (!gameService.startGame(playerId).roundOver()) {
+				gameService.stand(playerId);
+			}
+		}
+		RoundRecord record = roundLog.find(roundLog.getSequence());
+		assertEquals(playerId, record.playerId());
+		assertTrue(record.shoePosition() >= 4);
+
+		// Rotating reveals the seed behind the record's commitment and keeps it in seeds.log
+		ShoeSeedResponse rotated = gameService.rotateShoeSeed(playerId);
+		assertEquals(record.shoeCommitment(), rotated.revealedCommitment());
+		assertTrue(Files.readString(directory.resolve("seeds.log")).contains(rotated.revealedSeed()));
+		ShoeSeed seed = ShoeSeed.fromHex(rotated.revealedSeed());
+		assertTrue(seed.matches(record.shoeCommitment()));
+
+		// Dealt from the tail after the cards before the round: player, dealer, player, dealer, then the
+		// dealer's draws (the player stood on two cards)
+		byte[] shoe = seed.shoe(record.shoeIndex(), shoeProperties.getDecks());
+		int next = shoe.length - 1 - record.shoePosition();
+		assertArrayEquals(new byte[] { shoe[next], shoe[next - 2] }, record.playerCards());
+		byte[] dealer = record.dealerCards();
+		assertEquals(shoe[next - 1], dealer[0]);
+		assertEquals(shoe[next - 3], dealer[1]);
+		for (int i = 2; i < dealer.length; i++) {
+			assertEquals(shoe[next - 2 - i], dealer[i]);
+		}
+		assertEquals(record.outcome(), RoundOutcome.evaluate(hand(record.playerCards()), hand(dealer)));
+	}
+
+	private static CompactHand hand(byte[] codes) {
+		CompactHand hand = new CompactHand();
+		for (byte code : codes) {
+			hand.add(code);
+		}
+		return hand;
+	}
+}
@@ -0,0 +1,96 @@
+package com.ebenfuentes.blackjack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.BulkRoundRequest;
+import com.ebenfuentes.blackjack.dto.BulkRoundResponse;
+import com.ebenfuentes.blackjack.dto.RoundRequest;
+import com.ebenfuentes.blackjack.dto.ScriptedRoundResponse;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+@SpringBootTest
+class RoundServiceTests {
+
+	@Autowired
+	private RoundService roundService;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Test
+	void scriptedRoundIsPlayedAndSavedInOneCall() {
+		int playerId = gameService.createPlayer("scripted", 1_000).getId();
+
+		long writesBefore = sqlStatementCounter.getWriteCount();
+		ScriptedRoundResponse response = roundService.playRound(playerId,
+				new RoundRequest(10, List.of(PlayerAction.HIT, PlayerAction.STAND), null));
+		long writes = sqlStatementCounter.getWriteCount() - writesBefore;
+
+		List<PlayerAction> actions = response.actions();
+		assertTrue(actions.isEmpty() || List.of(PlayerAction.HIT, PlayerAction.STAND).subList(0, actions.size())
+				.equals(actions), "actions played: " + actions); // Empty on a dealt blackjack, [HIT] on a bust
+		assertEquals(10, response.result().betAmount());
+		assertTrue(writes <= 3, "rows written for one scripted round: " + writes);
+		Player stored = playerRepository.findById(playerId).orElseThrow();
+		assertEquals(response.result().playerNewBalance(), stored.getBalance());
+		assertEquals(0, stored.getBet());
+		assertFalse(stored.isGameStarted());
+
+		// Rejected scripts leave the player as they were
+		int balance = stored.getBalance();
+		assertThrows(IllegalArgumentException.class, () -> roundService.playRound(playerId,
+				new RoundRequest(10, List.of(PlayerAction.HIT, PlayerAction.DOUBLE), null)));
+		assertThrows(IllegalArgumentException.class, () -> roundService.playRound(playerId,
+				new RoundRequest(10, List.of(PlayerAction.STAND), "basic")));
+		assertThrows(IllegalArgumentException.class, () -> roundService.playRound(playerId,
+				new RoundRequest(10, null, "martingale")));
+		assertEquals(balance, gameService.getPlayerBalance(playerId).balance());
+	}
+
+	@Test
+	void bulkRoundsRunPerPlayerUntilTheBetCannotBeCovered() {
+		int rich = gameService.createPlayer("bulk-rich", 100_000).getId();
+		int other = gameService.createPlayer("bulk-other", 100_000).getId();
+		int poor = gameService.createPlayer("bulk-poor", 5).getId();
+		int rounds = RoundService.ROUNDS_PER_LOCK + 50; // Spans two locked chunks per player
+
+		BulkRoundResponse response = roundService.playRounds(
+				new BulkRoundRequest(List.of(rich, -1, other, poor), rounds, 10, null, "basic"));
+
+		assertEquals(4, response.players().size());
+		for (BulkRoundResponse.PlayerRounds summary : List.of(response.players().get(0), response.players().get(2))) {
+			assertEquals(rounds, summary.rounds());
+			assertNull(summary.error());
+			assertEquals(rounds, summary.outcomes().values().stream().mapToInt(Integer::intValue).sum());
+			assertEquals(100_000 + summary.winnings(), summary.balance());
+			assertEquals(summary.balance(), playerRepository.findById(summary.playerId()).orElseThrow().getBalance());
+		}
+		BulkRoundResponse.PlayerRounds missing = response.players().get(1);
+		assertEquals(0, missing.rounds());
+		assertEquals("Player not found.", missing.error());
+		BulkRoundResponse.PlayerRounds broke = response.players().get(3);
+		assertEquals(0, broke.rounds());
+		assertEquals("Insufficient balance to place bet.", broke.error());
+		assertEquals(2 * rounds, response.rounds());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> roundService.playRounds(new BulkRoundRequest(List.of(rich, rich), 1, 10, null, "stand")));
+		assertThrows(IllegalArgumentException.class, () -> roundService.playRounds(
+				new BulkRoundRequest(List.of(rich, other), RoundService.MAX_BULK_ROUNDS, 10, null, "stand")));
+	}
+}
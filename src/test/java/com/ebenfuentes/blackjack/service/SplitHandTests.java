@@ -0,0 +1,135 @@
+package com.ebenfuentes.blackjack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.SplitHandsResponse;
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+
+@SpringBootTest
+class SplitHandTests {
+
+	private static final int EIGHT = 6;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private GameSessionStore sessionStore;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	// Split, re-split, then stand on every hand: all three settle together and the round is one flush
+	@Test
+	void resplitHandsSettleTogetherInOneFlush() {
+		int playerId = startRound("split-eights", 1_000);
+		long writesBefore = sqlStatementCounter.getWriteCount();
+
+		dealPair(playerId, EIGHT);
+		SplitHandsResponse split = (SplitHandsResponse) gameService.split(playerId);
+		assertEquals(2, split.hands().size());
+		assertEquals(0, split.currentHand());
+		assertEquals(980, split.playerBalance());
+
+		dealPair(playerId, EIGHT);
+		split = (SplitHandsResponse) gameService.split(playerId);
+		assertEquals(3, split.hands().size());
+		assertEquals(970, split.playerBalance());
+		for (SplitHandsResponse.HandView hand : split.hands()) {
+			assertEquals(10, hand.bet());
+			assertEquals(2, hand.cards().size());
+		}
+
+		PlayResponse state = gameService.stand(playerId);
+		assertEquals(1, ((SplitHandsResponse) state).currentHand());
+		state = gameService.stand(playerId);
+		assertEquals(2, ((SplitHandsResponse) state).currentHand());
+		RoundResultResponse result = (RoundResultResponse) gameService.stand(playerId);
+		long writes = sqlStatementCounter.getWriteCount() - writesBefore;
+
+		assertEquals(3, result.hands().size());
+		assertEquals(30, result.betAmount());
+		assertEquals(result.hands().stream().mapToInt(RoundResultResponse::winnings).sum(), result.winnings());
+		for (RoundResultResponse hand : result.hands()) {
+			assertEquals(result.dealerHand(), hand.dealerHand());
+		}
+		// Still one player row and two hand rows: the split hands ride along on the player row
+		assertTrue(writes <= 3, "rows written for a three-hand round: " + writes);
+		Player stored = playerRepository.findById(playerId).orElseThrow();
+		assertEquals(result.playerNewBalance(), stored.getBalance());
+		assertEquals(0, stored.getBet());
+		assertFalse(stored.isGameStarted());
+		assertEquals(3, stored.getSplitHands().size());
+	}
+
+	// Split aces take one card each and settle at once; an Ace and a ten is 21, not a natural
+	@Test
+	void splitAcesSettleImmediately() {
+		int playerId = startRound("split-aces", 1_000);
+		dealPair(playerId, CardCodes.ACE_RANK);
+
+		RoundResultResponse result = (RoundResultResponse) gameService.split(playerId);
+
+		assertEquals(2, result.hands().size());
+		for (RoundResultResponse hand : result.hands()) {
+			assertEquals(2, hand.playerHand().size());
+			assertNotEquals("Blackjack! Player Wins!", hand.message());
+			assertTrue(hand.winnings() <= 10);
+		}
+		assertEquals(result.playerNewBalance(), gameService.getPlayerBalance(playerId).balance());
+	}
+
+	@Test
+	void splitNeedsAPairAndTheFunds() {
+		int playerId = gameService.createPlayer("split-poor", 10).getId();
+		do {
+			gameService.placeBet(playerId, gameService.getPlayerBalance(playerId).balance()); // All in
+		} while (gameService.startGame(playerId).roundOver());
+		dealPair(playerId, EIGHT);
+		assertThrows(IllegalArgumentException.class, () -> gameService.split(playerId));
+
+		sessionStore.withPlayer(playerId, player -> {
+			CompactHand cards = player.getHand().getCompactHand();
+			cards.clear();
+			cards.add(CardCodes.encode(EIGHT, 0));
+			cards.add(CardCodes.encode(EIGHT + 1, 0));
+			return null;
+		});
+		assertThrows(IllegalArgumentException.class, () -> gameService.split(playerId));
+		assertEquals(0, gameService.getPlayerBalance(playerId).balance());
+	}
+
+	// A player in a live round (a dealt natural ends the round, so deal again)
+	private int startRound(String username, int balance) {
+		int playerId = gameService.createPlayer(username, balance).getId();
+		do {
+			gameService.placeBet(playerId, 10);
+		} while (gameService.startGame(playerId).roundOver());
+		return playerId;
+	}
+
+	// Replace the hand in play with a pair of the given rank
+	private void dealPair(int playerId, int rank) {
+		sessionStore.withPlayer(playerId, player -> {
+			CompactHand cards = player.getHand().getCompactHand();
+			cards.clear();
+			cards.add(CardCodes.encode(rank, 0));
+			cards.add(CardCodes.encode(rank, 1));
+			return null;
+		});
+	}
+}
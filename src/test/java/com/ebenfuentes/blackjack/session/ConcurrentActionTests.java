@@ -0,0 +1,190 @@
+package com.ebenfuentes.blackjack.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.service.GameService;
+
+// Many clients (and their retries) against one player over HTTP
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConcurrentActionTests {
+
+	private static final int THREADS = 16;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private SessionMetrics sessionMetrics;
+
+	@Autowired
+	private IdempotencyCache idempotencyCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	// Sixteen copies of one hit arrive together: one card is dealt and every copy gets its response
+	@Test
+	void concurrentRetriesOfOneHitDealOneCard() throws Exception {
+		int playerId = startRound("retry-hit");
+		String hit = "/api/players/" + playerId + "/hit";
+
+		List<HttpResponse<String>> responses = hammer(THREADS, i -> send(hit, "", "hit-1"));
+
+		Set<String> bodies = new HashSet<>();
+		for (HttpResponse<String> response : responses) {
+			assertEquals(200, response.statusCode(), response.body());
+			bodies.add(response.body());
+		}
+		assertEquals(1, bodies.size());
+		assertEquals(3, gameService.getPlayerHandDetails(playerId).playerCards().size());
+
+		// The key belongs to the hit; it cannot be spent on another action
+		int balance = gameService.getPlayerBalance(playerId).balance();
+		assertNotEquals(200, send("/api/players/" + playerId + "/double-down", "", "hit-1").statusCode());
+		assertEquals(balance, gameService.getPlayerBalance(playerId).balance());
+	}
+
+	// Every bet is sent twice under its own key from many threads: each is staked exactly once
+	@Test
+	void retriedBetsFromManyThreadsAreStakedOnce() throws Exception {
+		int playerId = gameService.createPlayer("retry-bets", 1_000).getId();
+		String bet = "/api/players/" + playerId + "/bet";
+		int perThread = 20;
+		long replaysBefore = idempotencyCache.getReplays();
+
+		List<HttpResponse<String>> responses = hammer(THREADS, thread -> {
+			HttpResponse<String> last = null;
+			for (int i = 0; i < perThread; i++) {
+				String key = "bet-" + thread + "-" + i;
+				send(bet, "{\"amount\":1}", key);
+				last = send(bet, "{\"amount\":1}", key);
+			}
+			return last;
+		});
+
+		for (HttpResponse<String> response : responses) {
+			assertEquals(200, response.statusCode(), response.body());
+		}
+		assertEquals(1_000 - THREADS * perThread, gameService.getPlayerBalance(playerId).balance());
+		assertEquals(THREADS * perThread, idempotencyCache.getReplays() - replaysBefore);
+
+		// Unkeyed requests are not deduplicated
+		assertEquals(200, send(bet, "{\"amount\":1}", null).statusCode());
+		assertEquals(200, send(bet, "{\"amount\":1}", null).statusCode());
+		assertEquals(1_000 - THREADS * perThread - 2, gameService.getPlayerBalance(playerId).balance());
+	}
+
+	// Creating players has no player to scope the key to: two clients that pick the same key for
+	// different players are told so (422) instead of one getting the other's player back
+	@Test
+	void createKeyReusedForAnotherPlayerIsRejected() throws Exception {
+		String key = "create-" + System.nanoTime();
+		HttpResponse<String> first = send("/api/players", "{\"username\":\"keyed-a\",\"balance\":100}", key);
+		assertEquals(200, first.statusCode(), first.body());
+		assertEquals(first.body(), send("/api/players", "{\"balance\":100,\"username\":\"keyed-a\"}", key).body());
+
+		HttpResponse<String> other = send("/api/players", "{\"username\":\"keyed-b\",\"balance\":100}", key);
+		assertEquals(422, other.statusCode(), other.body());
+		assertTrue(playerRepository.findAll().stream().noneMatch(player -> player.getUsername().equals("keyed-b")));
+	}
+
+	// A row written behind the session's back (newer version) is not overwritten by the stale copy:
+	// the request fails with a conflict and the next one works from the stored row
+	@Test
+	void staleVersionIsDetectedInsteadOfOverwritten() throws Exception {
+		int playerId = startRound("stale-version");
+		jdbcTemplate.update("update player set username = 'renamed', version = version + 5 where id = ?", playerId);
+		long version = playerRepository.findById(playerId).orElseThrow().getVersion();
+		long conflictsBefore = sessionMetrics.getVersionConflicts();
+
+		HttpResponse<String> stand = send("/api/players/" + playerId + "/stand", "", null);
+
+		assertEquals(409, stand.statusCode(), stand.body());
+		assertEquals(1, sessionMetrics.getVersionConflicts() - conflictsBefore);
+		Player stored = playerRepository.findById(playerId).orElseThrow();
+		assertEquals("renamed", stored.getUsername());
+		assertEquals(version, stored.getVersion());
+		assertEquals(stored.getBalance(), gameService.getPlayerBalance(playerId).balance());
+		// The round only ever existed in the dropped copy (ROUND mode saves at round end)
+		assertFalse(stored.isGameStarted());
+		assertEquals("Game not in session.", gameService.checkGameStatus(playerId).status());
+	}
+
+	// A player in a live round (a dealt natural ends the round, so deal again)
+	private int startRound(String username) {
+		int playerId = gameService.createPlayer(username, 1_000).getId();
+		do {
+			gameService.placeBet(playerId, 10);
+		} while (gameService.startGame(playerId).roundOver());
+		return playerId;
+	}
+
+	// Run the call on every thread at once and collect the results in thread order
+	private <T> List<T> hammer(int threads, Call<T> call) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch go = new CountDownLatch(1);
+			List<Future<T>> futures = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				int thread = i;
+				futures.add(executor.submit(() -> {
+					go.await();
+					return call.run(thread);
+				}));
+			}
+			go.countDown();
+			List<T> results = new ArrayList<>(threads);
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private HttpResponse<String> send(String path, String json, String key) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json));
+		if (key != null) {
+			request.header("Idempotency-Key", key);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	@FunctionalInterface
+	private interface Call<T> {
+
+		T run(int thread) throws Exception;
+	}
+}
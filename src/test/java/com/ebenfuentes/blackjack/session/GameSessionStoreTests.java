@@ -0,0 +1,158 @@
+package com.ebenfuentes.blackjack.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.HitResponse;
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.ledger.BalanceLedger;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.service.GameService;
+
+@SpringBootTest
+class GameSessionStoreTests {
+
+	private static final int ROUNDS = 30;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private GameSessionStore sessionStore;
+
+	@Autowired
+	private SessionProperties sessionProperties;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private PlayerCache playerCache;
+
+	@Autowired
+	private BalanceLedger ledger;
+
+	@AfterEach
+	void restoreMode() {
+		sessionProperties.setFlushMode(FlushMode.ROUND);
+	}
+
+	@Test
+	void roundModeIssuesFewerStatementsThanWriteThrough() {
+		double writeThrough = statementsPerRound(FlushMode.WRITE_THROUGH);
+		double round = statementsPerRound(FlushMode.ROUND);
+		assertTrue(round < writeThrough, "round=" + round + " writeThrough=" + writeThrough);
+	}
+
+	@Test
+	void roundModePersistsBalanceAtRoundEnd() {
+		sessionProperties.setFlushMode(FlushMode.ROUND);
+		Player player = gameService.createPlayer("round", 1_000);
+		int balance = playRound(player.getId());
+
+		assertEquals(balance, playerRepository.findById(player.getId()).orElseThrow().getBalance());
+		assertEquals(0, sessionStore.activeSessions());
+	}
+
+	@Test
+	void writeBehindDefersSaveUntilFlush() {
+		sessionProperties.setFlushMode(FlushMode.WRITE_BEHIND);
+		Player player = gameService.createPlayer("behind", 1_000);
+		int balance = playRound(player.getId());
+
+		assertEquals(1, sessionStore.pendingWrites());
+		assertEquals(balance, gameService.getPlayerBalance(player.getId()).balance());
+
+		sessionStore.flushDirty();
+		assertEquals(0, sessionStore.pendingWrites());
+		assertEquals(balance, playerRepository.findById(player.getId()).orElseThrow().getBalance());
+	}
+
+	// A failed action drops the copy it brought in: nothing stays in the session map, and the next
+	// read loads the row again rather than the half-changed copy
+	@Test
+	void failedActionLeavesNoSession() {
+		int playerId = gameService.createPlayer("failed", 1_000).getId();
+		int live = sessionStore.activeSessions();
+
+		assertThrows(IllegalStateException.class, () -> gameService.startGame(playerId)); // No bet placed
+		assertEquals(live, sessionStore.activeSessions());
+		assertThrows(IllegalStateException.class, () -> sessionStore.withPlayer(playerId, player -> {
+			player.setBalance(1);
+			throw new IllegalStateException("Failed halfway.");
+		}));
+		assertEquals(live, sessionStore.activeSessions());
+		assertEquals(1_000, gameService.getPlayerBalance(playerId).balance());
+	}
+
+	// Reads between rounds come from the cached saved copy; a bet takes it out of the cache
+	@Test
+	void readsBetweenRoundsAreServedFromCache() {
+		Player player = gameService.createPlayer("cached", 1_000);
+		int balance = playRound(player.getId());
+
+		long before = sqlStatementCounter.getCount();
+		for (int i = 0; i < 10; i++) {
+			assertEquals(balance, gameService.getPlayerBalance(player.getId()).balance());
+			gameService.checkGameStatus(player.getId());
+			gameService.getPlayerHandDetails(player.getId());
+		}
+		assertEquals(before, sqlStatementCounter.getCount());
+
+		gameService.placeBet(player.getId(), 10);
+		assertNull(playerCache.get(player.getId()));
+		assertEquals(balance - 10, gameService.getPlayerBalance(player.getId()).balance());
+		gameService.resetGame(player.getId());
+		assertEquals(balance - 10, playerCache.get(player.getId()).getBalance()); // Reset forfeits the bet
+	}
+
+	// Ledger accounts follow sessions: none for a new or settled player, one again once it bets
+	@Test
+	void settledPlayerRetiresItsLedgerAccount() {
+		int playerId = gameService.createPlayer("retired", 1_000).getId();
+		assertNull(ledger.get(playerId));
+
+		int balance = playRound(playerId);
+		assertNull(ledger.get(playerId));
+		assertEquals(balance, gameService.getPlayerBalance(playerId).balance());
+		assertNull(ledger.get(playerId)); // A read opens none
+
+		gameService.placeBet(playerId, 10);
+		assertEquals(balance - 10, ledger.get(playerId).balance());
+		gameService.resetGame(playerId);
+		assertNull(ledger.get(playerId));
+	}
+
+	private double statementsPerRound(FlushMode mode) {
+		sessionProperties.setFlushMode(mode);
+		Player player = gameService.createPlayer(mode.name(), 1_000_000);
+		long before = sqlStatementCounter.getCount();
+		for (int i = 0; i < ROUNDS; i++) {
+			playRound(player.getId());
+		}
+		return (double) (sqlStatementCounter.getCount() - before) / ROUNDS;
+	}
+
+	// bet -> start -> hit -> stand, returning the balance reported at the end
+	private int playRound(int playerId) {
+		gameService.placeBet(playerId, 10);
+		PlayResponse state = gameService.startGame(playerId);
+		if (state.roundOver()) {
+			return ((RoundResultResponse) state).playerNewBalance();
+		}
+		HitResponse hit = gameService.hit(playerId);
+		if (hit.roundOver()) {
+			return hit.playerNewBalance();
+		}
+		return ((RoundResultResponse) gameService.stand(playerId)).playerNewBalance();
+	}
+}
@@ -0,0 +1,64 @@
+package com.ebenfuentes.blackjack.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.CardView;
+import com.ebenfuentes.blackjack.dto.PlayResponse;
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.model.Card;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.service.GameService;
+
+@SpringBootTest
+class HandStorageTests {
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Test
+	void handCardsRoundTripThroughCodeColumn() {
+		Player player = gameService.createPlayer("codes", 1_000);
+		gameService.placeBet(player.getId(), 10);
+		gameService.startGame(player.getId());
+		gameService.resetGame(player.getId());
+		gameService.placeBet(player.getId(), 10);
+		PlayResponse state = gameService.startGame(player.getId());
+		RoundResultResponse result = (RoundResultResponse) (state.roundOver() ? state : gameService.stand(player.getId()));
+
+		List<Card> stored = playerRepository.findById(player.getId()).orElseThrow().getHand().getCards();
+		List<CardView> reported = result.playerHand();
+		assertEquals(reported.size(), stored.size());
+		for (int i = 0; i < stored.size(); i++) {
+			assertEquals(reported.get(i).getRank(), stored.get(i).getRank());
+			assertEquals(reported.get(i).getSuit(), stored.get(i).getSuit());
+		}
+	}
+
+	// Rows written per 1,000 rounds: one player row and at most two hand rows per round
+	@Test
+	void writesAtMostThreeRowsPerRound() {
+		Player player = gameService.createPlayer("rows", 1_000_000);
+		long before = sqlStatementCounter.getWriteCount();
+		for (int i = 0; i < 1_000; i++) {
+			gameService.placeBet(player.getId(), 10);
+			if (!gameService.startGame(player.getId()).roundOver()) {
+				gameService.stand(player.getId());
+			}
+		}
+		long writes = sqlStatementCounter.getWriteCount() - before;
+		assertTrue(writes <= 3_000, "rows written per 1,000 rounds: " + writes);
+	}
+}
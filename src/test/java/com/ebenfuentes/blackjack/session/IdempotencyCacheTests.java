@@ -0,0 +1,86 @@
+package com.ebenfuentes.blackjack.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class IdempotencyCacheTests {
+
+	// An Error in the first request reaches the duplicate waiting on it and leaves the key free
+	@Test
+	void errorReleasesWaitersAndTheKey() throws Exception {
+		IdempotencyCache cache = new IdempotencyCache(new SessionProperties());
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch fail = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> first = pool.submit(() -> cache.execute(1, "hit", "key-1", () -> {
+				running.countDown();
+				await(fail);
+				throw new StackOverflowError();
+			}));
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+			Future<?> duplicate = pool.submit(() -> cache.execute(1, "hit", "key-1", () -> "second run"));
+			Thread.sleep(100); // Let the duplicate find the running entry
+			fail.countDown();
+
+			Exception thrown = assertThrows(Exception.class, () -> first.get(10, TimeUnit.SECONDS));
+			assertInstanceOf(StackOverflowError.class, thrown.getCause());
+			Exception replayed = assertThrows(Exception.class, () -> duplicate.get(10, TimeUnit.SECONDS));
+			assertInstanceOf(StackOverflowError.class, replayed.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(0, cache.size());
+		assertEquals("retried", cache.execute(1, "hit", "key-1", () -> "retried"));
+		assertEquals("retried", cache.execute(1, "hit", "key-1", () -> "not run"));
+	}
+
+	// Past the size, the oldest key goes first and its request runs again
+	@Test
+	void oldestKeyIsEvictedOverTheSize() {
+		SessionProperties properties = new SessionProperties();
+		properties.setIdempotencySize(1);
+		IdempotencyCache cache = new IdempotencyCache(properties);
+
+		assertEquals("a", cache.execute(1, "hit", "a", () -> "a"));
+		assertEquals("a", cache.execute(1, "hit", "a", () -> "replayed a"));
+		assertEquals("b", cache.execute(1, "hit", "b", () -> "b"));
+
+		assertEquals(1, cache.size());
+		assertEquals("new a", cache.execute(1, "hit", "a", () -> "new a"));
+		assertEquals(1, cache.getReplays());
+	}
+
+	// A key is held to the body it came with, whatever order the body's fields are in
+	@Test
+	void keyReusedWithAnotherBodyIsRejected() {
+		IdempotencyCache cache = new IdempotencyCache(new SessionProperties());
+
+		assertEquals("first", cache.execute(0, "create", "k", Map.of("username", "a", "balance", 1), () -> "first"));
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		reordered.put("balance", 1);
+		reordered.put("username", "a");
+		assertEquals("first", cache.execute(0, "create", "k", reordered, () -> "second"));
+		assertThrows(IdempotencyKeyReusedException.class,
+				() -> cache.execute(0, "create", "k", Map.of("username", "b", "balance", 1), () -> "other"));
+		assertThrows(IdempotencyKeyReusedException.class, () -> cache.execute(0, "create", "k", () -> "no body"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
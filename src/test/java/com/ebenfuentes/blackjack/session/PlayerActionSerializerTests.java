@@ -0,0 +1,68 @@
+package com.ebenfuentes.blackjack.session;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class PlayerActionSerializerTests {
+
+	private final PlayerActionSerializer serializer = new PlayerActionSerializer(new SessionProperties());
+
+	@Test
+	void actionsForOnePlayerNeverOverlap() throws Exception {
+		int[] counter = new int[1]; // Deliberately unsynchronized
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						serializer.run(42, () -> counter[0]++);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(80_000, counter[0]);
+	}
+
+	@Test
+	void otherPlayersAreNotBlocked() throws Exception {
+		int busy = 1;
+		int other = 2;
+		while (serializer.stripeIndex(other) == serializer.stripeIndex(busy)) {
+			other++;
+		}
+		CountDownLatch holding = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> serializer.run(busy, () -> {
+			holding.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		}));
+		holder.start();
+		try {
+			assertTrue(holding.await(5, TimeUnit.SECONDS));
+			assertEquals("ran", serializer.run(other, () -> "ran"));
+		} finally {
+			release.countDown();
+			holder.join();
+		}
+	}
+}
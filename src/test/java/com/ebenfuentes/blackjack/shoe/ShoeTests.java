@@ -0,0 +1,140 @@
+package com.ebenfuentes.blackjack.shoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.ChaChaRandom;
+
+class ShoeTests {
+
+	@Test
+	void containsEachCardOncePerDeck() {
+		ShoeProperties properties = new ShoeProperties();
+		properties.setDecks(8);
+		properties.setPreshuffled(0);
+		Shoe shoe = new Shoe(new ShoeShuffler(properties));
+
+		int[] counts = new int[CardCodes.DECK_SIZE];
+		int code;
+		while ((code = shoe.dealCode()) >= 0) {
+			counts[code]++;
+		}
+		for (int count : counts) {
+			assertEquals(8, count);
+		}
+	}
+
+	@Test
+	void reshufflesOnlyAfterCutCard() {
+		ShoeProperties properties = new ShoeProperties();
+		properties.setDecks(6);
+		properties.setPenetration(0.75);
+		ShoeShuffler shuffler = new ShoeShuffler(properties);
+		Shoe shoe = new Shoe(shuffler);
+
+		int dealable = shoe.size() - shuffler.cutCard();
+		for (int i = 0; i < dealable - 1; i++) {
+			shoe.dealCode();
+		}
+		assertFalse(shoe.prepareRound(4));
+		shoe.dealCode();
+		assertTrue(shoe.prepareRound(4));
+		assertEquals(shoe.size(), shoe.remaining());
+		shuffler.destroy();
+	}
+
+	// Past maxShoes the least recently used shoe goes; a read never creates one
+	@Test
+	void managerKeepsAtMostMaxShoes() {
+		ShoeProperties properties = new ShoeProperties();
+		properties.setLockStripes(1);
+		properties.setMaxShoes(3);
+		ShoeShuffler shuffler = new ShoeShuffler(properties);
+		ShoeManager manager = new ShoeManager(shuffler, properties);
+		Map<String, Long> retired = new HashMap<>();
+		manager.onSeedRetired((seed, shoes) -> retired.put(seed.toHex(), shoes));
+
+		assertNull(manager.withExistingShoe(ShoeManager.playerKey(1), Shoe::remaining));
+		assertEquals(0, manager.size());
+		manager.deal(ShoeManager.playerKey(1));
+		String dropped = manager.withShoe(ShoeManager.playerKey(2), shoe -> {
+			shoe.reset();
+			return shoe.getSeed().toHex();
+		});
+		manager.deal(ShoeManager.playerKey(3));
+		manager.deal(ShoeManager.playerKey(1));
+		manager.deal(ShoeManager.tableKey(1));
+
+		assertEquals(3, manager.size());
+		assertEquals(1, manager.getEvictions());
+		assertNull(manager.withExistingShoe(ShoeManager.playerKey(2), Shoe::remaining));
+		assertNotNull(manager.withExistingShoe(ShoeManager.playerKey(1), Shoe::remaining));
+		// The dropped shoe's seed is revealed with the two shoes dealt from it
+		assertEquals(Map.of(dropped, 2L), retired);
+		shuffler.destroy();
+	}
+
+	// The draws are the standard ChaCha20 keystream, so verifiers can use any implementation
+	@Test
+	void chaChaDrawsMatchTheJdkCipher() throws Exception {
+		byte[] key = new byte[ChaChaRandom.KEY_BYTES];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = (byte) (i * 7 + 3);
+		}
+		long stream = 0x0123_4567_89AB_CDEFL;
+		byte[] nonce = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(0).putLong(stream).array();
+		Cipher cipher = Cipher.getInstance("ChaCha20");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ChaCha20"), new ChaCha20ParameterSpec(nonce, 0));
+		ByteBuffer keystream = ByteBuffer.wrap(cipher.doFinal(new byte[1024])).order(ByteOrder.LITTLE_ENDIAN);
+
+		ChaChaRandom random = new ChaChaRandom(key, stream);
+		while (keystream.hasRemaining()) {
+			assertEquals(keystream.getInt(), random.nextInt());
+		}
+	}
+
+	// A dealt shoe is rebuilt from the revealed seed and its number, and the seed matches its commitment
+	@Test
+	void seededShoeReplaysFromSeedAndIndex() {
+		ShoeProperties properties = new ShoeProperties();
+		properties.setDecks(8);
+		Shoe shoe = new Shoe(new ShoeShuffler(properties));
+		String commitment = shoe.getSeed().commitment();
+
+		byte[][] dealt = new byte[2][shoe.size()];
+		for (int n = 0; n < 2; n++) {
+			assertEquals(n, shoe.getShoeIndex());
+			for (int i = 0; i < dealt[n].length; i++) {
+				dealt[n][i] = (byte) shoe.dealCode();
+			}
+			shoe.reset();
+		}
+		ShoeSeed retired = shoe.rotateSeed();
+		assertEquals(0, shoe.getShoeIndex());
+		assertNotEquals(commitment, shoe.getSeed().commitment());
+
+		ShoeSeed revealed = ShoeSeed.fromHex(retired.toHex());
+		assertTrue(revealed.matches(commitment));
+		for (int n = 0; n < 2; n++) {
+			byte[] cards = revealed.shoe(n, 8);
+			byte[] dealOrder = new byte[cards.length];
+			for (int i = 0; i < cards.length; i++) {
+				dealOrder[i] = cards[cards.length - 1 - i];
+			}
+			assertArrayEquals(dealt[n], dealOrder);
+		}
+		assertFalse(Arrays.equals(dealt[0], dealt[1]));
+	}
+}
@@ -0,0 +1,30 @@
+package com.ebenfuentes.blackjack.simulation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.ebenfuentes.blackjack.engine.RoundOutcome;
+
+class SimulationRunnerTests {
+
+	@Test
+	void sameSeedGivesSameResultOnAnyThreadCount() {
+		SimulationRunner runner = new SimulationRunner(Strategies.MIMIC_DEALER, 6, 0.75);
+		SimulationResult single = runner.run(1_000_000, 1, 7);
+		SimulationResult parallel = runner.run(1_000_000, 4, 7);
+
+		assertEquals(single.getRounds(), parallel.getRounds());
+		assertEquals(single.getExpectedValue(), parallel.getExpectedValue(), 1e-12);
+		for (RoundOutcome outcome : RoundOutcome.values()) {
+			assertEquals(single.getOutcomeCount(outcome), parallel.getOutcomeCount(outcome));
+		}
+	}
+
+	@Test
+	void mimicDealerHasAHouseEdge() {
+		SimulationResult result = new SimulationRunner(Strategies.MIMIC_DEALER, 6, 0.75).run(2_000_000, 2, 11);
+		assertTrue(result.getExpectedValue() < 0);
+		assertTrue(result.getExpectedValue() > -0.1);
+	}
+}
@@ -0,0 +1,69 @@
+package com.ebenfuentes.blackjack.strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.ebenfuentes.blackjack.engine.CardCodes;
+import com.ebenfuentes.blackjack.engine.CompactHand;
+import com.ebenfuentes.blackjack.engine.PlayerAction;
+
+class StrategyTableTests {
+
+	private static final int TWO = 0, FIVE = 3, SIX = 4, SEVEN = 5, EIGHT = 6, NINE = 7, TEN = 8, ACE = CardCodes.ACE_RANK;
+
+	private final DealerOutcomes dealer = DealerOutcomes.build();
+	private final StrategyTable table = StrategyTable.build(dealer);
+
+	@Test
+	void dealerProbabilitiesSumToOne() {
+		for (RuleSet ruleSet : RuleSet.values()) {
+			for (int up = 0; up < DealerOutcomes.UP_CARDS; up++) {
+				double sum = 0;
+				for (int slot = 0; slot < DealerOutcomes.FINALS; slot++) {
+					sum += dealer.probability(ruleSet, up, slot);
+				}
+				assertEquals(1.0, sum, 1e-9);
+			}
+		}
+	}
+
+	@Test
+	void matchesWellKnownBasicStrategyCells() {
+		assertEquals(PlayerAction.DOUBLE, best(hand(FIVE, SIX), SIX)); // hard 11 v 6
+		assertEquals(PlayerAction.HIT, best(hand(FIVE, SIX), TEN)); // hard 11 v 10: no peek, so no double
+		assertEquals(PlayerAction.HIT, best(hand(TEN, SIX), TEN)); // hard 16 v 10
+		assertEquals(PlayerAction.STAND, best(hand(TEN, TWO + 1), FIVE)); // hard 13 v 5
+		assertEquals(PlayerAction.SPLIT, best(hand(EIGHT, EIGHT), NINE)); // 8,8 v 9
+		assertEquals(PlayerAction.STAND, best(hand(TEN, TEN), SIX)); // 10,10 v 6
+		assertEquals(PlayerAction.SPLIT, best(hand(ACE, ACE), SEVEN)); // A,A v 7
+		assertEquals(PlayerAction.HIT, best(hand(ACE, SIX), SEVEN)); // soft 17 v 7
+	}
+
+	@Test
+	void roundTripsThroughBinaryFile() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		table.writeTo(out);
+		StrategyTable loaded = StrategyTable.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+		CompactHand hand = hand(TEN, SIX);
+		int cell = table.cell(hand, CardCodes.encode(TEN, 0), RuleSet.S17);
+		assertEquals(table.bestAction(cell, true), loaded.bestAction(cell, true));
+		assertEquals(table.expectedValue(cell, PlayerAction.HIT), loaded.expectedValue(cell, PlayerAction.HIT));
+	}
+
+	private PlayerAction best(CompactHand hand, int upRank) {
+		return table.bestAction(table.cell(hand, CardCodes.encode(upRank, 0), RuleSet.S17), true);
+	}
+
+	private static CompactHand hand(int firstRank, int secondRank) {
+		CompactHand hand = new CompactHand();
+		hand.add(CardCodes.encode(firstRank, 0));
+		hand.add(CardCodes.encode(secondRank, 1));
+		return hand;
+	}
+}
@@ -0,0 +1,171 @@
+package com.ebenfuentes.blackjack.table;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ebenfuentes.blackjack.dto.RoundResultResponse;
+import com.ebenfuentes.blackjack.dto.TableStateResponse;
+import com.ebenfuentes.blackjack.model.Player;
+import com.ebenfuentes.blackjack.repository.PlayerRepository;
+import com.ebenfuentes.blackjack.service.GameService;
+import com.ebenfuentes.blackjack.service.TableService;
+import com.ebenfuentes.blackjack.session.GameSessionStore;
+import com.ebenfuentes.blackjack.session.SqlStatementCounter;
+import com.ebenfuentes.blackjack.shoe.ShoeManager;
+
+@SpringBootTest
+class TableRoundTests {
+
+	@Autowired
+	private TableService tableService;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private SqlStatementCounter sqlStatementCounter;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private GameSessionStore sessionStore;
+
+	@Autowired
+	private ShoeManager shoeManager;
+
+	@Test
+	void sevenSeatsShareOneDealerHandAndSettleTogether() {
+		List<Integer> playerIds = seatPlayers(7);
+		int tableId = tableService.createTable(7).tableId();
+		for (int playerId : playerIds) {
+			tableService.join(tableId, playerId);
+			gameService.placeBet(playerId, 10);
+		}
+
+		long writesBefore = sqlStatementCounter.getWriteCount();
+		TableStateResponse state = tableService.startRound(tableId);
+		while (state.roundInProgress()) {
+			state = tableService.stand(tableId, state.turnPlayerId());
+		}
+		long writes = sqlStatementCounter.getWriteCount() - writesBefore;
+
+		assertEquals(7, state.results().size());
+		for (RoundResultResponse result : state.results()) {
+			assertEquals(state.dealerCards(), result.dealerHand());
+		}
+		// One player row and one hand row per seat; no dealer hand rows at all
+		assertTrue(writes <= 14, "rows written for a 7-seat round: " + writes);
+		for (int i = 0; i < playerIds.size(); i++) {
+			Player stored = playerRepository.findById(playerIds.get(i)).orElseThrow();
+			assertEquals(state.results().get(i).playerNewBalance(), stored.getBalance());
+			assertEquals(0, stored.getDealerHand().getCompactHand().size());
+		}
+	}
+
+	@Test
+	void onlyTheSeatWhoseTurnItIsMayAct() {
+		List<Integer> playerIds = seatPlayers(2);
+		int tableId = tableService.createTable(2).tableId();
+		for (int playerId : playerIds) {
+			tableService.join(tableId, playerId);
+			gameService.placeBet(playerId, 10);
+		}
+
+		TableStateResponse state = tableService.startRound(tableId);
+		if (state.roundInProgress()) {
+			int waiting = state.turnPlayerId().equals(playerIds.get(0)) ? playerIds.get(1) : playerIds.get(0);
+			assertThrows(IllegalStateException.class, () -> tableService.hit(tableId, waiting));
+		}
+		assertThrows(IllegalStateException.class, () -> gameService.startGame(playerIds.get(0)));
+	}
+
+	// The table shoe running out mid-round moves on to the next shoe: the hit still deals a card
+	@Test
+	void hitOnAnEmptyTableShoeDealsFromTheNextShoe() {
+		int playerId = seatPlayers(1).get(0);
+		int tableId = tableService.createTable(1).tableId();
+		tableService.join(tableId, playerId);
+		TableStateResponse state;
+		do {
+			gameService.placeBet(playerId, 10);
+			state = tableService.startRound(tableId);
+		} while (!state.roundInProgress()); // A natural settles on the deal
+		long shoeIndex = shoeManager.withShoe(ShoeManager.tableKey(tableId), shoe -> {
+			while (shoe.dealCode() >= 0) {
+				// Empty the shoe
+			}
+			return shoe.getShoeIndex();
+		});
+
+		state = tableService.hit(tableId, playerId);
+		assertEquals(3, state.seats().get(0).cards().size());
+		long next = shoeManager.withShoe(ShoeManager.tableKey(tableId), shoe -> shoe.getShoeIndex());
+		assertEquals(shoeIndex + 1, next);
+		if (state.roundInProgress()) {
+			state = tableService.stand(tableId, playerId);
+		}
+		assertFalse(state.roundInProgress());
+	}
+
+	// A solo deal that checked in before a join seated the player is refused once it gets the player
+	@Test
+	void soloDealQueuedBehindAJoinIsRefused() throws Exception {
+		int playerId = seatPlayers(1).get(0);
+		int tableId = tableService.createTable(2).tableId();
+		gameService.placeBet(playerId, 10);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(3);
+		try {
+			Future<?> holder = pool.submit(() -> sessionStore.withPlayer(playerId, player -> {
+				locked.countDown();
+				await(release);
+				return null;
+			}));
+			assertTrue(locked.await(10, TimeUnit.SECONDS));
+			Future<?> join = pool.submit(() -> tableService.join(tableId, playerId));
+			Thread.sleep(200); // The join waits on the player's (fair) lock first
+			Future<?> deal = pool.submit(() -> gameService.startGame(playerId));
+			Thread.sleep(200);
+			release.countDown();
+
+			holder.get(10, TimeUnit.SECONDS);
+			join.get(10, TimeUnit.SECONDS);
+			ExecutionException rejected = assertThrows(ExecutionException.class, () -> deal.get(10, TimeUnit.SECONDS));
+			assertEquals("Player is seated at a table.", rejected.getCause().getMessage());
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(playerId, tableService.getTable(tableId).seats().get(0).playerId());
+		assertFalse(sessionStore.readPlayer(playerId, Player::isGameStarted));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private List<Integer> seatPlayers(int count) {
+		List<Integer> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(gameService.createPlayer("seat-" + i, 1_000).getId());
+		}
+		return ids;
+	}
+}